@@ -0,0 +1,432 @@
+/*
+Code Written by Jackson L. Davis
+
+Asynchronous versions of the Matrix operations,
+each operation returns a CompletableFuture instead of blocking the caller.
+ */
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+public class AsyncMatrix implements AutoCloseable {
+    // jobs estimated to need at least this many operations are large jobs by default
+    public static final long DEFAULT_LARGE_JOB_FLOPS = 1L << 24;
+
+    // runs the CPU-bound kernels, one thread per core by default
+    private final ExecutorService computePool;
+    private final long largeJobFlops;
+
+    // large jobs wait in this queue for a slot without holding any thread,
+    // a large job that finishes hands its slot to the next one, guarded by this
+    private final ArrayDeque<Runnable> waitingLargeJobs = new ArrayDeque<>();
+    // how many more large jobs may hold compute threads at once, guarded by this
+    private int freeLargeJobSlots;
+    // large jobs taken from the queue but not yet handed to the compute pool, guarded by this
+    private int handOffs;
+    private boolean closed;
+
+    /**
+     * Constructor for the AsyncMatrix class,
+     * uses one compute thread per available processor
+     */
+    public AsyncMatrix() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_LARGE_JOB_FLOPS);
+    }
+
+    /**
+     * Constructor for the AsyncMatrix class,
+     * at most half of the compute threads (but at least one) run large jobs at a time,
+     * so a burst of large jobs always leaves threads free for small ones
+     *
+     * @param computeThreads: the number of threads that run matrix operations
+     * @param largeJobFlops: the estimated number of operations at which a job counts as large
+     * @precond: computeThreads > 0 && largeJobFlops > 0
+     */
+    public AsyncMatrix(int computeThreads, long largeJobFlops) {
+        if (computeThreads <= 0) {
+            throw new ArithmeticException("Error in AsyncMatrix() constructor: computeThreads must be positive");
+        }
+        else if (largeJobFlops <= 0) {
+            throw new ArithmeticException("Error in AsyncMatrix() constructor: largeJobFlops must be positive");
+        }
+        else {
+            this.computePool = Executors.newFixedThreadPool(computeThreads, daemonThreads("matrix-compute"));
+            this.freeLargeJobSlots = Math.max(1, computeThreads / 2);
+            this.largeJobFlops = largeJobFlops;
+        }
+    }
+
+    /**
+     * Compute the product of two matrices asynchronously
+     *
+     * @param m1, m2: two matrices to compute the product of,
+     * later changes to them do not affect the result
+     * @precond: Matrix.canMultiply(m1, m2)
+     * @return: a future that completes with the product,
+     * or exceptionally if m1 and m2 cannot be multiplied
+     */
+    public CompletableFuture<Matrix> productOfMatrices(Matrix m1, Matrix m2) {
+        Matrix a = snapshot(m1);
+        Matrix b = snapshot(m2);
+        long flops = 2L * a.getRows() * a.getColumns() * b.getColumns();
+        return submit(() -> Matrix.productOfMatrices(a, b), flops);
+    }
+
+    /**
+     * Compute the sum of two matrices asynchronously
+     *
+     * @param m1, m2: two matrices to be added,
+     * later changes to them do not affect the result
+     * @precond: Matrix.sameDimensions(m1, m2)
+     * @return: a future that completes with the sum,
+     * or exceptionally if m1 and m2 have different dimensions
+     */
+    public CompletableFuture<Matrix> sumOfMatrices(Matrix m1, Matrix m2) {
+        Matrix a = snapshot(m1);
+        Matrix b = snapshot(m2);
+        long flops = (long) a.getRows() * a.getColumns();
+        return submit(() -> Matrix.sumOfMatrices(a, b), flops);
+    }
+
+    /**
+     * Compute the determinant of a matrix asynchronously,
+     * using Matrix.determinantBareiss() since the cofactor expansion of
+     * Matrix.determinant() takes factorial time
+     *
+     * @param m: the matrix to compute the determinant of,
+     * later changes to it do not affect the result
+     * @precond: m.isSquare()
+     * @return: a future that completes with the determinant,
+     * or exceptionally if m is not square or the determinant overflows
+     */
+    public CompletableFuture<Integer> determinant(Matrix m) {
+        Matrix a = snapshot(m);
+        long n = a.getRows();
+        return submit(() -> Matrix.determinantBareiss(a), n * n * n);
+    }
+
+    /**
+     * Raise a square matrix to a power asynchronously
+     *
+     * @param m: the matrix to raise to a power,
+     * later changes to it do not affect the result
+     * @param k: the exponent
+     * @precond: m.isSquare() && k >= 0
+     * @return: a future that completes with the power, or exceptionally if m is not square
+     */
+    public CompletableFuture<Matrix> power(Matrix m, long k) {
+        Matrix a = snapshot(m);
+        long n = a.getRows();
+        long multiplies = 2L * (64 - Long.numberOfLeadingZeros(Math.max(k, 1)));
+        return submit(() -> Matrix.power(a, k), 2 * n * n * n * multiplies);
+    }
+
+    /**
+     * Compute the transpose of a matrix asynchronously
+     *
+     * @param m: the matrix to transpose,
+     * later changes to it do not affect the result
+     * @return: a future that completes with the transpose
+     */
+    public CompletableFuture<Matrix> getTranspose(Matrix m) {
+        Matrix a = snapshot(m);
+        return submit(a::getTranspose, (long) a.getRows() * a.getColumns());
+    }
+
+    /**
+     * Estimate whether or not a job counts as large
+     *
+     * @param flops: the estimated number of operations of the job
+     * @return: true if the job has to wait for a large job slot, false otherwise
+     */
+    public boolean isLargeJob(long flops) {
+        return flops >= this.largeJobFlops;
+    }
+
+    /**
+     * Stop accepting large jobs, jobs that were already submitted still complete,
+     * this waits until every waiting large job has been handed to the compute pool
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            this.closed = true;
+            try {
+                while (!this.waitingLargeJobs.isEmpty() || this.handOffs > 0) {
+                    wait();
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.computePool.shutdown();
+    }
+
+    /**
+     * Run a job on the compute pool,
+     * small jobs are submitted straight away and large jobs take a large job slot,
+     * or wait in a queue until a finishing large job hands its slot on, no thread ever blocks waiting for a slot
+     *
+     * @return: a future that completes with the result of the job,
+     * a RejectedExecutionException is thrown if a large job is submitted after close()
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> job, long flops) {
+        if (!isLargeJob(flops)) {
+            return CompletableFuture.supplyAsync(job, this.computePool);
+        }
+        else {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                try {
+                    CompletableFuture.supplyAsync(job, this.computePool).whenComplete((value, error) -> {
+                        releaseLargeJobSlot();
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        }
+                        else {
+                            result.complete(value);
+                        }
+                    });
+                }
+                catch (RejectedExecutionException e) {
+                    // the compute pool was shut down
+                    releaseLargeJobSlot();
+                    result.completeExceptionally(e);
+                }
+            };
+            boolean startNow;
+            synchronized (this) {
+                if (this.closed) {
+                    throw new RejectedExecutionException("AsyncMatrix has been closed");
+                }
+                else if (this.freeLargeJobSlots > 0) {
+                    this.freeLargeJobSlots--;
+                    startNow = true;
+                }
+                else {
+                    this.waitingLargeJobs.add(start);
+                    startNow = false;
+                }
+            }
+            if (startNow) {
+                start.run();
+            }
+            else {
+                // pass
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Hand the slot of a finished large job to the next waiting large job, or free it if none is waiting
+     */
+    private void releaseLargeJobSlot() {
+        Runnable next;
+        synchronized (this) {
+            next = this.waitingLargeJobs.poll();
+            if (next == null) {
+                this.freeLargeJobSlots++;
+                return;
+            }
+            else {
+                // the slot passes straight to the next job
+                this.handOffs++;
+            }
+        }
+        try {
+            next.run();
+        }
+        finally {
+            synchronized (this) {
+                this.handOffs--;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Take an O(1) copy-on-write snapshot of a matrix,
+     * so the caller can keep changing it while the job runs
+     */
+    private static Matrix snapshot(Matrix m) {
+        return m.freeze().toMutable();
+    }
+
+    /**
+     * Create a thread factory for named daemon threads,
+     * so an AsyncMatrix that is never closed does not keep the JVM running
+     */
+    private static java.util.concurrent.ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for AsyncMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        Matrix m6 = new Matrix(2, 3);
+        Matrix m7 = new Matrix(3, 2);
+        m6.setEntry(1, 1, 2);
+        m6.setEntry(1, 2, 1);
+        m6.setEntry(1, 3, 7);
+        m6.setEntry(2, 1, 6);
+        m6.setEntry(2, 2, 4);
+        m6.setEntry(2, 3, 5);
+        m7.setEntry(1, 1, 3);
+        m7.setEntry(1, 2, 2);
+        m7.setEntry(2, 1, 1);
+        m7.setEntry(2, 2, 5);
+        m7.setEntry(3, 1, 8);
+        m7.setEntry(3, 2, 1);
+
+        try (AsyncMatrix async = new AsyncMatrix(2, 1L << 20)) {
+            // test productOfMatrices()
+            CompletableFuture<Matrix> product = async.productOfMatrices(m6, m7);
+            // changing an operand after submitting must not change the result
+            m6.setEntry(1, 1, 100);
+            if (product.get().getEntry(1, 1) != 63 || product.get().getEntry(2, 2) != 37) {
+                System.out.println("Error: productOfMatrices() returned the wrong product.");
+                product.get().printMatrix();
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            m6.setEntry(1, 1, 2);
+
+            // test determinant()
+            if (async.determinant(Matrix.productOfMatrices(m7, m6)).get() != 0) {
+                System.out.println("Error: determinant() returned the wrong determinant.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test sumOfMatrices(), power() and getTranspose()
+            Matrix sum = async.sumOfMatrices(m6, m6).get();
+            Matrix square = async.power(Matrix.productOfMatrices(m6, m7), 2).get();
+            Matrix transpose = async.getTranspose(m6).get();
+            if (sum.getEntry(2, 3) != 10 || square.getEntry(1, 1) != 63 * 63 + 16 * 62 || !Matrix.transposes(m6, transpose)) {
+                System.out.println("Error: an asynchronous operation returned the wrong result.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test that invalid operations complete exceptionally
+            System.out.println("Testing catching exception thrown by productOfMatrices().");
+            try {
+                async.productOfMatrices(m6, m6).get();
+                System.out.println("Error: productOfMatrices() did not complete exceptionally for matrices that cannot be multiplied.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+                System.out.println("Caught error: " + e.getCause().getMessage());
+            }
+
+            // a burst of large jobs must not starve a small job
+            Matrix big = new Matrix(150, 150);
+            for (int i = 1; i <= 150; i++) {
+                big.setEntry(i, i, 1);
+            }
+            CompletableFuture<?>[] largeJobs = new CompletableFuture<?>[6];
+            for (int i = 0; i < largeJobs.length; i++) {
+                largeJobs[i] = async.productOfMatrices(big, big);
+            }
+            if (!async.isLargeJob(2L * 150 * 150 * 150)) {
+                System.out.println("Error: isLargeJob() returned false for a large job.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            Matrix small = async.sumOfMatrices(m6, m6).get();
+            boolean allLargeDone = true;
+            for (CompletableFuture<?> largeJob : largeJobs) {
+                allLargeDone = allLargeDone && largeJob.isDone();
+            }
+            if (allLargeDone) {
+                System.out.println("Error: a small job waited for every large job to finish.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            CompletableFuture.allOf(largeJobs).get();
+            if (!((Matrix) largeJobs[0].get()).isIdentity() || small.getEntry(1, 1) != 4) {
+                System.out.println("Error: a large job returned the wrong result.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // a burst of waiting large jobs queues up without starting a thread for each one
+            int threadsBefore = Thread.activeCount();
+            CompletableFuture<?>[] burst = new CompletableFuture<?>[100];
+            for (int i = 0; i < burst.length; i++) {
+                burst[i] = async.productOfMatrices(big, big);
+            }
+            if (Thread.activeCount() > threadsBefore + 2) {
+                System.out.println("Error: waiting large jobs started " + (Thread.activeCount() - threadsBefore) + " threads.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            CompletableFuture.allOf(burst).get();
+        }
+        catch (Exception e) {
+            System.out.println("Error: an asynchronous operation threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // close() waits for the queued large jobs to reach the compute pool, so they all still complete
+        AsyncMatrix closing = new AsyncMatrix(2, 1L << 20);
+        Matrix identity = new Matrix(120, 120);
+        identity.makeIdentity();
+        CompletableFuture<?>[] queued = new CompletableFuture<?>[20];
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = closing.productOfMatrices(identity, identity);
+        }
+        closing.close();
+        try {
+            CompletableFuture.allOf(queued).get();
+        }
+        catch (Exception e) {
+            System.out.println("Error: a large job queued before close() did not complete.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        try {
+            closing.productOfMatrices(identity, identity);
+            System.out.println("Error: productOfMatrices() accepted a large job after close().");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,478 @@
+/*
+Code Written by Jackson L. Davis
+
+A square banded matrix of integers, every entry more than lower below
+or upper above the diagonal is 0 and is not stored.
+ */
+
+public class BandedMatrix {
+    // row i stores columns i - lower to i + upper in band[i * width] to band[i * width + width - 1],
+    // the slots that fall outside the matrix in the first and last rows are always 0
+    private final int[] band;
+    private final int n;
+    private final int lower;
+    private final int upper;
+    private final int width;
+
+    /**
+     * Constructor for the BandedMatrix class,
+     * creates an nxn zero matrix
+     *
+     * @param n: number of rows and columns for the matrix
+     * @param lower: the number of diagonals below the main diagonal that may be nonzero
+     * @param upper: the number of diagonals above the main diagonal that may be nonzero
+     * @precond: n > 0 && 0 <= lower < n && 0 <= upper < n
+     */
+    public BandedMatrix(int n, int lower, int upper) {
+        if (n <= 0) {
+            throw new ArithmeticException("Error in BandedMatrix() constructor: n must be positive");
+        }
+        else if (lower < 0 || upper < 0 || lower >= n || upper >= n) {
+            throw new ArithmeticException("Error in BandedMatrix() constructor: 0 <= lower < n and 0 <= upper < n must be true");
+        }
+        else {
+            this.n = n;
+            this.lower = lower;
+            this.upper = upper;
+            this.width = lower + upper + 1;
+            this.band = new int[Math.multiplyExact(n, this.width)];
+        }
+    }
+
+    /**
+     * Constructor that converts a square Matrix,
+     * the bandwidths are the smallest that hold every nonzero entry
+     *
+     * @param m: the matrix to copy
+     * @precond: m.isSquare()
+     */
+    public BandedMatrix(Matrix m) {
+        this(m, bandwidths(m));
+    }
+
+    private BandedMatrix(Matrix m, int[] bandwidths) {
+        this(m.getRows(), bandwidths[0], bandwidths[1]);
+        int[][] a = m.entries();
+        for (int i = 0; i < this.n; i++) {
+            int from = Math.max(0, i - this.lower);
+            int to = Math.min(this.n - 1, i + this.upper);
+            System.arraycopy(a[i], from, this.band, i * this.width + (from - i + this.lower), to - from + 1);
+        }
+    }
+
+    /**
+     * Find the band of a square matrix
+     *
+     * @param m: the matrix to check
+     * @precond: m.isSquare()
+     * @return: {lower, upper}, the number of diagonals below and above the main diagonal
+     * out to the furthest nonzero entry on each side
+     */
+    public static int[] bandwidths(Matrix m) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in bandwidths(): m.isSquare() must return true");
+        }
+        else {
+            int[][] a = m.entries();
+            int lower = 0;
+            int upper = 0;
+            for (int i = 0; i < a.length; i++) {
+                for (int j = 0; j < a.length; j++) {
+                    if (a[i][j] != 0) {
+                        lower = Math.max(lower, i - j);
+                        upper = Math.max(upper, j - i);
+                    }
+                }
+            }
+            return new int[] {lower, upper};
+        }
+    }
+
+    /**
+     * Check whether or not a square matrix is banded narrowly enough that a BandedMatrix stores less than a Matrix,
+     * that is, it has fewer than half of its diagonals
+     *
+     * @param m: the matrix to check
+     * @return: true if m is square and lower + upper + 1 <= n / 2, false otherwise
+     */
+    public static boolean isBanded(Matrix m) {
+        if (!m.isSquare()) {
+            return false;
+        }
+        else {
+            int[] b = bandwidths(m);
+            return b[0] + b[1] + 1 <= m.getRows() / 2;
+        }
+    }
+
+    /**
+     * Convert the matrix to a Matrix
+     *
+     * @return: a Matrix with the same entries
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.n, this.n);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.n; i++) {
+            int from = Math.max(0, i - this.lower);
+            int to = Math.min(this.n - 1, i + this.upper);
+            System.arraycopy(this.band, i * this.width + (from - i + this.lower), a[i], from, to - from + 1);
+        }
+        return m;
+    }
+
+    /**
+     * Getter method for the number of rows, which is also the number of columns
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * Getter method for lower
+     */
+    public int getLowerBandwidth() {
+        return this.lower;
+    }
+
+    /**
+     * Getter method for upper
+     */
+    public int getUpperBandwidth() {
+        return this.upper;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= n && 1 <= c <= n
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        else if (c - r > this.upper || r - c > this.lower) {
+            return 0;
+        }
+        else {
+            return this.band[(r - 1) * this.width + (c - r + this.lower)];
+        }
+    }
+
+    /**
+     * Change the number at a specific entry of the matrix
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= n && 1 <= c <= n && (changeTo == 0 or the entry is inside the band)
+     * @postcond: the entry is changed to changeTo
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        else if (c - r <= this.upper && r - c <= this.lower) {
+            this.band[(r - 1) * this.width + (c - r + this.lower)] = changeTo;
+        }
+        else if (changeTo != 0) {
+            throw new ArithmeticException("Error in setEntry(): entries outside the band must stay 0");
+        }
+        else {
+            // pass
+        }
+    }
+
+    /**
+     * Compute the product of two banded matrices in O(n * b^2) time,
+     * the product is banded with the bandwidths of the two matrices added together,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getSize() == m2.getSize()
+     * @return: the product of the two matrices
+     */
+    public static BandedMatrix productOfMatrices(BandedMatrix m1, BandedMatrix m2) {
+        if (m1.n != m2.n) {
+            throw new ArithmeticException("Error in productOfMatrices(): m1.getSize() == m2.getSize() must be true");
+        }
+        else {
+            int n = m1.n;
+            BandedMatrix product = new BandedMatrix(n, Math.min(n - 1, m1.lower + m2.lower), Math.min(n - 1, m1.upper + m2.upper));
+            for (int i = 0; i < n; i++) {
+                int out = i * product.width + product.lower - i;
+                // row i of the product is the sum of m1(i, k) times row k of m2 for k in the band of row i
+                for (int k = Math.max(0, i - m1.lower); k <= Math.min(n - 1, i + m1.upper); k++) {
+                    int aik = m1.band[i * m1.width + (k - i + m1.lower)];
+                    if (aik == 0) {
+                        continue;
+                    }
+                    int bRow = k * m2.width + m2.lower - k;
+                    int jTo = Math.min(n - 1, k + m2.upper);
+                    for (int j = Math.max(0, k - m2.lower); j <= jTo; j++) {
+                        product.band[out + j] += aik * m2.band[bRow + j];
+                    }
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Multiply the matrix by a vector, y = m * x, in O(n * b) time
+     *
+     * @param x: a vector with n entries
+     * @precond: x.length == n
+     * @return: a new vector with n entries
+     */
+    public int[] multiply(int[] x) {
+        if (x.length != this.n) {
+            throw new ArithmeticException("Error in multiply(): x.length == n must be true");
+        }
+        else {
+            int[] y = new int[this.n];
+            for (int i = 0; i < this.n; i++) {
+                int offset = i * this.width + this.lower - i;
+                int jTo = Math.min(this.n - 1, i + this.upper);
+                int dp = 0;
+                for (int j = Math.max(0, i - this.lower); j <= jTo; j++) {
+                    dp += this.band[offset + j] * x[j];
+                }
+                y[i] = dp;
+            }
+            return y;
+        }
+    }
+
+    /**
+     * Compute the determinant of the matrix,
+     * a tridiagonal matrix uses the continuant recurrence
+     * f(k) = a(k) * f(k - 1) - b(k - 1) * c(k - 1) * f(k - 2) in O(n) time,
+     * and falls back to Matrix.determinantBareiss() if a step of the recurrence overflows a long,
+     * a triangular or diagonal matrix multiplies its diagonal in O(n) time, or returns 0 if the diagonal has a zero,
+     * any other band is unpacked and uses Matrix.determinantBareiss()
+     *
+     * @return: the determinant of the matrix,
+     * an ArithmeticException is thrown if it does not fit in an int or Matrix.determinantBareiss() overflows
+     */
+    public int determinant() {
+        if (this.lower == 0 || this.upper == 0) {
+            // a zero anywhere on the diagonal decides the answer before any product can overflow
+            for (int i = 0; i < this.n; i++) {
+                if (this.band[i * this.width + this.lower] == 0) {
+                    return 0;
+                }
+                else {
+                    // pass
+                }
+            }
+            long det = 1;
+            for (int i = 0; i < this.n; i++) {
+                det = Math.multiplyExact(det, (long) this.band[i * this.width + this.lower]);
+            }
+            return Math.toIntExact(det);
+        }
+        else if (this.lower == 1 && this.upper == 1) {
+            // f(k) is the determinant of the top left kxk block
+            long previous = 1;
+            long current = this.band[1];
+            try {
+                for (int k = 1; k < this.n; k++) {
+                    long diagonal = this.band[k * 3 + 1];
+                    long above = this.band[(k - 1) * 3 + 2];
+                    long below = this.band[k * 3];
+                    long next = Math.subtractExact(Math.multiplyExact(diagonal, current),
+                            Math.multiplyExact(Math.multiplyExact(above, below), previous));
+                    previous = current;
+                    current = next;
+                }
+            }
+            catch (ArithmeticException e) {
+                // a leading principal minor or a product of one does not fit in a long
+                return Matrix.determinantBareiss(toMatrix());
+            }
+            return Math.toIntExact(current);
+        }
+        else {
+            return Matrix.determinantBareiss(toMatrix());
+        }
+    }
+
+    /**
+     * Print the matrix to the console
+     *
+     * @postcond: the matrix is printed to the console
+     */
+    public void printMatrix() {
+        toMatrix().printMatrix();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for BandedMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(45);
+
+        // test conversion, productOfMatrices(), multiply() and determinant() against Matrix
+        int[][] cases = {{1, 0, 0}, {6, 1, 1}, {12, 1, 1}, {9, 0, 2}, {9, 3, 0}, {8, 2, 1}, {40, 3, 5}};
+        for (int[] test : cases) {
+            int n = test[0];
+            Matrix m1 = new Matrix(n, n);
+            Matrix m2 = new Matrix(n, n);
+            for (int i = 1; i <= n; i++) {
+                for (int j = Math.max(1, i - test[1]); j <= Math.min(n, i + test[2]); j++) {
+                    m1.setEntry(i, j, random.nextInt(7) - 3);
+                    m2.setEntry(i, j, random.nextInt(7) - 3);
+                }
+            }
+            // make sure the band is detected all the way out
+            m1.setEntry(n, n - test[1], 1);
+            m1.setEntry(1, 1 + test[2], 1);
+            BandedMatrix b1 = new BandedMatrix(m1);
+            BandedMatrix b2 = new BandedMatrix(m2);
+            int[] x = new int[n];
+            Matrix xMatrix = new Matrix(n, 1);
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextInt(21) - 10;
+                xMatrix.setEntry(i + 1, 1, x[i]);
+            }
+            int[] y = b1.multiply(x);
+            Matrix yMatrix = Matrix.productOfMatrices(m1, xMatrix);
+            boolean sameVector = true;
+            for (int i = 0; i < n; i++) {
+                sameVector &= y[i] == yMatrix.getEntry(i + 1, 1);
+            }
+            String name = "a " + n + "x" + n + " matrix with bandwidths " + test[1] + " and " + test[2];
+            if (b1.getLowerBandwidth() != test[1] || b1.getUpperBandwidth() != test[2] || !Matrix.sameMatrix(b1.toMatrix(), m1)) {
+                System.out.println("Error: converting " + name + " to a BandedMatrix and back changed it.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(BandedMatrix.productOfMatrices(b1, b2).toMatrix(), Matrix.productOfMatrices(m1, m2))) {
+                System.out.println("Error: productOfMatrices() returned the wrong product for " + name + ".");
+                uErrors += 1;
+            }
+            else if (!sameVector) {
+                System.out.println("Error: multiply() returned the wrong product for " + name + ".");
+                uErrors += 1;
+            }
+            else if (n <= 12 && b1.determinant() != Matrix.determinantBareiss(m1)) {
+                System.out.println("Error: determinant() returned the wrong determinant for " + name + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+
+        // the determinant of the nxn tridiagonal matrix with 2 on the diagonal and -1 beside it is n + 1
+        BandedMatrix laplacian = new BandedMatrix(1000, 1, 1);
+        for (int i = 1; i <= 1000; i++) {
+            laplacian.setEntry(i, i, 2);
+            if (i > 1) {
+                laplacian.setEntry(i, i - 1, -1);
+                laplacian.setEntry(i - 1, i, -1);
+            }
+        }
+        if (laplacian.determinant() != 1001) {
+            System.out.println("Error: determinant() returned the wrong determinant for a 1000x1000 tridiagonal matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // a zero at the end of the diagonal gives 0 even though the product before it overflows a long
+        BandedMatrix upperTriangular = new BandedMatrix(4, 0, 1);
+        for (int i = 1; i <= 3; i++) {
+            upperTriangular.setEntry(i, i, Integer.MAX_VALUE);
+            upperTriangular.setEntry(i, i + 1, 1);
+        }
+        try {
+            if (upperTriangular.determinant() != 0) {
+                System.out.println("Error: determinant() returned the wrong determinant for a triangular matrix with a zero on the diagonal.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (ArithmeticException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // the recurrence overflows a long at the third step, and the determinant does not fit in an int either
+        System.out.println("Testing catching exception thrown by determinant().");
+        try {
+            BandedMatrix large = new BandedMatrix(3, 1, 1);
+            for (int i = 1; i <= 3; i++) {
+                large.setEntry(i, i, Integer.MAX_VALUE);
+                if (i > 1) {
+                    large.setEntry(i, i - 1, 1);
+                    large.setEntry(i - 1, i, 1);
+                }
+            }
+            int largeDet = large.determinant();
+            System.out.println("Error: determinant() did not throw an exception for a determinant that does not fit in an int, but returned " + largeDet);
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test isBanded()
+        if (!BandedMatrix.isBanded(laplacian.toMatrix())) {
+            System.out.println("Error: isBanded() did not detect a tridiagonal matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        Matrix dense = new Matrix(4, 4);
+        dense.setEntry(4, 1, 1);
+        if (BandedMatrix.isBanded(dense)) {
+            System.out.println("Error: isBanded() returned true for a matrix with a nonzero corner.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test setEntry()
+        System.out.println("Testing catching exception thrown by setEntry().");
+        try {
+            laplacian.setEntry(1, 3, 5);
+            System.out.println("Error: setEntry() did not throw an exception for an entry outside the band.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test the constructor
+        System.out.println("Testing catching exception thrown by BandedMatrix() constructor.");
+        try {
+            new BandedMatrix(3, 3, 0);
+            System.out.println("Error: BandedMatrix() constructor did not throw an exception for a bandwidth that is too large.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,429 @@
+/*
+Code Written by Jackson L. Davis
+
+A matrix of bits packed 64 to a long,
+for adjacency and reachability matrices and for linear algebra over GF(2).
+ */
+
+public class BitMatrix {
+    // the number of rows of the right-hand matrix combined into each lookup table of a product
+    private static final int RUSSIAN_BITS = 8;
+
+    // row i is stored in words [i * words, (i + 1) * words), column j of a row is bit j % 64 of word j / 64,
+    // the bits of the last word past columns are always 0
+    private final long[] bits;
+    private final int rows;
+    private final int columns;
+    private final int words;
+
+    /**
+     * Constructor for the BitMatrix class,
+     * creates a matrix of all 0s
+     *
+     * @param r: number of rows for the matrix
+     * @param c: number of columns for the matrix
+     * @precond: r > 0 && c > 0
+     */
+    public BitMatrix(int r, int c) {
+        if (r <= 0) {
+            throw new ArithmeticException("Error in BitMatrix() constructor: r must be positive");
+        }
+        else if (c <= 0) {
+            throw new ArithmeticException("Error in BitMatrix() constructor: c must be positive");
+        }
+        else {
+            this.rows = r;
+            this.columns = c;
+            this.words = (c + 63) >>> 6;
+            this.bits = new long[Math.multiplyExact(r, this.words)];
+        }
+    }
+
+    /**
+     * Constructor that converts a Matrix,
+     * every nonzero entry becomes a 1
+     *
+     * @param m: the matrix to convert
+     */
+    public BitMatrix(Matrix m) {
+        this(m.getRows(), m.getColumns());
+        int[][] a = m.entries();
+        for (int i = 0; i < this.rows; i++) {
+            int offset = i * this.words;
+            for (int j = 0; j < this.columns; j++) {
+                if (a[i][j] != 0) {
+                    this.bits[offset + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert the matrix to a Matrix of 0s and 1s
+     *
+     * @return: a Matrix with a 1 wherever this matrix has a 1
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.rows, this.columns);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.rows; i++) {
+            int offset = i * this.words;
+            for (int j = 0; j < this.columns; j++) {
+                a[i][j] = (int) (this.bits[offset + (j >>> 6)] >>> j) & 1;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Getter method for rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method for columns
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Get the bit at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: true if the entry is 1, false if it is 0
+     */
+    public boolean getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            return ((this.bits[(r - 1) * this.words + ((c - 1) >>> 6)] >>> (c - 1)) & 1) != 0;
+        }
+    }
+
+    /**
+     * Change the bit at a specific entry of the matrix
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: true for 1, false for 0
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @postcond: the entry is changed to changeTo
+     */
+    public void setEntry(int r, int c, boolean changeTo) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else if (changeTo) {
+            this.bits[(r - 1) * this.words + ((c - 1) >>> 6)] |= 1L << (c - 1);
+        }
+        else {
+            this.bits[(r - 1) * this.words + ((c - 1) >>> 6)] &= ~(1L << (c - 1));
+        }
+    }
+
+    /**
+     * Check whether or not two bit matrices have the same dimensions and entries
+     *
+     * @param m1, m2: two matrices to compare
+     * @return: true if the matrices are the same, false otherwise
+     */
+    public static boolean sameMatrix(BitMatrix m1, BitMatrix m2) {
+        return m1.rows == m2.rows && m1.columns == m2.columns && java.util.Arrays.equals(m1.bits, m2.bits);
+    }
+
+    /**
+     * Compute the Boolean product of two matrices, where addition is OR and multiplication is AND,
+     * entry (i, j) is 1 if some k has m1(i, k) and m2(k, j) equal to 1,
+     * so the product of an adjacency matrix with itself gives the paths of length 2
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getColumns() == m2.getRows()
+     * @return: the Boolean product of the two matrices
+     */
+    public static BitMatrix orProduct(BitMatrix m1, BitMatrix m2) {
+        return fourRussiansProduct(m1, m2, false, "orProduct");
+    }
+
+    /**
+     * Compute the product of two matrices over GF(2), where addition is XOR and multiplication is AND,
+     * for matrices built from 0/1 entries this is Matrix.productOfMatrices() with every entry taken mod 2,
+     * but the BitMatrix(Matrix) constructor turns every nonzero entry into 1 rather than reducing it mod 2,
+     * so an entry such as 2 counts as 1 here where it would count as 0 in the integer product taken mod 2
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getColumns() == m2.getRows()
+     * @return: the product of the two matrices over GF(2)
+     */
+    public static BitMatrix xorProduct(BitMatrix m1, BitMatrix m2) {
+        return fourRussiansProduct(m1, m2, true, "xorProduct");
+    }
+
+    /**
+     * The Method of Four Russians: the rows of m2 are taken RUSSIAN_BITS at a time,
+     * every combination of those rows is built once into a table,
+     * then each row of the product looks up its combination with one index instead of combining the rows one by one
+     *
+     * @param xor: true to combine rows with XOR, false to combine them with OR
+     */
+    private static BitMatrix fourRussiansProduct(BitMatrix m1, BitMatrix m2, boolean xor, String method) {
+        if (m1.columns != m2.rows) {
+            throw new ArithmeticException("Error in " + method + "(): m1.getColumns() == m2.getRows() must be true");
+        }
+        else {
+            BitMatrix product = new BitMatrix(m1.rows, m2.columns);
+            int w = m2.words;
+            long[] table = new long[(1 << RUSSIAN_BITS) * w];
+            for (int k0 = 0; k0 < m1.columns; k0 += RUSSIAN_BITS) {
+                int t = Math.min(RUSSIAN_BITS, m1.columns - k0);
+                // table[s] combines the rows k0 + b of m2 for every bit b set in s,
+                // built from the table entry without the lowest bit, so each entry costs one row operation
+                for (int s = 1; s < (1 << t); s++) {
+                    int rest = s & (s - 1);
+                    int row = (k0 + Integer.numberOfTrailingZeros(s)) * w;
+                    for (int x = 0; x < w; x++) {
+                        long r = m2.bits[row + x];
+                        table[s * w + x] = xor ? table[rest * w + x] ^ r : table[rest * w + x] | r;
+                    }
+                }
+                long mask = (1L << t) - 1;
+                for (int i = 0; i < m1.rows; i++) {
+                    // the t bits of row i starting at column k0, which may cross a word boundary
+                    int word = i * m1.words + (k0 >>> 6);
+                    long chunk = m1.bits[word] >>> k0;
+                    if ((k0 & 63) + t > 64) {
+                        chunk |= m1.bits[word + 1] << (64 - (k0 & 63));
+                    }
+                    int s = (int) (chunk & mask);
+                    if (s == 0) {
+                        continue;
+                    }
+                    int out = i * w;
+                    for (int x = 0; x < w; x++) {
+                        if (xor) {
+                            product.bits[out + x] ^= table[s * w + x];
+                        }
+                        else {
+                            product.bits[out + x] |= table[s * w + x];
+                        }
+                    }
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Compute the rank of the matrix over GF(2) with Gaussian elimination,
+     * each row operation XORs whole words, 64 entries at a time
+     *
+     * @return: the number of linearly independent rows over GF(2)
+     */
+    public int rank() {
+        long[] a = this.bits.clone();
+        int rank = 0;
+        for (int c = 0; c < this.columns && rank < this.rows; c++) {
+            int word = c >>> 6;
+            long bit = 1L << c;
+            int pivot = -1;
+            for (int i = rank; i < this.rows; i++) {
+                if ((a[i * this.words + word] & bit) != 0) {
+                    pivot = i;
+                    break;
+                }
+            }
+            if (pivot < 0) {
+                continue;
+            }
+            if (pivot != rank) {
+                for (int x = 0; x < this.words; x++) {
+                    long swap = a[pivot * this.words + x];
+                    a[pivot * this.words + x] = a[rank * this.words + x];
+                    a[rank * this.words + x] = swap;
+                }
+            }
+            for (int i = rank + 1; i < this.rows; i++) {
+                if ((a[i * this.words + word] & bit) != 0) {
+                    // the words before the pivot column are already 0 in both rows
+                    for (int x = word; x < this.words; x++) {
+                        a[i * this.words + x] ^= a[rank * this.words + x];
+                    }
+                }
+            }
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Compute the determinant of a square matrix over GF(2),
+     * which is 1 exactly when the matrix is invertible
+     *
+     * @precond: getRows() == getColumns()
+     * @return: 1 if the matrix has full rank over GF(2), 0 otherwise
+     */
+    public int determinant() {
+        if (this.rows != this.columns) {
+            throw new ArithmeticException("Error in determinant(): getRows() == getColumns() must be true");
+        }
+        else {
+            return rank() == this.rows ? 1 : 0;
+        }
+    }
+
+    /**
+     * Print the matrix to the console as 0s and 1s
+     *
+     * @postcond: the matrix is printed to the console
+     */
+    public void printMatrix() {
+        for (int i = 1; i <= this.rows; i++) {
+            for (int j = 1; j <= this.columns; j++) {
+                System.out.print((getEntry(i, j) ? 1 : 0) + " ");
+            }
+            System.out.println("");
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for BitMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(42);
+
+        // test orProduct() and xorProduct() against productOfMatrices() for shapes that do and do not fill their words
+        int[][] shapes = {{1, 1, 1}, {3, 5, 2}, {64, 64, 64}, {70, 129, 65}, {200, 9, 130}};
+        for (int[] shape : shapes) {
+            Matrix m1 = new Matrix(shape[0], shape[1]);
+            Matrix m2 = new Matrix(shape[1], shape[2]);
+            for (int i = 1; i <= shape[0]; i++) {
+                for (int j = 1; j <= shape[1]; j++) {
+                    m1.setEntry(i, j, random.nextInt(4) == 0 ? 1 : 0);
+                }
+            }
+            for (int i = 1; i <= shape[1]; i++) {
+                for (int j = 1; j <= shape[2]; j++) {
+                    m2.setEntry(i, j, random.nextInt(4) == 0 ? 1 : 0);
+                }
+            }
+            Matrix product = Matrix.productOfMatrices(m1, m2);
+            Matrix orExpected = new Matrix(shape[0], shape[2]);
+            Matrix xorExpected = new Matrix(shape[0], shape[2]);
+            for (int i = 1; i <= shape[0]; i++) {
+                for (int j = 1; j <= shape[2]; j++) {
+                    orExpected.setEntry(i, j, product.getEntry(i, j) > 0 ? 1 : 0);
+                    xorExpected.setEntry(i, j, product.getEntry(i, j) % 2);
+                }
+            }
+            BitMatrix b1 = new BitMatrix(m1);
+            BitMatrix b2 = new BitMatrix(m2);
+            String size = shape[0] + "x" + shape[1] + " by " + shape[1] + "x" + shape[2];
+            if (!Matrix.sameMatrix(b1.toMatrix(), m1)) {
+                System.out.println("Error: converting a " + shape[0] + "x" + shape[1] + " matrix to bits and back changed it.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(BitMatrix.orProduct(b1, b2).toMatrix(), orExpected)) {
+                System.out.println("Error: orProduct() returned the wrong product for " + size + ".");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(BitMatrix.xorProduct(b1, b2).toMatrix(), xorExpected)) {
+                System.out.println("Error: xorProduct() returned the wrong product for " + size + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+
+        // test rank() and determinant()
+        BitMatrix b3 = new BitMatrix(3, 3);
+        b3.setEntry(1, 1, true);
+        b3.setEntry(1, 2, true);
+        b3.setEntry(2, 2, true);
+        b3.setEntry(2, 3, true);
+        b3.setEntry(3, 1, true);
+        b3.setEntry(3, 3, true);
+        System.out.println("Here is a matrix that is invertible over the integers but not over GF(2).");
+        b3.printMatrix();
+        if (b3.rank() != 2 || b3.determinant() != 0) {
+            System.out.println("Error: rank() or determinant() was wrong for a singular matrix over GF(2).");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        b3.setEntry(3, 3, false);
+        if (b3.rank() != 3 || b3.determinant() != 1) {
+            System.out.println("Error: rank() or determinant() was wrong for an invertible matrix over GF(2).");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        // the determinant over GF(2) is the integer determinant mod 2
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(8);
+            Matrix m = new Matrix(n, n);
+            for (int i = 1; i <= n; i++) {
+                for (int j = 1; j <= n; j++) {
+                    m.setEntry(i, j, random.nextInt(2));
+                }
+            }
+            if (new BitMatrix(m).determinant() != Math.floorMod(Matrix.determinantBareiss(m), 2)) {
+                System.out.println("Error: determinant() did not match determinantBareiss() mod 2.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        BitMatrix wide = new BitMatrix(2, 130);
+        wide.setEntry(1, 130, true);
+        wide.setEntry(2, 65, true);
+        if (wide.rank() != 2 || !wide.getEntry(1, 130) || wide.getEntry(1, 129)) {
+            System.out.println("Error: rank() or getEntry() was wrong for a matrix wider than two words.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test determinant()
+        System.out.println("Testing catching exception thrown by determinant().");
+        try {
+            wide.determinant();
+            System.out.println("Error: determinant() did not throw an exception for a matrix that is not square.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test orProduct()
+        System.out.println("Testing catching exception thrown by orProduct().");
+        try {
+            BitMatrix.orProduct(wide, wide);
+            System.out.println("Error: orProduct() did not throw an exception for matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
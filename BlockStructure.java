@@ -0,0 +1,476 @@
+/*
+Code Written by Jackson L. Davis
+
+Finds the block structure of the nonzero pattern of a square matrix,
+so a determinant or a product can be split into smaller independent problems.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class BlockStructure {
+    // blocks of at least this many rows in total are worked on in parallel
+    private static final int PARALLEL_ROWS = 64;
+
+    // the connected components of the pattern where i and j are joined if entry (i, j) or (j, i) is nonzero,
+    // each a sorted list of 0-based indices, ordered by their first index
+    private final int[][] diagonalBlocks;
+    // the strongly connected components of the pattern where i points to j if entry (i, j) is nonzero,
+    // ordered so that every nonzero entry outside a block points to a later block
+    private final int[][] triangularBlocks;
+
+    private BlockStructure(int[][] diagonalBlocks, int[][] triangularBlocks) {
+        this.diagonalBlocks = diagonalBlocks;
+        this.triangularBlocks = triangularBlocks;
+    }
+
+    /**
+     * Find the block structure of a square matrix
+     *
+     * @param m: the matrix to analyze
+     * @precond: m.isSquare()
+     * @return: the block structure of the nonzero entries of m
+     */
+    public static BlockStructure analyze(Matrix m) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in analyze(): m.isSquare() must return true");
+        }
+        else {
+            int[][] a = m.entries();
+            return new BlockStructure(connectedComponents(a), stronglyConnectedComponents(a));
+        }
+    }
+
+    /**
+     * Check whether or not the rows and columns can be reordered the same way
+     * to make the matrix block diagonal with more than one block
+     */
+    public boolean isBlockDiagonal() {
+        return this.diagonalBlocks.length > 1;
+    }
+
+    /**
+     * Check whether or not the rows and columns can be reordered the same way
+     * to make the matrix block upper triangular with more than one block
+     */
+    public boolean isBlockTriangular() {
+        return this.triangularBlocks.length > 1;
+    }
+
+    /**
+     * Get the blocks of the block diagonal form,
+     * reordering the rows and columns to list the indices of each block in turn makes the matrix block diagonal
+     *
+     * @return: the indices in each block, 1-based to stay consistent with matrix entry notation
+     */
+    public int[][] getDiagonalBlocks() {
+        return oneBased(this.diagonalBlocks);
+    }
+
+    /**
+     * Get the blocks of the block upper triangular form,
+     * reordering the rows and columns to list the indices of each block in turn makes the matrix block upper triangular,
+     * this is never coarser than the block diagonal form
+     *
+     * @return: the indices in each block, 1-based to stay consistent with matrix entry notation
+     */
+    public int[][] getTriangularBlocks() {
+        return oneBased(this.triangularBlocks);
+    }
+
+    /**
+     * Compute the determinant of a square matrix as the product of the determinants of its diagonal blocks,
+     * the blocks of the block triangular form are found and their determinants are computed in parallel,
+     * a symmetric reordering of rows and columns does not change the determinant
+     *
+     * @param m: the matrix to compute the determinant of
+     * @precond: m.isSquare()
+     * @return: the determinant of m,
+     * an ArithmeticException is thrown if it does not fit in an int
+     */
+    public static int determinant(Matrix m) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in determinant(): m.isSquare() must return true");
+        }
+        else {
+            int[][] a = m.entries();
+            int[][] blocks = stronglyConnectedComponents(a);
+            IntStream indices = IntStream.range(0, blocks.length);
+            if (a.length >= PARALLEL_ROWS && blocks.length > 1) {
+                indices = indices.parallel();
+            }
+            long[] dets = indices.mapToLong(b -> blockDeterminant(a, blocks[b])).toArray();
+            int det = 1;
+            for (long blockDet : dets) {
+                // a zero block makes the determinant 0 even if the other blocks would overflow
+                if (blockDet == 0) {
+                    return 0;
+                }
+            }
+            for (long blockDet : dets) {
+                det = Math.multiplyExact(det, Math.toIntExact(blockDet));
+            }
+            return det;
+        }
+    }
+
+    /**
+     * Compute the product of two square matrices of the same size,
+     * the rows of the product are split by the blocks of the block diagonal form of m1,
+     * since those rows of m1 only reach the rows of m2 in the same block,
+     * and the blocks are multiplied in parallel,
+     * each block only visits the columns where its rows of m2 have nonzero entries,
+     * so if m2 has the same block structure the cost is the sum of the cubes of the block sizes,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.isSquare() && Matrix.canMultiply(m1, m2)
+     * @return: the product of the two matrices
+     */
+    public static Matrix productOfMatrices(Matrix m1, Matrix m2) {
+        if (!m1.isSquare()) {
+            throw new ArithmeticException("Error in productOfMatrices(): m1.isSquare() must return true");
+        }
+        else if (!Matrix.canMultiply(m1, m2)) {
+            throw new ArithmeticException("Error in productOfMatrices(): canMultiply(m1, m2) must return true");
+        }
+        else {
+            int[][] a = m1.entries();
+            int[][] b = m2.entries();
+            int[][] blocks = connectedComponents(a);
+            Matrix product = new Matrix(m1.getRows(), m2.getColumns());
+            int[][] c = product.writableEntries();
+            IntStream indices = IntStream.range(0, blocks.length);
+            if (a.length >= PARALLEL_ROWS && blocks.length > 1) {
+                indices = indices.parallel();
+            }
+            // each block writes to its own rows of the product
+            indices.forEach(k -> multiplyBlock(a, b, c, blocks[k]));
+            return product;
+        }
+    }
+
+    /**
+     * Compute the rows of the product that belong to one block
+     */
+    private static void multiplyBlock(int[][] a, int[][] b, int[][] c, int[] block) {
+        int columns = b[0].length;
+        boolean[] used = new boolean[columns];
+        for (int k : block) {
+            for (int j = 0; j < columns; j++) {
+                used[j] |= b[k][j] != 0;
+            }
+        }
+        int count = 0;
+        int[] usedColumns = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            if (used[j]) {
+                usedColumns[count++] = j;
+            }
+        }
+        for (int i : block) {
+            int[] aRow = a[i];
+            int[] cRow = c[i];
+            for (int k : block) {
+                int aik = aRow[k];
+                if (aik == 0) {
+                    continue;
+                }
+                int[] bRow = b[k];
+                for (int x = 0; x < count; x++) {
+                    int j = usedColumns[x];
+                    cRow[j] += aik * bRow[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * The determinant of the principal submatrix on the indices of a block
+     */
+    private static long blockDeterminant(int[][] a, int[] block) {
+        if (block.length == 1) {
+            return a[block[0]][block[0]];
+        }
+        else {
+            Matrix sub = new Matrix(block.length, block.length);
+            int[][] s = sub.writableEntries();
+            for (int i = 0; i < block.length; i++) {
+                for (int j = 0; j < block.length; j++) {
+                    s[i][j] = a[block[i]][block[j]];
+                }
+            }
+            return Matrix.determinantBareiss(sub);
+        }
+    }
+
+    /**
+     * Connected components of the symmetric nonzero pattern, found with union-find
+     */
+    private static int[][] connectedComponents(int[][] a) {
+        int n = a.length;
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && a[i][j] != 0) {
+                    int ri = find(parent, i);
+                    int rj = find(parent, j);
+                    if (ri != rj) {
+                        // the smaller root wins so each component is named after its first index
+                        parent[Math.max(ri, rj)] = Math.min(ri, rj);
+                    }
+                }
+            }
+        }
+        List<List<Integer>> components = new ArrayList<>();
+        int[] componentOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (root == i) {
+                componentOf[i] = components.size();
+                components.add(new ArrayList<>());
+            }
+            else {
+                componentOf[i] = componentOf[root];
+            }
+            components.get(componentOf[i]).add(i);
+        }
+        return toArrays(components);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Strongly connected components of the directed nonzero pattern with Tarjan's algorithm,
+     * written with an explicit stack so large matrices do not overflow the call stack,
+     * Tarjan's algorithm finishes a component only after every component it points to,
+     * so the components are reversed at the end to put the ones that are pointed to last
+     */
+    private static int[][] stronglyConnectedComponents(int[][] a) {
+        int n = a.length;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        java.util.Arrays.fill(index, -1);
+        int[] stack = new int[n];
+        int stackSize = 0;
+        // the call stack of the depth-first search: the vertex and the next column to look at
+        int[] callVertex = new int[n];
+        int[] callNext = new int[n];
+        int counter = 0;
+        List<List<Integer>> components = new ArrayList<>();
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callVertex[0] = root;
+            callNext[0] = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int v = callVertex[depth];
+                if (callNext[depth] < n) {
+                    int w = callNext[depth]++;
+                    if (w == v || a[v][w] == 0) {
+                        continue;
+                    }
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callVertex[depth] = w;
+                        callNext[depth] = 0;
+                    }
+                    else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                }
+                else {
+                    if (low[v] == index[v]) {
+                        List<Integer> component = new ArrayList<>();
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            component.add(w);
+                        } while (w != v);
+                        java.util.Collections.sort(component);
+                        components.add(component);
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callVertex[depth];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                }
+            }
+        }
+        java.util.Collections.reverse(components);
+        return toArrays(components);
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists) {
+        int[][] arrays = new int[lists.size()][];
+        for (int k = 0; k < arrays.length; k++) {
+            arrays[k] = lists.get(k).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+
+    private static int[][] oneBased(int[][] blocks) {
+        int[][] copy = new int[blocks.length][];
+        for (int k = 0; k < blocks.length; k++) {
+            copy[k] = new int[blocks[k].length];
+            for (int i = 0; i < blocks[k].length; i++) {
+                copy[k][i] = blocks[k][i] + 1;
+            }
+        }
+        return copy;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for BlockStructure.java");
+        int uErrors = 0; // number of unintentional errors
+
+        // a block diagonal matrix with its rows and columns shuffled: blocks {1, 3} and {2, 4, 5}
+        Matrix mDiagonal = new Matrix(5, 5);
+        mDiagonal.setEntry(1, 1, 2);
+        mDiagonal.setEntry(1, 3, 1);
+        mDiagonal.setEntry(3, 1, 1);
+        mDiagonal.setEntry(3, 3, 3);
+        mDiagonal.setEntry(2, 2, 1);
+        mDiagonal.setEntry(2, 4, 2);
+        mDiagonal.setEntry(4, 5, 1);
+        mDiagonal.setEntry(5, 2, 3);
+        mDiagonal.setEntry(5, 5, 1);
+        BlockStructure sDiagonal = BlockStructure.analyze(mDiagonal);
+        int[][] diagonalBlocks = sDiagonal.getDiagonalBlocks();
+        if (!sDiagonal.isBlockDiagonal() || diagonalBlocks.length != 2
+                || !java.util.Arrays.equals(diagonalBlocks[0], new int[] {1, 3}) || !java.util.Arrays.equals(diagonalBlocks[1], new int[] {2, 4, 5})) {
+            System.out.println("Error: analyze() found the wrong diagonal blocks.");
+            uErrors += 1;
+        }
+        else if (BlockStructure.determinant(mDiagonal) != Matrix.determinantBareiss(mDiagonal)) {
+            System.out.println("Error: determinant() returned the wrong determinant for a block diagonal matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // a block upper triangular matrix: {1, 2} points to {3}, which points to {4, 5}
+        Matrix mTriangular = new Matrix(5, 5);
+        int[][] entries = {{1, 1, 4}, {1, 2, 1}, {2, 1, 2}, {2, 2, 5}, {1, 3, 7}, {3, 3, -3}, {3, 5, 2}, {2, 4, 9}, {4, 4, 1}, {4, 5, 1}, {5, 4, 2}, {5, 5, 3}};
+        for (int[] entry : entries) {
+            mTriangular.setEntry(entry[0], entry[1], entry[2]);
+        }
+        BlockStructure sTriangular = BlockStructure.analyze(mTriangular);
+        int[][] triangularBlocks = sTriangular.getTriangularBlocks();
+        System.out.println("Here is a block upper triangular matrix.");
+        mTriangular.printMatrix();
+        if (sTriangular.isBlockDiagonal() || !sTriangular.isBlockTriangular() || triangularBlocks.length != 3
+                || !java.util.Arrays.equals(triangularBlocks[0], new int[] {1, 2}) || !java.util.Arrays.equals(triangularBlocks[1], new int[] {3})
+                || !java.util.Arrays.equals(triangularBlocks[2], new int[] {4, 5})) {
+            System.out.println("Error: analyze() found the wrong triangular blocks.");
+            uErrors += 1;
+        }
+        else if (BlockStructure.determinant(mTriangular) != Matrix.determinantBareiss(mTriangular)) {
+            System.out.println("Error: determinant() returned the wrong determinant for a block triangular matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // large shuffled block matrices, which take the parallel path
+        java.util.Random random = new java.util.Random(46);
+        int n = 120;
+        int[] blockOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            blockOf[i] = random.nextInt(30);
+        }
+        Matrix m1 = new Matrix(n, n);
+        Matrix m2 = new Matrix(n, n);
+        for (int i = 1; i <= n; i++) {
+            // the diagonal keeps the determinant of each block away from 0 most of the time
+            m1.setEntry(i, i, 1 + random.nextInt(3));
+            for (int j = 1; j <= n; j++) {
+                if (blockOf[i - 1] == blockOf[j - 1] && random.nextInt(3) == 0) {
+                    m1.setEntry(i, j, random.nextInt(5) - 2);
+                }
+                if (random.nextInt(4) == 0) {
+                    m2.setEntry(i, j, random.nextInt(21) - 10);
+                }
+            }
+        }
+        try {
+            if (!Matrix.sameMatrix(BlockStructure.productOfMatrices(m1, m2), Matrix.productOfMatrices(m1, m2))) {
+                System.out.println("Error: productOfMatrices() returned the wrong product.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(BlockStructure.productOfMatrices(m1, m1), Matrix.productOfMatrices(m1, m1))) {
+                System.out.println("Error: productOfMatrices() returned the wrong product for two matrices with the same blocks.");
+                uErrors += 1;
+            }
+            else if (BlockStructure.analyze(m1).getDiagonalBlocks().length < 2) {
+                System.out.println("Error: analyze() did not find the blocks of a large shuffled block matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // a single block with no structure
+        Matrix mFull = new Matrix(3, 3);
+        for (int i = 1; i <= 3; i++) {
+            for (int j = 1; j <= 3; j++) {
+                mFull.setEntry(i, j, i * j + (i == j ? 1 : 0));
+            }
+        }
+        BlockStructure sFull = BlockStructure.analyze(mFull);
+        if (sFull.isBlockDiagonal() || sFull.isBlockTriangular() || BlockStructure.determinant(mFull) != Matrix.determinantBareiss(mFull)) {
+            System.out.println("Error: analyze() or determinant() was wrong for a matrix with no block structure.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test analyze()
+        System.out.println("Testing catching exception thrown by analyze().");
+        try {
+            BlockStructure.analyze(new Matrix(2, 3));
+            System.out.println("Error: analyze() did not throw an exception for a matrix that is not square.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
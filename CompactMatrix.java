@@ -0,0 +1,467 @@
+/*
+Code Written by Jackson L. Davis
+
+A matrix of integers that stores its entries in the narrowest of
+byte, short or int that fits every entry, widening when an entry does not fit.
+ */
+
+public class CompactMatrix {
+    // the entries row by row, in exactly one of these arrays depending on bytesPerEntry
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+    private int bytesPerEntry;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Constructor for the CompactMatrix class,
+     * creates a zero matrix stored in bytes
+     *
+     * @param r: number of rows for the matrix
+     * @param c: number of columns for the matrix
+     * @precond: r > 0 && c > 0
+     */
+    public CompactMatrix(int r, int c) {
+        if (r <= 0) {
+            throw new ArithmeticException("Error in CompactMatrix() constructor: r must be positive");
+        }
+        else if (c <= 0) {
+            throw new ArithmeticException("Error in CompactMatrix() constructor: c must be positive");
+        }
+        else {
+            this.rows = r;
+            this.columns = c;
+            this.bytesPerEntry = 1;
+            this.bytes = new byte[Math.multiplyExact(r, c)];
+        }
+    }
+
+    /**
+     * Constructor that converts a Matrix,
+     * the storage is the narrowest type that fits every entry
+     *
+     * @param m: the matrix to copy
+     */
+    public CompactMatrix(Matrix m) {
+        this(m.getRows(), m.getColumns());
+        int[][] a = m.entries();
+        for (int i = 0; i < this.rows; i++) {
+            storeRow(a[i], i);
+        }
+    }
+
+    /**
+     * Convert the matrix to a Matrix
+     *
+     * @return: a Matrix with the same entries
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.rows, this.columns);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.rows; i++) {
+            java.util.Arrays.fill(a[i], 0);
+            addRowInto(a[i], i);
+        }
+        return m;
+    }
+
+    /**
+     * Getter method for rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method for columns
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Getter method for the number of bytes used to store each entry
+     *
+     * @return: 1, 2 or 4
+     */
+    public int getBytesPerEntry() {
+        return this.bytesPerEntry;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            int index = (r - 1) * this.columns + (c - 1);
+            switch (this.bytesPerEntry) {
+                case 1:
+                    return this.bytes[index];
+                case 2:
+                    return this.shorts[index];
+                default:
+                    return this.ints[index];
+            }
+        }
+    }
+
+    /**
+     * Change the number at a specific entry of the matrix,
+     * the storage is widened first if the number does not fit
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @postcond: the entry is changed to changeTo
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            int needed = bytesNeeded(changeTo, changeTo);
+            if (needed > this.bytesPerEntry) {
+                widen(needed);
+            }
+            int index = (r - 1) * this.columns + (c - 1);
+            switch (this.bytesPerEntry) {
+                case 1:
+                    this.bytes[index] = (byte) changeTo;
+                    break;
+                case 2:
+                    this.shorts[index] = (short) changeTo;
+                    break;
+                default:
+                    this.ints[index] = changeTo;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Add two matrices together and return their sum,
+     * the sum is stored in the narrowest type that fits its entries,
+     * entries wrap around on overflow just like Matrix.sumOfMatrices()
+     *
+     * @param m1, m2: two matrices to be added
+     * @precond: m1 and m2 have the same dimensions
+     * @return: the sum of m1 and m2
+     */
+    public static CompactMatrix sumOfMatrices(CompactMatrix m1, CompactMatrix m2) {
+        if (m1.rows != m2.rows || m1.columns != m2.columns) {
+            throw new ArithmeticException("Error in sumOfMatrices(): m1 and m2 must have the same dimensions");
+        }
+        else {
+            CompactMatrix matrixSum = new CompactMatrix(m1.rows, m1.columns);
+            int[] row = new int[m1.columns];
+            for (int i = 0; i < m1.rows; i++) {
+                java.util.Arrays.fill(row, 0);
+                m1.addRowInto(row, i);
+                m2.addRowInto(row, i);
+                matrixSum.storeRow(row, i);
+            }
+            return matrixSum;
+        }
+    }
+
+    /**
+     * Compute the product of two matrices,
+     * rows of m2 are read in their narrow type and added into an int row,
+     * the product is stored in the narrowest type that fits its entries,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getColumns() == m2.getRows()
+     * @return: the product of the two matrices
+     */
+    public static CompactMatrix productOfMatrices(CompactMatrix m1, CompactMatrix m2) {
+        if (m1.columns != m2.rows) {
+            throw new ArithmeticException("Error in productOfMatrices(): m1.getColumns() == m2.getRows() must be true");
+        }
+        else {
+            CompactMatrix matrixProduct = new CompactMatrix(m1.rows, m2.columns);
+            int[] row = new int[m2.columns];
+            int[] aRow = new int[m1.columns];
+            for (int i = 0; i < m1.rows; i++) {
+                java.util.Arrays.fill(row, 0);
+                java.util.Arrays.fill(aRow, 0);
+                m1.addRowInto(aRow, i);
+                for (int k = 0; k < m1.columns; k++) {
+                    int aik = aRow[k];
+                    if (aik != 0) {
+                        m2.addScaledRowInto(row, k, aik);
+                    }
+                }
+                matrixProduct.storeRow(row, i);
+            }
+            return matrixProduct;
+        }
+    }
+
+    /**
+     * Add row i (0-based) into an int row,
+     * the width is checked once per row so the loop reads the narrow array directly
+     */
+    private void addRowInto(int[] out, int i) {
+        int offset = i * this.columns;
+        switch (this.bytesPerEntry) {
+            case 1:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += this.bytes[offset + j];
+                }
+                break;
+            case 2:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += this.shorts[offset + j];
+                }
+                break;
+            default:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += this.ints[offset + j];
+                }
+                break;
+        }
+    }
+
+    /**
+     * Add s times row i (0-based) into an int row
+     */
+    private void addScaledRowInto(int[] out, int i, int s) {
+        int offset = i * this.columns;
+        switch (this.bytesPerEntry) {
+            case 1:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += s * this.bytes[offset + j];
+                }
+                break;
+            case 2:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += s * this.shorts[offset + j];
+                }
+                break;
+            default:
+                for (int j = 0; j < this.columns; j++) {
+                    out[j] += s * this.ints[offset + j];
+                }
+                break;
+        }
+    }
+
+    /**
+     * Write an int row into row i (0-based),
+     * the storage is widened first only if a value of the row does not fit
+     */
+    private void storeRow(int[] row, int i) {
+        int min = 0;
+        int max = 0;
+        for (int j = 0; j < this.columns; j++) {
+            min = Math.min(min, row[j]);
+            max = Math.max(max, row[j]);
+        }
+        int needed = bytesNeeded(min, max);
+        if (needed > this.bytesPerEntry) {
+            widen(needed);
+        }
+        int offset = i * this.columns;
+        switch (this.bytesPerEntry) {
+            case 1:
+                for (int j = 0; j < this.columns; j++) {
+                    this.bytes[offset + j] = (byte) row[j];
+                }
+                break;
+            case 2:
+                for (int j = 0; j < this.columns; j++) {
+                    this.shorts[offset + j] = (short) row[j];
+                }
+                break;
+            default:
+                System.arraycopy(row, 0, this.ints, offset, this.columns);
+                break;
+        }
+    }
+
+    /**
+     * Copy the entries straight into a wider type
+     */
+    private void widen(int newBytesPerEntry) {
+        int size = this.rows * this.columns;
+        if (newBytesPerEntry == 2) {
+            this.shorts = new short[size];
+            for (int k = 0; k < size; k++) {
+                this.shorts[k] = this.bytes[k];
+            }
+        }
+        else if (this.bytesPerEntry == 1) {
+            this.ints = new int[size];
+            for (int k = 0; k < size; k++) {
+                this.ints[k] = this.bytes[k];
+            }
+        }
+        else {
+            this.ints = new int[size];
+            for (int k = 0; k < size; k++) {
+                this.ints[k] = this.shorts[k];
+            }
+        }
+        this.bytes = null;
+        if (newBytesPerEntry == 4) {
+            this.shorts = null;
+        }
+        else {
+            // pass
+        }
+        this.bytesPerEntry = newBytesPerEntry;
+    }
+
+    /**
+     * The number of bytes needed to store every value from min to max
+     */
+    private static int bytesNeeded(int min, int max) {
+        if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+            return 1;
+        }
+        else if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+            return 2;
+        }
+        else {
+            return 4;
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for CompactMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(43);
+
+        // test the constructor, sumOfMatrices() and productOfMatrices() for each width of storage
+        int[] bounds = {100, 30000, 1000000000};
+        int[] expectedBytes = {1, 2, 4};
+        for (int b = 0; b < bounds.length; b++) {
+            Matrix m1 = new Matrix(13, 21);
+            Matrix m2 = new Matrix(21, 8);
+            Matrix m3 = new Matrix(13, 21);
+            for (int i = 1; i <= 13; i++) {
+                for (int j = 1; j <= 21; j++) {
+                    m1.setEntry(i, j, random.nextInt(2 * bounds[b] + 1) - bounds[b]);
+                    m3.setEntry(i, j, random.nextInt(2 * bounds[b] + 1) - bounds[b]);
+                }
+            }
+            for (int i = 1; i <= 21; i++) {
+                for (int j = 1; j <= 8; j++) {
+                    m2.setEntry(i, j, random.nextInt(2 * bounds[b] + 1) - bounds[b]);
+                }
+            }
+            CompactMatrix c1 = new CompactMatrix(m1);
+            CompactMatrix c2 = new CompactMatrix(m2);
+            CompactMatrix c3 = new CompactMatrix(m3);
+            if (c1.getBytesPerEntry() != expectedBytes[b] || !Matrix.sameMatrix(c1.toMatrix(), m1)) {
+                System.out.println("Error: the constructor stored entries up to " + bounds[b] + " in " + c1.getBytesPerEntry() + " bytes.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(CompactMatrix.sumOfMatrices(c1, c3).toMatrix(), Matrix.sumOfMatrices(m1, m3))) {
+                System.out.println("Error: sumOfMatrices() returned the wrong sum for entries up to " + bounds[b] + ".");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(CompactMatrix.productOfMatrices(c1, c2).toMatrix(), Matrix.productOfMatrices(m1, m2))) {
+                System.out.println("Error: productOfMatrices() returned the wrong product for entries up to " + bounds[b] + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+
+        // test setEntry() widening the storage
+        CompactMatrix c = new CompactMatrix(3, 3);
+        c.setEntry(1, 1, -128);
+        c.setEntry(2, 2, 127);
+        int bytesBefore = c.getBytesPerEntry();
+        c.setEntry(3, 3, 1000);
+        int bytesAfterShort = c.getBytesPerEntry();
+        c.setEntry(1, 3, -100000);
+        if (bytesBefore != 1 || bytesAfterShort != 2 || c.getBytesPerEntry() != 4) {
+            System.out.println("Error: setEntry() did not widen the storage when an entry did not fit.");
+            uErrors += 1;
+        }
+        else if (c.getEntry(1, 1) != -128 || c.getEntry(2, 2) != 127 || c.getEntry(3, 3) != 1000 || c.getEntry(1, 3) != -100000) {
+            System.out.println("Error: widening the storage changed the entries.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // an operation on narrow matrices can produce a wider result
+        CompactMatrix small = new CompactMatrix(1, 1);
+        small.setEntry(1, 1, 100);
+        CompactMatrix square = CompactMatrix.productOfMatrices(small, small);
+        if (small.getBytesPerEntry() != 1 || square.getBytesPerEntry() != 2 || square.getEntry(1, 1) != 10000) {
+            System.out.println("Error: productOfMatrices() did not widen a product that did not fit in a byte.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // rows already written stay correct when a later row of the sum widens the storage
+        Matrix mRows = new Matrix(3, 2);
+        mRows.setEntry(1, 1, -5);
+        mRows.setEntry(1, 2, 100);
+        mRows.setEntry(2, 1, 20000);
+        mRows.setEntry(3, 2, 2000000000);
+        CompactMatrix cRows = new CompactMatrix(mRows);
+        CompactMatrix rowSum = CompactMatrix.sumOfMatrices(cRows, cRows);
+        if (cRows.getBytesPerEntry() != 4 || rowSum.getBytesPerEntry() != 4
+            || !Matrix.sameMatrix(rowSum.toMatrix(), Matrix.sumOfMatrices(mRows, mRows))) {
+            System.out.println("Error: widening the storage part way through a result changed the rows already written.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test productOfMatrices()
+        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        try {
+            CompactMatrix.productOfMatrices(new CompactMatrix(2, 3), new CompactMatrix(2, 3));
+            System.out.println("Error: productOfMatrices() did not throw an exception for matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test getEntry()
+        System.out.println("Testing catching exception thrown by getEntry().");
+        try {
+            c.getEntry(0, 1);
+            System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,435 @@
+/*
+Code Written by Jackson L. Davis
+
+A matrix of integers that many threads can update at the same time,
+every single-entry update is atomic and lock-free.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentMatrix {
+    // atomic access to the elements of an int[] row
+    private static final VarHandle ENTRY = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int[][] matrix;
+    private final int rows;
+    private final int columns;
+    // null unless striped row-lock mode is on, row r is guarded by rowLocks[r % rowLocks.length]
+    private final ReentrantLock[] rowLocks;
+
+    /**
+     * Constructor for the ConcurrentMatrix class,
+     * creates a zero matrix without row locks
+     *
+     * @param r: number of rows for the matrix
+     * @param c: number of columns for the matrix
+     * @precond: r > 0 && c > 0
+     */
+    public ConcurrentMatrix(int r, int c) {
+        this(r, c, 0);
+    }
+
+    /**
+     * Constructor for the ConcurrentMatrix class,
+     * creates a zero matrix in striped row-lock mode,
+     * the rows are spread over the given number of locks so that multi-entry updates
+     * to different rows usually do not wait for each other
+     *
+     * @param r: number of rows for the matrix
+     * @param c: number of columns for the matrix
+     * @param stripes: number of row locks, or 0 for no row locks
+     * @precond: r > 0 && c > 0 && stripes >= 0
+     */
+    public ConcurrentMatrix(int r, int c, int stripes) {
+        // check if r and c are positive
+        if (r <= 0) {
+            throw new ArithmeticException("Error in ConcurrentMatrix() constructor: r must be positive");
+        }
+        else if (c <= 0) {
+            throw new ArithmeticException("Error in ConcurrentMatrix() constructor: c must be positive");
+        }
+        else if (stripes < 0) {
+            throw new ArithmeticException("Error in ConcurrentMatrix() constructor: stripes must not be negative");
+        }
+        // create the ConcurrentMatrix object
+        else {
+            this.rows = r;
+            this.columns = c;
+            this.matrix = new int[r][c];
+            if (stripes > 0) {
+                this.rowLocks = new ReentrantLock[Math.min(stripes, r)];
+                for (int i = 0; i < this.rowLocks.length; i++) {
+                    this.rowLocks[i] = new ReentrantLock();
+                }
+            }
+            else {
+                this.rowLocks = null;
+            }
+        }
+    }
+
+    /**
+     * Constructor for the ConcurrentMatrix class,
+     * creates a copy of a matrix without row locks
+     *
+     * @param m: the matrix to copy
+     */
+    public ConcurrentMatrix(Matrix m) {
+        this(m.getRows(), m.getColumns(), 0);
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < this.columns; j++) {
+                this.matrix[i][j] = m.getEntry(i + 1, j + 1);
+            }
+        }
+    }
+
+    /**
+     * Getter method for rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method for columns
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Check whether or not the matrix is in striped row-lock mode
+     *
+     * @return: true if the matrix has row locks, false otherwise
+     */
+    public boolean isStriped() {
+        return this.rowLocks != null;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix,
+     * this sees every update that finished before it was called
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        checkBounds(r, c, "getEntry");
+        return (int) ENTRY.getVolatile(this.matrix[r - 1], c - 1);
+    }
+
+    /**
+     * Change a specific entry of the matrix atomically
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the number to change the entry to
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @postcond: the matrix entry at row r and column c is changed to changeTo
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        checkBounds(r, c, "setEntry");
+        ENTRY.setVolatile(this.matrix[r - 1], c - 1, changeTo);
+    }
+
+    /**
+     * Add a number to a specific entry of the matrix atomically,
+     * no concurrent update to the same entry is lost
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param delta: the number to add to the entry
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @postcond: delta is added to the matrix entry at row r and column c
+     */
+    public void addToEntry(int r, int c, int delta) {
+        checkBounds(r, c, "addToEntry");
+        ENTRY.getAndAdd(this.matrix[r - 1], c - 1, delta);
+    }
+
+    /**
+     * Add a number to a specific entry of the matrix atomically
+     * and return the entry from before the addition
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param delta: the number to add to the entry
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: the number at the specified entry before delta was added
+     */
+    public int getAndAdd(int r, int c, int delta) {
+        checkBounds(r, c, "getAndAdd");
+        return (int) ENTRY.getAndAdd(this.matrix[r - 1], c - 1, delta);
+    }
+
+    /**
+     * Change a specific entry of the matrix atomically,
+     * but only if it still has the expected value
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param expected: the number the entry must have for it to be changed
+     * @param changeTo: the number to change the entry to
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: true if the entry was changed, false if it did not have the expected value
+     */
+    public boolean compareAndSetEntry(int r, int c, int expected, int changeTo) {
+        checkBounds(r, c, "compareAndSetEntry");
+        return ENTRY.compareAndSet(this.matrix[r - 1], c - 1, expected, changeTo);
+    }
+
+    /**
+     * Add numbers to several entries as one update,
+     * in striped row-lock mode no other multi-entry update or snapshot sees only part of it,
+     * without row locks each entry is still added atomically but readers may see part of it
+     *
+     * @param r: the rows of the entries to change
+     * @param c: the columns of the entries to change
+     * @param deltas: the numbers to add to the entries
+     * @precond: r, c and deltas have the same length and every entry is in bounds
+     * @postcond: deltas[k] is added to the entry at row r[k] and column c[k] for every k
+     */
+    public void addToEntries(int[] r, int[] c, int[] deltas) {
+        if (r.length != c.length || r.length != deltas.length) {
+            throw new ArithmeticException("Error in addToEntries(): r, c and deltas must have the same length");
+        }
+        else {
+            for (int k = 0; k < r.length; k++) {
+                checkBounds(r[k], c[k], "addToEntries");
+            }
+        }
+        boolean[] stripes = lockStripes(r);
+        try {
+            for (int k = 0; k < r.length; k++) {
+                // still atomic, so single-entry updates that do not take the locks are never lost
+                ENTRY.getAndAdd(this.matrix[r[k] - 1], c[k] - 1, deltas[k]);
+            }
+        }
+        finally {
+            unlockStripes(stripes);
+        }
+    }
+
+    /**
+     * Add a row of numbers to a specific row of the matrix as one update
+     *
+     * @param r: the row to change
+     * @param deltas: the numbers to add, one for each column
+     * @precond: 1 <= r <= rows && deltas.length == columns
+     * @postcond: deltas[j] is added to the entry at row r and column j + 1 for every j
+     */
+    public void addToRow(int r, int[] deltas) {
+        if (deltas.length != this.columns) {
+            throw new ArithmeticException("Error in addToRow(): deltas.length == columns must be true");
+        }
+        else {
+            checkBounds(r, 1, "addToRow");
+        }
+        boolean[] stripes = lockStripes(new int[] {r});
+        try {
+            int[] row = this.matrix[r - 1];
+            for (int j = 0; j < this.columns; j++) {
+                if (deltas[j] != 0) {
+                    ENTRY.getAndAdd(row, j, deltas[j]);
+                }
+            }
+        }
+        finally {
+            unlockStripes(stripes);
+        }
+    }
+
+    /**
+     * Copy the matrix into a new Matrix,
+     * in striped row-lock mode every row lock is held while copying
+     * so no multi-entry update is only partly copied
+     *
+     * @return: a Matrix with the same entries as this matrix
+     */
+    public Matrix toMatrix() {
+        Matrix snapshot = new Matrix(this.rows, this.columns);
+        boolean[] stripes = null;
+        if (this.rowLocks != null) {
+            stripes = new boolean[this.rowLocks.length];
+            java.util.Arrays.fill(stripes, true);
+            for (ReentrantLock lock : this.rowLocks) {
+                lock.lock();
+            }
+        }
+        else {
+            // pass
+        }
+        try {
+            for (int i = 0; i < this.rows; i++) {
+                for (int j = 0; j < this.columns; j++) {
+                    snapshot.setEntry(i + 1, j + 1, (int) ENTRY.getVolatile(this.matrix[i], j));
+                }
+            }
+        }
+        finally {
+            unlockStripes(stripes);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Lock the stripes of the given rows in increasing order, so two threads
+     * locking overlapping sets of rows can never deadlock
+     *
+     * @param r: 1-based row indices
+     * @return: which stripes were locked, or null if the matrix has no row locks
+     */
+    private boolean[] lockStripes(int[] r) {
+        if (this.rowLocks == null) {
+            return null;
+        }
+        else {
+            boolean[] stripes = new boolean[this.rowLocks.length];
+            for (int row : r) {
+                stripes[(row - 1) % this.rowLocks.length] = true;
+            }
+            for (int s = 0; s < stripes.length; s++) {
+                if (stripes[s]) {
+                    this.rowLocks[s].lock();
+                }
+            }
+            return stripes;
+        }
+    }
+
+    /**
+     * Unlock the stripes locked by lockStripes()
+     */
+    private void unlockStripes(boolean[] stripes) {
+        if (stripes != null) {
+            for (int s = stripes.length - 1; s >= 0; s--) {
+                if (stripes[s]) {
+                    this.rowLocks[s].unlock();
+                }
+            }
+        }
+        else {
+            // pass
+        }
+    }
+
+    /**
+     * Throw an exception if an entry is out of bounds
+     *
+     * @param method: the name of the calling method, for the error message
+     */
+    private void checkBounds(int r, int c, String method) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in " + method + "(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            // pass
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for ConcurrentMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        // test the constructor
+        System.out.println("Testing catching exceptions thrown by the ConcurrentMatrix constructor.");
+        try {
+            ConcurrentMatrix mInvalid = new ConcurrentMatrix(0, 1);
+            System.out.println("Error: ConcurrentMatrix() constructor did not throw an exception even though the number of rows was not positive.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test single-entry operations
+        ConcurrentMatrix m1 = new ConcurrentMatrix(2, 2);
+        m1.setEntry(1, 1, 5);
+        m1.addToEntry(1, 1, 3);
+        if (m1.getEntry(1, 1) != 8) {
+            System.out.println("Error: addToEntry() did not add to the entry.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        if (m1.getAndAdd(1, 1, 2) != 8 || m1.getEntry(1, 1) != 10) {
+            System.out.println("Error: getAndAdd() returned the wrong value.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        if (m1.compareAndSetEntry(1, 1, 9, 0) || !m1.compareAndSetEntry(1, 1, 10, 4) || m1.getEntry(1, 1) != 4) {
+            System.out.println("Error: compareAndSetEntry() did not compare correctly.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        System.out.println("Testing catching exception thrown by addToEntry().");
+        try {
+            m1.addToEntry(3, 1, 1);
+            System.out.println("Error: addToEntry() did not throw an exception for an entry that was out of bounds.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // many threads accumulating into the same matrix must not lose any updates
+        int threadCount = 8;
+        int updatesPerThread = 20000;
+        ConcurrentMatrix[] counters = {new ConcurrentMatrix(4, 4), new ConcurrentMatrix(4, 4, 2)};
+        for (ConcurrentMatrix counter : counters) {
+            Thread[] threads = new Thread[threadCount];
+            for (int t = 0; t < threadCount; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int k = 0; k < updatesPerThread; k++) {
+                        counter.addToEntry(1 + k % 4, 1 + (k / 4) % 4, 1);
+                        // move one count from 4,4 to 1,1 as a single update
+                        counter.addToEntries(new int[] {4, 1}, new int[] {4, 1}, new int[] {-1, 1});
+                        counter.addToRow(2, new int[] {1, 0, 0, -1});
+                    }
+                });
+                threads[t].start();
+            }
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            }
+            catch (InterruptedException e) {
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+            Matrix snapshot = counter.toMatrix();
+            int total = 0;
+            for (int i = 1; i <= 4; i++) {
+                for (int j = 1; j <= 4; j++) {
+                    total += snapshot.getEntry(i, j);
+                }
+            }
+            if (total != threadCount * updatesPerThread || snapshot.getEntry(2, 1) != threadCount * (updatesPerThread / 16 + updatesPerThread)) {
+                System.out.println("Error: concurrent updates were lost (striped: " + counter.isStriped() + ").");
+                snapshot.printMatrix();
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,694 @@
+/*
+Code Written by Jackson L. Davis
+
+A square matrix that keeps its determinant up to date as its entries change,
+each change costs O(n^2) instead of a new O(n^3) elimination.
+ */
+
+import java.math.BigInteger;
+
+public class DeterminantTracker {
+    private final int[][] matrix;
+    private final int n;
+    // the squared length of each row, for the Hadamard bound on the determinant
+    private final double[] rowSquares;
+    // the matrix modulo each prime, the primes below 2^31 from the largest down in the order Matrix.exactDeterminant() uses them,
+    // with more added whenever the Hadamard bound grows past half of their product,
+    // so the determinant rebuilt with the Chinese remainder theorem is never just a residue
+    private final java.util.List<Residue> residues = new java.util.ArrayList<>();
+    // the product of the primes
+    private BigInteger modulus = BigInteger.ONE;
+
+    /**
+     * The matrix modulo one prime, kept as an invertible anchor matrix minus a few unit corrections,
+     * A = anchor - sum of e_r * e_c^T over the corrections (r, c), so the inverse of the anchor can be
+     * updated in O(n^2) time even while A is singular, and det(A) = det(anchor) * det(k) where
+     * k[s][t] = (s == t) - anchor^-1[c_s][r_t] (the generalized matrix determinant lemma)
+     */
+    private static final class Residue {
+        final long prime;
+        // the inverse and determinant of the anchor
+        long[][] inverse;
+        long anchorDet;
+        // the determinant of the matrix
+        long det;
+        // the rows and columns {r, c} of the corrections, usually as many as the nullity of the matrix
+        final java.util.List<int[]> corrections = new java.util.ArrayList<>();
+
+        Residue(long prime) {
+            this.prime = prime;
+        }
+    }
+
+    /**
+     * Constructor for the DeterminantTracker class,
+     * copies a square matrix and computes its determinant and inverse modulo each prime in O(n^3) time,
+     * with as many primes as the Hadamard bound on the determinant needs
+     *
+     * @param m: the matrix to track
+     * @precond: m.isSquare()
+     */
+    public DeterminantTracker(Matrix m) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in DeterminantTracker() constructor: m.isSquare() must return true");
+        }
+        else {
+            this.n = m.getRows();
+            this.matrix = new int[this.n][];
+            int[][] a = m.entries();
+            this.rowSquares = new double[this.n];
+            for (int i = 0; i < this.n; i++) {
+                this.matrix[i] = a[i].clone();
+                this.rowSquares[i] = Matrix.squaredLength(this.matrix[i]);
+            }
+            coverBound(hadamardLog2());
+        }
+    }
+
+    /**
+     * Getter method for the number of rows, which is also the number of columns
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= n && 1 <= c <= n
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        else {
+            return this.matrix[r - 1][c - 1];
+        }
+    }
+
+    /**
+     * Copy the tracked matrix into a Matrix
+     *
+     * @return: a Matrix with the same entries
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.n, this.n);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.n; i++) {
+            System.arraycopy(this.matrix[i], 0, a[i], 0, this.n);
+        }
+        return m;
+    }
+
+    /**
+     * Change the number at a specific entry of the matrix and update the determinant in O(n^2) time for each prime,
+     * changing entry (r, c) by d multiplies the determinant by 1 + d * inverse(c, r)
+     * (the matrix determinant lemma), and the inverse is updated with the Sherman-Morrison formula,
+     * the inverse is of an invertible anchor matrix that differs from the matrix in a few entries,
+     * so it is never lost when the matrix becomes singular modulo a prime
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= n && 1 <= c <= n
+     * @postcond: the entry is changed to changeTo and determinant() returns the new determinant
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        else {
+            long delta = (long) changeTo - this.matrix[r - 1][c - 1];
+            this.matrix[r - 1][c - 1] = changeTo;
+            if (delta == 0) {
+                return;
+            }
+            this.rowSquares[r - 1] = Matrix.squaredLength(this.matrix[r - 1]);
+            for (Residue residue : this.residues) {
+                long prime = residue.prime;
+                long[][] inv = residue.inverse;
+                long d = Math.floorMod(delta, prime);
+                // A^-1 u is d times column r of the inverse, v^T A^-1 is row c of the inverse
+                long[] x = new long[this.n];
+                for (int i = 0; i < this.n; i++) {
+                    x[i] = d * inv[i][r - 1] % prime;
+                }
+                long[] v = new long[this.n];
+                v[c - 1] = 1;
+                addUpdate(residue, x, inv[c - 1].clone(), v);
+            }
+        }
+    }
+
+    /**
+     * Add the outer product u * v^T to the matrix and update the determinant in O(n^2) time for each prime,
+     * the determinant is multiplied by 1 + v^T * inverse * u (the matrix determinant lemma),
+     * a singular matrix is handled as in setEntry()
+     *
+     * @param u: a vector with n entries
+     * @param v: a vector with n entries
+     * @precond: u.length == n && v.length == n && no entry overflows an int
+     * @postcond: entry (i, j) is increased by u[i - 1] * v[j - 1] and determinant() returns the new determinant
+     */
+    public void addOuterProduct(int[] u, int[] v) {
+        if (u.length != this.n || v.length != this.n) {
+            throw new ArithmeticException("Error in addOuterProduct(): u.length == n and v.length == n must be true");
+        }
+        else {
+            // check every entry before changing any, so an overflow leaves the matrix as it was
+            int[][] updated = new int[this.n][];
+            for (int i = 0; i < this.n; i++) {
+                updated[i] = new int[this.n];
+                for (int j = 0; j < this.n; j++) {
+                    updated[i][j] = Math.toIntExact(this.matrix[i][j] + (long) u[i] * v[j]);
+                }
+            }
+            for (int i = 0; i < this.n; i++) {
+                System.arraycopy(updated[i], 0, this.matrix[i], 0, this.n);
+                this.rowSquares[i] = Matrix.squaredLength(this.matrix[i]);
+            }
+            for (Residue residue : this.residues) {
+                long prime = residue.prime;
+                long[][] inv = residue.inverse;
+                long[] x = new long[this.n];
+                long[] y = new long[this.n];
+                long[] vMod = new long[this.n];
+                for (int i = 0; i < this.n; i++) {
+                    long ui = Math.floorMod(u[i], prime);
+                    long vi = Math.floorMod(v[i], prime);
+                    vMod[i] = vi;
+                    if (ui != 0) {
+                        for (int k = 0; k < this.n; k++) {
+                            x[k] = (x[k] + inv[k][i] * ui) % prime;
+                        }
+                    }
+                    if (vi != 0) {
+                        long[] invRow = inv[i];
+                        for (int k = 0; k < this.n; k++) {
+                            y[k] = (y[k] + vi * invRow[k]) % prime;
+                        }
+                    }
+                }
+                addUpdate(residue, x, y, vMod);
+            }
+        }
+    }
+
+    /**
+     * Get the determinant of the matrix in O(n) time,
+     * rebuilt from its residues modulo primes near 2^31 with the Chinese remainder theorem
+     * once the Hadamard bound shows that their product is more than twice |det|,
+     * if the bound has grown past that, the matrix is first tracked modulo as many more primes as it needs,
+     * in O(n^3) time each, so a residue is never mistaken for the determinant
+     *
+     * @return: the determinant of the matrix,
+     * an ArithmeticException is thrown if it does not fit in an int
+     */
+    public int determinant() {
+        double bits = hadamardLog2();
+        coverBound(bits);
+        long[] known = new long[this.residues.size()];
+        for (int p = 0; p < known.length; p++) {
+            known[p] = this.residues.get(p).det;
+        }
+        BigInteger value = Matrix.exactDeterminant(this.matrix, bits, known);
+        if (value.bitLength() >= Integer.SIZE) {
+            throw new ArithmeticException("Error in determinant(): the determinant must fit in an int");
+        }
+        else {
+            return value.intValue();
+        }
+    }
+
+    /**
+     * Compute log2 of the Hadamard bound on the determinant in O(n) time from the squared lengths of the rows
+     */
+    private double hadamardLog2() {
+        double bits = 0;
+        for (double squares : this.rowSquares) {
+            bits += Math.log(squares) / (2 * Math.log(2));
+        }
+        return bits;
+    }
+
+    /**
+     * Track the matrix modulo more primes in O(n^3) time each, until their product is as large as
+     * Matrix.exactDeterminant() needs for the bound, there is always at least one
+     *
+     * @param bits: log2 of the Hadamard bound on the determinant
+     */
+    private void coverBound(double bits) {
+        while (this.residues.isEmpty() || this.modulus.bitLength() <= bits + 3) {
+            long prime = Matrix.previousPrime(this.residues.isEmpty() ? 1L << 31 : this.residues.get(this.residues.size() - 1).prime);
+            Residue residue = new Residue(prime);
+            anchor(residue);
+            this.residues.add(residue);
+            this.modulus = this.modulus.multiply(BigInteger.valueOf(prime));
+        }
+    }
+
+    /**
+     * Add the update u * v^T to a residue in O(n^2) time, given x = anchor^-1 u and y = v^T anchor^-1,
+     * if the anchor would become singular a correction e_r * e_c^T is added to it as well, where
+     * det(anchor + u * v^T + e_r * e_c^T) = -det(anchor) * y[r] * x[c] is nonzero,
+     * then every correction that can be taken off while keeping the anchor invertible is taken off
+     */
+    private void addUpdate(Residue residue, long[] x, long[] y, long[] v) {
+        long prime = residue.prime;
+        long factor = (1 + dotMod(v, x, prime)) % prime;
+        if (factor != 0) {
+            woodbury(residue, new long[][] {x}, new long[][] {y}, new long[][] {{factor}});
+        }
+        else {
+            // v^T x = -1 so neither x nor y = v^T anchor^-1 is zero
+            int r = 0;
+            while (y[r] == 0) {
+                r++;
+            }
+            int c = 0;
+            while (x[c] == 0) {
+                c++;
+            }
+            long[] x2 = new long[this.n];
+            for (int i = 0; i < this.n; i++) {
+                x2[i] = residue.inverse[i][r];
+            }
+            long[] y2 = residue.inverse[c].clone();
+            // k[s][t] = (s == t) + v_s^T x_t for v_1 = v and v_2 = e_c
+            long[][] k = {{factor, y[r]}, {x[c], (1 + x2[c]) % prime}};
+            woodbury(residue, new long[][] {x, x2}, new long[][] {y, y2}, k);
+            residue.corrections.add(new int[] {r, c});
+        }
+        boolean removed = true;
+        while (removed) {
+            removed = false;
+            for (int t = 0; t < residue.corrections.size() && !removed; t++) {
+                int[] correction = residue.corrections.get(t);
+                long keep = (1 + prime - residue.inverse[correction[1]][correction[0]]) % prime;
+                if (keep != 0) {
+                    // subtract e_r * e_c^T from the anchor
+                    long[] xt = new long[this.n];
+                    for (int i = 0; i < this.n; i++) {
+                        xt[i] = (prime - residue.inverse[i][correction[0]]) % prime;
+                    }
+                    woodbury(residue, new long[][] {xt}, new long[][] {residue.inverse[correction[1]].clone()}, new long[][] {{keep}});
+                    residue.corrections.remove(t);
+                    removed = true;
+                }
+                else {
+                    // pass
+                }
+            }
+        }
+        updateDeterminant(residue);
+    }
+
+    /**
+     * Apply anchor^-1 -= X * k^-1 * Y^T modulo a prime (the Woodbury formula) for the update sum of u_s * v_s^T,
+     * where the columns of X are x_s = anchor^-1 u_s, the rows of Y are y_s = v_s^T anchor^-1
+     * and k[s][t] = (s == t) + v_s^T x_t is invertible, and multiply the determinant of the anchor by det(k)
+     */
+    private void woodbury(Residue residue, long[][] x, long[][] y, long[][] k) {
+        long prime = residue.prime;
+        int size = k.length;
+        // [k | I] is reduced to [I | k^-1]
+        long[][] work = new long[size][2 * size];
+        for (int s = 0; s < size; s++) {
+            System.arraycopy(k[s], 0, work[s], 0, size);
+            work[s][size + s] = 1;
+        }
+        long det = eliminate(work, size, prime, new int[size], new boolean[size]);
+        residue.anchorDet = residue.anchorDet * det % prime;
+        long[][] z = new long[size][this.n];
+        for (int s = 0; s < size; s++) {
+            for (int t = 0; t < size; t++) {
+                long factor = work[s][size + t];
+                for (int j = 0; j < this.n; j++) {
+                    z[s][j] = (z[s][j] + factor * y[t][j]) % prime;
+                }
+            }
+        }
+        long[][] inv = residue.inverse;
+        for (int s = 0; s < size; s++) {
+            for (int i = 0; i < this.n; i++) {
+                long xi = x[s][i];
+                if (xi == 0) {
+                    continue;
+                }
+                long[] invRow = inv[i];
+                for (int j = 0; j < this.n; j++) {
+                    invRow[j] = Math.floorMod(invRow[j] - xi * z[s][j] % prime, prime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the determinant of the matrix to det(anchor) * det(k) in O(d^3) time for d corrections
+     */
+    private void updateDeterminant(Residue residue) {
+        long prime = residue.prime;
+        int size = residue.corrections.size();
+        long[][] k = new long[size][size];
+        for (int s = 0; s < size; s++) {
+            for (int t = 0; t < size; t++) {
+                long entry = residue.inverse[residue.corrections.get(s)[1]][residue.corrections.get(t)[0]];
+                k[s][t] = ((s == t ? 1 : 0) + prime - entry) % prime;
+            }
+        }
+        residue.det = residue.anchorDet * eliminate(k, size, prime, new int[size], new boolean[size]) % prime;
+    }
+
+    /**
+     * Compute a residue from the matrix with Gauss-Jordan elimination in O(n^3) time,
+     * a singular matrix is anchored at the invertible matrix with a 1 added in each row without a pivot,
+     * in a column without a pivot, and those entries are the corrections
+     */
+    private void anchor(Residue residue) {
+        long prime = residue.prime;
+        int n = this.n;
+        long[][] work = augmented(prime);
+        int[] order = new int[n];
+        boolean[] pivotColumn = new boolean[n];
+        long det = eliminate(work, n, prime, order, pivotColumn);
+        residue.corrections.clear();
+        if (det == 0) {
+            // the rows with pivots come first, so the rows from the rank on are the original rows without a pivot
+            int rank = 0;
+            for (boolean pivot : pivotColumn) {
+                rank += pivot ? 1 : 0;
+            }
+            work = augmented(prime);
+            int row = rank;
+            for (int j = 0; j < n; j++) {
+                if (!pivotColumn[j]) {
+                    work[order[row]][j] = (work[order[row]][j] + 1) % prime;
+                    residue.corrections.add(new int[] {order[row], j});
+                    row++;
+                }
+            }
+            det = eliminate(work, n, prime, order, pivotColumn);
+        }
+        else {
+            // pass
+        }
+        long[][] inv = new long[n][];
+        for (int i = 0; i < n; i++) {
+            inv[i] = java.util.Arrays.copyOfRange(work[i], n, 2 * n);
+        }
+        residue.inverse = inv;
+        residue.anchorDet = det;
+        updateDeterminant(residue);
+    }
+
+    /**
+     * The matrix modulo a prime with the identity beside it
+     */
+    private long[][] augmented(long prime) {
+        long[][] work = new long[this.n][2 * this.n];
+        for (int i = 0; i < this.n; i++) {
+            for (int j = 0; j < this.n; j++) {
+                work[i][j] = Math.floorMod(this.matrix[i][j], prime);
+            }
+            work[i][this.n + i] = 1;
+        }
+        return work;
+    }
+
+    /**
+     * Gauss-Jordan elimination modulo a prime on the first n columns of work, skipping columns without a pivot,
+     * the rows with pivots end up first with their pivots scaled to 1, order[i] is the original index of row i
+     * and pivotColumn[j] is whether column j has a pivot,
+     * for an invertible left half the right half ends up multiplied by its inverse
+     *
+     * @return: the determinant of the left half modulo the prime
+     */
+    private static long eliminate(long[][] work, int n, long prime, int[] order, boolean[] pivotColumn) {
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long det = 1;
+        int row = 0;
+        for (int k = 0; k < n; k++) {
+            int pivot = row;
+            while (pivot < n && work[pivot][k] == 0) {
+                pivot++;
+            }
+            pivotColumn[k] = pivot < n;
+            if (pivot == n) {
+                det = 0;
+                continue;
+            }
+            if (pivot != row) {
+                long[] swap = work[pivot];
+                work[pivot] = work[row];
+                work[row] = swap;
+                int swapOrder = order[pivot];
+                order[pivot] = order[row];
+                order[row] = swapOrder;
+                det = (prime - det) % prime;
+            }
+            det = det * work[row][k] % prime;
+            long pivotInverse = modPow(work[row][k], prime - 2, prime);
+            for (int j = k; j < work[row].length; j++) {
+                work[row][j] = work[row][j] * pivotInverse % prime;
+            }
+            for (int i = 0; i < n; i++) {
+                long factor = work[i][k];
+                if (i == row || factor == 0) {
+                    continue;
+                }
+                for (int j = k; j < work[i].length; j++) {
+                    work[i][j] = Math.floorMod(work[i][j] - factor * work[row][j] % prime, prime);
+                }
+            }
+            row++;
+        }
+        return det;
+    }
+
+    private static long dotMod(long[] a, long[] b, long prime) {
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != 0) {
+                sum = (sum + a[i] * b[i]) % prime;
+            }
+        }
+        return sum;
+    }
+
+    private static long modPow(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for DeterminantTracker.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(47);
+
+        // test setEntry() against a full recomputation after every change, including changes that make the matrix singular
+        Matrix m = new Matrix(7, 7);
+        for (int i = 1; i <= 7; i++) {
+            for (int j = 1; j <= 7; j++) {
+                m.setEntry(i, j, random.nextInt(7) - 3);
+            }
+        }
+        DeterminantTracker tracker = new DeterminantTracker(m);
+        int mismatches = 0;
+        for (int step = 0; step < 300; step++) {
+            int r = 1 + random.nextInt(7);
+            int c = 1 + random.nextInt(7);
+            // every so often copy a row into another row so the matrix becomes singular
+            if (step % 25 == 10) {
+                for (int j = 1; j <= 7; j++) {
+                    tracker.setEntry(r, j, tracker.getEntry(c, j));
+                }
+            }
+            else {
+                tracker.setEntry(r, c, random.nextInt(7) - 3);
+            }
+            if (r != c && step % 25 == 10 && tracker.determinant() != 0) {
+                mismatches += 1;
+            }
+            if (tracker.determinant() != Matrix.determinantBareiss(tracker.toMatrix())) {
+                mismatches += 1;
+            }
+        }
+        if (mismatches != 0) {
+            System.out.println("Error: setEntry() left the wrong determinant " + mismatches + " times.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test addOuterProduct()
+        mismatches = 0;
+        for (int step = 0; step < 50; step++) {
+            int[] u = new int[7];
+            int[] v = new int[7];
+            for (int i = 0; i < 7; i++) {
+                u[i] = random.nextInt(3) - 1;
+                v[i] = random.nextInt(3) - 1;
+            }
+            Matrix before = tracker.toMatrix();
+            tracker.addOuterProduct(u, v);
+            if (tracker.getEntry(2, 3) != before.getEntry(2, 3) + u[1] * v[2]) {
+                mismatches += 1;
+            }
+            if (tracker.determinant() != Matrix.determinantBareiss(tracker.toMatrix())) {
+                mismatches += 1;
+            }
+            // undo the change so the entries stay small
+            for (int i = 0; i < 7; i++) {
+                u[i] = -u[i];
+            }
+            tracker.addOuterProduct(u, v);
+        }
+        if (mismatches != 0) {
+            System.out.println("Error: addOuterProduct() left the wrong entries or determinant " + mismatches + " times.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test a matrix that starts singular and one that stays singular through many changes,
+        // these are pending updates of an invertible anchor rather than new eliminations
+        DeterminantTracker zeroTracker = new DeterminantTracker(new Matrix(12, 12));
+        mismatches = 0;
+        for (int i = 1; i <= 12; i++) {
+            zeroTracker.setEntry(i, 13 - i, i);
+            if (zeroTracker.determinant() != (i < 12 ? 0 : Matrix.determinantBareiss(zeroTracker.toMatrix()))) {
+                mismatches += 1;
+            }
+        }
+        Matrix singular = new Matrix(9, 9);
+        for (int i = 1; i <= 9; i++) {
+            for (int j = 1; j <= 9; j++) {
+                singular.setEntry(i, j, random.nextInt(7) - 3);
+            }
+        }
+        for (int j = 1; j <= 9; j++) {
+            singular.setEntry(2, j, singular.getEntry(1, j));
+        }
+        DeterminantTracker singularTracker = new DeterminantTracker(singular);
+        for (int step = 0; step < 200; step++) {
+            // rows 1 and 2 stay equal except every 40th step, when the matrix may become invertible for a while
+            int r = 1 + random.nextInt(9);
+            int c = 1 + random.nextInt(9);
+            int value = random.nextInt(7) - 3;
+            singularTracker.setEntry(r, c, value);
+            if (step % 40 != 39 && r <= 2) {
+                singularTracker.setEntry(3 - r, c, value);
+            }
+            if (singularTracker.determinant() != Matrix.determinantBareiss(singularTracker.toMatrix())) {
+                mismatches += 1;
+            }
+        }
+        if (mismatches != 0) {
+            System.out.println("Error: determinant() was wrong " + mismatches + " times for a singular matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // the identity matrix has determinant 1, and doubling one diagonal entry at a time doubles it
+        Matrix identity = new Matrix(20, 20);
+        identity.makeIdentity();
+        DeterminantTracker identityTracker = new DeterminantTracker(identity);
+        for (int i = 1; i <= 20; i++) {
+            identityTracker.setEntry(i, i, 2);
+        }
+        if (identityTracker.determinant() != 1 << 20) {
+            System.out.println("Error: determinant() returned the wrong determinant for a diagonal matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test determinant()
+        System.out.println("Testing catching exception thrown by determinant().");
+        try {
+            for (int i = 1; i <= 20; i++) {
+                identityTracker.setEntry(i, i, 3);
+            }
+            identityTracker.determinant();
+            System.out.println("Error: determinant() did not throw an exception for a determinant that does not fit in an int.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // the determinant is p1 * p2 * p3 + 1 for the three largest primes below 2^31, so it is 1 modulo each of them,
+        // the entries are set after construction so the primes have to be added when the bound grows
+        System.out.println("Testing catching exception thrown by determinant().");
+        try {
+            DeterminantTracker residueTracker = new DeterminantTracker(new Matrix(3, 3));
+            residueTracker.setEntry(1, 1, 2147483647);
+            residueTracker.setEntry(1, 2, 1);
+            residueTracker.setEntry(2, 2, 2147483629);
+            residueTracker.setEntry(2, 3, 1);
+            residueTracker.setEntry(3, 1, 1);
+            residueTracker.setEntry(3, 3, 2147483587);
+            int residueDet = residueTracker.determinant();
+            System.out.println("Error: determinant() did not throw an exception for a determinant that does not fit in an int, but returned " + residueDet);
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // a triangular matrix with large entries above the diagonal and determinant 1, which the extra primes must still find exactly
+        DeterminantTracker largeTracker = new DeterminantTracker(identity);
+        for (int i = 1; i < 20; i++) {
+            largeTracker.setEntry(i, i + 1, Integer.MAX_VALUE - i);
+        }
+        if (largeTracker.determinant() != 1) {
+            System.out.println("Error: determinant() returned the wrong determinant for a matrix with large entries.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test the constructor
+        System.out.println("Testing catching exception thrown by DeterminantTracker() constructor.");
+        try {
+            new DeterminantTracker(new Matrix(2, 3));
+            System.out.println("Error: DeterminantTracker() constructor did not throw an exception for a matrix that is not square.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
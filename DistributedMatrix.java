@@ -0,0 +1,481 @@
+/*
+Code Written by Jackson L. Davis
+
+Distributed block multiplication of matrices,
+a coordinator splits the product into tiles and sends the blocks each tile needs
+to worker processes over a simple binary socket protocol.
+
+Run a worker with: java DistributedMatrix worker <port>
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DistributedMatrix {
+    // protocol: a request is MULTIPLY, then rows, inner and columns, then the row-major
+    // entries of the A block and the B block, and the reply is OK followed by the
+    // row-major entries of the product, or ERROR followed by a message
+    private static final int MULTIPLY = 1;
+    private static final int OK = 0;
+    private static final int ERROR = 1;
+
+    // how long the coordinator waits for a reply before treating the worker as failed
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+
+    /**
+     * A worker that multiplies the blocks it is sent,
+     * it serves every connection on its own thread until it is closed
+     */
+    public static class Worker implements AutoCloseable {
+        private final ServerSocket server;
+        private final Thread acceptThread;
+        // the worker stops after this many requests, to simulate a crash in tests (-1 for never)
+        private final AtomicInteger requestsLeft;
+
+        /**
+         * Constructor for the Worker class,
+         * starts listening on a localhost port
+         *
+         * @param port: the port to listen on, or 0 for any free port
+         */
+        public Worker(int port) throws IOException {
+            this(port, -1);
+        }
+
+        /**
+         * Constructor for a worker that stops responding after a number of requests
+         *
+         * @param port: the port to listen on, or 0 for any free port
+         * @param maxRequests: the number of requests to serve, or -1 for no limit
+         */
+        Worker(int port, int maxRequests) throws IOException {
+            this.server = new ServerSocket();
+            this.server.bind(new InetSocketAddress("localhost", port));
+            this.requestsLeft = new AtomicInteger(maxRequests);
+            this.acceptThread = new Thread(this::acceptConnections, "matrix-worker-" + getPort());
+            this.acceptThread.setDaemon(true);
+            this.acceptThread.start();
+        }
+
+        /**
+         * Getter method for the port the worker listens on
+         */
+        public int getPort() {
+            return this.server.getLocalPort();
+        }
+
+        /**
+         * Getter method for the address the coordinator connects to
+         */
+        public InetSocketAddress getAddress() {
+            return new InetSocketAddress("localhost", getPort());
+        }
+
+        /**
+         * Stop listening, connections that are open are closed when they next send a request
+         */
+        @Override
+        public void close() throws IOException {
+            this.server.close();
+        }
+
+        private void acceptConnections() {
+            while (!this.server.isClosed()) {
+                try {
+                    Socket socket = this.server.accept();
+                    Thread connectionThread = new Thread(() -> serve(socket), "matrix-worker-connection");
+                    connectionThread.setDaemon(true);
+                    connectionThread.start();
+                }
+                catch (IOException e) {
+                    // the server socket was closed
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                while (!this.server.isClosed()) {
+                    int opcode = in.readInt();
+                    if (this.requestsLeft.getAndDecrement() == 0) {
+                        // simulated crash: drop the connection without replying
+                        return;
+                    }
+                    else if (opcode != MULTIPLY) {
+                        out.writeInt(ERROR);
+                        out.writeUTF("unknown opcode " + opcode);
+                        out.flush();
+                        return;
+                    }
+                    else {
+                        int rows = in.readInt();
+                        int inner = in.readInt();
+                        int columns = in.readInt();
+                        int[] a = readInts(in, rows * inner);
+                        int[] b = readInts(in, inner * columns);
+                        int[] c = multiplyBlocks(a, b, rows, inner, columns);
+                        out.writeInt(OK);
+                        writeInts(out, c);
+                        out.flush();
+                    }
+                }
+            }
+            catch (IOException e) {
+                // the coordinator closed the connection
+            }
+        }
+    }
+
+    /**
+     * Multiply two matrices on a set of workers,
+     * the product is split into blockSize x blockSize tiles and each tile is computed by one worker
+     * from the rows of m1 and the columns of m2 that it needs,
+     * a tile whose worker fails goes back in the queue for the workers that are still running,
+     * and a worker is not used again after it fails, so a tile is sent at most workers.size() times
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @param workers: the addresses of the workers
+     * @param blockSize: the number of rows and columns in a tile
+     * @precond: Matrix.canMultiply(m1, m2) && !workers.isEmpty() && blockSize > 0
+     * @return: the product of the two matrices,
+     * an ArithmeticException is thrown if every worker failed
+     */
+    public static Matrix productOfMatrices(Matrix m1, Matrix m2, List<InetSocketAddress> workers, int blockSize) {
+        if (!Matrix.canMultiply(m1, m2)) {
+            throw new ArithmeticException("Error in productOfMatrices(): canMultiply(m1, m2) must return true");
+        }
+        else if (workers.isEmpty()) {
+            throw new ArithmeticException("Error in productOfMatrices(): workers must not be empty");
+        }
+        else if (blockSize <= 0) {
+            throw new ArithmeticException("Error in productOfMatrices(): blockSize must be positive");
+        }
+        else {
+            // pass
+        }
+        int[][] a = m1.entries();
+        int[][] b = m2.entries();
+        int inner = m1.getColumns();
+        Matrix product = new Matrix(m1.getRows(), m2.getColumns());
+        int[][] c = product.writableEntries();
+
+        LinkedBlockingQueue<Tile> tiles = new LinkedBlockingQueue<>();
+        for (int i = 0; i < m1.getRows(); i += blockSize) {
+            for (int j = 0; j < m2.getColumns(); j += blockSize) {
+                tiles.add(new Tile(i, Math.min(i + blockSize, m1.getRows()), j, Math.min(j + blockSize, m2.getColumns())));
+            }
+        }
+        int tileCount = tiles.size();
+        AtomicInteger tilesLeft = new AtomicInteger(tileCount);
+
+        // one thread per worker, each takes tiles from the shared queue until none are left
+        List<Thread> threads = new ArrayList<>();
+        for (InetSocketAddress address : workers) {
+            Thread thread = new Thread(() -> {
+                try (Socket socket = new Socket()) {
+                    socket.connect(address, READ_TIMEOUT_MILLIS);
+                    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    while (tilesLeft.get() > 0) {
+                        Tile tile = tiles.poll(10, TimeUnit.MILLISECONDS);
+                        if (tile == null) {
+                            continue;
+                        }
+                        try {
+                            sendTile(out, a, b, tile, inner);
+                            int[] result = receiveTile(in, tile);
+                            for (int i = tile.rowStart; i < tile.rowEnd; i++) {
+                                System.arraycopy(result, (i - tile.rowStart) * tile.columns(), c[i], tile.columnStart, tile.columns());
+                            }
+                            tilesLeft.decrementAndGet();
+                        }
+                        catch (IOException e) {
+                            // give the tile to another worker, and stop using this one
+                            tiles.add(tile);
+                            throw e;
+                        }
+                    }
+                }
+                catch (IOException | InterruptedException e) {
+                    // pass: this worker is finished or has failed
+                }
+            }, "matrix-coordinator-" + address.getPort());
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ArithmeticException("Error in productOfMatrices(): interrupted while waiting for the workers");
+            }
+        }
+        if (tilesLeft.get() > 0) {
+            throw new ArithmeticException("Error in productOfMatrices(): every worker failed");
+        }
+        else {
+            return product;
+        }
+    }
+
+    /**
+     * A blockSize x blockSize (or smaller, at the edges) part of the product
+     */
+    private static final class Tile {
+        final int rowStart;
+        final int rowEnd;
+        final int columnStart;
+        final int columnEnd;
+
+        Tile(int rowStart, int rowEnd, int columnStart, int columnEnd) {
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.columnStart = columnStart;
+            this.columnEnd = columnEnd;
+        }
+
+        int rows() {
+            return this.rowEnd - this.rowStart;
+        }
+
+        int columns() {
+            return this.columnEnd - this.columnStart;
+        }
+    }
+
+    /**
+     * Send the rows of a and the columns of b that a tile needs
+     */
+    private static void sendTile(DataOutputStream out, int[][] a, int[][] b, Tile tile, int inner) throws IOException {
+        out.writeInt(MULTIPLY);
+        out.writeInt(tile.rows());
+        out.writeInt(inner);
+        out.writeInt(tile.columns());
+        for (int i = tile.rowStart; i < tile.rowEnd; i++) {
+            for (int k = 0; k < inner; k++) {
+                out.writeInt(a[i][k]);
+            }
+        }
+        for (int k = 0; k < inner; k++) {
+            for (int j = tile.columnStart; j < tile.columnEnd; j++) {
+                out.writeInt(b[k][j]);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Read a worker's reply to a tile request
+     */
+    private static int[] receiveTile(DataInputStream in, Tile tile) throws IOException {
+        int status = in.readInt();
+        if (status != OK) {
+            throw new IOException("worker error: " + in.readUTF());
+        }
+        else {
+            return readInts(in, tile.rows() * tile.columns());
+        }
+    }
+
+    /**
+     * Multiply two row-major blocks, the core kernel run by the workers
+     */
+    static int[] multiplyBlocks(int[] a, int[] b, int rows, int inner, int columns) {
+        int[] c = new int[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int k = 0; k < inner; k++) {
+                int aik = a[i * inner + k];
+                if (aik == 0) {
+                    continue;
+                }
+                int bOffset = k * columns;
+                int cOffset = i * columns;
+                for (int j = 0; j < columns; j++) {
+                    c[cOffset + j] += aik * b[bOffset + j];
+                }
+            }
+        }
+        return c;
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) throws IOException {
+        // run as a standalone worker
+        if (args.length == 2 && args[0].equals("worker")) {
+            Worker worker = new Worker(Integer.parseInt(args[1]));
+            System.out.println("Worker listening on port " + worker.getPort());
+            try {
+                worker.acceptThread.join();
+            }
+            catch (InterruptedException e) {
+                worker.close();
+            }
+            return;
+        }
+        else {
+            // pass
+        }
+
+        System.out.println("Test suite for DistributedMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        Random random = new Random(34);
+        Matrix m1 = new Matrix(45, 37);
+        Matrix m2 = new Matrix(37, 29);
+        for (int i = 1; i <= 45; i++) {
+            for (int j = 1; j <= 37; j++) {
+                m1.setEntry(i, j, random.nextInt(21) - 10);
+            }
+        }
+        for (int i = 1; i <= 37; i++) {
+            for (int j = 1; j <= 29; j++) {
+                m2.setEntry(i, j, random.nextInt(21) - 10);
+            }
+        }
+        Matrix expected = Matrix.productOfMatrices(m1, m2);
+
+        // test productOfMatrices() with healthy workers
+        try (Worker w1 = new Worker(0); Worker w2 = new Worker(0)) {
+            List<InetSocketAddress> addresses = List.of(w1.getAddress(), w2.getAddress());
+            Matrix product = DistributedMatrix.productOfMatrices(m1, m2, addresses, 8);
+            if (!Matrix.sameMatrix(product, expected)) {
+                System.out.println("Error: productOfMatrices() returned the wrong product.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() threw an exception with healthy workers.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test retrying when a worker crashes part way through and another is not running
+        try (Worker healthy = new Worker(0); Worker crashing = new Worker(0, 3)) {
+            Worker stopped = new Worker(0);
+            InetSocketAddress stoppedAddress = stopped.getAddress();
+            stopped.close();
+            List<InetSocketAddress> addresses = List.of(crashing.getAddress(), stoppedAddress, healthy.getAddress());
+            Matrix product = DistributedMatrix.productOfMatrices(m1, m2, addresses, 5);
+            if (!Matrix.sameMatrix(product, expected)) {
+                System.out.println("Error: productOfMatrices() returned the wrong product after a worker failed.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() did not recover from a failed worker.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test that a tile which failed on several workers is still finished by the healthy one
+        try {
+            boolean correct = true;
+            for (int run = 0; run < 12 && correct; run++) {
+                try (Worker healthy = new Worker(0); Worker failing1 = new Worker(0, 0); Worker failing2 = new Worker(0, 0); Worker failing3 = new Worker(0, 0)) {
+                    List<InetSocketAddress> addresses = List.of(failing1.getAddress(), failing2.getAddress(), healthy.getAddress(), failing3.getAddress());
+                    // one tile, so every failing worker may be given the same tile before the healthy one is
+                    Matrix product = CompletableFuture.supplyAsync(() -> DistributedMatrix.productOfMatrices(m1, m2, addresses, 64))
+                            .get(30, TimeUnit.SECONDS);
+                    correct = Matrix.sameMatrix(product, expected);
+                }
+            }
+            if (!correct) {
+                System.out.println("Error: productOfMatrices() returned the wrong product with failing and healthy workers.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() did not finish with failing and healthy workers.");
+            System.out.println("Unintentional Error: " + e);
+            uErrors += 1;
+        }
+
+        // test productOfMatrices() with a worker running in a separate JVM
+        Process process = null;
+        try {
+            String java = ProcessHandle.current().info().command().orElse("java");
+            process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "DistributedMatrix", "worker", "0")
+                    .redirectErrorStream(true).start();
+            String line = new BufferedReader(new InputStreamReader(process.getInputStream())).readLine();
+            int port = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+            Matrix product = DistributedMatrix.productOfMatrices(m1, m2, List.of(new InetSocketAddress("localhost", port)), 16);
+            if (!Matrix.sameMatrix(product, expected)) {
+                System.out.println("Error: productOfMatrices() returned the wrong product from a worker process.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() failed with a worker process.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        finally {
+            if (process != null) {
+                process.destroy();
+            }
+        }
+
+        // test that the multiplication fails when every worker fails
+        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        try (Worker crashing = new Worker(0, 1)) {
+            Matrix product = DistributedMatrix.productOfMatrices(m1, m2, List.of(crashing.getAddress()), 8);
+            System.out.println("Error: productOfMatrices() did not throw an exception when every worker failed.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,266 @@
+/*
+Code Written by Jackson L. Davis
+
+An immutable matrix of integers that can be shared between threads
+without copying or locking.
+ */
+
+public final class ImmutableMatrix {
+    // never written to after construction and never handed out,
+    // the final fields make the entries visible to every thread that can see this object
+    private final int[][] matrix;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Constructor for the ImmutableMatrix class,
+     * use Matrix.freeze() to create one
+     *
+     * @param m: the entries of the matrix, which nothing may write to afterwards
+     */
+    ImmutableMatrix(int[][] m) {
+        this.matrix = m;
+        this.rows = m.length;
+        this.columns = m[0].length;
+    }
+
+    /**
+     * Getter method for rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method for columns
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        // check for out of bounds indices
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        // return the specified entry
+        else {
+            return this.matrix[r - 1][c - 1];
+        }
+    }
+
+    /**
+     * Check whether or not the matrix is a square matrix
+     *
+     * @return true if the matrix is square, false otherwise
+     */
+    public boolean isSquare() {
+        return this.rows == this.columns;
+    }
+
+    /**
+     * Create a mutable Matrix with the same entries in O(1) time,
+     * the entries are shared until the Matrix is first changed,
+     * then the Matrix copies them (copy-on-write)
+     *
+     * @return: a Matrix with the same entries as this matrix
+     */
+    public Matrix toMutable() {
+        return new Matrix(this.matrix);
+    }
+
+    /**
+     * Print the matrix to the console
+     *
+     * @postcond: the matrix is printed to the console
+     */
+    public void printMatrix() {
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < this.columns; j++) {
+                System.out.print(this.matrix[i][j] + " ");
+            }
+            System.out.println("");
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for ImmutableMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        Matrix m1 = new Matrix(2, 3);
+        m1.setEntry(1, 1, 1);
+        m1.setEntry(1, 2, 2);
+        m1.setEntry(2, 3, 3);
+
+        // test freeze()
+        ImmutableMatrix frozen = m1.freeze();
+        System.out.println("Here is a frozen matrix.");
+        frozen.printMatrix();
+        if (frozen.getRows() != 2 || frozen.getColumns() != 3 || frozen.getEntry(1, 2) != 2 || frozen.getEntry(2, 3) != 3) {
+            System.out.println("Error: freeze() returned a matrix with the wrong entries.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // changing the original matrix must not change the frozen matrix
+        m1.setEntry(1, 2, 7);
+        m1.scalarMultiply(2);
+        if (frozen.getEntry(1, 2) != 2 || frozen.getEntry(2, 3) != 3) {
+            System.out.println("Error: changing a matrix after freeze() changed the ImmutableMatrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        if (m1.getEntry(1, 2) != 14) {
+            System.out.println("Error: changing a matrix after freeze() did not change the matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // an array handed out by getMatrix() before freezing can still be written to, which must not change the frozen matrix
+        Matrix m2 = new Matrix(2, 2);
+        m2.setEntry(1, 1, 4);
+        int[][] m2Entries = m2.getMatrix();
+        ImmutableMatrix frozen2 = m2.freeze();
+        m2Entries[0][0] = 8;
+        m2Entries[1][1] = 6;
+        if (frozen2.getEntry(1, 1) != 4 || frozen2.getEntry(2, 2) != 0) {
+            System.out.println("Error: writing to an array from getMatrix() after freeze() changed the ImmutableMatrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        if (m2.getEntry(1, 1) != 8 || m2.getEntry(2, 2) != 6) {
+            System.out.println("Error: writing to an array from getMatrix() after freeze() did not change the matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // an array handed out by getMatrix() after freezing is a copy
+        ImmutableMatrix frozen3 = m1.freeze();
+        m1.getMatrix()[0][0] = 11;
+        if (frozen3.getEntry(1, 1) != 2 || m1.getEntry(1, 1) != 11) {
+            System.out.println("Error: getMatrix() after freeze() did not copy the entries.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // reading a matrix through the rest of the library does not count as handing its entries out,
+        // so freeze() still shares them instead of copying
+        Matrix m3 = new Matrix(3, 3);
+        m3.makeIdentity();
+        int[][] m3Entries = m3.entries();
+        PackedMatrix.hasShape(m3, PackedMatrix.Shape.SYMMETRIC);
+        BandedMatrix.bandwidths(m3);
+        BlockStructure.analyze(m3);
+        new CompactMatrix(m3);
+        ImmutableMatrix frozen4 = m3.freeze();
+        if (frozen4.matrix != m3Entries) {
+            System.out.println("Error: freeze() copied the entries after they were only read by the library.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test toMutable()
+        Matrix thawed1 = frozen.toMutable();
+        Matrix thawed2 = frozen.toMutable();
+        thawed1.setEntry(1, 1, 9);
+        thawed2.getMatrix()[2 - 1][1 - 1] = 5;
+        if (thawed1.getEntry(1, 1) != 9 || thawed2.getEntry(2, 1) != 5 || thawed2.getEntry(1, 1) != 1) {
+            System.out.println("Error: toMutable() returned a matrix that could not be changed independently.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        if (frozen.getEntry(1, 1) != 1 || frozen.getEntry(2, 1) != 0) {
+            System.out.println("Error: changing the result of toMutable() changed the ImmutableMatrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // an immutable matrix can be used with the static Matrix operations through toMutable()
+        Matrix product = Matrix.productOfMatrices(frozen.toMutable(), frozen.toMutable().getTranspose());
+        if (product.getEntry(1, 1) != 5 || product.getEntry(2, 2) != 9) {
+            System.out.println("Error: productOfMatrices() returned the wrong product for a thawed matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // many threads can read the same ImmutableMatrix without locking
+        final ImmutableMatrix shared = frozen;
+        final int[] threadErrors = new int[8];
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                for (int k = 0; k < 10000; k++) {
+                    if (shared.getEntry(1, 2) != 2) {
+                        threadErrors[index] += 1;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        catch (InterruptedException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        for (int errors : threadErrors) {
+            if (errors != 0) {
+                System.out.println("Error: a thread read the wrong entry from a shared ImmutableMatrix.");
+                uErrors += 1;
+            }
+        }
+
+        // test getEntry()
+        System.out.println("Testing catching exception thrown by getEntry().");
+        try {
+            frozen.getEntry(3, 1);
+            System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
@@ -0,0 +1,370 @@
+/*
+Code Written by Jackson L. Davis
+
+Keeps the product C = A * B of two matrices up to date as entries of A and B change,
+each change is applied to C as a row or column update instead of a new multiplication.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MaintainedProduct {
+    // the default fraction of a full multiplication that pending updates may cost before C is recomputed instead
+    public static final double DEFAULT_RECOMPUTE_THRESHOLD = 0.5;
+
+    private final Matrix a;
+    private final Matrix b;
+    private Matrix c;
+    // changes that have not been applied to a, b and c yet, keyed by entry, holding the newest value,
+    // so several changes to one entry become one update
+    private final Map<Long, Integer> pendingA = new LinkedHashMap<>();
+    private final Map<Long, Integer> pendingB = new LinkedHashMap<>();
+    private final double recomputeThreshold;
+    private long incrementalUpdates;
+    private long recomputations;
+
+    /**
+     * Constructor for the MaintainedProduct class,
+     * copies the two matrices and multiplies them once
+     *
+     * @param m1, m2: the matrices A and B
+     * @precond: Matrix.canMultiply(m1, m2)
+     */
+    public MaintainedProduct(Matrix m1, Matrix m2) {
+        this(m1, m2, DEFAULT_RECOMPUTE_THRESHOLD);
+    }
+
+    /**
+     * Constructor for the MaintainedProduct class with a custom recomputation threshold
+     *
+     * @param m1, m2: the matrices A and B
+     * @param recomputeThreshold: C is recomputed from scratch instead of updated when the pending updates
+     * would cost more than this fraction of a full multiplication
+     * @precond: Matrix.canMultiply(m1, m2) && recomputeThreshold > 0
+     */
+    public MaintainedProduct(Matrix m1, Matrix m2, double recomputeThreshold) {
+        if (!Matrix.canMultiply(m1, m2)) {
+            throw new ArithmeticException("Error in MaintainedProduct() constructor: canMultiply(m1, m2) must return true");
+        }
+        else if (!(recomputeThreshold > 0)) {
+            throw new ArithmeticException("Error in MaintainedProduct() constructor: recomputeThreshold > 0 must be true");
+        }
+        else {
+            this.a = m1.deepCloneMatrix();
+            this.b = m2.deepCloneMatrix();
+            this.recomputeThreshold = recomputeThreshold;
+            recompute();
+        }
+    }
+
+    /**
+     * Get the number at a specific entry of A, including changes that have not been applied yet
+     *
+     * @param r: the row of the entry to get
+     * @param col: the column of the entry to get
+     * @precond: 1 <= r <= rows of A && 1 <= col <= columns of A
+     * @return: the number at the specified entry
+     */
+    public int getEntryA(int r, int col) {
+        Integer pending = this.pendingA.get(key(r, col));
+        return pending != null ? pending : this.a.getEntry(r, col);
+    }
+
+    /**
+     * Get the number at a specific entry of B, including changes that have not been applied yet
+     *
+     * @param r: the row of the entry to get
+     * @param col: the column of the entry to get
+     * @precond: 1 <= r <= rows of B && 1 <= col <= columns of B
+     * @return: the number at the specified entry
+     */
+    public int getEntryB(int r, int col) {
+        Integer pending = this.pendingB.get(key(r, col));
+        return pending != null ? pending : this.b.getEntry(r, col);
+    }
+
+    /**
+     * Change an entry of A, the change is applied to C the next time C is read
+     *
+     * @param r: the row of the entry to change
+     * @param col: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= rows of A && 1 <= col <= columns of A
+     * @postcond: the entry of A is changed to changeTo
+     */
+    public void setEntryA(int r, int col, int changeTo) {
+        if (r < 1 || col < 1 || r > this.a.getRows() || col > this.a.getColumns()) {
+            throw new ArithmeticException("Error in setEntryA(): 1 <= r <= rows and 1 <= col <= columns must be true");
+        }
+        else {
+            this.pendingA.put(key(r, col), changeTo);
+        }
+    }
+
+    /**
+     * Change an entry of B, the change is applied to C the next time C is read
+     *
+     * @param r: the row of the entry to change
+     * @param col: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= rows of B && 1 <= col <= columns of B
+     * @postcond: the entry of B is changed to changeTo
+     */
+    public void setEntryB(int r, int col, int changeTo) {
+        if (r < 1 || col < 1 || r > this.b.getRows() || col > this.b.getColumns()) {
+            throw new ArithmeticException("Error in setEntryB(): 1 <= r <= rows and 1 <= col <= columns must be true");
+        }
+        else {
+            this.pendingB.put(key(r, col), changeTo);
+        }
+    }
+
+    /**
+     * Get an entry of C = A * B, applying any pending changes first
+     *
+     * @param r: the row of the entry to get
+     * @param col: the column of the entry to get
+     * @precond: 1 <= r <= rows of A && 1 <= col <= columns of B
+     * @return: the number at the specified entry of the product
+     */
+    public int getEntry(int r, int col) {
+        flush();
+        return this.c.getEntry(r, col);
+    }
+
+    /**
+     * Get the product C = A * B, applying any pending changes first,
+     * the product is frozen so it is not copied unless C changes afterwards
+     *
+     * @return: the product of A and B
+     */
+    public ImmutableMatrix getProduct() {
+        flush();
+        return this.c.freeze();
+    }
+
+    /**
+     * Apply every pending change to C,
+     * a change of d to entry (r, k) of A adds d times row k of B to row r of C,
+     * a change of d to entry (k, col) of B adds d times column k of A to column col of C,
+     * so each change costs O(n), unless the pending changes together would cost more than
+     * the recomputation threshold, then C is multiplied out again
+     *
+     * @postcond: C equals A * B
+     */
+    public void flush() {
+        if (this.pendingA.isEmpty() && this.pendingB.isEmpty()) {
+            return;
+        }
+        int rows = this.a.getRows();
+        int inner = this.a.getColumns();
+        int columns = this.b.getColumns();
+        double updateCost = (double) this.pendingA.size() * columns + (double) this.pendingB.size() * rows;
+        double fullCost = (double) rows * inner * columns;
+        int[][] aArray = this.a.writableEntries();
+        int[][] bArray = this.b.writableEntries();
+        if (updateCost > this.recomputeThreshold * fullCost) {
+            for (Map.Entry<Long, Integer> change : this.pendingA.entrySet()) {
+                aArray[row(change.getKey())][column(change.getKey())] = change.getValue();
+            }
+            for (Map.Entry<Long, Integer> change : this.pendingB.entrySet()) {
+                bArray[row(change.getKey())][column(change.getKey())] = change.getValue();
+            }
+            this.pendingA.clear();
+            this.pendingB.clear();
+            recompute();
+            return;
+        }
+        int[][] cArray = this.c.writableEntries();
+        // (A + dA)(B + dB) = AB + dA * B + (A + dA) * dB,
+        // so the changes to A are applied with the old B, then the changes to B with the new A
+        for (Map.Entry<Long, Integer> change : this.pendingA.entrySet()) {
+            int r = row(change.getKey());
+            int k = column(change.getKey());
+            int delta = change.getValue() - aArray[r][k];
+            aArray[r][k] = change.getValue();
+            if (delta != 0) {
+                int[] bRow = bArray[k];
+                int[] cRow = cArray[r];
+                for (int j = 0; j < columns; j++) {
+                    cRow[j] += delta * bRow[j];
+                }
+            }
+        }
+        for (Map.Entry<Long, Integer> change : this.pendingB.entrySet()) {
+            int k = row(change.getKey());
+            int col = column(change.getKey());
+            int delta = change.getValue() - bArray[k][col];
+            bArray[k][col] = change.getValue();
+            if (delta != 0) {
+                for (int i = 0; i < rows; i++) {
+                    cArray[i][col] += aArray[i][k] * delta;
+                }
+            }
+        }
+        this.incrementalUpdates += this.pendingA.size() + this.pendingB.size();
+        this.pendingA.clear();
+        this.pendingB.clear();
+    }
+
+    /**
+     * Getter method for the number of changes that have been applied as row or column updates
+     */
+    public long getIncrementalUpdates() {
+        return this.incrementalUpdates;
+    }
+
+    /**
+     * Getter method for the number of times C has been multiplied out from scratch, including the first time
+     */
+    public long getRecomputations() {
+        return this.recomputations;
+    }
+
+    private void recompute() {
+        this.c = Matrix.chainProduct(List.of(this.a, this.b));
+        this.recomputations++;
+    }
+
+    /**
+     * Pack a 1-based entry position into a 0-based key
+     */
+    private static long key(int r, int col) {
+        return ((long) (r - 1) << 32) | (col - 1);
+    }
+
+    private static int row(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int column(long key) {
+        return (int) key;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for MaintainedProduct.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(48);
+        Matrix m1 = new Matrix(30, 20);
+        Matrix m2 = new Matrix(20, 25);
+        for (int i = 1; i <= 30; i++) {
+            for (int j = 1; j <= 20; j++) {
+                m1.setEntry(i, j, random.nextInt(21) - 10);
+            }
+        }
+        for (int i = 1; i <= 20; i++) {
+            for (int j = 1; j <= 25; j++) {
+                m2.setEntry(i, j, random.nextInt(21) - 10);
+            }
+        }
+
+        // test single changes to A and B, checking the product after every change
+        MaintainedProduct product = new MaintainedProduct(m1, m2);
+        int mismatches = 0;
+        for (int step = 0; step < 200; step++) {
+            if (random.nextBoolean()) {
+                int r = 1 + random.nextInt(30);
+                int col = 1 + random.nextInt(20);
+                int value = random.nextInt(21) - 10;
+                product.setEntryA(r, col, value);
+                m1.setEntry(r, col, value);
+            }
+            else {
+                int r = 1 + random.nextInt(20);
+                int col = 1 + random.nextInt(25);
+                int value = random.nextInt(21) - 10;
+                product.setEntryB(r, col, value);
+                m2.setEntry(r, col, value);
+            }
+            if (!Matrix.sameMatrix(product.getProduct().toMutable(), Matrix.productOfMatrices(m1, m2))) {
+                mismatches += 1;
+            }
+        }
+        if (mismatches != 0) {
+            System.out.println("Error: the product was wrong after " + mismatches + " changes.");
+            uErrors += 1;
+        }
+        else if (product.getRecomputations() != 1 || product.getIncrementalUpdates() != 200) {
+            System.out.println("Error: single changes were not applied as row and column updates.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test a batch of changes to both A and B, including repeated changes to one entry
+        for (int step = 0; step < 40; step++) {
+            int r = 1 + random.nextInt(20);
+            int col = 1 + random.nextInt(20);
+            product.setEntryA(r, col, step);
+            product.setEntryB(col, r, -step);
+            m1.setEntry(r, col, step);
+            m2.setEntry(col, r, -step);
+        }
+        product.setEntryA(1, 1, 5);
+        product.setEntryA(1, 1, 6);
+        m1.setEntry(1, 1, 6);
+        if (product.getEntryA(1, 1) != 6 || product.getEntry(1, 1) != Matrix.productOfMatrices(m1, m2).getEntry(1, 1)) {
+            System.out.println("Error: a batch of changes gave the wrong product.");
+            uErrors += 1;
+        }
+        else if (product.getRecomputations() != 1) {
+            System.out.println("Error: a small batch of changes recomputed the product.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // a large batch crosses the threshold and is recomputed instead
+        for (int i = 1; i <= 30; i++) {
+            for (int j = 1; j <= 20; j++) {
+                product.setEntryA(i, j, i - j);
+                m1.setEntry(i, j, i - j);
+            }
+        }
+        if (!Matrix.sameMatrix(product.getProduct().toMutable(), Matrix.productOfMatrices(m1, m2))) {
+            System.out.println("Error: the product was wrong after a large batch of changes.");
+            uErrors += 1;
+        }
+        else if (product.getRecomputations() != 2) {
+            System.out.println("Error: a large batch of changes did not recompute the product.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test setEntryA()
+        System.out.println("Testing catching exception thrown by setEntryA().");
+        try {
+            product.setEntryA(31, 1, 1);
+            System.out.println("Error: setEntryA() did not throw an exception for an entry that was out of bounds.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test the constructor
+        System.out.println("Testing catching exception thrown by MaintainedProduct() constructor.");
+        try {
+            new MaintainedProduct(m1, m1);
+            System.out.println("Error: MaintainedProduct() constructor did not throw an exception for matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
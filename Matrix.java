@@ -9,6 +9,12 @@ public class Matrix {
     private int[][] matrix;
     private int rows;
     private int columns;
+    // true while matrix is also referenced by an ImmutableMatrix,
+    // the array is copied before it is written to or handed out (copy-on-write)
+    private boolean shared;
+    // true once getMatrix() has handed matrix out to a caller outside this library, who may still write to it,
+    // freeze() then copies the entries instead of sharing them, the library itself uses entries() and writableEntries()
+    private boolean exposed;
 
     /**
      * Constructor for the Matrix class,
@@ -40,6 +46,31 @@ public class Matrix {
         }
     }
 
+    /**
+     * Constructor for a matrix that shares its entries with an ImmutableMatrix,
+     * the entries are copied the first time this matrix is changed
+     *
+     * @param sharedMatrix: the entries of an ImmutableMatrix, never written to
+     */
+    Matrix(int[][] sharedMatrix) {
+        this.rows = sharedMatrix.length;
+        this.columns = sharedMatrix[0].length;
+        this.matrix = sharedMatrix;
+        this.shared = true;
+    }
+
+    /**
+     * Wrap an array of entries that nothing else refers to in a new matrix without copying it
+     *
+     * @param entries: a rectangular array with at least one row and one column
+     * @return: a Matrix that owns entries
+     */
+    private static Matrix ownedMatrix(int[][] entries) {
+        Matrix m = new Matrix(entries);
+        m.shared = false;
+        return m;
+    }
+
     /**
      * Getter method for rows
      */
@@ -58,6 +89,27 @@ public class Matrix {
      * Getter method for matrix
      */
     public int[][] getMatrix() {
+        copyOnWrite();
+        this.exposed = true;
+        return this.matrix;
+    }
+
+    /**
+     * The entries of the matrix for the other classes of this library to read without copying,
+     * unlike getMatrix() the array is not counted as handed out, so freeze() can still share it,
+     * the caller must not write to it or keep it
+     */
+    int[][] entries() {
+        return this.matrix;
+    }
+
+    /**
+     * The entries of the matrix for the other classes of this library to write to,
+     * copied first if they are shared with an ImmutableMatrix,
+     * the caller must not keep the array past its writes, so freeze() can still share it afterwards
+     */
+    int[][] writableEntries() {
+        copyOnWrite();
         return this.matrix;
     }
 
@@ -110,6 +162,7 @@ public class Matrix {
         }
         // change the specified entry
         else {
+            copyOnWrite();
             this.matrix[r][c] = changeTo;
         }
     }
@@ -171,12 +224,7 @@ public class Matrix {
      */
     public Matrix getTranspose() {
         Matrix transp = new Matrix(this.columns, this.rows);
-        // i and j start at 1 to stay consistent with matrix entry notation
-        for (int i = 1; i <= transp.getRows(); i++) {
-            for (int j = 1; j <= transp.getColumns(); j++) {
-                transp.setEntry(i, j, getEntry(j, i));
-            }
-        }
+        transposeInto(this.matrix, transp.matrix, 0, this.rows, 0, this.columns);
         return transp;
     }
 
@@ -252,6 +300,7 @@ public class Matrix {
      * @postcond: the matrix will have zeros in all entries
      */
     public void makeZero() {
+        copyOnWrite();
         for (int i = 0; i < this.rows; i++) {
             for (int j = 0; j < this.columns; j++) {
                 this.matrix[i][j] = 0;
@@ -268,6 +317,7 @@ public class Matrix {
      */
     public void makeIdentity() {
         if (isSquare()) {
+            copyOnWrite();
             for (int i = 0; i < this.rows; i++) {
                 for (int j = 0; j < this.columns; j++) {
                     if (i == j) {
@@ -290,6 +340,7 @@ public class Matrix {
      * @postcond: all of the entries of the matrix are multiplied by s
      */
     public void scalarMultiply(int s) {
+        copyOnWrite();
         for (int i = 0; i < this.rows; i++) {
             for (int j = 0; j < this.columns; j++) {
                 this.matrix[i][j] *= s;
@@ -564,7 +615,7 @@ public class Matrix {
     public static void staticPrintMatrix(Matrix m) {
         for (int i = 0; i < m.getRows(); i++) {
             for (int j = 0; j < m.getColumns(); j++) {
-                System.out.print(m.getMatrix()[i][j] + " ");
+                System.out.print(m.matrix[i][j] + " ");
             }
             System.out.println("");
         }
@@ -586,797 +637,5373 @@ public class Matrix {
         return mClone;
     }
 
-    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
-    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-  
-    public static void main(String[] args) {
-        System.out.println("Test suite for Matrix.java");
-        int uErrors = 0; // number of unintentional errors
+    /**
+     * Create an immutable view of the matrix,
+     * in O(1) time the entries are shared instead of copied, and this matrix copies them
+     * the next time it is changed or handed out so the ImmutableMatrix never sees the change,
+     * if getMatrix() has already handed the entries out they are copied now instead,
+     * since the caller can still write to that array
+     *
+     * @return: an ImmutableMatrix with the same entries as the matrix
+     */
+    public ImmutableMatrix freeze() {
+        if (this.exposed) {
+            int[][] copy = new int[this.rows][];
+            for (int i = 0; i < this.rows; i++) {
+                copy[i] = this.matrix[i].clone();
+            }
+            return new ImmutableMatrix(copy);
+        }
+        else {
+            this.shared = true;
+            return new ImmutableMatrix(this.matrix);
+        }
+    }
 
-        // create a couple of invalid Matrix objects
-        System.out.println("Testing catching exceptions thrown by the Matrix constructor.");
-        try {
-            Matrix mInvalid1 = new Matrix(0, 1);
-            System.out.println("Error: Matrix() constructor did not throw an exception even though the number of rows was not positive.");
-            uErrors += 1;
+    /**
+     * Give the matrix its own copy of its entries if they are shared with an ImmutableMatrix,
+     * must be called before anything writes to this.matrix or hands it out
+     */
+    private void copyOnWrite() {
+        if (this.shared) {
+            int[][] copy = new int[this.rows][];
+            for (int i = 0; i < this.rows; i++) {
+                copy[i] = this.matrix[i].clone();
+            }
+            this.matrix = copy;
+            this.shared = false;
+            this.exposed = false;
         }
-        catch (Exception e) {
-            // expected result
-            System.out.println("Caught error: " + e.getMessage());
+        else {
+            // pass
         }
+    }
 
-        try {
-            Matrix mInvalid2 = new Matrix(1, 0);
-            System.out.println("Error: Matrix() constructor did not throw an exception even though the number of columns was not positive.");
-            uErrors += 1;
+    /**
+     * Raise a square matrix to a non-negative integer power
+     * using exponentiation by squaring,
+     * entries wrap around on overflow just like productOfMatrices()
+     *
+     * @param m: the matrix to raise to a power
+     * @param k: the exponent
+     * @precond: m.isSquare() && k >= 0
+     * @return: m multiplied by itself k times (the identity matrix if k == 0)
+     */
+    public static Matrix power(Matrix m, long k) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in power(): m.isSquare() must return true");
         }
-        catch (Exception e) {
-            // expected result
-            System.out.println("Caught error: " + e.getMessage());
+        else if (k < 0) {
+            throw new ArithmeticException("Error in power(): k >= 0 must be true");
         }
+        else {
+            return powerBySquaring(m, k, 0, false);
+        }
+    }
 
-        // create a valid Matrix object
-        try {
-            Matrix m1 = new Matrix(2,3);
+    /**
+     * Raise a square matrix to a non-negative integer power modulo a positive integer,
+     * every entry of the result is in the range [0, modulus)
+     *
+     * @param m: the matrix to raise to a power
+     * @param k: the exponent
+     * @param modulus: the modulus to reduce every entry by
+     * @precond: m.isSquare() && k >= 0 && modulus > 0
+     * @return: m multiplied by itself k times, with each entry reduced modulo modulus
+     */
+    public static Matrix powerMod(Matrix m, long k, int modulus) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in powerMod(): m.isSquare() must return true");
+        }
+        else if (k < 0) {
+            throw new ArithmeticException("Error in powerMod(): k >= 0 must be true");
+        }
+        else if (modulus <= 0) {
+            throw new ArithmeticException("Error in powerMod(): modulus > 0 must be true");
+        }
+        else {
+            return powerBySquaring(m, k, modulus, false);
+        }
+    }
 
-            // print the matrix
-            System.out.println("Here is an example matrix.");
-            m1.printMatrix();
+    /**
+     * Raise a square matrix to a non-negative integer power,
+     * throwing an exception instead of wrapping around if any entry overflows an int
+     *
+     * @param m: the matrix to raise to a power
+     * @param k: the exponent
+     * @precond: m.isSquare() && k >= 0
+     * @return: m multiplied by itself k times
+     */
+    public static Matrix powerExact(Matrix m, long k) {
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in powerExact(): m.isSquare() must return true");
+        }
+        else if (k < 0) {
+            throw new ArithmeticException("Error in powerExact(): k >= 0 must be true");
+        }
+        else {
+            return powerBySquaring(m, k, 0, true);
+        }
+    }
 
-            // test getRows()
-            if (m1.getRows() != 2) {
-                System.out.println("Error: getRows() returned " + m1.getRows() + " instead of 2.");
-                uErrors += 1;
-            }
-            else {
-                // expected result
+    /**
+     * Shared implementation of power(), powerMod() and powerExact(),
+     * the result, the base and a scratch buffer are allocated once,
+     * after that each step multiplies into the scratch buffer and swaps references,
+     * so no memory is allocated per step
+     *
+     * @param modulus: 0 for no modulus, otherwise the modulus to reduce by
+     * @param checked: true to throw an exception on int overflow
+     */
+    private static Matrix powerBySquaring(Matrix m, long k, int modulus, boolean checked) {
+        int n = m.getRows();
+        int[][] result = new int[n][n];
+        int[][] base = new int[n][n];
+        int[][] scratch = new int[n][n];
+        long[] accumulator = new long[n];
+        for (int i = 0; i < n; i++) {
+            result[i][i] = modulus == 1 ? 0 : 1;
+            for (int j = 0; j < n; j++) {
+                base[i][j] = modulus == 0 ? m.matrix[i][j] : Math.floorMod(m.matrix[i][j], modulus);
             }
-
-            // test getColumns()
-            if (m1.getColumns() != 3) {
-                System.out.println("Error: getColumns() returned " + m1.getColumns() + " instead of 3.");
-                uErrors += 1;
+        }
+        // the result stays the identity matrix until the lowest set bit of k is reached,
+        // so skip multiplying by it
+        boolean resultIsIdentity = true;
+        while (k > 0) {
+            if ((k & 1) == 1) {
+                if (resultIsIdentity) {
+                    for (int i = 0; i < n; i++) {
+                        System.arraycopy(base[i], 0, result[i], 0, n);
+                    }
+                    resultIsIdentity = false;
+                }
+                else {
+                    multiplySquareInto(result, base, scratch, accumulator, modulus, checked);
+                    int[][] swap = result;
+                    result = scratch;
+                    scratch = swap;
+                }
             }
-            else {
-                // expected result
+            k >>= 1;
+            // only square the base if another bit of k still needs it
+            if (k > 0) {
+                multiplySquareInto(base, base, scratch, accumulator, modulus, checked);
+                int[][] swap = base;
+                base = scratch;
+                scratch = swap;
             }
+        }
+        return ownedMatrix(result);
+    }
 
-            // test getMatrix()
-            System.out.println("Here is the matrix being accessed and printed using getMatrix().");
-            for (int i = 0; i < m1.getRows(); i++) {
-                for (int j = 0; j < m1.getColumns(); j++) {
-                    System.out.print(m1.getMatrix()[i][j] + " ");
+    /**
+     * Multiply two nxn arrays and store the product in out,
+     * out must not be the same array as a or b
+     *
+     * @param accumulator: a scratch row of length n
+     * @param modulus: 0 for no modulus, otherwise the modulus to reduce by
+     * @param checked: true to throw an exception on int overflow
+     */
+    private static void multiplySquareInto(int[][] a, int[][] b, int[][] out, long[] accumulator, int modulus, boolean checked) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            java.util.Arrays.fill(accumulator, 0L);
+            int[] aRow = a[i];
+            // i-k-j order walks along the rows of b instead of down its columns
+            for (int k = 0; k < n; k++) {
+                long aik = aRow[k];
+                if (aik == 0) {
+                    continue;
+                }
+                int[] bRow = b[k];
+                if (modulus != 0) {
+                    for (int j = 0; j < n; j++) {
+                        accumulator[j] = (accumulator[j] + aik * bRow[j]) % modulus;
+                    }
+                }
+                else if (checked) {
+                    for (int j = 0; j < n; j++) {
+                        accumulator[j] = Math.addExact(accumulator[j], aik * bRow[j]);
+                    }
+                }
+                else {
+                    for (int j = 0; j < n; j++) {
+                        accumulator[j] += aik * bRow[j];
+                    }
                 }
-                System.out.println("");
             }
+            int[] outRow = out[i];
+            for (int j = 0; j < n; j++) {
+                outRow[j] = checked ? Math.toIntExact(accumulator[j]) : (int) accumulator[j];
+            }
+        }
+    }
 
-            // test staticPrintMatrix()
-            System.out.println("Here is the matrix being printed using staticPrintMatrix().");
-            Matrix.staticPrintMatrix(m1);
+    /**
+     * Compute the determinant of a matrix in O(n^3) time using
+     * Bareiss fraction-free elimination,
+     * every division in the elimination is exact so no fractions are ever created
+     *
+     * @param m: the matrix to compute the determinant of
+     * @precond: m.isSquare()
+     * @return: the determinant of the matrix,
+     * an ArithmeticException is thrown if an intermediate value overflows a long
+     * or the determinant overflows an int, the first can happen even when the determinant fits in an int
+     */
+    public static int determinantBareiss(Matrix m) {
+        if (m.isSquare()) {
+            long[][] work = toAugmentedArray(m, null);
+            return Math.toIntExact(bareissGaussJordan(work, m.getRows()));
+        }
+        else {
+            throw new ArithmeticException("Error in determinantBareiss(): m.isSquare() must return true");
+        }
+    }
 
-            // test IsSquare()
-            if (m1.isSquare()) {
-                System.out.println("Error: isSquare() returned true for non-square matrix.");
-                uErrors += 1;
+    /**
+     * Compute the adjugate of a matrix (the transpose of its cofactor matrix),
+     * so that productOfMatrices(m, adjugate(m)) is determinant(m) times the identity matrix,
+     * the inverse of m is the adjugate divided by the determinant
+     *
+     * @param m: the matrix to compute the adjugate of
+     * @precond: m.isSquare()
+     * @return: the adjugate of the matrix
+     */
+    public static Matrix adjugate(Matrix m) {
+        if (m.isSquare()) {
+            int n = m.getRows();
+            Matrix adj = new Matrix(n, n);
+            if (n == 1) {
+                adj.matrix[0][0] = 1;
+                return adj;
             }
             else {
-                // expected result
+                // pass
+            }
+            // eliminate [m | I] to get [det * I | adjugate] in one O(n^3) pass
+            Matrix identity = new Matrix(n, n);
+            identity.makeIdentity();
+            long[][] work = toAugmentedArray(m, identity);
+            long det = bareissGaussJordan(work, n);
+            if (det != 0) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        adj.matrix[i][j] = Math.toIntExact(work[i][n + j]);
+                    }
+                }
+            }
+            // a singular matrix has no inverse to scale,
+            // so compute each cofactor with determinantBareiss() instead (O(n^5) in total)
+            else {
+                for (int i = 1; i <= n; i++) {
+                    for (int j = 1; j <= n; j++) {
+                        int cofactor = determinantBareiss(minorMatrix(m, j, i));
+                        adj.setEntry(i, j, (i + j) % 2 == 0 ? cofactor : -cofactor);
+                    }
+                }
             }
+            return adj;
+        }
+        else {
+            throw new ArithmeticException("Error in adjugate(): m.isSquare() must return true");
+        }
+    }
 
-            // test IsZero()
-            if (m1.isZero()) {
-                // expected result
+    /**
+     * Compute the inverse of a matrix whose inverse only has integer entries
+     * (its determinant is 1 or -1),
+     * for any other invertible matrix use adjugate() and determinantBareiss()
+     *
+     * @param m: the matrix to invert
+     * @precond: m.isSquare() && determinantBareiss(m) is 1 or -1
+     * @return: the inverse of the matrix
+     */
+    public static Matrix inverse(Matrix m) {
+        if (m.isSquare()) {
+            int n = m.getRows();
+            Matrix identity = new Matrix(n, n);
+            identity.makeIdentity();
+            long[][] work = toAugmentedArray(m, identity);
+            long det = bareissGaussJordan(work, n);
+            if (det == 1 || det == -1) {
+                Matrix inv = new Matrix(n, n);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        inv.matrix[i][j] = Math.toIntExact(work[i][n + j] * det);
+                    }
+                }
+                return inv;
             }
             else {
-                System.out.println("Error: isZero() returned false for zero matrix.");
-                uErrors += 1;
+                throw new ArithmeticException("Error in inverse(): the determinant of m must be 1 or -1");
             }
+        }
+        else {
+            throw new ArithmeticException("Error in inverse(): m.isSquare() must return true");
+        }
+    }
 
-            // test IsIdentity()
-            if (m1.isIdentity()) {
-                System.out.println("Error: isIdentity() returned true for non-identity matrix.");
-                uErrors += 1;
+    /**
+     * Solve the system a * x = b for x without creating fractions,
+     * the rational solution is this result divided by determinantBareiss(a)
+     *
+     * @param a: the coefficient matrix
+     * @param b: the right hand side, each column is solved separately
+     * @precond: a.isSquare() && a.getRows() == b.getRows() && determinantBareiss(a) != 0
+     * @return: determinantBareiss(a) times the solution x (i.e. adjugate(a) times b)
+     */
+    public static Matrix solveScaled(Matrix a, Matrix b) {
+        if (!a.isSquare()) {
+            throw new ArithmeticException("Error in solveScaled(): a.isSquare() must return true");
+        }
+        else if (a.getRows() != b.getRows()) {
+            throw new ArithmeticException("Error in solveScaled(): a.getRows() == b.getRows() must be true");
+        }
+        else {
+            int n = a.getRows();
+            long[][] work = toAugmentedArray(a, b);
+            long det = bareissGaussJordan(work, n);
+            if (det == 0) {
+                throw new ArithmeticException("Error in solveScaled(): a must not be singular");
             }
             else {
-                // expected result
+                Matrix scaled = new Matrix(n, b.getColumns());
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < b.getColumns(); j++) {
+                        scaled.matrix[i][j] = Math.toIntExact(work[i][n + j]);
+                    }
+                }
+                return scaled;
             }
+        }
+    }
 
-            // test sameDimensions()
-            if (!Matrix.sameDimensions(m1, m1)) {
-                System.out.println("Error: sameDimensions() returned false when comparing a matrix with itself.");
-                uErrors += 1;
-            }
+    /**
+     * Solve the system a * x = b for x when the solution only has integer entries
+     *
+     * @param a: the coefficient matrix
+     * @param b: the right hand side, each column is solved separately
+     * @precond: a.isSquare() && a.getRows() == b.getRows() && determinantBareiss(a) != 0
+     * and every entry of the solution is an integer
+     * @return: the matrix x such that productOfMatrices(a, x) equals b
+     */
+    public static Matrix solve(Matrix a, Matrix b) {
+        if (!a.isSquare()) {
+            throw new ArithmeticException("Error in solve(): a.isSquare() must return true");
+        }
+        else if (a.getRows() != b.getRows()) {
+            throw new ArithmeticException("Error in solve(): a.getRows() == b.getRows() must be true");
+        }
         else {
-                // expected result
+            int n = a.getRows();
+            long[][] work = toAugmentedArray(a, b);
+            long det = bareissGaussJordan(work, n);
+            if (det == 0) {
+                throw new ArithmeticException("Error in solve(): a must not be singular");
+            }
+            else {
+                Matrix x = new Matrix(n, b.getColumns());
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < b.getColumns(); j++) {
+                        if (work[i][n + j] % det != 0) {
+                            throw new ArithmeticException("Error in solve(): the solution must only have integer entries");
+                        }
+                        else {
+                            x.matrix[i][j] = Math.toIntExact(work[i][n + j] / det);
+                        }
+                    }
+                }
+                return x;
             }
+        }
+    }
 
-            // test sameMatrix()
-            if (!Matrix.sameMatrix(m1, m1)) {
-                System.out.println("Error: sameMatrix() returned false when comparing a matrix with itself.");
-                uErrors += 1;
+    /**
+     * Copy a square matrix, and optionally a matrix with the same number of rows to its right,
+     * into a long array for fraction-free elimination
+     *
+     * @param right: the matrix to augment m with, or null for none
+     */
+    private static long[][] toAugmentedArray(Matrix m, Matrix right) {
+        int n = m.getRows();
+        int extra = right == null ? 0 : right.getColumns();
+        long[][] work = new long[n][n + extra];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                work[i][j] = m.matrix[i][j];
             }
-        else {
-                // expected result
+            for (int j = 0; j < extra; j++) {
+                work[i][n + j] = right.matrix[i][j];
             }
+        }
+        return work;
+    }
 
-            // test oppositeDimensions()
-            if (Matrix.oppositeDimensions(m1, m1)) {
-                System.out.println("Error: oppositeDimensions() returned true when comparing a 3x2 matrix with itself.");
-                uErrors += 1;
+    /**
+     * Fraction-free Gauss-Jordan elimination on the first n columns of an augmented array,
+     * if the left nxn block is invertible it is turned into det * I
+     * and the columns to its right are multiplied by the adjugate,
+     * row swaps are undone by negating so the signs are already correct,
+     * after step k every entry is a (k+1)x(k+1) minor of the array, but the product taken before each exact division
+     * is a product of two such minors, so it can overflow a long even when the result fits in an int,
+     * every operation is checked and an ArithmeticException is thrown on overflow
+     *
+     * @param work: an nx(n+p) array, modified in place
+     * @return: the determinant of the left nxn block, 0 if it is singular
+     */
+    private static long bareissGaussJordan(long[][] work, int n) {
+        int width = work[0].length;
+        long previousPivot = 1;
+        boolean negate = false;
+        for (int k = 0; k < n; k++) {
+            // find a row with a nonzero pivot in column k
+            if (work[k][k] == 0) {
+                int swapRow = k + 1;
+                while (swapRow < n && work[swapRow][k] == 0) {
+                    swapRow++;
+                }
+                if (swapRow == n) {
+                    return 0;
+                }
+                else {
+                    long[] swap = work[k];
+                    work[k] = work[swapRow];
+                    work[swapRow] = swap;
+                    negate = !negate;
+                }
             }
-        else {
-                // expected result
+            else {
+                // pass
             }
-
-            // test transposes()
-            if (Matrix.transposes(m1, m1)) {
-                System.out.println("Error: transposes() returned true when comparing matrices that were not transposes.");
-                uErrors += 1;
+            long pivot = work[k][k];
+            long[] pivotRow = work[k];
+            for (int i = 0; i < n; i++) {
+                if (i == k) {
+                    continue;
+                }
+                long[] row = work[i];
+                long factor = row[k];
+                for (int j = 0; j < width; j++) {
+                    if (j == k) {
+                        continue;
+                    }
+                    // Sylvester's identity guarantees that this division is exact
+                    row[j] = Math.subtractExact(Math.multiplyExact(pivot, row[j]), Math.multiplyExact(factor, pivotRow[j])) / previousPivot;
+                }
+                row[k] = 0;
             }
-        else {
-                // expected result
+            previousPivot = pivot;
+        }
+        if (negate) {
+            for (int i = 0; i < n; i++) {
+                for (int j = n; j < width; j++) {
+                    work[i][j] = -work[i][j];
+                }
             }
-
-            // test setEntry()
-            // change some entries
-            try {
-                m1.setEntry(1, 1, 1);
-                m1.setEntry(1, 2, 2);
-                m1.setEntry(2, 3, 3);
-            }
-            catch (Exception e) {
-                System.out.println("Error: setEntry() threw an exception even though the specified entry was in bounds.");
-                System.out.println("Unintentional Error: " + e.getMessage());
-                uErrors += 1;
-            }
-            // some invalid changes
-            System.out.println("Testing catching exception thrown by setEntry().");
-            try {
-                m1.setEntry(0, 1, 7);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
-            }
-            catch (Exception e) {
-                // expected result
-                System.out.println("Caught error: " + e.getMessage());
+            return -previousPivot;
+        }
+        else {
+            return previousPivot;
+        }
+    }
+
+    /**
+     * Get the matrix left over after removing one row and one column
+     *
+     * @param m: the matrix to take the minor of
+     * @param r: the row to remove
+     * @param c: the column to remove
+     * @precond: m.getRows() > 1 && m.getColumns() > 1
+     * @return: an (m-1)x(n-1) matrix
+     */
+    private static Matrix minorMatrix(Matrix m, int r, int c) {
+        Matrix minor = new Matrix(m.getRows() - 1, m.getColumns() - 1);
+        for (int i = 0, mi = 0; i < m.getRows(); i++) {
+            if (i == r - 1) {
+                continue;
+            }
+            for (int j = 0, mj = 0; j < m.getColumns(); j++) {
+                if (j == c - 1) {
+                    continue;
+                }
+                minor.matrix[mi][mj] = m.matrix[i][j];
+                mj++;
             }
-            try {
-                m1.setEntry(1, 0, 7);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+            mi++;
+        }
+        return minor;
+    }
+
+    /**
+     * Compute the rank of the matrix (the number of linearly independent rows)
+     * in O(r*c*min(r, c)) time without changing the matrix,
+     * exact Bareiss elimination is used first, and if an intermediate value overflows
+     * the rank is computed modulo several random 31-bit primes instead
+     *
+     * @return: the rank of the matrix
+     */
+    public int rank() {
+        int[][] work = new int[this.rows][];
+        for (int i = 0; i < this.rows; i++) {
+            work[i] = this.matrix[i].clone();
+        }
+        try {
+            return bareissEchelon(work, this.rows, this.columns, false, null);
+        }
+        catch (ArithmeticException e) {
+            return modularRank(this.matrix, this.rows, this.columns);
+        }
+    }
+
+    /**
+     * Compute the rank of the matrix by turning it into row echelon form in place,
+     * this avoids copying the matrix
+     *
+     * @postcond: the matrix is in fraction-free row echelon form (see rowEchelonForm())
+     * @return: the rank of the matrix
+     */
+    public int rankInPlace() {
+        copyOnWrite();
+        return bareissEchelon(this.matrix, this.rows, this.columns, false, null);
+    }
+
+    /**
+     * Check whether or not a square matrix is singular (has a determinant of 0),
+     * unlike determinant() this never overflows
+     *
+     * @precond: isSquare()
+     * @return: true if the matrix is singular, false otherwise
+     */
+    public boolean isSingular() {
+        if (isSquare()) {
+            return rank() < this.rows;
+        }
+        else {
+            throw new ArithmeticException("Error in isSingular(): isSquare() must return true");
+        }
+    }
+
+    /**
+     * Compute a fraction-free row echelon form of a matrix using Bareiss elimination,
+     * every entry stays an integer, and the last nonzero row's pivot is the
+     * determinant of the submatrix formed by the pivot rows and columns
+     *
+     * @param m: the matrix to compute the row echelon form of
+     * @return: a new matrix in row echelon form
+     */
+    public static Matrix rowEchelonForm(Matrix m) {
+        Matrix echelon = m.deepCloneMatrix();
+        echelon.rowEchelonFormInPlace();
+        return echelon;
+    }
+
+    /**
+     * Turn the matrix into a fraction-free row echelon form in place
+     *
+     * @postcond: the matrix is in row echelon form,
+     * an ArithmeticException is thrown and the matrix is left partially reduced
+     * if an entry overflows an int
+     */
+    public void rowEchelonFormInPlace() {
+        copyOnWrite();
+        bareissEchelon(this.matrix, this.rows, this.columns, false, null);
+    }
+
+    /**
+     * Compute a fraction-free reduced row echelon form of a matrix,
+     * every pivot has the same value d, every other entry in a pivot column is 0,
+     * and dividing every entry by d gives the usual reduced row echelon form
+     *
+     * @param m: the matrix to compute the reduced row echelon form of
+     * @return: a new matrix in fraction-free reduced row echelon form
+     */
+    public static Matrix reducedRowEchelonForm(Matrix m) {
+        Matrix reduced = m.deepCloneMatrix();
+        reduced.reducedRowEchelonFormInPlace();
+        return reduced;
+    }
+
+    /**
+     * Turn the matrix into a fraction-free reduced row echelon form in place
+     *
+     * @postcond: the matrix is in fraction-free reduced row echelon form (see reducedRowEchelonForm()),
+     * an ArithmeticException is thrown and the matrix is left partially reduced
+     * if an entry overflows an int
+     */
+    public void reducedRowEchelonFormInPlace() {
+        copyOnWrite();
+        bareissEchelon(this.matrix, this.rows, this.columns, true, null);
+    }
+
+    /**
+     * Compute a basis of the null space of a matrix (all x such that m * x = 0)
+     * with integer entries, each basis vector is divided by the gcd of its entries
+     *
+     * @param m: the matrix to compute the null space of
+     * @return: a matrix whose columns are the basis vectors,
+     * or null if the null space only contains the zero vector
+     */
+    public static Matrix nullSpace(Matrix m) {
+        int cols = m.getColumns();
+        int[][] work = new int[m.getRows()][];
+        for (int i = 0; i < m.getRows(); i++) {
+            work[i] = m.matrix[i].clone();
+        }
+        int[] pivotColumns = new int[Math.min(m.getRows(), cols)];
+        int rank = bareissEchelon(work, m.getRows(), cols, true, pivotColumns);
+        if (rank == cols) {
+            return null;
+        }
+        else {
+            Matrix basis = new Matrix(cols, cols - rank);
+            boolean[] isPivot = new boolean[cols];
+            for (int i = 0; i < rank; i++) {
+                isPivot[pivotColumns[i]] = true;
+            }
+            // every pivot equals the same value d, so each free column f gives the vector
+            // with d in row f and minus the free column's entries in the pivot rows
+            long d = rank == 0 ? 1 : work[0][pivotColumns[0]];
+            int basisColumn = 0;
+            for (int f = 0; f < cols; f++) {
+                if (isPivot[f]) {
+                    continue;
+                }
+                long[] vector = new long[cols];
+                vector[f] = d;
+                for (int i = 0; i < rank; i++) {
+                    vector[pivotColumns[i]] = -(long) work[i][f];
+                }
+                long g = 0;
+                for (long v : vector) {
+                    g = gcd(g, Math.abs(v));
+                }
+                // make the free variable's entry positive
+                if (d < 0) {
+                    g = -g;
+                }
+                for (int i = 0; i < cols; i++) {
+                    basis.matrix[i][basisColumn] = Math.toIntExact(vector[i] / g);
+                }
+                basisColumn++;
             }
-            catch (Exception e) {
-                // expected result
+            return basis;
+        }
+    }
+
+    /**
+     * Bareiss fraction-free elimination of an int array in place,
+     * either to row echelon form or, if reduce is true, to reduced row echelon form
+     * with every pivot equal,
+     * elimination stops as soon as every row has a pivot
+     *
+     * @param pivotColumns: if not null, filled with the 0-based column of each pivot
+     * @return: the rank of the array
+     */
+    private static int bareissEchelon(int[][] a, int rows, int cols, boolean reduce, int[] pivotColumns) {
+        long previousPivot = 1;
+        int r = 0;
+        for (int c = 0; c < cols && r < rows; c++) {
+            // find a row with a nonzero entry in column c
+            int pivotRow = r;
+            while (pivotRow < rows && a[pivotRow][c] == 0) {
+                pivotRow++;
+            }
+            if (pivotRow == rows) {
+                continue;
+            }
+            else if (pivotRow != r) {
+                int[] swap = a[r];
+                a[r] = a[pivotRow];
+                a[pivotRow] = swap;
             }
-            try {
-                m1.setEntry(3, 1, 7);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+            else {
+                // pass
+            }
+            long pivot = a[r][c];
+            int[] pivotValues = a[r];
+            // rows above the pivot only need updating for the reduced form,
+            // and only the columns to the right of c are nonzero below it
+            int firstRow = reduce ? 0 : r + 1;
+            int firstColumn = reduce ? 0 : c + 1;
+            for (int i = firstRow; i < rows; i++) {
+                if (i == r) {
+                    continue;
+                }
+                int[] row = a[i];
+                long factor = row[c];
+                for (int j = firstColumn; j < cols; j++) {
+                    if (j == c) {
+                        continue;
+                    }
+                    // Sylvester's identity guarantees that this division is exact
+                    row[j] = Math.toIntExact(Math.subtractExact(pivot * row[j], factor * pivotValues[j]) / previousPivot);
+                }
+                row[c] = 0;
             }
-            catch (Exception e) {
-                // expected result
+            if (pivotColumns != null) {
+                pivotColumns[r] = c;
             }
-            try {
-                m1.setEntry(1, 4, 7);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+            previousPivot = pivot;
+            r++;
+        }
+        return r;
+    }
+
+    /**
+     * Compute the rank of an int array by elimination modulo random 31-bit primes,
+     * the rank modulo a prime is never larger than the true rank,
+     * so the largest rank found over a few primes is the true rank with high probability
+     *
+     * @return: the rank of the array
+     */
+    private static int modularRank(int[][] a, int rows, int cols) {
+        java.util.Random random = java.util.concurrent.ThreadLocalRandom.current();
+        int maxRank = Math.min(rows, cols);
+        int best = 0;
+        long[][] work = new long[rows][cols];
+        for (int attempt = 0; attempt < 3 && best < maxRank; attempt++) {
+            long p = java.math.BigInteger.probablePrime(31, random).longValue();
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    work[i][j] = Math.floorMod(a[i][j], p);
+                }
             }
-            catch (Exception e) {
-                // expected result
+            int r = 0;
+            for (int c = 0; c < cols && r < rows; c++) {
+                int pivotRow = r;
+                while (pivotRow < rows && work[pivotRow][c] == 0) {
+                    pivotRow++;
+                }
+                if (pivotRow == rows) {
+                    continue;
+                }
+                long[] swap = work[r];
+                work[r] = work[pivotRow];
+                work[pivotRow] = swap;
+                long pivotInverse = modPow(work[r][c], p - 2, p);
+                for (int i = r + 1; i < rows; i++) {
+                    long factor = work[i][c] * pivotInverse % p;
+                    if (factor == 0) {
+                        continue;
+                    }
+                    for (int j = c; j < cols; j++) {
+                        work[i][j] = Math.floorMod(work[i][j] - factor * work[r][j], p);
+                    }
+                }
+                r++;
             }
+            best = Math.max(best, r);
+        }
+        return best;
+    }
 
-            // print the matrix
-            System.out.println("After some changes...");
-            m1.printMatrix();
+    /**
+     * Compute base to the power of exponent modulo a modulus below 2^31
+     */
+    private static long modPow(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
 
-            // test getEntry()
-            System.out.println("The number at index 1,1 is " + m1.getEntry(1, 1) + ".");
-            System.out.println("The number at index 2,2 is " + m1.getEntry(2, 2) + ".");
-            System.out.println("The number at index 2,3 is " + m1.getEntry(2, 3) + ".");
-            System.out.println("Testing catching exception thrown by getEntry().");
-            try {
-                m1.getEntry(0, 1);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+    /**
+     * Compute the greatest common divisor of two non-negative numbers
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Compute the Hermite normal form of a matrix (row style),
+     * the unique upper triangular matrix h = u * m for some unimodular u,
+     * where every pivot is positive, the entries above a pivot are in the range [0, pivot),
+     * and zero rows are at the bottom,
+     * a square nonsingular matrix is reduced modulo its determinant so entries never grow past it
+     *
+     * @param m: the matrix to compute the Hermite normal form of
+     * @return: the Hermite normal form of the matrix
+     */
+    public static Matrix hermiteNormalForm(Matrix m) {
+        if (m.isSquare()) {
+            long det = smallDeterminant(m);
+            if (det != 0) {
+                return fromLongArray(modularHermite(m, det));
             }
-            catch (Exception e) {
-                // expected result
-                System.out.println("Caught error: " + e.getMessage());
+            else {
+                // pass
             }
-            try {
-                m1.getEntry(1, 0);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+        }
+        else {
+            // pass
+        }
+        return fromLongArray(kannanBachemHermite(m, null));
+    }
+
+    /**
+     * Compute the Hermite normal form of a matrix along with the unimodular transformation,
+     * for a square nonsingular matrix h is found modulo the determinant and u is the unique solution of h = u * m,
+     * otherwise the row operations are tracked exactly, one row at a time (Kannan and Bachem)
+     *
+     * @param m: the matrix to compute the Hermite normal form of
+     * @return: an array {h, u} where h is the Hermite normal form and h = u * m,
+     * an ArithmeticException is thrown if an entry of u does not fit in an int
+     */
+    public static Matrix[] hermiteNormalFormWithTransform(Matrix m) {
+        if (m.isSquare()) {
+            long det = smallDeterminant(m);
+            if (det != 0) {
+                long[][] h = modularHermite(m, det);
+                return new Matrix[] {fromLongArray(h), fromLongArray(leftQuotient(h, toLongArray(m)))};
             }
-            catch (Exception e) {
-                // expected result
+            else {
+                // pass
             }
-            try {
-                m1.getEntry(3, 1);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+        }
+        else {
+            // pass
+        }
+        long[][] u = identityArray(m.getRows());
+        long[][] h = kannanBachemHermite(m, u);
+        return new Matrix[] {fromLongArray(h), fromLongArray(u)};
+    }
+
+    /**
+     * Compute the Smith normal form of a matrix,
+     * the diagonal matrix s = u * m * v for some unimodular u and v
+     * where each diagonal entry divides the next one and all entries are non-negative,
+     * a square nonsingular matrix is diagonalized modulo its determinant,
+     * a non-square matrix of full rank is diagonalized modulo the gcd of a few of its maximal minors,
+     * any other matrix is first reduced to a square triangular core with the same nonzero invariant factors:
+     * the nonzero rows of its Hermite normal form, then the Hermite normal form of their transpose,
+     * and the core is diagonalized modulo its determinant, the gcd of the nonzero maximal minors of the matrix
+     *
+     * @param m: the matrix to compute the Smith normal form of
+     * @return: the Smith normal form of the matrix
+     */
+    public static Matrix smithNormalForm(Matrix m) {
+        if (m.isSquare()) {
+            long det = smallDeterminant(m);
+            if (det != 0) {
+                return fromLongArray(modularSmith(toLongArray(m), det));
             }
-            catch (Exception e) {
-                // expected result
+            else {
+                // pass
             }
-            try {
-                m1.getEntry(1, 4);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+        }
+        else {
+            // a tall matrix, or the transpose of a wide one, so it has full rank when its columns are independent
+            boolean wide = m.getRows() < m.getColumns();
+            Matrix tall = wide ? m.getTranspose() : m;
+            long modulus = minorGcd(tall.matrix);
+            if (modulus != 0) {
+                long[][] tallSmith = modularSmith(toLongArray(tall), modulus);
+                return fromLongArray(wide ? transposeArray(tallSmith) : tallSmith);
             }
-            catch (Exception e) {
-                // expected result
+            else {
+                // pass
             }
-
-            // test IsZero()
-            if (m1.isZero()) {
-                System.out.println("Error: isZero() returned true for non-zero matrix.");
-                uErrors += 1;
+        }
+        long[][] h = kannanBachemHermite(m, null);
+        int rank = 0;
+        while (rank < h.length && !isZeroRow(h[rank])) {
+            rank++;
+        }
+        long[][] s = new long[m.getRows()][m.getColumns()];
+        if (rank > 0) {
+            // the pivots of the second Hermite normal form are positive and its first rank rows are the core
+            long[][] core = java.util.Arrays.copyOf(kannanBachemHermite(transposeArray(java.util.Arrays.copyOf(h, rank)), null), rank);
+            long det = 1;
+            for (int i = 0; i < rank; i++) {
+                det = Math.multiplyExact(det, core[i][i]);
+            }
+            if (det <= Integer.MAX_VALUE) {
+                core = modularSmith(core, det);
             }
             else {
-                // expected result
+                // the core is triangular with reduced entries, so exact elimination starts from much smaller numbers
+                classicalSmith(core, null, null, 0);
+                fixDivisibilityChain(core, null);
             }
+            for (int i = 0; i < rank; i++) {
+                s[i][i] = core[i][i];
+            }
+        }
+        else {
+            // pass
+        }
+        return fromLongArray(s);
+    }
 
-            // test scalarMultiply()
-            m1.scalarMultiply(2);
-            System.out.println("Scalar multiply the matrix by 2.");
-            m1.printMatrix();
-
-            // test makeZero()
-            m1.makeZero();
-            System.out.println("Turn matrix back into a zero matrix.");
-            m1.printMatrix();
+    /**
+     * Diagonalize an array of full column rank modulo a multiple of the product of its invariant factors,
+     * such as its determinant when it is square, det * e_j is in the row lattice for every column j
+     * so every entry can be reduced modulo det,
+     * over the integers modulo det each invariant factor is only known up to a unit,
+     * but every invariant factor divides det so the gcd with det recovers it
+     *
+     * @param a: the array, with at least as many rows as columns, which is not changed
+     * @param det: a multiple of the product of the invariant factors of a, with 0 < det <= Integer.MAX_VALUE
+     * @return: the Smith normal form of a
+     */
+    private static long[][] modularSmith(long[][] a, long det) {
+        int rows = a.length;
+        int cols = a[0].length;
+        long[][] work = new long[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                work[i][j] = Math.floorMod(a[i][j], det);
+            }
+        }
+        classicalSmith(work, null, null, det);
+        for (int i = 0; i < cols; i++) {
+            work[i][i] = gcd(work[i][i], det);
+        }
+        fixDivisibilityChain(work, null);
+        return work;
+    }
 
-            // test IsZero()
-            if (m1.isZero()) {
-                // expected result
+    /**
+     * Find the gcd of a few maximal minors of an array with more rows than columns,
+     * each minor is taken from the first independent rows modulo a prime in a different order of the rows,
+     * and its determinant is a multiple of the product of the invariant factors (the gcd of all maximal minors)
+     *
+     * @param a: an array with more rows than columns
+     * @return: the gcd if the columns are independent and it fits in an int, 0 otherwise
+     */
+    private static long minorGcd(int[][] a) {
+        int rows = a.length;
+        int cols = a[0].length;
+        long p = 2147483647L;
+        java.util.Random random = new java.util.Random(rows * 31L + cols);
+        Integer[] order = new Integer[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        java.math.BigInteger g = java.math.BigInteger.ZERO;
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int[] chosen = independentRows(a, order, p);
+            if (chosen == null) {
+                // the columns are dependent, or only modulo p, which the caller's fallback handles either way
+                return 0;
             }
             else {
-                System.out.println("Error: isZero() returned false for zero matrix.");
-                uErrors += 1;
+                // pass
             }
-
-            // test makeIdentity()
-            System.out.println("Testing catching exception thrown by makeIdentity().");
-            try {
-                m1.makeIdentity();
-                System.out.println("Error: makeIdentity() did not throw an exception for a non-square matrix.");
-                uErrors += 1;
+            int[][] minor = new int[cols][];
+            for (int i = 0; i < cols; i++) {
+                minor[i] = a[chosen[i]];
             }
-            catch (Exception e) {
-                System.out.println("Caught error: " + e.getMessage());
-                System.out.println("makeIdentity() will not work on a non-square matrix.");
+            g = g.gcd(exactDeterminant(minor, hadamardLog2(minor), new long[0]));
+            if (attempt > 0 && g.bitLength() < Integer.SIZE) {
+                return g.longValue();
             }
+            else {
+                java.util.Collections.shuffle(java.util.Arrays.asList(order), random);
+            }
+        }
+        return g.bitLength() < Integer.SIZE ? g.longValue() : 0;
+    }
 
-            // check if matrix is still a zero matrix
-            System.out.println("Check if the matrix is still the zero matrix...");
-            m1.printMatrix();
-
-            // test IsZero()
-            if (m1.isZero()) {
-                // expected result
+    /**
+     * Take rows of an array in the given order and keep the ones independent of the rows kept before them modulo a prime,
+     * until there are as many as columns
+     *
+     * @return: the indices of the rows kept, or null if fewer rows than columns are independent
+     */
+    private static int[] independentRows(int[][] a, Integer[] order, long p) {
+        int cols = a[0].length;
+        int[] chosen = new int[cols];
+        // basis[c] is a kept row reduced so that its first nonzero entry, 1, is in column c
+        long[][] basis = new long[cols][];
+        int count = 0;
+        for (int i = 0; i < order.length && count < cols; i++) {
+            long[] row = new long[cols];
+            for (int j = 0; j < cols; j++) {
+                row[j] = Math.floorMod(a[order[i]][j], p);
+            }
+            int lead = -1;
+            for (int c = 0; c < cols && lead < 0; c++) {
+                if (row[c] == 0) {
+                    continue;
+                }
+                else if (basis[c] != null) {
+                    long factor = row[c];
+                    for (int j = c; j < cols; j++) {
+                        row[j] = Math.floorMod(row[j] - factor * basis[c][j], p);
+                    }
+                }
+                else {
+                    lead = c;
+                }
+            }
+            if (lead >= 0) {
+                long inverse = modPow(row[lead], p - 2, p);
+                for (int j = lead; j < cols; j++) {
+                    row[j] = row[j] * inverse % p;
+                }
+                basis[lead] = row;
+                chosen[count] = order[i];
+                count++;
             }
             else {
-                System.out.println("Error: isZero() returned false for zero matrix.");
-                uErrors += 1;
+                // pass
             }
+        }
+        return count == cols ? chosen : null;
+    }
 
-            // test determinant()
-            System.out.println("Testing catching exception thrown by determinant().");
-            try {
-                int m1det = Matrix.determinant(m1);
-                System.out.println("Error: determinant() did not throw an exception for a non-square matrix, but instead returned " + m1det + ".");
-                uErrors += 1;
+    /**
+     * Compute the Smith normal form of a matrix along with the unimodular transformations,
+     * a singular or non-square matrix is first reduced to a square nonsingular core c * m * d,
+     * where c and d are completed to unimodular matrices by bases of the left and right kernels of m,
+     * the kernel bases are LLL reduced and the rest of u and v is reduced against them
+     *
+     * @param m: the matrix to compute the Smith normal form of
+     * @return: an array {s, u, v} where s is the Smith normal form and s = u * m * v,
+     * an ArithmeticException is thrown if an entry of u or v does not fit in an int
+     */
+    public static Matrix[] smithNormalFormWithTransform(Matrix m) {
+        int rows = m.getRows();
+        int columns = m.getColumns();
+        if (m.isSquare()) {
+            long det = smallDeterminant(m);
+            if (det != 0) {
+                java.math.BigInteger[][][] transforms = new java.math.BigInteger[2][][];
+                long[][] s = nonsingularSmith(m, det, transforms);
+                return new Matrix[] {fromLongArray(s), fromBigArray(transforms[0]), fromBigArray(transforms[1])};
             }
-            catch (Exception e) {
-                System.out.println("Caught error: " + e.getMessage());
+            else {
+                // pass
             }
         }
-        catch (Exception e) {
-            System.out.println("Error: Matrix() constructor threw an exception even though both parameters were positive.");
-            System.out.println("Unintentional Error: " + e.getMessage());
-            uErrors += 1;
+        else {
+            // pass
         }
+        // the rows of left and right past the rank are bases of the left and right kernels of m
+        long[][] left = identityArray(rows);
+        long[][] h = kannanBachemHermite(m, left);
+        long[][] right = identityArray(columns);
+        kannanBachemHermite(fromLongArray(transposeArray(toLongArray(m))), right);
+        int rank = 0;
+        while (rank < rows && !isZeroRow(h[rank])) {
+            rank++;
+        }
+        // adding kernel rows to the first rows of u and v leaves the core c * m * d unchanged
+        java.math.BigInteger[][] u = toBig(left);
+        java.math.BigInteger[][] vt = toBig(right);
+        reduceAgainstKernel(u, rank);
+        reduceAgainstKernel(vt, rank);
+        java.math.BigInteger[][] c = java.util.Arrays.copyOf(u, rank);
+        java.math.BigInteger[][] d = java.util.Arrays.copyOf(vt, rank);
+        Matrix core = null;
+        long det = 1;
+        if (rank > 0) {
+            java.math.BigInteger[][] product = productBig(productBig(c, toBig(toLongArray(m))), transposeBig(d));
+            boolean small = true;
+            for (java.math.BigInteger[] row : product) {
+                for (java.math.BigInteger value : row) {
+                    small &= value.bitLength() < Integer.SIZE;
+                }
+            }
+            core = small ? fromBigArray(product) : null;
+            det = small ? smallDeterminant(core) : 0;
+        }
+        else {
+            // pass
+        }
+        if (det == 0) {
+            long[][] s = h;
+            long[][] transform = identityArray(rows);
+            long[][] v = identityArray(columns);
+            classicalSmith(s, transform, v, 0);
+            return new Matrix[] {fromLongArray(s), fromLongArray(productExact(transform, left)), fromLongArray(v)};
+        }
+        else {
+            // pass
+        }
+        long[][] s = new long[rows][columns];
+        if (rank > 0) {
+            java.math.BigInteger[][][] transforms = new java.math.BigInteger[2][][];
+            long[][] coreSmith = nonsingularSmith(core, det, transforms);
+            for (int i = 0; i < rank; i++) {
+                s[i][i] = coreSmith[i][i];
+            }
+            System.arraycopy(productBig(transforms[0], c), 0, u, 0, rank);
+            System.arraycopy(productBig(transposeBig(transforms[1]), d), 0, vt, 0, rank);
+            reduceAgainstKernel(u, rank);
+            reduceAgainstKernel(vt, rank);
+        }
+        else {
+            // pass
+        }
+        return new Matrix[] {fromLongArray(s), fromBigArray(u), fromBigArray(transposeBig(vt))};
+    }
 
-        // create a square matrix
-        try {
-            Matrix m2 = new Matrix(4, 4);
-
-            // print the matrix
-            System.out.println("Here is a square matrix.");
-            m2.printMatrix();
+    /**
+     * LLL reduce the rows of a transformation past the rank, which span the kernel,
+     * and reduce the rows before it against them, which adds nothing to their product with m
+     * @param rows: the transformation
+     * @param rank: the rank of m
+     */
+    private static void reduceAgainstKernel(java.math.BigInteger[][] rows, int rank) {
+        if (rank < rows.length) {
+            ReducedLattice kernel = new ReducedLattice(java.util.Arrays.copyOfRange(rows, rank, rows.length));
+            System.arraycopy(kernel.basis(), 0, rows, rank, rows.length - rank);
+            for (int i = 0; i < rank; i++) {
+                rows[i] = kernel.nearPlane(rows[i]);
+            }
+        }
+        else {
+            // pass
+        }
+    }
 
-            // test getRows()
-            if (m2.getRows() != 4) {
-                System.out.println("Error: getRows() returned " + m2.getRows() + " instead of 4.");
-                uErrors += 1;
+    /**
+     * Compute the Smith normal form of a square nonsingular matrix along with short unimodular transformations,
+     * the matrix is first brought to Hermite normal form modulo its determinant,
+     * the leading rows whose pivot divides the rest of the row are cleared with column operations,
+     * v is solved for from those and only the column operations after them are tracked modulo the determinant,
+     * then v is rebuilt from its columns with a nontrivial invariant factor reduced modulo that factor,
+     * y = v^-1 is LLL reduced and u is solved for at the end from u * m = s * y
+     * @param m: the matrix to compute the Smith normal form of
+     * @param det: |det(m)|, which is nonzero
+     * @param transforms: an array of length 2 to store u and v in
+     * @return: the Smith normal form of m
+     */
+    private static long[][] nonsingularSmith(Matrix m, long det, java.math.BigInteger[][][] transforms) {
+        long[][] h = modularHermite(m, det);
+        long[][] s = new long[h.length][];
+        for (int i = 0; i < h.length; i++) {
+            s[i] = h[i].clone();
+        }
+        // usually most pivots are 1, the rest of each row whose pivot divides it is cleared with column operations,
+        // which only change the rows above it that have not been cleared
+        for (int t = 0; t < s.length; t++) {
+            if (dividesRow(s[t], t)) {
+                for (int j = t + 1; j < s.length; j++) {
+                    long q = s[t][j] / s[t][t];
+                    for (int i = 0; i <= t; i++) {
+                        s[i][j] = Math.subtractExact(s[i][j], Math.multiplyExact(q, s[i][t]));
+                    }
+                }
             }
             else {
-                // expected result
+                // pass
             }
+        }
+        long[][] v = transposeArray(leftQuotient(transposeArray(s), transposeArray(h)));
+        // row operations only change u, which is solved for at the end, so every entry of s can be
+        // reduced modulo det: det times any unit row is in the row lattice of m * v
+        classicalSmith(s, null, v, det);
+        for (int i = 0; i < s.length; i++) {
+            s[i][i] = gcd(s[i][i], det);
+        }
+        fixDivisibilityChain(s, v);
+        int n = s.length;
+        // u = s * y * m^-1 and v = y^-1 where y = v^-1, so both are small when the rows of y are short,
+        // row b of y may have any multiple of an earlier row added to it, and rows with the same
+        // invariant factor may be swapped, which is all that LLL reduction does
+        java.math.BigInteger[][] y = smithColumnInverse(s, v);
+        int[] blocks = new int[n];
+        for (int a = 0; a < n; a++) {
+            blocks[a] = a > 0 && s[a][a] == s[a - 1][a - 1] ? blocks[a - 1] : a;
+        }
+        y = new ReducedLattice(y, blocks).basis();
+        java.math.BigInteger[][] sy = new java.math.BigInteger[n][];
+        for (int a = 0; a < n; a++) {
+            sy[a] = scaledRow(y[a], s[a][a]);
+        }
+        java.math.BigInteger[][] u = exactQuotient(sy, toBig(toLongArray(m)));
+        java.math.BigInteger[][] vBig = exactQuotient(identityBig(n), y);
+        transforms[0] = u;
+        transforms[1] = vBig;
+        return s;
+    }
 
-            // test getColumns()
-            if (m2.getColumns() != 4) {
-                System.out.println("Error: getColumns() returned " + m2.getColumns() + " instead of 4.");
-                uErrors += 1;
+    /**
+     * Returns the inverse of a unimodular v whose columns keep m * v * s^-1 integral, built from short columns
+     * @param s: the Smith normal form of m
+     * @param v: a right transformation of m to s
+     * @return: y such that y^-1 satisfies the same conditions as v
+     */
+    private static java.math.BigInteger[][] smithColumnInverse(long[][] s, long[][] v) {
+        int n = s.length;
+        int k = 0;
+        while (k < n && s[k][k] == 1) {
+            k++;
+        }
+        if (k == n) {
+            return identityBig(n);
+        }
+        else {
+            // pass
+        }
+        // column j only needs m * v_j to be divisible by s_j, so it may be taken mod s_j, and the columns
+        // with s_j = 1 are unconstrained, so y only needs rows orthogonal to the other columns p and rows
+        // whose products with p form the identity, which LLL finds in the lattice of rows (e_i, scale * p_i)
+        java.math.BigInteger scale = java.math.BigInteger.ONE.shiftLeft(n);
+        java.math.BigInteger[][] embedded = new java.math.BigInteger[n][2 * n - k];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                embedded[i][j] = i == j ? java.math.BigInteger.ONE : java.math.BigInteger.ZERO;
+            }
+            for (int j = k; j < n; j++) {
+                long value = Math.floorMod(v[i][j], s[j][j]);
+                embedded[i][j + n - k] = java.math.BigInteger.valueOf(value > s[j][j] / 2 ? value - s[j][j] : value);
             }
-            else {
-                // expected result
+        }
+        for (int j = k; j < n; j++) {
+            java.math.BigInteger sum = java.math.BigInteger.ONE;
+            for (int i = 0; i < n; i++) {
+                sum = sum.add(embedded[i][j + n - k].abs());
             }
-
-            // test getMatrix()
-            System.out.println("Here is the matrix being accessed and printed using getMatrix().");
-            for (int i = 0; i < m2.getRows(); i++) {
-                for (int j = 0; j < m2.getColumns(); j++) {
-                    System.out.print(m2.getMatrix()[i][j] + " ");
+            scale = scale.multiply(sum);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = n; j < 2 * n - k; j++) {
+                embedded[i][j] = embedded[i][j].multiply(scale);
+            }
+        }
+        java.math.BigInteger[][] reduced = new ReducedLattice(embedded).basis();
+        java.math.BigInteger[][] y = new java.math.BigInteger[n][];
+        java.math.BigInteger[][] heads = new java.math.BigInteger[n - k][];
+        java.math.BigInteger[][] tails = new java.math.BigInteger[n - k][];
+        int kernel = 0;
+        for (int i = 0; i < n; i++) {
+            java.math.BigInteger[] tail = java.util.Arrays.copyOfRange(reduced[i], n, 2 * n - k);
+            boolean zero = true;
+            for (int j = 0; j < n - k; j++) {
+                zero &= tail[j].signum() == 0;
+            }
+            if (zero && kernel < k) {
+                y[kernel] = java.util.Arrays.copyOf(reduced[i], n);
+                kernel++;
+            }
+            else if (!zero && i - kernel < n - k) {
+                heads[i - kernel] = java.util.Arrays.copyOf(reduced[i], n);
+                for (int j = 0; j < n - k; j++) {
+                    tail[j] = tail[j].divide(scale);
                 }
-                System.out.println("");
+                tails[i - kernel] = tail;
             }
+            else {
+                return exactQuotient(identityBig(n), toBig(v));
+            }
+        }
+        try {
+            // the rows of tails are the products of heads with p, which is unimodular exactly when p extends to a basis
+            java.math.BigInteger[][] others = productBig(exactQuotient(identityBig(n - k), tails), heads);
+            System.arraycopy(others, 0, y, k, n - k);
+            return y;
+        }
+        catch (ArithmeticException e) {
+            return exactQuotient(identityBig(n), toBig(v));
+        }
+    }
 
-            // test staticPrintMatrix()
-            System.out.println("Here is the matrix being printed using staticPrintMatrix().");
-            Matrix.staticPrintMatrix(m2);
+    /**
+     * Multiply every entry of a row by a factor
+     * @param row: the row to scale
+     * @param factor: the factor to multiply by
+     * @return: a new row equal to factor * row
+     */
+    private static java.math.BigInteger[] scaledRow(java.math.BigInteger[] row, long factor) {
+        java.math.BigInteger[] scaled = new java.math.BigInteger[row.length];
+        for (int k = 0; k < row.length; k++) {
+            scaled[k] = row[k].multiply(java.math.BigInteger.valueOf(factor));
+        }
+        return scaled;
+    }
 
-            // test IsSquare()
-            if (m2.isSquare()) {
-                // expected result
+    /**
+     * Check whether every entry of a row is zero
+     * @param row: the row to check
+     * @return: whether the row is zero
+     */
+    private static boolean isZeroRow(long[] row) {
+        for (long value : row) {
+            if (value != 0) {
+                return false;
             }
             else {
-                System.out.println("Error: isSquare() returned false for square matrix.");
-                uErrors += 1;
+                // pass
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Multiply two matrices of big integers
+     * @param a: the left factor
+     * @param b: the right factor
+     * @return: a * b
+     */
+    private static java.math.BigInteger[][] productBig(java.math.BigInteger[][] a, java.math.BigInteger[][] b) {
+        java.math.BigInteger[][] product = new java.math.BigInteger[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b[0].length; j++) {
+                java.math.BigInteger sum = java.math.BigInteger.ZERO;
+                for (int k = 0; k < b.length; k++) {
+                    sum = sum.add(a[i][k].multiply(b[k][j]));
+                }
+                product[i][j] = sum;
             }
+        }
+        return product;
+    }
 
-            // test IsZero()
-            if (m2.isZero()) {
-                // expected result
+    /**
+     * Solve x * a = b exactly for x when a is square and nonsingular and x is known to be an integer array,
+     * with fraction-free Gauss-Jordan elimination, which turns a into det(a) times the identity
+     * and the identity beside it into det(a) times the inverse of a
+     *
+     * @return: x, an ArithmeticException is thrown if x is not an integer array
+     */
+    private static java.math.BigInteger[][] exactQuotient(java.math.BigInteger[][] b, java.math.BigInteger[][] a) {
+        int n = a.length;
+        java.math.BigInteger[][] work = new java.math.BigInteger[n][2 * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                work[i][j] = a[i][j];
+                work[i][n + j] = i == j ? java.math.BigInteger.ONE : java.math.BigInteger.ZERO;
             }
-            else {
-                System.out.println("Error: isZero() returned false for zero matrix.");
-                uErrors += 1;
+        }
+        java.math.BigInteger previous = java.math.BigInteger.ONE;
+        for (int k = 0; k < n; k++) {
+            int pivotRow = k;
+            while (pivotRow < n && work[pivotRow][k].signum() == 0) {
+                pivotRow++;
             }
-
-            // test IsIdentity()
-            if (m2.isIdentity()) {
-                System.out.println("Error: isIdentity() returned true for non-identity matrix.");
-                uErrors += 1;
+            if (pivotRow == n) {
+                throw new ArithmeticException("Error in exactQuotient(): a must be nonsingular");
             }
             else {
-                // expected result
+                java.math.BigInteger[] swap = work[k];
+                work[k] = work[pivotRow];
+                work[pivotRow] = swap;
             }
-
-            // test sameDimensions()
-            if (!Matrix.sameDimensions(m2, m2)) {
-                System.out.println("Error: sameDimensions() returned false when comparing a matrix with itself.");
-                uErrors += 1;
+            for (int i = 0; i < n; i++) {
+                if (i == k) {
+                    continue;
+                }
+                for (int j = 0; j < 2 * n; j++) {
+                    if (j != k) {
+                        work[i][j] = work[k][k].multiply(work[i][j]).subtract(work[i][k].multiply(work[k][j])).divide(previous);
+                    }
+                }
+                work[i][k] = java.math.BigInteger.ZERO;
             }
-        else {
-                // expected result
+            previous = work[k][k];
+        }
+        // every diagonal entry is now det(a) and the right half is det(a) times the inverse of a
+        java.math.BigInteger[][] x = new java.math.BigInteger[b.length][n];
+        for (int i = 0; i < b.length; i++) {
+            for (int j = 0; j < n; j++) {
+                java.math.BigInteger sum = java.math.BigInteger.ZERO;
+                for (int k = 0; k < n; k++) {
+                    sum = sum.add(b[i][k].multiply(work[k][n + j]));
+                }
+                java.math.BigInteger[] qr = sum.divideAndRemainder(previous);
+                if (qr[1].signum() != 0) {
+                    throw new ArithmeticException("Error in exactQuotient(): x must be an integer array");
+                }
+                else {
+                    x[i][j] = qr[0];
+                }
             }
+        }
+        return x;
+    }
 
-            // test sameMatrix()
-            if (!Matrix.sameMatrix(m2, m2)) {
-                System.out.println("Error: sameMatrix() returned false when comparing a matrix with itself.");
-                uErrors += 1;
-            }
-        else {
-                // expected result
+    private static java.math.BigInteger[][] toBig(long[][] a) {
+        java.math.BigInteger[][] big = new java.math.BigInteger[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                big[i][j] = java.math.BigInteger.valueOf(a[i][j]);
             }
+        }
+        return big;
+    }
 
-            // test oppositeDimensions()
-            if (!Matrix.oppositeDimensions(m2, m2)) {
-                System.out.println("Error: oppositeDimensions() returned false when comparing a 4x4 matrix with itself.");
-                uErrors += 1;
+    private static java.math.BigInteger[][] transposeBig(java.math.BigInteger[][] a) {
+        java.math.BigInteger[][] transpose = new java.math.BigInteger[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                transpose[j][i] = a[i][j];
             }
-        else {
-                // expected result
+        }
+        return transpose;
+    }
+
+    private static java.math.BigInteger[][] identityBig(int n) {
+        return toBig(identityArray(n));
+    }
+
+    /**
+     * Copy a BigInteger array into a new matrix,
+     * an ArithmeticException is thrown if an entry does not fit in an int
+     */
+    private static Matrix fromBigArray(java.math.BigInteger[][] a) {
+        Matrix m = new Matrix(a.length, a[0].length);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                m.matrix[i][j] = a[i][j].intValueExact();
             }
+        }
+        return m;
+    }
 
-            // test transposes()
-            if (!Matrix.transposes(m2, m2)) {
-                System.out.println("Error: transposes() returned false when comparing matrices that were transposes.");
-                uErrors += 1;
+    /**
+     * A lattice basis reduced with the integral LLL algorithm (Cohen, Algorithm 2.6.7, with delta = 3/4),
+     * every quantity is an exact integer: d[i] is the product of the squared Gram-Schmidt lengths
+     * of the first i basis vectors and lambda[i][j] = d[j + 1] * mu[i][j]
+     */
+    private static final class ReducedLattice {
+        private final java.math.BigInteger[][] b;
+        private final java.math.BigInteger[] d;
+        private final java.math.BigInteger[][] lambda;
+
+        /**
+         * @param generators: linearly independent vectors, which are copied
+         */
+        ReducedLattice(java.math.BigInteger[][] generators) {
+            this(generators, null);
+        }
+
+        /**
+         * @param generators: linearly independent vectors, which are copied
+         * @param blocks: if not null, two neighbouring vectors are only swapped when they have the same block,
+         * so each vector only ever has earlier vectors subtracted from it and stays in its block
+         */
+        ReducedLattice(java.math.BigInteger[][] generators, int[] blocks) {
+            int n = generators.length;
+            this.b = new java.math.BigInteger[n][];
+            for (int i = 0; i < n; i++) {
+                this.b[i] = generators[i].clone();
+            }
+            this.d = new java.math.BigInteger[n + 1];
+            this.lambda = new java.math.BigInteger[n][n];
+            this.d[0] = java.math.BigInteger.ONE;
+            if (n == 0) {
+                return;
+            }
+            this.d[1] = dot(this.b[0], this.b[0]);
+            int k = 1;
+            int kmax = 0;
+            java.math.BigInteger three = java.math.BigInteger.valueOf(3);
+            java.math.BigInteger four = java.math.BigInteger.valueOf(4);
+            while (k < n) {
+                if (k > kmax) {
+                    kmax = k;
+                    java.math.BigInteger[] lambdaK = gramSchmidt(this.b[k], k);
+                    System.arraycopy(lambdaK, 0, this.lambda[k], 0, k);
+                    this.d[k + 1] = lambdaK[k];
+                }
+                else {
+                    // pass
+                }
+                reduce(this.b[k], this.lambda[k], k - 1);
+                // Lovasz condition: 4 * d[k + 1] * d[k - 1] >= 3 * d[k]^2 - 4 * lambda[k][k - 1]^2
+                java.math.BigInteger left = four.multiply(this.d[k + 1]).multiply(this.d[k - 1]);
+                java.math.BigInteger right = three.multiply(this.d[k].pow(2)).subtract(four.multiply(this.lambda[k][k - 1].pow(2)));
+                if (left.compareTo(right) < 0 && (blocks == null || blocks[k] == blocks[k - 1])) {
+                    swap(k, kmax);
+                    k = Math.max(1, k - 1);
+                }
+                else {
+                    for (int l = k - 2; l >= 0; l--) {
+                        reduce(this.b[k], this.lambda[k], l);
+                    }
+                    k++;
+                }
             }
-        else {
-                // expected result
+        }
+
+        /**
+         * @return: a copy of the reduced basis
+         */
+        java.math.BigInteger[][] basis() {
+            java.math.BigInteger[][] copy = new java.math.BigInteger[this.b.length][];
+            for (int i = 0; i < this.b.length; i++) {
+                copy[i] = this.b[i].clone();
             }
+            return copy;
+        }
 
-            // test setEntry()
-            // change some entries
-            try {
-                m2.setEntry(1, 1, 4);
-                m2.setEntry(3, 3, 2);
-                m2.setEntry(4, 2, 7);
-                m2.setEntry(1, 4, 1);
+        static java.math.BigInteger dot(java.math.BigInteger[] x, java.math.BigInteger[] y) {
+            java.math.BigInteger sum = java.math.BigInteger.ZERO;
+            for (int i = 0; i < x.length; i++) {
+                sum = sum.add(x[i].multiply(y[i]));
             }
-            catch (Exception e) {
-                System.out.println("Error: setEntry() threw an exception even though the specified entry was in bounds.");
-                System.out.println("Unintentional Error: " + e.getMessage());
-                uErrors += 1;
+            return sum;
+        }
+
+        /**
+         * Compute d[j + 1] * mu(t, j) for the first count basis vectors, followed by the entry for t itself
+         * when t is the basis vector at index count
+         */
+        private java.math.BigInteger[] gramSchmidt(java.math.BigInteger[] t, int count) {
+            java.math.BigInteger[] lambdaT = new java.math.BigInteger[count + 1];
+            for (int j = 0; j <= count; j++) {
+                java.math.BigInteger[] bj = j < count ? this.b[j] : t;
+                java.math.BigInteger u = dot(t, bj);
+                for (int i = 0; i < j; i++) {
+                    java.math.BigInteger lambdaJI = j < count ? this.lambda[j][i] : lambdaT[i];
+                    u = this.d[i + 1].multiply(u).subtract(lambdaT[i].multiply(lambdaJI)).divide(this.d[i]);
+                }
+                lambdaT[j] = u;
             }
-            // some invalid changes
-            System.out.println("Testing catching exception thrown by setEntry().");
-            try {
-                m2.setEntry(0, 1, 8);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+            return lambdaT;
+        }
+
+        /**
+         * Subtract the multiple of basis vector l from t that brings |mu(t, l)| down to at most 1/2
+         */
+        private void reduce(java.math.BigInteger[] t, java.math.BigInteger[] lambdaT, int l) {
+            java.math.BigInteger twice = lambdaT[l].shiftLeft(1);
+            if (twice.abs().compareTo(this.d[l + 1]) > 0) {
+                // q is the nearest integer to lambdaT[l] / d[l + 1]
+                java.math.BigInteger dl = this.d[l + 1];
+                java.math.BigInteger q = floorDiv(twice.add(dl), dl.shiftLeft(1));
+                for (int i = 0; i < t.length; i++) {
+                    t[i] = t[i].subtract(q.multiply(this.b[l][i]));
+                }
+                lambdaT[l] = lambdaT[l].subtract(q.multiply(dl));
+                for (int i = 0; i < l; i++) {
+                    lambdaT[i] = lambdaT[i].subtract(q.multiply(this.lambda[l][i]));
+                }
             }
-            catch (Exception e) {
-                // expected result
-                System.out.println("Caught error: " + e.getMessage());
+            else {
+                // pass
             }
-            try {
-                m2.setEntry(1, 0, 8);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
-                uErrors += 1;
+        }
+
+        private void swap(int k, int kmax) {
+            java.math.BigInteger[] swapB = this.b[k];
+            this.b[k] = this.b[k - 1];
+            this.b[k - 1] = swapB;
+            for (int j = 0; j < k - 1; j++) {
+                java.math.BigInteger swapL = this.lambda[k][j];
+                this.lambda[k][j] = this.lambda[k - 1][j];
+                this.lambda[k - 1][j] = swapL;
+            }
+            java.math.BigInteger lam = this.lambda[k][k - 1];
+            java.math.BigInteger bigB = this.d[k - 1].multiply(this.d[k + 1]).add(lam.pow(2)).divide(this.d[k]);
+            for (int i = k + 1; i <= kmax; i++) {
+                java.math.BigInteger t = this.lambda[i][k];
+                this.lambda[i][k] = this.d[k + 1].multiply(this.lambda[i][k - 1]).subtract(lam.multiply(t)).divide(this.d[k]);
+                this.lambda[i][k - 1] = bigB.multiply(t).add(lam.multiply(this.lambda[i][k])).divide(this.d[k + 1]);
+            }
+            this.d[k] = bigB;
+        }
+
+        private static java.math.BigInteger floorDiv(java.math.BigInteger x, java.math.BigInteger y) {
+            java.math.BigInteger[] qr = x.divideAndRemainder(y);
+            return qr[1].signum() < 0 ? qr[0].subtract(java.math.BigInteger.ONE) : qr[0];
+        }
+
+        /**
+         * Subtract a lattice vector from t that leaves it inside the box spanned by the Gram-Schmidt vectors
+         * of the reduced basis (Babai's nearest plane method), so the result is short when the coset of t is
+         *
+         * @return: t minus a vector of the lattice, t is not changed
+         */
+        java.math.BigInteger[] nearPlane(java.math.BigInteger[] t) {
+            int n = this.b.length;
+            java.math.BigInteger[] result = t.clone();
+            java.math.BigInteger[] lambdaT = gramSchmidt(result, n);
+            for (int l = n - 1; l >= 0; l--) {
+                reduce(result, lambdaT, l);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Check whether row[t] divides every entry of row after it
+     */
+    private static boolean dividesRow(long[] row, int t) {
+        for (int j = t + 1; j < row.length; j++) {
+            if (row[j] % row[t] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[][] transposeArray(long[][] a) {
+        long[][] transpose = new long[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                transpose[j][i] = a[i][j];
+            }
+        }
+        return transpose;
+    }
+
+    /**
+     * Find the absolute value of the determinant of a square matrix when it fits in an int,
+     * without the intermediate growth of exact elimination, see exactDeterminant()
+     *
+     * @return: |det(m)| if 0 < |det(m)| <= Integer.MAX_VALUE, 0 otherwise
+     */
+    private static long smallDeterminant(Matrix m) {
+        java.math.BigInteger det = exactDeterminant(m.matrix, hadamardLog2(m.matrix), new long[0]).abs();
+        if (det.signum() == 0 || det.compareTo(java.math.BigInteger.valueOf(Integer.MAX_VALUE)) > 0) {
+            return 0;
+        }
+        else {
+            return det.longValue();
+        }
+    }
+
+    /**
+     * Compute the determinant of a square array exactly, modulo the primes below 2^31 taken from the largest down,
+     * until their product is more than twice the Hadamard bound |det| <= product of the lengths of the rows,
+     * and combined with the Chinese remainder theorem, so no value is ever guessed from too few residues
+     *
+     * @param a: a square array
+     * @param bits: log2 of the Hadamard bound of a, from hadamardLog2(), a zero row makes it -infinity
+     * and the empty product 0 is already the answer
+     * @param knownResidues: the determinant modulo the first knownResidues.length of those primes, which are not computed again
+     * @return: the determinant of the array
+     */
+    static java.math.BigInteger exactDeterminant(int[][] a, double bits, long[] knownResidues) {
+        java.math.BigInteger value = java.math.BigInteger.ZERO;
+        java.math.BigInteger modulus = java.math.BigInteger.ONE;
+        long p = 1L << 31;
+        // the margin covers rounding in the bound, so the modulus is always more than 2 * |det|
+        for (int k = 0; modulus.bitLength() <= bits + 3; k++) {
+            p = previousPrime(p);
+            long residue = k < knownResidues.length ? knownResidues[k] : modularDeterminant(a, p);
+            java.math.BigInteger prime = java.math.BigInteger.valueOf(p);
+            // value + modulus * t is congruent to the determinant modulo prime
+            java.math.BigInteger t = java.math.BigInteger.valueOf(residue).subtract(value).mod(prime)
+                    .multiply(modulus.modInverse(prime)).mod(prime);
+            value = value.add(modulus.multiply(t));
+            modulus = modulus.multiply(prime);
+        }
+        // move into the range (-modulus / 2, modulus / 2] so negative determinants come out negative
+        if (value.compareTo(modulus.shiftRight(1)) > 0) {
+            value = value.subtract(modulus);
+        }
+        else {
+            // pass
+        }
+        return value;
+    }
+
+    /**
+     * Compute log2 of the Hadamard bound of a square array, the sum of log2 of the length of each row
+     *
+     * @return: the log2 of the bound, or Double.NEGATIVE_INFINITY if a row is zero
+     */
+    static double hadamardLog2(int[][] a) {
+        double bits = 0;
+        for (int[] row : a) {
+            bits += Math.log(squaredLength(row)) / (2 * Math.log(2));
+        }
+        return bits;
+    }
+
+    /**
+     * Compute the sum of the squares of a row in double precision, which is enough for a bound
+     */
+    static double squaredLength(int[] row) {
+        double squares = 0;
+        for (int value : row) {
+            squares += (double) value * value;
+        }
+        return squares;
+    }
+
+    /**
+     * Find the largest prime below a number, by trial division
+     *
+     * @param p: a number with 3 < p <= 2^31
+     */
+    static long previousPrime(long p) {
+        long candidate = p - 1;
+        while (true) {
+            boolean prime = candidate % 2 != 0;
+            for (long d = 3; prime && d * d <= candidate; d += 2) {
+                prime = candidate % d != 0;
+            }
+            if (prime) {
+                return candidate;
+            }
+            else {
+                candidate--;
+            }
+        }
+    }
+
+    /**
+     * Compute the determinant of a square array modulo a prime below 2^31
+     *
+     * @return: the determinant in the range [0, p)
+     */
+    static long modularDeterminant(int[][] a, long p) {
+        int n = a.length;
+        long[][] work = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                work[i][j] = Math.floorMod(a[i][j], p);
+            }
+        }
+        long det = 1;
+        for (int c = 0; c < n; c++) {
+            int pivotRow = c;
+            while (pivotRow < n && work[pivotRow][c] == 0) {
+                pivotRow++;
+            }
+            if (pivotRow == n) {
+                return 0;
+            }
+            else if (pivotRow != c) {
+                long[] swap = work[c];
+                work[c] = work[pivotRow];
+                work[pivotRow] = swap;
+                det = p - det;
+            }
+            else {
+                // pass
+            }
+            det = det * work[c][c] % p;
+            long pivotInverse = modPow(work[c][c], p - 2, p);
+            for (int i = c + 1; i < n; i++) {
+                long factor = work[i][c] * pivotInverse % p;
+                if (factor == 0) {
+                    continue;
+                }
+                for (int j = c; j < n; j++) {
+                    work[i][j] = Math.floorMod(work[i][j] - factor * work[c][j], p);
+                }
+            }
+        }
+        return det;
+    }
+
+    /**
+     * Hermite normal form of a square nonsingular matrix with all arithmetic done modulo
+     * a shrinking multiple R of the determinant (Domich, Kannan and Trotter),
+     * R starts at |det| and is divided by each pivot once it is found,
+     * so no entry ever grows larger than |det|
+     *
+     * @param det: the absolute value of the determinant of m
+     */
+    private static long[][] modularHermite(Matrix m, long det) {
+        int n = m.getRows();
+        long[][] a = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = Math.floorMod(m.matrix[i][j], det);
+            }
+        }
+        long[][] h = new long[n][n];
+        long r = det;
+        for (int col = 0; col < n; col++) {
+            a[col][col] = Math.floorMod(a[col][col], r);
+            // r * e_col is in the lattice of the remaining rows, so a zero pivot can be replaced by r
+            if (a[col][col] == 0) {
+                a[col][col] = r;
+            }
+            else {
+                // pass
+            }
+            // fold every row below into the pivot row with extended gcd steps
+            for (int j = col + 1; j < n; j++) {
+                a[j][col] = Math.floorMod(a[j][col], r);
+                if (a[j][col] != 0) {
+                    combineRows(a, col, j, col, r);
+                }
+                else {
+                    // pass
+                }
+            }
+            long[] g = extendedGcd(a[col][col], r);
+            for (int j = col; j < n; j++) {
+                h[col][j] = Math.floorMod(g[1] * a[col][j], r);
+            }
+            h[col][col] = g[0];
+            // reduce the rows above so their entries in this column are in [0, pivot),
+            // det * e_j is in the lattice so the entries to the right can be kept below det
+            for (int i = 0; i < col; i++) {
+                long q = Math.floorDiv(h[i][col], h[col][col]);
+                if (q != 0) {
+                    h[i][col] -= q * h[col][col];
+                    for (int j = col + 1; j < n; j++) {
+                        h[i][j] = Math.floorMod(h[i][j] - q * h[col][j], det);
+                    }
+                }
+                else {
+                    // pass
+                }
+            }
+            r /= g[0];
+        }
+        return h;
+    }
+
+    /**
+     * Hermite normal form by extended gcd row operations without a modulus (Kannan and Bachem),
+     * the rows are added one at a time to the Hermite normal form of the rows before them,
+     * and after every row operation the entries above every pivot are reduced again,
+     * so no intermediate entry grows much past the entries of the final form,
+     * every intermediate value is overflow-checked
+     *
+     * @param u: if not null, the identity array that the row operations are also applied to
+     */
+    private static long[][] kannanBachemHermite(Matrix m, long[][] u) {
+        return kannanBachemHermite(toLongArray(m), u);
+    }
+
+    /**
+     * Hermite normal form by Kannan and Bachem of an array whose entries need not fit in an int
+     *
+     * @param h: the array, which is reduced in place
+     * @param u: if not null, the identity array that the row operations are also applied to
+     * @return: h
+     */
+    private static long[][] kannanBachemHermite(long[][] h, long[][] u) {
+        int rows = h.length;
+        int cols = h[0].length;
+        // rows [0, rank) are in Hermite normal form with pivots in pivotColumns, rows [rank, i) are zero
+        int[] pivotColumns = new int[Math.min(rows, cols)];
+        int rank = 0;
+        for (int i = 0; i < rows; i++) {
+            int lead = 0;
+            int k = 0;
+            while (true) {
+                while (lead < cols && h[i][lead] == 0) {
+                    lead++;
+                }
+                while (k < rank && pivotColumns[k] < lead) {
+                    k++;
+                }
+                if (lead == cols) {
+                    break;
+                }
+                else if (k < rank && pivotColumns[k] == lead) {
+                    combineRowsExact(h, u, k, i, lead);
+                    reduceAbovePivots(h, u, pivotColumns, rank);
+                }
+                else {
+                    // row i has a new pivot, move it between the pivot rows before and after it
+                    if (h[i][lead] < 0) {
+                        negateRow(h, i);
+                        if (u != null) {
+                            negateRow(u, i);
+                        }
+                    }
+                    else {
+                        // pass
+                    }
+                    moveRow(h, i, k);
+                    if (u != null) {
+                        moveRow(u, i, k);
+                    }
+                    System.arraycopy(pivotColumns, k, pivotColumns, k + 1, rank - k);
+                    pivotColumns[k] = lead;
+                    rank++;
+                    reduceAbovePivots(h, u, pivotColumns, rank);
+                    break;
+                }
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Make every pivot of the first rank rows positive and reduce the entries above each pivot into [0, pivot),
+     * going through the pivots from left to right so a later reduction never undoes an earlier one
+     */
+    private static void reduceAbovePivots(long[][] h, long[][] u, int[] pivotColumns, int rank) {
+        for (int k = 0; k < rank; k++) {
+            int col = pivotColumns[k];
+            if (h[k][col] < 0) {
+                negateRow(h, k);
+                if (u != null) {
+                    negateRow(u, k);
+                }
+            }
+            else {
+                // pass
+            }
+            for (int i = 0; i < k; i++) {
+                long q = Math.floorDiv(h[i][col], h[k][col]);
+                if (q != 0) {
+                    subtractRowMultiple(h, i, k, q);
+                    if (u != null) {
+                        subtractRowMultiple(u, i, k, q);
+                    }
+                }
+                else {
+                    // pass
+                }
+            }
+        }
+    }
+
+    /**
+     * Move row from to position to, shifting the rows in between by one
+     */
+    private static void moveRow(long[][] a, int from, int to) {
+        long[] moved = a[from];
+        System.arraycopy(a, to, a, to + 1, from - to);
+        a[to] = moved;
+    }
+
+    /**
+     * Solve x * m = b for x when m is square and nonsingular and x is known to be an integer array,
+     * x is found modulo two primes that do not divide det(m) and combined with the Chinese remainder theorem,
+     * then checked exactly, since the primes multiply to more than 2^62 this recovers every x whose entries fit in an int
+     *
+     * @return: x, an ArithmeticException is thrown if no integer x with entries that fit in an int solves x * m = b
+     */
+    private static long[][] leftQuotient(long[][] b, long[][] m) {
+        long[] primes = {2147483647L, 2147483629L, 2147483587L};
+        long[][][] residues = new long[2][][];
+        long[] moduli = new long[2];
+        int found = 0;
+        for (int k = 0; k < primes.length && found < 2; k++) {
+            long[][] inverse = modularInverse(m, primes[k]);
+            if (inverse != null) {
+                residues[found] = productMod(b, inverse, primes[k]);
+                moduli[found] = primes[k];
+                found++;
+            }
+            else {
+                // pass
+            }
+        }
+        if (found < 2) {
+            throw new ArithmeticException("Error in leftQuotient(): m must be nonsingular");
+        }
+        else {
+            // pass
+        }
+        long p1 = moduli[0];
+        long p2 = moduli[1];
+        long p1Inverse = modPow(p1 % p2, p2 - 2, p2);
+        long[][] x = new long[b.length][m.length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                long r1 = residues[0][i][j];
+                long t = Math.floorMod(Math.floorMod(residues[1][i][j] - r1, p2) * p1Inverse, p2);
+                long value = r1 + p1 * t;
+                x[i][j] = value > (p1 * p2) / 2 ? value - p1 * p2 : value;
+            }
+        }
+        long[][] check = productExact(x, m);
+        for (int i = 0; i < b.length; i++) {
+            if (!java.util.Arrays.equals(check[i], b[i])) {
+                throw new ArithmeticException("Error in leftQuotient(): the transformation does not fit in an int");
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Invert a square array modulo a prime below 2^31 with Gauss-Jordan elimination
+     *
+     * @return: the inverse with entries in [0, p), or null if m is singular modulo p
+     */
+    private static long[][] modularInverse(long[][] m, long p) {
+        int n = m.length;
+        long[][] work = new long[n][2 * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                work[i][j] = Math.floorMod(m[i][j], p);
+            }
+            work[i][n + i] = 1;
+        }
+        for (int c = 0; c < n; c++) {
+            int pivotRow = c;
+            while (pivotRow < n && work[pivotRow][c] == 0) {
+                pivotRow++;
+            }
+            if (pivotRow == n) {
+                return null;
+            }
+            else {
+                swapRows(work, c, pivotRow);
+            }
+            long pivotInverse = modPow(work[c][c], p - 2, p);
+            for (int j = c; j < 2 * n; j++) {
+                work[c][j] = work[c][j] * pivotInverse % p;
+            }
+            for (int i = 0; i < n; i++) {
+                long factor = work[i][c];
+                if (i == c || factor == 0) {
+                    continue;
+                }
+                for (int j = c; j < 2 * n; j++) {
+                    work[i][j] = Math.floorMod(work[i][j] - factor * work[c][j] % p, p);
+                }
+            }
+        }
+        long[][] inverse = new long[n][];
+        for (int i = 0; i < n; i++) {
+            inverse[i] = java.util.Arrays.copyOfRange(work[i], n, 2 * n);
+        }
+        return inverse;
+    }
+
+    /**
+     * Multiply two arrays modulo a prime below 2^31, the entries of b must be in [0, p)
+     */
+    private static long[][] productMod(long[][] a, long[][] b, long p) {
+        long[][] c = new long[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int k = 0; k < b.length; k++) {
+                long aik = Math.floorMod(a[i][k], p);
+                if (aik == 0) {
+                    continue;
+                }
+                for (int j = 0; j < c[i].length; j++) {
+                    c[i][j] = (c[i][j] + aik * b[k][j]) % p;
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Multiply two arrays, overflow-checked
+     */
+    private static long[][] productExact(long[][] a, long[][] b) {
+        long[][] c = new long[a.length][b[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int k = 0; k < b.length; k++) {
+                long aik = a[i][k];
+                if (aik == 0) {
+                    continue;
+                }
+                for (int j = 0; j < c[i].length; j++) {
+                    c[i][j] = Math.addExact(c[i][j], Math.multiplyExact(aik, b[k][j]));
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Diagonalize an array in place with extended gcd row and column operations,
+     * every diagonal entry ends up dividing every entry after it unless working modulo a number
+     *
+     * @param u: if not null, the array that the row operations are also applied to
+     * @param v: if not null, the array that the column operations are also applied to, always without a modulus
+     * @param modulus: 0 for exact arithmetic, otherwise the modulus to reduce by
+     */
+    private static void classicalSmith(long[][] s, long[][] u, long[][] v, long modulus) {
+        int rows = s.length;
+        int cols = s[0].length;
+        for (int t = 0; t < Math.min(rows, cols); t++) {
+            // move the nonzero entry with the smallest absolute value to the pivot
+            int pr = -1;
+            int pc = -1;
+            for (int i = t; i < rows; i++) {
+                for (int j = t; j < cols; j++) {
+                    if (s[i][j] != 0 && (pr < 0 || Math.abs(s[i][j]) < Math.abs(s[pr][pc]))) {
+                        pr = i;
+                        pc = j;
+                    }
+                }
+            }
+            if (pr < 0) {
+                return;
+            }
+            swapRows(s, t, pr);
+            swapColumns(s, t, pc);
+            if (u != null) {
+                swapRows(u, t, pr);
+            }
+            if (v != null) {
+                swapColumns(v, t, pc);
+            }
+            boolean done = false;
+            while (!done) {
+                for (int i = t + 1; i < rows; i++) {
+                    if (s[i][t] != 0) {
+                        if (modulus != 0) {
+                            combineRows(s, t, i, t, modulus);
+                        }
+                        else {
+                            combineRowsExact(s, u, t, i, t);
+                        }
+                    }
+                }
+                for (int j = t + 1; j < cols; j++) {
+                    if (s[t][j] != 0) {
+                        if (modulus != 0) {
+                            combineColumns(s, v, t, j, t, modulus);
+                        }
+                        else {
+                            combineColumnsExact(s, v, t, j, t);
+                        }
+                    }
+                }
+                done = true;
+                for (int i = t + 1; i < rows && done; i++) {
+                    if (s[i][t] != 0) {
+                        done = false;
+                    }
+                }
+                // exact arithmetic also needs the pivot to divide the rest of the submatrix
+                if (done && modulus == 0) {
+                    for (int i = t + 1; i < rows && done; i++) {
+                        for (int j = t + 1; j < cols && done; j++) {
+                            if (s[i][j] % s[t][t] != 0) {
+                                addRow(s, t, i);
+                                if (u != null) {
+                                    addRow(u, t, i);
+                                }
+                                done = false;
+                            }
+                        }
+                    }
+                }
+            }
+            if (s[t][t] < 0) {
+                negateRow(s, t);
+                if (u != null) {
+                    negateRow(u, t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Turn a diagonal array into one where each diagonal entry divides the next,
+     * without changing the Smith normal form (gcd and lcm of a pair of diagonal entries),
+     * if v is not null the column operation for each pair is applied to it, overflow-checked,
+     * the matching row operation is left to the caller
+     */
+    private static void fixDivisibilityChain(long[][] s, long[][] v) {
+        int n = Math.min(s.length, s[0].length);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                long g = gcd(s[i][i], s[j][j]);
+                if (g != s[i][i]) {
+                    long lcm = g == 0 ? 0 : Math.multiplyExact(s[i][i] / g, s[j][j]);
+                    if (v != null) {
+                        // diag(a, b) * [[1, -y * b / g], [1, x * a / g]] is diag(g, lcm) after the row operation
+                        // [[x, y], [-b / g, a / g]], where x * a + y * b = g
+                        long[] e = extendedGcd(s[i][i], s[j][j]);
+                        long iFactor = -e[2] * (s[j][j] / g);
+                        long jFactor = e[1] * (s[i][i] / g);
+                        for (long[] r : v) {
+                            long iValue = r[i];
+                            long jValue = r[j];
+                            r[i] = Math.addExact(iValue, jValue);
+                            r[j] = Math.addExact(Math.multiplyExact(iFactor, iValue), Math.multiplyExact(jFactor, jValue));
+                        }
+                    }
+                    else {
+                        // pass
+                    }
+                    s[i][i] = g;
+                    s[j][j] = lcm;
+                }
+                else {
+                    // pass
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace rows p and j with a unimodular combination of them so that
+     * a[p][col] becomes gcd(a[p][col], a[j][col]) and a[j][col] becomes 0,
+     * reducing every entry modulo modulus,
+     * when a[p][col] divides a[j][col] only a multiple of row p is subtracted from row j
+     */
+    private static void combineRows(long[][] a, int p, int j, int col, long modulus) {
+        if (a[j][col] % a[p][col] == 0) {
+            long q = Math.floorMod(a[j][col] / a[p][col], modulus);
+            for (int k = 0; k < a[p].length; k++) {
+                a[j][k] = Math.floorMod(a[j][k] - Math.floorMod(q * a[p][k], modulus), modulus);
+            }
+        }
+        else {
+            long[] g = extendedGcd(a[p][col], a[j][col]);
+            long pFactor = a[p][col] / g[0];
+            long jFactor = a[j][col] / g[0];
+            for (int k = 0; k < a[p].length; k++) {
+                long pValue = a[p][k];
+                long jValue = a[j][k];
+                a[p][k] = Math.floorMod(Math.floorMod(g[1] * pValue, modulus) + Math.floorMod(g[2] * jValue, modulus), modulus);
+                a[j][k] = Math.floorMod(Math.floorMod(pFactor * jValue, modulus) - Math.floorMod(jFactor * pValue, modulus), modulus);
+            }
+        }
+    }
+
+    /**
+     * Column version of combineRows(),
+     * a[row][p] becomes gcd(a[row][p], a[row][j]) and a[row][j] becomes 0,
+     * the same column operation is applied to v without a modulus, overflow-checked, if v is not null
+     */
+    private static void combineColumns(long[][] a, long[][] v, int p, int j, int row, long modulus) {
+        if (a[row][j] % a[row][p] == 0) {
+            long q = Math.floorMod(a[row][j] / a[row][p], modulus);
+            for (long[] r : a) {
+                r[j] = Math.floorMod(r[j] - Math.floorMod(q * r[p], modulus), modulus);
+            }
+            if (v != null) {
+                for (long[] r : v) {
+                    r[j] = Math.subtractExact(r[j], Math.multiplyExact(q, r[p]));
+                }
+            }
+        }
+        else {
+            long[] g = extendedGcd(a[row][p], a[row][j]);
+            long pFactor = a[row][p] / g[0];
+            long jFactor = a[row][j] / g[0];
+            for (long[] r : a) {
+                long pValue = r[p];
+                long jValue = r[j];
+                r[p] = Math.floorMod(Math.floorMod(g[1] * pValue, modulus) + Math.floorMod(g[2] * jValue, modulus), modulus);
+                r[j] = Math.floorMod(Math.floorMod(pFactor * jValue, modulus) - Math.floorMod(jFactor * pValue, modulus), modulus);
+            }
+            if (v != null) {
+                for (long[] r : v) {
+                    long pValue = r[p];
+                    long jValue = r[j];
+                    r[p] = Math.addExact(Math.multiplyExact(g[1], pValue), Math.multiplyExact(g[2], jValue));
+                    r[j] = Math.subtractExact(Math.multiplyExact(pFactor, jValue), Math.multiplyExact(jFactor, pValue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Overflow-checked version of combineRows() without a modulus,
+     * the same operation is applied to u if it is not null,
+     * when a[p][col] divides a[j][col] only a multiple of row p is subtracted from row j
+     */
+    private static void combineRowsExact(long[][] a, long[][] u, int p, int j, int col) {
+        if (a[p][col] != 0 && a[j][col] % a[p][col] == 0) {
+            long q = a[j][col] / a[p][col];
+            subtractRowMultiple(a, j, p, q);
+            if (u != null) {
+                subtractRowMultiple(u, j, p, q);
+            }
+        }
+        else {
+            long[] g = extendedGcd(a[p][col], a[j][col]);
+            long pFactor = a[p][col] / g[0];
+            long jFactor = a[j][col] / g[0];
+            long[][][] targets = {a, u};
+            for (long[][] target : targets) {
+                if (target == null) {
+                    continue;
+                }
+                for (int k = 0; k < target[p].length; k++) {
+                    long pValue = target[p][k];
+                    long jValue = target[j][k];
+                    target[p][k] = Math.addExact(Math.multiplyExact(g[1], pValue), Math.multiplyExact(g[2], jValue));
+                    target[j][k] = Math.subtractExact(Math.multiplyExact(pFactor, jValue), Math.multiplyExact(jFactor, pValue));
+                }
+            }
+        }
+    }
+
+    /**
+     * Column version of combineRowsExact(),
+     * the same column operation is applied to v if it is not null
+     */
+    private static void combineColumnsExact(long[][] a, long[][] v, int p, int j, int row) {
+        long[] g;
+        if (a[row][j] % a[row][p] == 0) {
+            g = new long[] {a[row][p], 1, 0};
+        }
+        else {
+            g = extendedGcd(a[row][p], a[row][j]);
+        }
+        long pFactor = a[row][p] / g[0];
+        long jFactor = a[row][j] / g[0];
+        long[][][] targets = {a, v};
+        for (long[][] target : targets) {
+            if (target == null) {
+                continue;
+            }
+            for (long[] r : target) {
+                long pValue = r[p];
+                long jValue = r[j];
+                r[p] = Math.addExact(Math.multiplyExact(g[1], pValue), Math.multiplyExact(g[2], jValue));
+                r[j] = Math.subtractExact(Math.multiplyExact(pFactor, jValue), Math.multiplyExact(jFactor, pValue));
+            }
+        }
+    }
+
+    /**
+     * Compute the extended gcd of two numbers
+     *
+     * @return: an array {g, x, y} where g = gcd(a, b) >= 0 and x * a + y * b = g
+     */
+    private static long[] extendedGcd(long a, long b) {
+        long oldR = a;
+        long r = b;
+        long oldX = 1;
+        long x = 0;
+        long oldY = 0;
+        long y = 1;
+        while (r != 0) {
+            long q = oldR / r;
+            long t = oldR - q * r;
+            oldR = r;
+            r = t;
+            t = oldX - q * x;
+            oldX = x;
+            x = t;
+            t = oldY - q * y;
+            oldY = y;
+            y = t;
+        }
+        if (oldR < 0) {
+            return new long[] {-oldR, -oldX, -oldY};
+        }
+        else {
+            return new long[] {oldR, oldX, oldY};
+        }
+    }
+
+    /**
+     * Subtract q times row p from row i, overflow-checked
+     */
+    private static void subtractRowMultiple(long[][] a, int i, int p, long q) {
+        for (int k = 0; k < a[i].length; k++) {
+            a[i][k] = Math.subtractExact(a[i][k], Math.multiplyExact(q, a[p][k]));
+        }
+    }
+
+    /**
+     * Add row i to row p, overflow-checked
+     */
+    private static void addRow(long[][] a, int p, int i) {
+        for (int k = 0; k < a[p].length; k++) {
+            a[p][k] = Math.addExact(a[p][k], a[i][k]);
+        }
+    }
+
+    private static void negateRow(long[][] a, int i) {
+        for (int k = 0; k < a[i].length; k++) {
+            a[i][k] = -a[i][k];
+        }
+    }
+
+    private static void swapRows(long[][] a, int i, int j) {
+        long[] swap = a[i];
+        a[i] = a[j];
+        a[j] = swap;
+    }
+
+    private static void swapColumns(long[][] a, int i, int j) {
+        for (long[] row : a) {
+            long swap = row[i];
+            row[i] = row[j];
+            row[j] = swap;
+        }
+    }
+
+    private static long[][] identityArray(int n) {
+        long[][] identity = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            identity[i][i] = 1;
+        }
+        return identity;
+    }
+
+    private static long[][] toLongArray(Matrix m) {
+        long[][] a = new long[m.getRows()][m.getColumns()];
+        for (int i = 0; i < m.getRows(); i++) {
+            for (int j = 0; j < m.getColumns(); j++) {
+                a[i][j] = m.matrix[i][j];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Copy a long array into a new matrix,
+     * an ArithmeticException is thrown if an entry does not fit in an int
+     */
+    private static Matrix fromLongArray(long[][] a) {
+        Matrix m = new Matrix(a.length, a[0].length);
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                m.matrix[i][j] = Math.toIntExact(a[i][j]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Add together every matrix in a collection,
+     * the collection is split in half recursively on the common ForkJoinPool,
+     * each leaf task adds its matrices into a single buffer in place and the halves are merged in place,
+     * so one array is allocated per leaf instead of one matrix per addition
+     *
+     * @param ms: the matrices to add
+     * @precond: !ms.isEmpty() && sameDimensions() returns true for every pair of matrices
+     * @return: a Matrix object that is the sum of every matrix in ms
+     */
+    public static Matrix sumAll(java.util.Collection<Matrix> ms) {
+        if (ms.isEmpty()) {
+            throw new ArithmeticException("Error in sumAll(): ms must not be empty");
+        }
+        else {
+            // pass
+        }
+        Matrix[] array = ms.toArray(new Matrix[0]);
+        for (Matrix m : array) {
+            if (!sameDimensions(array[0], m)) {
+                throw new ArithmeticException("Error in sumAll(): sameDimensions() must return true for every pair of matrices");
+            }
+        }
+        int entries = array[0].getRows() * array[0].getColumns();
+        // give each leaf enough additions to be worth a task
+        int leafSize = Math.max(2, PARALLEL_THRESHOLD / entries);
+        return ownedMatrix(java.util.concurrent.ForkJoinPool.commonPool().invoke(new SumTask(array, 0, array.length, leafSize)));
+    }
+
+    /**
+     * Multiply every matrix in a list together, in the order of the list,
+     * the list is split in half recursively on the common ForkJoinPool
+     * and each half is multiplied out before the two halves are multiplied,
+     * matrix multiplication is associative so the product is the same as multiplying left to right
+     *
+     * @param ms: the matrices to multiply
+     * @precond: !ms.isEmpty() && canMultiply() returns true for every matrix and the one after it
+     * @return: a Matrix object that is the product of every matrix in ms
+     */
+    public static Matrix productAll(java.util.List<Matrix> ms) {
+        if (ms.isEmpty()) {
+            throw new ArithmeticException("Error in productAll(): ms must not be empty");
+        }
+        else {
+            // pass
+        }
+        Matrix[] array = ms.toArray(new Matrix[0]);
+        for (int i = 1; i < array.length; i++) {
+            if (!canMultiply(array[i - 1], array[i])) {
+                throw new ArithmeticException("Error in productAll(): canMultiply() must return true for every pair of adjacent matrices");
+            }
+        }
+        if (array.length == 1) {
+            return array[0].deepCloneMatrix();
+        }
+        else {
+            return ownedMatrix(java.util.concurrent.ForkJoinPool.commonPool().invoke(new ProductTask(array, 0, array.length)));
+        }
+    }
+
+    // the number of multiply-adds below which sumAll() and productAll() stop splitting their work
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Adds ms[lo..hi) into a buffer owned by this task
+     */
+    private static final class SumTask extends java.util.concurrent.RecursiveTask<int[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Matrix[] ms;
+        private final int lo;
+        private final int hi;
+        private final int leafSize;
+
+        SumTask(Matrix[] ms, int lo, int hi, int leafSize) {
+            this.ms = ms;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (this.hi - this.lo <= this.leafSize) {
+                int[][] buffer = new int[this.ms[0].rows][this.ms[0].columns];
+                for (int k = this.lo; k < this.hi; k++) {
+                    addInto(buffer, this.ms[k].matrix);
+                }
+                return buffer;
+            }
+            else {
+                int mid = (this.lo + this.hi) >>> 1;
+                SumTask left = new SumTask(this.ms, this.lo, mid, this.leafSize);
+                left.fork();
+                int[][] right = new SumTask(this.ms, mid, this.hi, this.leafSize).compute();
+                int[][] buffer = left.join();
+                addInto(buffer, right);
+                return buffer;
+            }
+        }
+    }
+
+    /**
+     * Multiplies ms[lo..hi) in order, never writes to the entries of the matrices in ms
+     */
+    private static final class ProductTask extends java.util.concurrent.RecursiveTask<int[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Matrix[] ms;
+        private final int lo;
+        private final int hi;
+
+        ProductTask(Matrix[] ms, int lo, int hi) {
+            this.ms = ms;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (this.hi - this.lo == 1) {
+                return this.ms[this.lo].matrix;
+            }
+            // multiply small chains left to right instead of creating tasks
+            long flops = 0;
+            for (int k = this.lo + 1; k < this.hi; k++) {
+                flops += (long) this.ms[this.lo].rows * this.ms[k].rows * this.ms[k].columns;
+            }
+            if (flops < PARALLEL_THRESHOLD) {
+                int[][] product = this.ms[this.lo].matrix;
+                for (int k = this.lo + 1; k < this.hi; k++) {
+                    int[][] next = new int[product.length][this.ms[k].columns];
+                    multiplyInto(product, this.ms[k].matrix, next, product.length, this.ms[k].rows, this.ms[k].columns);
+                    product = next;
+                }
+                return product;
+            }
+            else {
+                int mid = (this.lo + this.hi) >>> 1;
+                ProductTask left = new ProductTask(this.ms, this.lo, mid);
+                left.fork();
+                int[][] right = new ProductTask(this.ms, mid, this.hi).compute();
+                int[][] leftProduct = left.join();
+                int[][] product = new int[leftProduct.length][right[0].length];
+                multiplyInto(leftProduct, right, product, leftProduct.length, right.length, right[0].length);
+                return product;
+            }
+        }
+    }
+
+    /**
+     * Add b into a in place, entries wrap around on overflow just like sumOfMatrices()
+     */
+    private static void addInto(int[][] a, int[][] b) {
+        for (int i = 0; i < a.length; i++) {
+            int[] aRow = a[i];
+            int[] bRow = b[i];
+            for (int j = 0; j < aRow.length; j++) {
+                aRow[j] += bRow[j];
+            }
+        }
+    }
+
+    /**
+     * Multiply an mxn array by an nxp array and store the product in the top left mxp corner of out,
+     * a, b and out may be larger than the sizes given, out must not be the same array as a or b,
+     * entries wrap around on overflow just like productOfMatrices()
+     */
+    private static void multiplyInto(int[][] a, int[][] b, int[][] out, int m, int n, int p) {
+        for (int i = 0; i < m; i++) {
+            int[] aRow = a[i];
+            int[] outRow = out[i];
+            java.util.Arrays.fill(outRow, 0, p, 0);
+            // i-k-j order walks along the rows of b instead of down its columns
+            for (int k = 0; k < n; k++) {
+                int aik = aRow[k];
+                if (aik == 0) {
+                    continue;
+                }
+                int[] bRow = b[k];
+                for (int j = 0; j < p; j++) {
+                    outRow[j] += aik * bRow[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiply a chain of matrices in the order that needs the fewest multiplications,
+     * the order is chosen with the O(n^3) dynamic program over the dimensions of the matrices,
+     * intermediate products are written into buffers that are reused once they have been multiplied
+     *
+     * @param ms: the matrices to multiply
+     * @precond: !ms.isEmpty() && canMultiply() returns true for every matrix and the one after it
+     * @return: a Matrix object that is the product of every matrix in ms
+     */
+    public static Matrix chainProduct(java.util.List<Matrix> ms) {
+        int[] p = chainDimensions(ms, "chainProduct");
+        Matrix[] array = ms.toArray(new Matrix[0]);
+        if (array.length == 1) {
+            return array[0].deepCloneMatrix();
+        }
+        else {
+            int[][] split = chainSplits(p);
+            java.util.List<int[][]> freeBuffers = new java.util.ArrayList<>();
+            int[][] product = multiplyChain(array, p, split, 0, array.length - 1, freeBuffers);
+            Matrix matrixProduct = new Matrix(p[0], p[array.length]);
+            for (int i = 0; i < p[0]; i++) {
+                System.arraycopy(product[i], 0, matrixProduct.matrix[i], 0, p[array.length]);
+            }
+            return matrixProduct;
+        }
+    }
+
+    /**
+     * Find the order that chainProduct() multiplies a chain of matrices in
+     *
+     * @param ms: the matrices to multiply
+     * @precond: !ms.isEmpty() && canMultiply() returns true for every matrix and the one after it
+     * @return: the fully parenthesized product, with the matrices named A1, A2, ... in list order,
+     * for example "((A1A2)A3)"
+     */
+    public static String chainOrder(java.util.List<Matrix> ms) {
+        int[] p = chainDimensions(ms, "chainOrder");
+        StringBuilder order = new StringBuilder();
+        appendChainOrder(order, chainSplits(p), 0, ms.size() - 1);
+        return order.toString();
+    }
+
+    /**
+     * Check that a chain can be multiplied and list its dimensions,
+     * matrix i of the chain is a p[i]xp[i + 1] matrix
+     */
+    private static int[] chainDimensions(java.util.List<Matrix> ms, String method) {
+        if (ms.isEmpty()) {
+            throw new ArithmeticException("Error in " + method + "(): ms must not be empty");
+        }
+        else {
+            // pass
+        }
+        int[] p = new int[ms.size() + 1];
+        p[0] = ms.get(0).getRows();
+        for (int i = 0; i < ms.size(); i++) {
+            if (i > 0 && !canMultiply(ms.get(i - 1), ms.get(i))) {
+                throw new ArithmeticException("Error in " + method + "(): canMultiply() must return true for every pair of adjacent matrices");
+            }
+            p[i + 1] = ms.get(i).getColumns();
+        }
+        return p;
+    }
+
+    /**
+     * The matrix chain dynamic program,
+     * split[i][j] is the index k where the best order for matrices i..j multiplies (i..k) by (k+1..j)
+     */
+    private static int[][] chainSplits(int[] p) {
+        int n = p.length - 1;
+        long[][] cost = new long[n][n];
+        int[][] split = new int[n][n];
+        for (int length = 2; length <= n; length++) {
+            for (int i = 0; i + length - 1 < n; i++) {
+                int j = i + length - 1;
+                cost[i][j] = Long.MAX_VALUE;
+                for (int k = i; k < j; k++) {
+                    long c = cost[i][k] + cost[k + 1][j] + (long) p[i] * p[k + 1] * p[j + 1];
+                    if (c < cost[i][j]) {
+                        cost[i][j] = c;
+                        split[i][j] = k;
+                    }
+                }
+            }
+        }
+        return split;
+    }
+
+    private static void appendChainOrder(StringBuilder order, int[][] split, int i, int j) {
+        if (i == j) {
+            order.append("A").append(i + 1);
+        }
+        else {
+            order.append("(");
+            appendChainOrder(order, split, i, split[i][j]);
+            appendChainOrder(order, split, split[i][j] + 1, j);
+            order.append(")");
+        }
+    }
+
+    /**
+     * Multiply matrices i..j in the order given by split,
+     * returns the entries of a matrix for a single matrix, or a buffer whose top left corner holds the product,
+     * buffers of products that have been used are returned to freeBuffers
+     */
+    private static int[][] multiplyChain(Matrix[] ms, int[] p, int[][] split, int i, int j, java.util.List<int[][]> freeBuffers) {
+        if (i == j) {
+            return ms[i].matrix;
+        }
+        else {
+            int k = split[i][j];
+            int[][] left = multiplyChain(ms, p, split, i, k, freeBuffers);
+            int[][] right = multiplyChain(ms, p, split, k + 1, j, freeBuffers);
+            int[][] out = takeBuffer(freeBuffers, p[i], p[j + 1]);
+            multiplyInto(left, right, out, p[i], p[k + 1], p[j + 1]);
+            if (k > i) {
+                freeBuffers.add(left);
+            }
+            if (j > k + 1) {
+                freeBuffers.add(right);
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Take the smallest free buffer with at least r rows and c columns, or allocate one
+     */
+    private static int[][] takeBuffer(java.util.List<int[][]> freeBuffers, int r, int c) {
+        int best = -1;
+        for (int i = 0; i < freeBuffers.size(); i++) {
+            int[][] buffer = freeBuffers.get(i);
+            if (buffer.length >= r && buffer[0].length >= c
+                    && (best < 0 || (long) buffer.length * buffer[0].length < (long) freeBuffers.get(best).length * freeBuffers.get(best)[0].length)) {
+                best = i;
+            }
+        }
+        return best < 0 ? new int[r][c] : freeBuffers.remove(best);
+    }
+
+    /**
+     * Compute the product of a matrix and its transpose, m * m^T,
+     * without creating the transpose,
+     * the product is symmetric so only the upper triangle is computed and then mirrored,
+     * rows of the product are computed in parallel for large matrices
+     *
+     * @param m: the matrix to multiply by its transpose
+     * @return: a symmetric rxr Matrix object that is equal to productOfMatrices(m, m.getTranspose())
+     */
+    public static Matrix productWithTranspose(Matrix m) {
+        int n = m.getRows();
+        int inner = m.getColumns();
+        int[][] a = m.matrix;
+        Matrix gram = new Matrix(n, n);
+        int[][] g = gram.matrix;
+        // entry (i, j) is the dot product of rows i and j, which are both contiguous
+        java.util.function.IntConsumer computeRow = i -> {
+            int[] aRow = a[i];
+            int[] gRow = g[i];
+            for (int j = i; j < n; j++) {
+                int[] bRow = a[j];
+                int dp = 0;
+                for (int k = 0; k < inner; k++) {
+                    dp += aRow[k] * bRow[k];
+                }
+                gRow[j] = dp;
+            }
+        };
+        forEachRow(n, (long) n * n * inner / 2, computeRow);
+        mirrorUpperTriangle(g);
+        return gram;
+    }
+
+    /**
+     * Compute the product of the transpose of a matrix and the matrix, m^T * m,
+     * without creating the transpose,
+     * the product is symmetric so only the upper triangle is computed and then mirrored,
+     * rows of the product are computed in parallel for large matrices
+     *
+     * @param m: the matrix to multiply by its transpose
+     * @return: a symmetric cxc Matrix object that is equal to productOfMatrices(m.getTranspose(), m)
+     */
+    public static Matrix transposeProduct(Matrix m) {
+        int n = m.getColumns();
+        int inner = m.getRows();
+        int[][] a = m.matrix;
+        Matrix gram = new Matrix(n, n);
+        int[][] g = gram.matrix;
+        // row i of the product is the sum over k of a[k][i] times the end of row k starting at column i,
+        // so every pass walks along a row of m
+        java.util.function.IntConsumer computeRow = i -> {
+            int[] gRow = g[i];
+            for (int k = 0; k < inner; k++) {
+                int[] aRow = a[k];
+                int aki = aRow[i];
+                if (aki == 0) {
+                    continue;
+                }
+                for (int j = i; j < n; j++) {
+                    gRow[j] += aki * aRow[j];
+                }
+            }
+        };
+        forEachRow(n, (long) n * n * inner / 2, computeRow);
+        mirrorUpperTriangle(g);
+        return gram;
+    }
+
+    /**
+     * Run a task for every row index in [0, n), in parallel on the common ForkJoinPool
+     * if there are enough multiply-adds to be worth it
+     */
+    private static void forEachRow(int n, long flops, java.util.function.IntConsumer computeRow) {
+        if (flops < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < n; i++) {
+                computeRow.accept(i);
+            }
+        }
+        else {
+            java.util.stream.IntStream.range(0, n).parallel().forEach(computeRow);
+        }
+    }
+
+    /**
+     * Copy the upper triangle of a square array into its lower triangle
+     */
+    private static void mirrorUpperTriangle(int[][] g) {
+        for (int i = 1; i < g.length; i++) {
+            for (int j = 0; j < i; j++) {
+                g[i][j] = g[j][i];
+            }
+        }
+    }
+
+    /**
+     * Multiply the matrix by a vector, y = m * x,
+     * works on the primitive arrays directly instead of row and column matrices
+     *
+     * @param x: a vector with one entry per column
+     * @precond: x.length == columns
+     * @return: a new vector with one entry per row
+     */
+    public int[] multiply(int[] x) {
+        int[] y = new int[this.rows];
+        multiply(x, y);
+        return y;
+    }
+
+    /**
+     * Multiply the matrix by a vector, y = m * x, writing the product into an existing vector,
+     * the rows of tall matrices are split across the common ForkJoinPool
+     *
+     * @param x: a vector with one entry per column
+     * @param y: the vector to overwrite with the product, one entry per row, must not be x
+     * @precond: x.length == columns && y.length == rows
+     * @postcond: y holds the product of the matrix and x
+     */
+    public void multiply(int[] x, int[] y) {
+        if (x.length != this.columns) {
+            throw new ArithmeticException("Error in multiply(): x.length == columns must be true");
+        }
+        else if (y.length != this.rows) {
+            throw new ArithmeticException("Error in multiply(): y.length == rows must be true");
+        }
+        else {
+            int[][] a = this.matrix;
+            forEachRow(this.rows, (long) this.rows * this.columns, i -> {
+                int[] aRow = a[i];
+                int dp = 0;
+                for (int j = 0; j < aRow.length; j++) {
+                    dp += aRow[j] * x[j];
+                }
+                y[i] = dp;
+            });
+        }
+    }
+
+    /**
+     * Multiply the transpose of the matrix by a vector, y = m^T * x,
+     * without creating the transpose
+     *
+     * @param x: a vector with one entry per row
+     * @precond: x.length == rows
+     * @return: a new vector with one entry per column
+     */
+    public int[] multiplyTransposed(int[] x) {
+        int[] y = new int[this.columns];
+        multiplyTransposed(x, y);
+        return y;
+    }
+
+    /**
+     * Multiply the transpose of the matrix by a vector, y = m^T * x, writing the product into an existing vector,
+     * y is built from whole rows of the matrix scaled by the entries of x,
+     * tall matrices are split into blocks of rows that are summed in parallel and then added together
+     *
+     * @param x: a vector with one entry per row
+     * @param y: the vector to overwrite with the product, one entry per column, must not be x
+     * @precond: x.length == rows && y.length == columns
+     * @postcond: y holds the product of the transpose of the matrix and x
+     */
+    public void multiplyTransposed(int[] x, int[] y) {
+        if (x.length != this.rows) {
+            throw new ArithmeticException("Error in multiplyTransposed(): x.length == rows must be true");
+        }
+        else if (y.length != this.columns) {
+            throw new ArithmeticException("Error in multiplyTransposed(): y.length == columns must be true");
+        }
+        else {
+            java.util.Arrays.fill(y, 0);
+            int blocks = (long) this.rows * this.columns < PARALLEL_THRESHOLD
+                    ? 1 : Math.min(this.rows, 4 * java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+            if (blocks <= 1) {
+                addScaledRows(x, y, 0, this.rows);
+            }
+            else {
+                int rowsPerBlock = (this.rows + blocks - 1) / blocks;
+                int[][] partials = new int[blocks][];
+                java.util.stream.IntStream.range(0, blocks).parallel().forEach(b -> {
+                    int[] partial = new int[this.columns];
+                    addScaledRows(x, partial, b * rowsPerBlock, Math.min(this.rows, (b + 1) * rowsPerBlock));
+                    partials[b] = partial;
+                });
+                for (int[] partial : partials) {
+                    for (int j = 0; j < this.columns; j++) {
+                        y[j] += partial[j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add x[i] times row i into y for every row in [from, to)
+     */
+    private void addScaledRows(int[] x, int[] y, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int xi = x[i];
+            if (xi == 0) {
+                continue;
+            }
+            int[] aRow = this.matrix[i];
+            for (int j = 0; j < aRow.length; j++) {
+                y[j] += xi * aRow[j];
+            }
+        }
+    }
+
+    /**
+     * Multiply the matrix by several vectors at once, ys[v] = m * xs[v],
+     * each row of the matrix is read once for all of the vectors instead of once per vector,
+     * the rows of tall matrices are split across the common ForkJoinPool
+     *
+     * @param xs: the vectors to multiply, each with one entry per column
+     * @param ys: the vectors to overwrite with the products, each with one entry per row
+     * @precond: xs.length == ys.length && every xs[v].length == columns && every ys[v].length == rows
+     * @postcond: ys[v] holds the product of the matrix and xs[v] for every v
+     */
+    public void multiply(int[][] xs, int[][] ys) {
+        checkVectors(xs, ys, this.columns, this.rows, "multiply");
+        int[][] a = this.matrix;
+        forEachRow(this.rows, (long) this.rows * this.columns * xs.length, i -> {
+            int[] aRow = a[i];
+            for (int v = 0; v < xs.length; v++) {
+                int[] x = xs[v];
+                int dp = 0;
+                for (int j = 0; j < aRow.length; j++) {
+                    dp += aRow[j] * x[j];
+                }
+                ys[v][i] = dp;
+            }
+        });
+    }
+
+    /**
+     * Multiply the transpose of the matrix by several vectors at once, ys[v] = m^T * xs[v],
+     * the vectors are split into one group per thread of the common ForkJoinPool when there is enough work,
+     * and each row of the matrix is read once for all of the vectors in a group
+     *
+     * @param xs: the vectors to multiply, each with one entry per row
+     * @param ys: the vectors to overwrite with the products, each with one entry per column
+     * @precond: xs.length == ys.length && every xs[v].length == rows && every ys[v].length == columns
+     * @postcond: ys[v] holds the product of the transpose of the matrix and xs[v] for every v
+     */
+    public void multiplyTransposed(int[][] xs, int[][] ys) {
+        checkVectors(xs, ys, this.rows, this.columns, "multiplyTransposed");
+        if (xs.length == 1) {
+            multiplyTransposed(xs[0], ys[0]);
+            return;
+        }
+        for (int[] y : ys) {
+            java.util.Arrays.fill(y, 0);
+        }
+        int[][] a = this.matrix;
+        long flops = (long) this.rows * this.columns * xs.length;
+        int groups = flops < PARALLEL_THRESHOLD ? 1 : Math.min(xs.length, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+        int perGroup = (xs.length + groups - 1) / groups;
+        // each thread owns whole output vectors, so no partial sums are needed
+        forEachRow(groups, flops, g -> {
+            int lo = g * perGroup;
+            int hi = Math.min(xs.length, lo + perGroup);
+            for (int i = 0; i < a.length; i++) {
+                int[] aRow = a[i];
+                for (int v = lo; v < hi; v++) {
+                    int xi = xs[v][i];
+                    if (xi == 0) {
+                        continue;
+                    }
+                    int[] y = ys[v];
+                    for (int j = 0; j < aRow.length; j++) {
+                        y[j] += xi * aRow[j];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Check the preconditions of the batched matrix-vector products
+     */
+    private static void checkVectors(int[][] xs, int[][] ys, int xLength, int yLength, String method) {
+        if (xs.length != ys.length) {
+            throw new ArithmeticException("Error in " + method + "(): xs.length == ys.length must be true");
+        }
+        for (int v = 0; v < xs.length; v++) {
+            if (xs[v].length != xLength || ys[v].length != yLength) {
+                throw new ArithmeticException("Error in " + method + "(): every vector in xs and ys must have the right length");
+            }
+        }
+    }
+
+    // blocks with at most this many entries are copied directly, about 4KB of ints on each side
+    private static final int TRANSPOSE_BLOCK = 1024;
+    // the side length of the tiles that transposeInPlace() swaps
+    private static final int TRANSPOSE_TILE = 32;
+
+    /**
+     * Copy the transpose of rows [r0, r1) and columns [c0, c1) of a into t,
+     * the longer side is halved until the block fits in the cache (cache-oblivious),
+     * so neither array is read down a column for long
+     */
+    private static void transposeInto(int[][] a, int[][] t, int r0, int r1, int c0, int c1) {
+        if ((long) (r1 - r0) * (c1 - c0) <= TRANSPOSE_BLOCK) {
+            for (int i = r0; i < r1; i++) {
+                int[] aRow = a[i];
+                for (int j = c0; j < c1; j++) {
+                    t[j][i] = aRow[j];
+                }
+            }
+        }
+        else if (r1 - r0 >= c1 - c0) {
+            int rMid = (r0 + r1) >>> 1;
+            transposeInto(a, t, r0, rMid, c0, c1);
+            transposeInto(a, t, rMid, r1, c0, c1);
+        }
+        else {
+            int cMid = (c0 + c1) >>> 1;
+            transposeInto(a, t, r0, r1, c0, cMid);
+            transposeInto(a, t, r0, r1, cMid, c1);
+        }
+    }
+
+    /**
+     * Transpose a square matrix in place without a second buffer,
+     * the matrix is walked in tiles and each tile above the diagonal is swapped
+     * with the matching tile below it
+     *
+     * @precond: isSquare()
+     * @postcond: the matrix is equal to its transpose from before the call
+     */
+    public void transposeInPlace() {
+        if (!isSquare()) {
+            throw new ArithmeticException("Error in transposeInPlace(): isSquare() must return true");
+        }
+        else {
+            copyOnWrite();
+            int n = this.rows;
+            int[][] a = this.matrix;
+            for (int bi = 0; bi < n; bi += TRANSPOSE_TILE) {
+                int iEnd = Math.min(n, bi + TRANSPOSE_TILE);
+                for (int bj = bi; bj < n; bj += TRANSPOSE_TILE) {
+                    int jEnd = Math.min(n, bj + TRANSPOSE_TILE);
+                    for (int i = bi; i < iEnd; i++) {
+                        // on a diagonal tile only swap the entries above the diagonal
+                        for (int j = bi == bj ? i + 1 : bj; j < jEnd; j++) {
+                            int swap = a[i][j];
+                            a[i][j] = a[j][i];
+                            a[j][i] = swap;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Transpose a matrix stored in row-major order in a flat array, in place,
+     * the entry at index k moves to index k * rows mod (rows * columns - 1),
+     * each cycle of that permutation is followed once, so every entry is moved exactly once,
+     * the only extra memory is one bit per entry to mark the entries that have been moved
+     *
+     * @param a: the entries of a rows x columns matrix, row by row
+     * @param rows: the number of rows in the matrix
+     * @param columns: the number of columns in the matrix
+     * @precond: rows > 0 && columns > 0 && a.length == rows * columns
+     * @postcond: a holds the entries of the columns x rows transpose, row by row
+     */
+    public static void transposeInPlace(int[] a, int rows, int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new ArithmeticException("Error in transposeInPlace(): rows > 0 and columns > 0 must be true");
+        }
+        else if ((long) rows * columns != a.length) {
+            throw new ArithmeticException("Error in transposeInPlace(): a.length == rows * columns must be true");
+        }
+        else if (rows == 1 || columns == 1) {
+            // a row vector and a column vector have the same row-major layout
+            return;
+        }
+        else {
+            // the first and last entries never move
+            long last = a.length - 1;
+            long[] moved = new long[(a.length + 63) >>> 6];
+            for (int start = 1; start < last; start++) {
+                if ((moved[start >>> 6] & (1L << start)) != 0) {
+                    continue;
+                }
+                int carried = a[start];
+                int k = start;
+                do {
+                    int next = (int) ((long) k * rows % last);
+                    int swap = a[next];
+                    a[next] = carried;
+                    carried = swap;
+                    moved[next >>> 6] |= 1L << next;
+                    k = next;
+                } while (k != start);
+            }
+        }
+    }
+
+    /**
+     * Check whether or not c is the product of a and b with Freivalds' algorithm,
+     * each round multiplies all three matrices by a random vector x and compares a * (b * x) with c * x,
+     * which costs O(n^2) instead of the O(n^3) of multiplying a and b again,
+     * the arithmetic is int arithmetic modulo 2^32, the same wrap around as productOfMatrices(),
+     * so it never overflows and a product that wrapped around is still accepted,
+     * a wrong product passes a round with probability at most 1/2, and far less unless the errors are multiples of a large power of 2
+     *
+     * @param a, b: the two matrices that were multiplied
+     * @param c: the claimed product
+     * @param rounds: the number of random vectors to check
+     * @precond: canMultiply(a, b) && c is an (a.getRows())x(b.getColumns()) matrix && rounds > 0
+     * @return: false if c is certainly not the product, true if c passed every round
+     */
+    public static boolean verifyProduct(Matrix a, Matrix b, Matrix c, int rounds) {
+        return freivalds(a, b, c, rounds, false, "verifyProduct").length == 0;
+    }
+
+    /**
+     * Find the rows of c that are not rows of the product of a and b with Freivalds' algorithm,
+     * row i fails a round if entry i of a * (b * x) differs from entry i of c * x,
+     * so every row that is reported is certainly wrong, and a wrong row is missed with probability at most 1/2 per round
+     *
+     * @param a, b: the two matrices that were multiplied
+     * @param c: the claimed product
+     * @param rounds: the number of random vectors to check
+     * @precond: canMultiply(a, b) && c is an (a.getRows())x(b.getColumns()) matrix && rounds > 0
+     * @return: the rows of c that failed a round in increasing order, 1-based to stay consistent with matrix entry notation
+     */
+    public static int[] faultyRows(Matrix a, Matrix b, Matrix c, int rounds) {
+        return freivalds(a, b, c, rounds, true, "faultyRows");
+    }
+
+    /**
+     * Shared implementation of verifyProduct() and faultyRows()
+     *
+     * @param allRows: true to keep checking every row after the first failure
+     */
+    private static int[] freivalds(Matrix a, Matrix b, Matrix c, int rounds, boolean allRows, String method) {
+        if (!canMultiply(a, b)) {
+            throw new ArithmeticException("Error in " + method + "(): canMultiply(a, b) must return true");
+        }
+        else if (c.getRows() != a.getRows() || c.getColumns() != b.getColumns()) {
+            throw new ArithmeticException("Error in " + method + "(): c must have a.getRows() rows and b.getColumns() columns");
+        }
+        else if (rounds <= 0) {
+            throw new ArithmeticException("Error in " + method + "(): rounds > 0 must be true");
+        }
+        else {
+            java.util.Random random = java.util.concurrent.ThreadLocalRandom.current();
+            int[] x = new int[b.getColumns()];
+            int[] bx = new int[b.getRows()];
+            int[] abx = new int[a.getRows()];
+            int[] cx = new int[a.getRows()];
+            boolean[] faulty = new boolean[a.getRows()];
+            int faultyCount = 0;
+            for (int round = 0; round < rounds; round++) {
+                for (int j = 0; j < x.length; j++) {
+                    x[j] = random.nextInt();
+                }
+                b.multiply(x, bx);
+                a.multiply(bx, abx);
+                c.multiply(x, cx);
+                for (int i = 0; i < cx.length; i++) {
+                    if (abx[i] != cx[i] && !faulty[i]) {
+                        faulty[i] = true;
+                        faultyCount++;
+                        if (!allRows) {
+                            return new int[] {i + 1};
+                        }
+                    }
+                }
+            }
+            int[] rowsFound = new int[faultyCount];
+            for (int i = 0, k = 0; i < faulty.length; i++) {
+                if (faulty[i]) {
+                    rowsFound[k++] = i + 1;
+                }
+            }
+            return rowsFound;
+        }
+    }
+
+    /**
+     * Compute the Kronecker product of two matrices,
+     * block (i, j) of the product is a(i, j) times b,
+     * each row of the product is filled one row of b at a time
+     *
+     * @param a, b: the two matrices
+     * @return: an (a.getRows() * b.getRows())x(a.getColumns() * b.getColumns()) Matrix object,
+     * entries wrap around on overflow just like productOfMatrices()
+     */
+    public static Matrix kronecker(Matrix a, Matrix b) {
+        int rb = b.getRows();
+        int cb = b.getColumns();
+        Matrix product = new Matrix(Math.multiplyExact(a.getRows(), rb), Math.multiplyExact(a.getColumns(), cb));
+        for (int i = 0; i < a.getRows(); i++) {
+            int[] aRow = a.matrix[i];
+            for (int k = 0; k < rb; k++) {
+                int[] bRow = b.matrix[k];
+                int[] outRow = product.matrix[i * rb + k];
+                for (int j = 0; j < aRow.length; j++) {
+                    int aij = aRow[j];
+                    if (aij == 1) {
+                        System.arraycopy(bRow, 0, outRow, j * cb, cb);
+                    }
+                    else if (aij != 0) {
+                        for (int l = 0, offset = j * cb; l < cb; l++) {
+                            outRow[offset + l] = aij * bRow[l];
+                        }
+                    }
+                    else {
+                        // pass: the block is already 0
+                    }
+                }
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Multiply the Kronecker product of two matrices by a vector without creating the Kronecker product,
+     * entry (i * rb + k) of the result is the sum over j and l of a(i, j) * b(k, l) * x[j * cb + l],
+     * which is computed as b times each cb-long piece of x, then a times those results,
+     * in O(ca * rb * cb + ra * ca * rb) time instead of O(ra * ca * rb * cb)
+     *
+     * @param a, b: the two matrices
+     * @param x: a vector with a.getColumns() * b.getColumns() entries
+     * @precond: x.length == a.getColumns() * b.getColumns()
+     * @return: a new vector with a.getRows() * b.getRows() entries, equal to kronecker(a, b) times x
+     */
+    public static int[] kroneckerMultiply(Matrix a, Matrix b, int[] x) {
+        int ra = a.getRows();
+        int ca = a.getColumns();
+        int rb = b.getRows();
+        int cb = b.getColumns();
+        if ((long) ca * cb != x.length) {
+            throw new ArithmeticException("Error in kroneckerMultiply(): x.length == a.getColumns() * b.getColumns() must be true");
+        }
+        else {
+            // bx[j] is b times piece j of x
+            int[][] bx = new int[ca][rb];
+            int[] piece = new int[cb];
+            for (int j = 0; j < ca; j++) {
+                System.arraycopy(x, j * cb, piece, 0, cb);
+                b.multiply(piece, bx[j]);
+            }
+            int[] y = new int[Math.multiplyExact(ra, rb)];
+            for (int i = 0; i < ra; i++) {
+                int[] aRow = a.matrix[i];
+                int offset = i * rb;
+                for (int j = 0; j < ca; j++) {
+                    int aij = aRow[j];
+                    if (aij == 0) {
+                        continue;
+                    }
+                    int[] bxRow = bx[j];
+                    for (int k = 0; k < rb; k++) {
+                        y[offset + k] += aij * bxRow[k];
+                    }
+                }
+            }
+            return y;
+        }
+    }
+
+    /**
+     * Place matrices side by side
+     *
+     * @param ms: the matrices, from left to right
+     * @precond: ms.length > 0 && every matrix has the same number of rows
+     * @return: a Matrix object with the columns of every matrix in order
+     */
+    public static Matrix hstack(Matrix... ms) {
+        return block(new Matrix[][] {ms});
+    }
+
+    /**
+     * Place matrices one above another
+     *
+     * @param ms: the matrices, from top to bottom
+     * @precond: ms.length > 0 && every matrix has the same number of columns
+     * @return: a Matrix object with the rows of every matrix in order
+     */
+    public static Matrix vstack(Matrix... ms) {
+        Matrix[][] blocks = new Matrix[ms.length][];
+        for (int i = 0; i < ms.length; i++) {
+            blocks[i] = new Matrix[] {ms[i]};
+        }
+        return block(blocks);
+    }
+
+    /**
+     * Assemble a matrix from a grid of blocks, copying each row of each block with System.arraycopy
+     *
+     * @param blocks: blocks[i][j] is the block in block row i and block column j
+     * @precond: blocks is a non-empty rectangular grid && the blocks in each block row have the same number of rows
+     * && the blocks in each block column have the same number of columns
+     * @return: the assembled Matrix object
+     */
+    public static Matrix block(Matrix[][] blocks) {
+        if (blocks.length == 0 || blocks[0].length == 0) {
+            throw new ArithmeticException("Error in block(): blocks must not be empty");
+        }
+        else {
+            // pass
+        }
+        int[] rowStarts = new int[blocks.length + 1];
+        int[] columnStarts = new int[blocks[0].length + 1];
+        for (int j = 0; j < blocks[0].length; j++) {
+            columnStarts[j + 1] = Math.addExact(columnStarts[j], blocks[0][j].getColumns());
+        }
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i].length != blocks[0].length) {
+                throw new ArithmeticException("Error in block(): every block row must have the same number of blocks");
+            }
+            rowStarts[i + 1] = Math.addExact(rowStarts[i], blocks[i][0].getRows());
+            for (int j = 0; j < blocks[i].length; j++) {
+                if (blocks[i][j].getRows() != blocks[i][0].getRows()) {
+                    throw new ArithmeticException("Error in block(): the blocks in each block row must have the same number of rows");
+                }
+                else if (blocks[i][j].getColumns() != blocks[0][j].getColumns()) {
+                    throw new ArithmeticException("Error in block(): the blocks in each block column must have the same number of columns");
+                }
+                else {
+                    // pass
+                }
+            }
+        }
+        Matrix assembled = new Matrix(rowStarts[blocks.length], columnStarts[blocks[0].length]);
+        for (int i = 0; i < blocks.length; i++) {
+            for (int j = 0; j < blocks[i].length; j++) {
+                Matrix m = blocks[i][j];
+                for (int r = 0; r < m.rows; r++) {
+                    System.arraycopy(m.matrix[r], 0, assembled.matrix[rowStarts[i] + r], columnStarts[j], m.columns);
+                }
+            }
+        }
+        return assembled;
+    }
+
+    /**
+     * The statistics that reduce() and parallelReduce() can compute
+     */
+    public enum Statistic {
+        TRACE, ROW_SUMS, COLUMN_SUMS, MAX_ABS, NONZERO_COUNT, MIN_MAX
+    }
+
+    /**
+     * The statistics computed by one pass of reduce() or parallelReduce(),
+     * sums are kept in long accumulators so they do not wrap around,
+     * asking for a statistic that was not requested throws an ArithmeticException
+     */
+    public static final class Reduction {
+        private final java.util.EnumSet<Statistic> statistics;
+        private final long[] rowSums;
+        private final long[] columnSums;
+        private long trace = 0;
+        private long maxAbs = 0;
+        private long nonzeroCount = 0;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        // the sum of the entries seen so far of a row that is split between tasks by columns
+        private long splitRowSum = 0;
+
+        private Reduction(java.util.EnumSet<Statistic> statistics, long[] rowSums, long[] columnSums) {
+            this.statistics = statistics;
+            this.rowSums = rowSums;
+            this.columnSums = columnSums;
+        }
+
+        /**
+         * Reduce the entries in rows [lo, hi) and columns [cLo, cHi) of m into this, reading each row once,
+         * tasks working on other rows may share rowSums since each row sum is written by one task,
+         * the sum of a row that is only partly covered goes to splitRowSum instead,
+         * columnSums must not be written by any other task at the same time
+         */
+        private void accumulate(Matrix m, int lo, int hi, int cLo, int cHi) {
+            boolean wantTrace = this.statistics.contains(Statistic.TRACE);
+            boolean wantRowSums = this.rowSums != null;
+            boolean wantColumnSums = this.columnSums != null;
+            boolean wantMaxAbs = this.statistics.contains(Statistic.MAX_ABS);
+            boolean wantNonzero = this.statistics.contains(Statistic.NONZERO_COUNT);
+            boolean wantMinMax = this.statistics.contains(Statistic.MIN_MAX);
+            boolean wantEntryLoop = wantRowSums || wantColumnSums || wantMaxAbs || wantNonzero || wantMinMax;
+            boolean wholeRows = cLo == 0 && cHi == m.columns;
+            for (int i = lo; i < hi; i++) {
+                int[] row = m.matrix[i];
+                if (wantTrace && cLo <= i && i < cHi) {
+                    this.trace += row[i];
+                }
+                if (!wantEntryLoop) {
+                    continue;
+                }
+                long sum = 0;
+                long maxAbs = this.maxAbs;
+                long nonzero = 0;
+                int min = this.min;
+                int max = this.max;
+                for (int j = cLo; j < cHi; j++) {
+                    int entry = row[j];
+                    sum += entry;
+                    if (wantColumnSums) {
+                        this.columnSums[j] += entry;
+                    }
+                    if (wantMaxAbs) {
+                        maxAbs = Math.max(maxAbs, Math.abs((long) entry));
+                    }
+                    if (wantNonzero && entry != 0) {
+                        nonzero++;
+                    }
+                    if (wantMinMax) {
+                        min = Math.min(min, entry);
+                        max = Math.max(max, entry);
+                    }
+                }
+                if (wantRowSums && wholeRows) {
+                    this.rowSums[i] = sum;
+                }
+                else {
+                    this.splitRowSum += sum;
+                }
+                this.maxAbs = maxAbs;
+                this.nonzeroCount += nonzero;
+                this.min = min;
+                this.max = max;
+            }
+        }
+
+        /**
+         * Fold the statistics of another set of entries into this in O(1) time,
+         * row and column sums are written in place by accumulate() so they need no merging
+         */
+        private void merge(Reduction other) {
+            this.trace += other.trace;
+            this.maxAbs = Math.max(this.maxAbs, other.maxAbs);
+            this.nonzeroCount += other.nonzeroCount;
+            this.min = Math.min(this.min, other.min);
+            this.max = Math.max(this.max, other.max);
+            this.splitRowSum += other.splitRowSum;
+        }
+
+        private void require(Statistic statistic, String method) {
+            if (!this.statistics.contains(statistic)) {
+                throw new ArithmeticException("Error in " + method + "(): " + statistic + " must have been requested");
+            }
+            else {
+                // pass
+            }
+        }
+
+        /**
+         * @precond: TRACE was requested
+         * @return: the sum of the main diagonal, the diagonal of a non-square matrix stops at the shorter side
+         */
+        public long getTrace() {
+            require(Statistic.TRACE, "getTrace");
+            return this.trace;
+        }
+
+        /**
+         * @precond: ROW_SUMS was requested
+         * @return: a copy of the row sums, entry i - 1 is the sum of row i
+         */
+        public long[] getRowSums() {
+            require(Statistic.ROW_SUMS, "getRowSums");
+            return this.rowSums.clone();
+        }
+
+        /**
+         * @precond: COLUMN_SUMS was requested
+         * @return: a copy of the column sums, entry j - 1 is the sum of column j
+         */
+        public long[] getColumnSums() {
+            require(Statistic.COLUMN_SUMS, "getColumnSums");
+            return this.columnSums.clone();
+        }
+
+        /**
+         * @precond: MAX_ABS was requested
+         * @return: the largest absolute value of any entry, as a long so that |Integer.MIN_VALUE| fits
+         */
+        public long getMaxAbs() {
+            require(Statistic.MAX_ABS, "getMaxAbs");
+            return this.maxAbs;
+        }
+
+        /**
+         * @precond: NONZERO_COUNT was requested
+         * @return: the number of entries that are not 0
+         */
+        public long getNonzeroCount() {
+            require(Statistic.NONZERO_COUNT, "getNonzeroCount");
+            return this.nonzeroCount;
+        }
+
+        /**
+         * @precond: MIN_MAX was requested
+         * @return: the smallest entry
+         */
+        public int getMin() {
+            require(Statistic.MIN_MAX, "getMin");
+            return this.min;
+        }
+
+        /**
+         * @precond: MIN_MAX was requested
+         * @return: the largest entry
+         */
+        public int getMax() {
+            require(Statistic.MIN_MAX, "getMax");
+            return this.max;
+        }
+    }
+
+    /**
+     * Reduces rows [lo, hi) and columns [cLo, cHi) of a matrix, splitting the rows until each task has
+     * about PARALLEL_THRESHOLD entries, then splitting the columns of a single row that is still too long,
+     * column sums go into one array per thread so that no task allocates or merges O(columns) values
+     */
+    private static final class ReduceTask extends java.util.concurrent.RecursiveTask<Reduction> {
+        private static final long serialVersionUID = 1L;
+
+        private final Matrix m;
+        private final java.util.EnumSet<Statistic> statistics;
+        private final long[] rowSums;
+        private final java.util.Map<Thread, long[]> columnSums;
+        private final int lo;
+        private final int hi;
+        private final int cLo;
+        private final int cHi;
+
+        ReduceTask(Matrix m, java.util.EnumSet<Statistic> statistics, long[] rowSums, java.util.Map<Thread, long[]> columnSums,
+                   int lo, int hi, int cLo, int cHi) {
+            this.m = m;
+            this.statistics = statistics;
+            this.rowSums = rowSums;
+            this.columnSums = columnSums;
+            this.lo = lo;
+            this.hi = hi;
+            this.cLo = cLo;
+            this.cHi = cHi;
+        }
+
+        @Override
+        protected Reduction compute() {
+            if ((long) (this.hi - this.lo) * (this.cHi - this.cLo) <= PARALLEL_THRESHOLD || this.cHi - this.cLo <= 1) {
+                // a thread only runs one leaf at a time, so its column sums are never written by two tasks at once
+                long[] threadColumnSums = this.columnSums == null ? null
+                        : this.columnSums.computeIfAbsent(Thread.currentThread(), thread -> new long[this.m.columns]);
+                Reduction partial = new Reduction(this.statistics, this.rowSums, threadColumnSums);
+                partial.accumulate(this.m, this.lo, this.hi, this.cLo, this.cHi);
+                return partial;
+            }
+            else if (this.hi - this.lo > 1) {
+                int mid = (this.lo + this.hi) >>> 1;
+                ReduceTask left = new ReduceTask(this.m, this.statistics, this.rowSums, this.columnSums, this.lo, mid, this.cLo, this.cHi);
+                left.fork();
+                Reduction right = new ReduceTask(this.m, this.statistics, this.rowSums, this.columnSums, mid, this.hi, this.cLo, this.cHi).compute();
+                Reduction partial = left.join();
+                partial.merge(right);
+                return partial;
+            }
+            else {
+                int mid = (this.cLo + this.cHi) >>> 1;
+                ReduceTask left = new ReduceTask(this.m, this.statistics, this.rowSums, this.columnSums, this.lo, this.hi, this.cLo, mid);
+                left.fork();
+                Reduction right = new ReduceTask(this.m, this.statistics, this.rowSums, this.columnSums, this.lo, this.hi, mid, this.cHi).compute();
+                Reduction partial = left.join();
+                partial.merge(right);
+                // the task that started splitting the row writes its sum
+                if (this.rowSums != null && this.cLo == 0 && this.cHi == this.m.columns) {
+                    this.rowSums[this.lo] = partial.splitRowSum;
+                    partial.splitRowSum = 0;
+                }
+                else {
+                    // pass
+                }
+                return partial;
+            }
+        }
+    }
+
+    /**
+     * Compute the requested statistics in one pass over the entries, reading each row once
+     *
+     * @param statistics: the statistics to compute
+     * @return: a Reduction holding the requested statistics
+     */
+    public Reduction reduce(Statistic... statistics) {
+        java.util.EnumSet<Statistic> requested = requestedStatistics(statistics);
+        Reduction reduction = new Reduction(requested, requested.contains(Statistic.ROW_SUMS) ? new long[this.rows] : null,
+                requested.contains(Statistic.COLUMN_SUMS) ? new long[this.columns] : null);
+        reduction.accumulate(this, 0, this.rows, 0, this.columns);
+        return reduction;
+    }
+
+    /**
+     * Compute the requested statistics like reduce(), splitting the rows between the threads of the common pool,
+     * and the columns of a row too long for one task, each thread keeps one array of column sums,
+     * which are added up once at the end, small matrices are reduced on the calling thread
+     *
+     * @param statistics: the statistics to compute
+     * @return: a Reduction holding the requested statistics
+     */
+    public Reduction parallelReduce(Statistic... statistics) {
+        java.util.EnumSet<Statistic> requested = requestedStatistics(statistics);
+        long[] rowSums = requested.contains(Statistic.ROW_SUMS) ? new long[this.rows] : null;
+        java.util.Map<Thread, long[]> threadColumnSums = requested.contains(Statistic.COLUMN_SUMS)
+                ? new java.util.concurrent.ConcurrentHashMap<>() : null;
+        Reduction partial = java.util.concurrent.ForkJoinPool.commonPool().invoke(
+                new ReduceTask(this, requested, rowSums, threadColumnSums, 0, this.rows, 0, this.columns));
+        long[] columnSums = null;
+        if (threadColumnSums != null) {
+            columnSums = new long[this.columns];
+            for (long[] sums : threadColumnSums.values()) {
+                for (int j = 0; j < this.columns; j++) {
+                    columnSums[j] += sums[j];
+                }
+            }
+        }
+        else {
+            // pass
+        }
+        Reduction reduction = new Reduction(requested, rowSums, columnSums);
+        reduction.merge(partial);
+        return reduction;
+    }
+
+    private static java.util.EnumSet<Statistic> requestedStatistics(Statistic[] statistics) {
+        java.util.EnumSet<Statistic> requested = java.util.EnumSet.noneOf(Statistic.class);
+        for (Statistic statistic : statistics) {
+            requested.add(java.util.Objects.requireNonNull(statistic));
+        }
+        return requested;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+    public static void main(String[] args) {
+        System.out.println("Test suite for Matrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        // create a couple of invalid Matrix objects
+        System.out.println("Testing catching exceptions thrown by the Matrix constructor.");
+        try {
+            Matrix mInvalid1 = new Matrix(0, 1);
+            System.out.println("Error: Matrix() constructor did not throw an exception even though the number of rows was not positive.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        try {
+            Matrix mInvalid2 = new Matrix(1, 0);
+            System.out.println("Error: Matrix() constructor did not throw an exception even though the number of columns was not positive.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // create a valid Matrix object
+        try {
+            Matrix m1 = new Matrix(2,3);
+
+            // print the matrix
+            System.out.println("Here is an example matrix.");
+            m1.printMatrix();
+
+            // test getRows()
+            if (m1.getRows() != 2) {
+                System.out.println("Error: getRows() returned " + m1.getRows() + " instead of 2.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test getColumns()
+            if (m1.getColumns() != 3) {
+                System.out.println("Error: getColumns() returned " + m1.getColumns() + " instead of 3.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test getMatrix()
+            System.out.println("Here is the matrix being accessed and printed using getMatrix().");
+            for (int i = 0; i < m1.getRows(); i++) {
+                for (int j = 0; j < m1.getColumns(); j++) {
+                    System.out.print(m1.getMatrix()[i][j] + " ");
+                }
+                System.out.println("");
+            }
+
+            // test staticPrintMatrix()
+            System.out.println("Here is the matrix being printed using staticPrintMatrix().");
+            Matrix.staticPrintMatrix(m1);
+
+            // test IsSquare()
+            if (m1.isSquare()) {
+                System.out.println("Error: isSquare() returned true for non-square matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test IsZero()
+            if (m1.isZero()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isZero() returned false for zero matrix.");
+                uErrors += 1;
+            }
+
+            // test IsIdentity()
+            if (m1.isIdentity()) {
+                System.out.println("Error: isIdentity() returned true for non-identity matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test sameDimensions()
+            if (!Matrix.sameDimensions(m1, m1)) {
+                System.out.println("Error: sameDimensions() returned false when comparing a matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test sameMatrix()
+            if (!Matrix.sameMatrix(m1, m1)) {
+                System.out.println("Error: sameMatrix() returned false when comparing a matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test oppositeDimensions()
+            if (Matrix.oppositeDimensions(m1, m1)) {
+                System.out.println("Error: oppositeDimensions() returned true when comparing a 3x2 matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test transposes()
+            if (Matrix.transposes(m1, m1)) {
+                System.out.println("Error: transposes() returned true when comparing matrices that were not transposes.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test setEntry()
+            // change some entries
+            try {
+                m1.setEntry(1, 1, 1);
+                m1.setEntry(1, 2, 2);
+                m1.setEntry(2, 3, 3);
+            }
+            catch (Exception e) {
+                System.out.println("Error: setEntry() threw an exception even though the specified entry was in bounds.");
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+            // some invalid changes
+            System.out.println("Testing catching exception thrown by setEntry().");
+            try {
+                m1.setEntry(0, 1, 7);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+                System.out.println("Caught error: " + e.getMessage());
+            }
+            try {
+                m1.setEntry(1, 0, 7);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m1.setEntry(3, 1, 7);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m1.setEntry(1, 4, 7);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+
+            // print the matrix
+            System.out.println("After some changes...");
+            m1.printMatrix();
+
+            // test getEntry()
+            System.out.println("The number at index 1,1 is " + m1.getEntry(1, 1) + ".");
+            System.out.println("The number at index 2,2 is " + m1.getEntry(2, 2) + ".");
+            System.out.println("The number at index 2,3 is " + m1.getEntry(2, 3) + ".");
+            System.out.println("Testing catching exception thrown by getEntry().");
+            try {
+                m1.getEntry(0, 1);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+                System.out.println("Caught error: " + e.getMessage());
+            }
+            try {
+                m1.getEntry(1, 0);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m1.getEntry(3, 1);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m1.getEntry(1, 4);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+
+            // test IsZero()
+            if (m1.isZero()) {
+                System.out.println("Error: isZero() returned true for non-zero matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test scalarMultiply()
+            m1.scalarMultiply(2);
+            System.out.println("Scalar multiply the matrix by 2.");
+            m1.printMatrix();
+
+            // test makeZero()
+            m1.makeZero();
+            System.out.println("Turn matrix back into a zero matrix.");
+            m1.printMatrix();
+
+            // test IsZero()
+            if (m1.isZero()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isZero() returned false for zero matrix.");
+                uErrors += 1;
+            }
+
+            // test makeIdentity()
+            System.out.println("Testing catching exception thrown by makeIdentity().");
+            try {
+                m1.makeIdentity();
+                System.out.println("Error: makeIdentity() did not throw an exception for a non-square matrix.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                System.out.println("Caught error: " + e.getMessage());
+                System.out.println("makeIdentity() will not work on a non-square matrix.");
+            }
+
+            // check if matrix is still a zero matrix
+            System.out.println("Check if the matrix is still the zero matrix...");
+            m1.printMatrix();
+
+            // test IsZero()
+            if (m1.isZero()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isZero() returned false for zero matrix.");
+                uErrors += 1;
+            }
+
+            // test determinant()
+            System.out.println("Testing catching exception thrown by determinant().");
+            try {
+                int m1det = Matrix.determinant(m1);
+                System.out.println("Error: determinant() did not throw an exception for a non-square matrix, but instead returned " + m1det + ".");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                System.out.println("Caught error: " + e.getMessage());
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: Matrix() constructor threw an exception even though both parameters were positive.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // create a square matrix
+        try {
+            Matrix m2 = new Matrix(4, 4);
+
+            // print the matrix
+            System.out.println("Here is a square matrix.");
+            m2.printMatrix();
+
+            // test getRows()
+            if (m2.getRows() != 4) {
+                System.out.println("Error: getRows() returned " + m2.getRows() + " instead of 4.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test getColumns()
+            if (m2.getColumns() != 4) {
+                System.out.println("Error: getColumns() returned " + m2.getColumns() + " instead of 4.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test getMatrix()
+            System.out.println("Here is the matrix being accessed and printed using getMatrix().");
+            for (int i = 0; i < m2.getRows(); i++) {
+                for (int j = 0; j < m2.getColumns(); j++) {
+                    System.out.print(m2.getMatrix()[i][j] + " ");
+                }
+                System.out.println("");
+            }
+
+            // test staticPrintMatrix()
+            System.out.println("Here is the matrix being printed using staticPrintMatrix().");
+            Matrix.staticPrintMatrix(m2);
+
+            // test IsSquare()
+            if (m2.isSquare()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isSquare() returned false for square matrix.");
+                uErrors += 1;
+            }
+
+            // test IsZero()
+            if (m2.isZero()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isZero() returned false for zero matrix.");
+                uErrors += 1;
+            }
+
+            // test IsIdentity()
+            if (m2.isIdentity()) {
+                System.out.println("Error: isIdentity() returned true for non-identity matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test sameDimensions()
+            if (!Matrix.sameDimensions(m2, m2)) {
+                System.out.println("Error: sameDimensions() returned false when comparing a matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test sameMatrix()
+            if (!Matrix.sameMatrix(m2, m2)) {
+                System.out.println("Error: sameMatrix() returned false when comparing a matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test oppositeDimensions()
+            if (!Matrix.oppositeDimensions(m2, m2)) {
+                System.out.println("Error: oppositeDimensions() returned false when comparing a 4x4 matrix with itself.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test transposes()
+            if (!Matrix.transposes(m2, m2)) {
+                System.out.println("Error: transposes() returned false when comparing matrices that were transposes.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test setEntry()
+            // change some entries
+            try {
+                m2.setEntry(1, 1, 4);
+                m2.setEntry(3, 3, 2);
+                m2.setEntry(4, 2, 7);
+                m2.setEntry(1, 4, 1);
+            }
+            catch (Exception e) {
+                System.out.println("Error: setEntry() threw an exception even though the specified entry was in bounds.");
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+            // some invalid changes
+            System.out.println("Testing catching exception thrown by setEntry().");
+            try {
+                m2.setEntry(0, 1, 8);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+                System.out.println("Caught error: " + e.getMessage());
+            }
+            try {
+                m2.setEntry(1, 0, 8);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m2.setEntry(5, 1, 8);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m2.setEntry(1, 5, 8);
+                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+
+            // print the matrix
+            System.out.println("After some changes...");
+            m2.printMatrix();
+
+            // test getEntry()
+            System.out.println("The number at index 1,1 is " + m2.getEntry(1, 1) + ".");
+            System.out.println("The number at index 4,2 is " + m2.getEntry(4, 2) + ".");
+            System.out.println("The number at index 3,4 is " + m2.getEntry(3, 4) + ".");
+            System.out.println("Testing catching exception thrown by getEntry().");
+            try {
+                m2.getEntry(0, 1);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+                System.out.println("Caught error: " + e.getMessage());
+            }
+            try {
+                m2.getEntry(1, 0);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m2.getEntry(5, 1);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+            try {
+                m2.getEntry(1, 5);
+                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+                uErrors += 1;
+            }
+            catch (Exception e) {
+                // expected result
+            }
+
+            // test IsZero()
+            if (m2.isZero()) {
+                System.out.println("Error: isZero() returned true for non-zero matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test scalarMultiply()
+            m2.scalarMultiply(5);
+            System.out.println("Scalar multiply the matrix by 5.");
+            m2.printMatrix();
+
+            // test transposes()
+            if (Matrix.transposes(m2, m2)) {
+                System.out.println("Error: transposes() returned true when comparing matrices that were not transposes.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test makeIdentity()
+            System.out.println("Turn the matrix into an identity matrix.");
+            try {
+                m2.makeIdentity();
+                m2.printMatrix();
+            }
+            catch (Exception e) {
+                System.out.println("Error: makeIdentity() threw an exception for a square matrix.");
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+
+            // test isIdentity()
+            if (m2.isIdentity()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isIdentity() returned false for an identity matrix.");
+                uErrors += 1;
+            }
+
+            // test IsZero()
+            if (m2.isZero()) {
+                System.out.println("Error: isZero() returned true for non-zero matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test determinant()
+            try {
+                int m2detIdentity = Matrix.determinant(m2);
+                System.out.println("The determinant of this matrix is " + m2detIdentity + ".");
+            }
+            catch (Exception e) {
+                System.out.println("Error: determinant() threw an exception for a square matrix.");
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+
+            // test makeZero()
+            m2.makeZero();
+            System.out.println("Turn matrix back into a zero matrix.");
+            m2.printMatrix();
+
+            // test isIdentity()
+            if (m2.isIdentity()) {
+                System.out.println("Error: isIdentity() returned true for a zero matrix.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+
+            // test IsZero()
+            if (m2.isZero()) {
+                // expected result
+            }
+            else {
+                System.out.println("Error: isZero() returned false for zero matrix.");
+                uErrors += 1;
+            }
+
+            // test determinant()
+            try {
+                int m2detZero = Matrix.determinant(m2);
+                System.out.println("The determinant of this matrix is " + m2detZero + ".");
             }
             catch (Exception e) {
+                System.out.println("Error: determinant() threw an exception for a square matrix.");
+                System.out.println("Unintentional Error: " + e.getMessage());
+                uErrors += 1;
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: Matrix() constructor threw an exception even though both parameters were positive.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test getRowMatrix() and getColumnMatrix
+        Matrix m3 = new Matrix(3,2);
+        m3.setEntry(1,1,2);
+        m3.setEntry(1,2,5);
+        m3.setEntry(2,1,6);
+        m3.setEntry(2,2,1);
+        m3.setEntry(3,1,2);
+        m3.setEntry(3,2,8);
+        System.out.println("Here is an example matrix.");
+        m3.printMatrix();
+        try {
+            Matrix m3row1 = m3.getRowMatrix(1);
+            Matrix m3row2 = m3.getRowMatrix(2);
+            Matrix m3row3 = m3.getRowMatrix(3);
+            System.out.println("The first row of the matrix is");
+            m3row1.printMatrix();
+            System.out.println("The second row of the matrix is");
+            m3row2.printMatrix();
+            System.out.println("The third row of the matrix is");
+            m3row3.printMatrix();
+        }
+        catch(Exception e) {
+            System.out.println("Error: getRowMatrix() threw an exception for a valid row.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        try {
+            Matrix m3col1 = m3.getColumnMatrix(1);
+            Matrix m3col2 = m3.getColumnMatrix(2);
+            System.out.println("The first column of the matrix is");
+            m3col1.printMatrix();
+            System.out.println("The second column of the matrix is");
+            m3col2.printMatrix();
+        }
+        catch (Exception e) {
+            System.out.println("Error: getColumnMatrix() threw an exception for a valid column.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        System.out.println("Testing catching exception thrown by getRowMatrix().");
+        try {
+            Matrix m3row0 = m3.getRowMatrix(0);
+            System.out.println("Error: getRowMatrix() did not throw an exception for an invalid row.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+        try {
+            Matrix m3row4 = m3.getRowMatrix(4);
+            System.out.println("Error: getRowMatrix() did not throw an exception for an invalid row.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+        }
+        System.out.println("Testing catching exception thrown by getColumnMatrix().");
+        try {
+            Matrix m3col0 = m3.getColumnMatrix(0);
+            System.out.println("Error: getColumnMatrix() did not throw an exception for an invalid column.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+        try {
+            Matrix m3col3 = m3.getColumnMatrix(3);
+            System.out.println("Error: getColumnMatrix() did not throw an exception for an invalid column.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+        }
+
+        // test deepCloneMatrix()
+        try {
+            Matrix m3Clone = m3.deepCloneMatrix();
+            System.out.println("Here is a deep clone of the matrix.");
+            m3Clone.printMatrix();
+
+            // test sameDimensions()
+            if (!Matrix.sameDimensions(m3, m3Clone)) {
+                System.out.println("Error: sameDimensions() returned false for a matrix and its clone.");
+                uErrors += 1;
+            }
+
+            // test sameMatrix()
+            if (!Matrix.sameMatrix(m3, m3Clone)) {
+                System.out.println("Error: sameMatrix() returned false for a matrix and its clone.");
+                uErrors += 1;
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: deepCloneMatrix() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test getTranspose()
+        try {
+            Matrix m3Transpose = m3.getTranspose();
+            System.out.println("The matrix has this transpose.");
+            m3Transpose.printMatrix();
+
+            // test sameDimensions()
+            if (Matrix.sameDimensions(m3, m3Transpose)) {
+                System.out.println("Error: sameDimensions() returned true for transposes with different dimensions.");
+                uErrors += 1;
+            }
+        else {
                 // expected result
             }
-            try {
-                m2.setEntry(5, 1, 8);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+
+            // test sameMatrix()
+            if (Matrix.sameMatrix(m3, m3Transpose)) {
+                System.out.println("Error: sameMatrix() returned true for transposes that are different.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test oppositeDimensions()
+            if (!Matrix.oppositeDimensions(m3, m3Transpose)) {
+                System.out.println("Error: oppositeDiimensions() returned false for transposes.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+
+            // test transposes()
+            if (!Matrix.transposes(m3, m3Transpose)) {
+                System.out.println("Error: transposes() returned false for transposes.");
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: getTranspose() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test determinant()
+        Matrix m1x1 = new Matrix(1, 1);
+        Matrix m2x2 = new Matrix(2, 2);
+        Matrix m3x3 = new Matrix(3, 3);
+        Matrix m4x4 = new Matrix(4, 4);
+
+        m1x1.setEntry(1, 1, 5);
+
+        m2x2.setEntry(1, 1, 3);
+        m2x2.setEntry(1, 2, 5);
+        m2x2.setEntry(2, 1, 2);
+        m2x2.setEntry(2, 2, 4);
+
+        m3x3.setEntry(1, 1, 7);
+        m3x3.setEntry(1, 2, 5);
+        m3x3.setEntry(1, 3, 3);
+        m3x3.setEntry(2, 1, 4);
+        m3x3.setEntry(2, 2, 3);
+        m3x3.setEntry(2, 3, 2);
+        m3x3.setEntry(3, 1, 6);
+        m3x3.setEntry(3, 2, 9);
+        m3x3.setEntry(3, 3, 9);
+
+        m4x4.setEntry(1, 1, 1);
+        m4x4.setEntry(1, 2, 2);
+        m4x4.setEntry(1, 3, 4);
+        m4x4.setEntry(1, 4, 8);
+        m4x4.setEntry(2, 1, 9);
+        m4x4.setEntry(2, 2, 7);
+        m4x4.setEntry(2, 3, 5);
+        m4x4.setEntry(2, 4, 3);
+        m4x4.setEntry(3, 1, 6);
+        m4x4.setEntry(3, 2, 4);
+        m4x4.setEntry(3, 3, 3);
+        m4x4.setEntry(3, 4, 2);
+        m4x4.setEntry(4, 1, 1);
+        m4x4.setEntry(4, 2, 6);
+        m4x4.setEntry(4, 3, 9);
+        m4x4.setEntry(4, 4, 9);
+
+        System.out.println("Here are four matrices and their determinants.");
+        int expectedDet;
+        int returnedDet;
+
+        m1x1.printMatrix();
+        expectedDet = 5;
+        try {
+            returnedDet = Matrix.determinant(m1x1);
+            System.out.println("Determinant: " + returnedDet + ".");
+            if (returnedDet != expectedDet) {
+                System.out.println("Error: determinant() returned the wrong determinant.");
+                System.out.println("Correct determinant: " + expectedDet + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        m2x2.printMatrix();
+        expectedDet = 2;
+        try {
+            returnedDet = Matrix.determinant(m2x2);
+            System.out.println("Determinant: " + returnedDet + ".");
+            if (returnedDet != expectedDet) {
+                System.out.println("Error: determinant() returned the wrong determinant.");
+                System.out.println("Correct determinant: " + expectedDet + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        m3x3.printMatrix();
+        expectedDet = -3;
+        try {
+            returnedDet = Matrix.determinant(m3x3);
+            System.out.println("Determinant: " + returnedDet + ".");
+            if (returnedDet != expectedDet) {
+                System.out.println("Error: determinant() returned the wrong determinant.");
+                System.out.println("Correct determinant: " + expectedDet + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        m4x4.printMatrix();
+        expectedDet = 121;
+        try {
+            returnedDet = Matrix.determinant(m4x4);
+            System.out.println("Determinant: " + returnedDet + ".");
+            if (returnedDet != expectedDet) {
+                System.out.println("Error: determinant() returned the wrong determinant.");
+                System.out.println("Correct determinant: " + expectedDet + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test canDot()
+        if (Matrix.canDot(m4x4, m4x4)) {
+            System.out.println("Error: canDot() returned true for two matrices that are not 1xn and nx1.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test sumOfMatrices()
+        Matrix m4 = new Matrix(2, 3);
+        Matrix m5 = new Matrix(2, 3);
+        Matrix mSumExpected = new Matrix(2, 3);
+
+        m4.setEntry(1, 1, 1);
+        m4.setEntry(1, 2, 2);
+        m4.setEntry(1, 3, 3);
+        m4.setEntry(2, 1, 4);
+        m4.setEntry(2, 2, 5);
+        m4.setEntry(2, 3, 6);
+
+        m5.setEntry(1, 1, 7);
+        m5.setEntry(1, 2, 8);
+        m5.setEntry(1, 3, 9);
+        m5.setEntry(2, 1, 1);
+        m5.setEntry(2, 2, 0);
+        m5.setEntry(2, 3, 1);
+
+        mSumExpected.setEntry(1, 1, 8);
+        mSumExpected.setEntry(1, 2, 10);
+        mSumExpected.setEntry(1, 3, 12);
+        mSumExpected.setEntry(2, 1, 5);
+        mSumExpected.setEntry(2, 2, 5);
+        mSumExpected.setEntry(2, 3, 7);
+
+        System.out.println("Here are two matrices.");
+        System.out.println("First matrix.");
+        m4.printMatrix();
+        System.out.println("Second matrix.");
+        m5.printMatrix();
+        System.out.println("Here is their sum.");
+        try {
+            Matrix mSum = Matrix.sumOfMatrices(m4, m5);
+            mSum.printMatrix();
+            if (!Matrix.sameMatrix(mSum, mSumExpected)) {
+                System.out.println("Error: sumOfMatrices() returned the wrong sum.");
+                System.out.println("Correct Sum:");
+                mSumExpected.printMatrix();
+                uErrors += 1;
+            }
+        else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: sumOfMatrices() threw an exception for matrices with the same dimensions.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test canDot()
+        if (Matrix.canDot(m4, m5)) {
+            System.out.println("Error: canDot() returned true for two matrices that are not 1xn and nx1.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test canMultiply()
+        if (Matrix.canMultiply(m4, m5)) {
+            System.out.println("Error: canMultiply() returned true for two matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test dotProduct()
+        System.out.println("Testing catching exception thrown by dotProduct().");
+        try {
+            int badDotProduct = Matrix.dotProduct(m4, m5);
+            System.out.println("Error: dotProduct() did not throw an exception for matrices that cannot have their dot product calculated, but returned " + badDotProduct + ".");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test productOfMatrices()
+        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        try {
+            Matrix badProduct = Matrix.productOfMatrices(m4, m5);
+            System.out.println("Error: productOfMatrices() did not throw an exception for matrices that cannot be multiplied, but returned");
+            badProduct.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test canDot()
+        Matrix mRow1 = new Matrix(1, 3);
+        Matrix mCol1 = new Matrix(3, 1);
+        Matrix mRow2 = new Matrix(1, 2);
+        Matrix mCol2 = new Matrix(2, 1);
+
+        mRow1.setEntry(1, 1, 6);
+        mRow1.setEntry(1, 2, 4);
+        mRow1.setEntry(1, 3, 2);
+
+        mCol1.setEntry(1, 1, 2);
+        mCol1.setEntry(2, 1, 5);
+        mCol1.setEntry(3, 1, 0);
+
+        mRow2.setEntry(1, 1, 7);
+        mRow2.setEntry(1, 2, 3);
+
+        mCol2.setEntry(1, 1, 8);
+        mCol2.setEntry(2, 1, 1);
+
+        if (Matrix.canDot(mRow1, mCol2)) {
+            System.out.println("Error: canDot() returned true for two matrices that do not have opposite dimensions.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+        if (!Matrix.canDot(mRow1, mCol1)) {
+            System.out.println("Error: canDot() returned false for two matrices that can have their dot product calculated.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+        if (!Matrix.canDot(mRow2, mCol2)) {
+            System.out.println("Error: canDot() returned false for two matrices that can have their dot product calculated.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test dotProduct()
+        try {
+            int badDotProduct = Matrix.dotProduct(mRow1, mCol2);
+            System.out.println("Error: dotProduct() did not throw an exception for two matrices that do not have opposite dimensions, but returned " + badDotProduct + ".");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+        }
+
+        int expectedDotProduct;
+        System.out.println("Here are two matrices.");
+        System.out.println("First matrix.");
+        mRow1.printMatrix();
+        System.out.println("Second matrix.");
+        mCol1.printMatrix();
+        try {
+            int dotProduct1 = Matrix.dotProduct(mRow1, mCol1);
+            expectedDotProduct = 32;
+            System.out.println("Their dot product is " + dotProduct1 + ".");
+            if (dotProduct1 != expectedDotProduct) {
+                System.out.println("Error: dotProduct() returned the wrong dot product.");
+                System.out.println("Correct dot product: " + expectedDotProduct + ".");
                 uErrors += 1;
             }
-            catch (Exception e) {
-                // expected result
+        }
+        catch (Exception e) {
+            System.out.println("Error: dotProduct() threw an exception for two matrices that can have their dot product calculated.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Here are two matrices.");
+        System.out.println("First matrix.");
+        mRow2.printMatrix();
+        System.out.println("Second matrix.");
+        mCol2.printMatrix();
+        try {
+            int dotProduct2 = Matrix.dotProduct(mRow2, mCol2);
+            expectedDotProduct = 59;
+            System.out.println("Their dot product is " + dotProduct2 + ".");
+            if (dotProduct2 != expectedDotProduct) {
+                System.out.println("Error: dotProduct() returned the wrong dot product.");
+                System.out.println("Correct dot product: " + expectedDotProduct + ".");
+                uErrors += 1;
             }
-            try {
-                m2.setEntry(1, 5, 8);
-                System.out.println("Error: setEntry() did not throw an exception for an entry that was out of bounds.");
+        }
+        catch (Exception e) {
+            System.out.println("Error: dotProduct() threw an exception for two matrices that can have their dot product calculated.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test sumOfMatrices()
+        System.out.println("Testing catching exception thrown by sumOfMatrices().");
+        try {
+            Matrix badSum = Matrix.sumOfMatrices(mRow1, mCol1);
+            System.out.println("Error: sumOfMatrices() did not throw an exception for matrices of different dimensions, but returned");
+            badSum.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test canMultiply()
+        if (!Matrix.canMultiply(mRow1, mCol1)) {
+            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test canMultiply()
+        Matrix m6 = new Matrix(2, 3);
+        Matrix m7 = new Matrix(3, 2);
+        Matrix mProductExpected1 = new Matrix(2, 2);
+        Matrix mProductExpected2 = new Matrix(3, 3);
+
+        m6.setEntry(1, 1, 2);
+        m6.setEntry(1, 2, 1);
+        m6.setEntry(1, 3, 7);
+        m6.setEntry(2, 1, 6);
+        m6.setEntry(2, 2, 4);
+        m6.setEntry(2, 3, 5);
+
+        m7.setEntry(1, 1, 3);
+        m7.setEntry(1, 2, 2);
+        m7.setEntry(2, 1, 1);
+        m7.setEntry(2, 2, 5);
+        m7.setEntry(3, 1, 8);
+        m7.setEntry(3, 2, 1);
+
+        mProductExpected1.setEntry(1, 1, 63);
+        mProductExpected1.setEntry(1, 2, 16);
+        mProductExpected1.setEntry(2, 1, 62);
+        mProductExpected1.setEntry(2, 2, 37);
+
+        mProductExpected2.setEntry(1, 1, 18);
+        mProductExpected2.setEntry(1, 2, 11);
+        mProductExpected2.setEntry(1, 3, 31);
+        mProductExpected2.setEntry(2, 1, 32);
+        mProductExpected2.setEntry(2, 2, 21);
+        mProductExpected2.setEntry(2, 3, 32);
+        mProductExpected2.setEntry(3, 1, 22);
+        mProductExpected2.setEntry(3, 2, 12);
+        mProductExpected2.setEntry(3, 3, 61);
+
+        if (!Matrix.canMultiply(m6, m7)) {
+            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+        if (!Matrix.canMultiply(m7, m6)) {
+            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
+            uErrors += 1;
+        }
+    else {
+            // expected result
+        }
+
+        // test productOfMatrices()
+        System.out.println("Here are two matrices.");
+        System.out.println("First matrix.");
+        m6.printMatrix();
+        System.out.println("Second matrix.");
+        m7.printMatrix();
+        try {
+            Matrix mProduct1 = Matrix.productOfMatrices(m6, m7);
+            System.out.println("The first matrix multiplied by the second matrix is");
+            mProduct1.printMatrix();
+            if (!Matrix.sameMatrix(mProduct1, mProductExpected1)) {
+                System.out.println("Error: productOfMatrices() returned the wrong product.");
+                System.out.println("Correct product: ");
+                mProductExpected1.printMatrix();
                 uErrors += 1;
             }
-            catch (Exception e) {
+        else {
                 // expected result
             }
-
-            // print the matrix
-            System.out.println("After some changes...");
-            m2.printMatrix();
-
-            // test getEntry()
-            System.out.println("The number at index 1,1 is " + m2.getEntry(1, 1) + ".");
-            System.out.println("The number at index 4,2 is " + m2.getEntry(4, 2) + ".");
-            System.out.println("The number at index 3,4 is " + m2.getEntry(3, 4) + ".");
-            System.out.println("Testing catching exception thrown by getEntry().");
-            try {
-                m2.getEntry(0, 1);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() threw an exception for two matrices that can be multiplied.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        try {
+            Matrix mProduct2 = Matrix.productOfMatrices(m7, m6);
+            System.out.println("The second matrix multiplied by the first matrix is");
+            mProduct2.printMatrix();
+            if (!Matrix.sameMatrix(mProduct2, mProductExpected2)) {
+                System.out.println("Error: productOfMatrices() returned the wrong product.");
+                System.out.println("Correct product: ");
+                mProductExpected2.printMatrix();
                 uErrors += 1;
             }
-            catch (Exception e) {
+        else {
                 // expected result
-                System.out.println("Caught error: " + e.getMessage());
             }
-            try {
-                m2.getEntry(1, 0);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+        }
+        catch (Exception e) {
+            System.out.println("Error: productOfMatrices() threw an exception for two matrices that can be multiplied.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // test power()
+        Matrix mFib = new Matrix(2, 2);
+        mFib.setEntry(1, 1, 1);
+        mFib.setEntry(1, 2, 1);
+        mFib.setEntry(2, 1, 1);
+        mFib.setEntry(2, 2, 0);
+        System.out.println("Here is a matrix whose powers contain the Fibonacci numbers.");
+        mFib.printMatrix();
+        try {
+            Matrix mFibPower = Matrix.power(mFib, 10);
+            System.out.println("The matrix to the power of 10 is");
+            mFibPower.printMatrix();
+            // the 1,2 entry of the nth power is the nth Fibonacci number
+            if (mFibPower.getEntry(1, 2) != 55 || mFibPower.getEntry(1, 1) != 89) {
+                System.out.println("Error: power() returned the wrong power.");
                 uErrors += 1;
             }
-            catch (Exception e) {
+            else {
                 // expected result
             }
-            try {
-                m2.getEntry(5, 1);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+            // compare against repeated productOfMatrices()
+            Matrix mRepeated = m3x3.deepCloneMatrix();
+            for (int i = 1; i < 7; i++) {
+                mRepeated = Matrix.productOfMatrices(mRepeated, m3x3);
+            }
+            if (!Matrix.sameMatrix(Matrix.power(m3x3, 7), mRepeated)) {
+                System.out.println("Error: power() did not match repeated productOfMatrices().");
                 uErrors += 1;
             }
-            catch (Exception e) {
+            else {
                 // expected result
             }
-            try {
-                m2.getEntry(1, 5);
-                System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+            if (!Matrix.power(m3x3, 0).isIdentity()) {
+                System.out.println("Error: power() did not return the identity matrix for k = 0.");
                 uErrors += 1;
             }
-            catch (Exception e) {
+            else {
                 // expected result
             }
+        }
+        catch (Exception e) {
+            System.out.println("Error: power() threw an exception for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
 
-            // test IsZero()
-            if (m2.isZero()) {
-                System.out.println("Error: isZero() returned true for non-zero matrix.");
+        // test powerMod()
+        try {
+            // F(90) = 2880067194370816120, which is 1 modulo 1000000007
+            Matrix mFibMod = Matrix.powerMod(mFib, 90, 1000000007);
+            System.out.println("The matrix to the power of 90 modulo 1000000007 is");
+            mFibMod.printMatrix();
+            if (mFibMod.getEntry(1, 2) != (int) (2880067194370816120L % 1000000007L)) {
+                System.out.println("Error: powerMod() returned the wrong power.");
                 uErrors += 1;
             }
             else {
                 // expected result
             }
+        }
+        catch (Exception e) {
+            System.out.println("Error: powerMod() threw an exception for a square matrix.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
 
-            // test scalarMultiply()
-            m2.scalarMultiply(5);
-            System.out.println("Scalar multiply the matrix by 5.");
-            m2.printMatrix();
-
-            // test transposes()
-            if (Matrix.transposes(m2, m2)) {
-                System.out.println("Error: transposes() returned true when comparing matrices that were not transposes.");
+        // test powerExact()
+        System.out.println("Testing catching exception thrown by powerExact().");
+        try {
+            Matrix badPower = Matrix.powerExact(mFib, 90);
+            System.out.println("Error: powerExact() did not throw an exception for a power that overflows, but returned");
+            badPower.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+        try {
+            if (Matrix.powerExact(mFib, 30).getEntry(1, 2) != 832040) {
+                System.out.println("Error: powerExact() returned the wrong power.");
                 uErrors += 1;
             }
-        else {
+            else {
                 // expected result
             }
+        }
+        catch (Exception e) {
+            System.out.println("Error: powerExact() threw an exception for a power that does not overflow.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        System.out.println("Testing catching exception thrown by power().");
+        try {
+            Matrix badPower = Matrix.power(m6, 2);
+            System.out.println("Error: power() did not throw an exception for a non-square matrix, but returned");
+            badPower.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
 
-            // test makeIdentity()
-            System.out.println("Turn the matrix into an identity matrix.");
+        // test determinantBareiss()
+        Matrix[] detMatrices = {m1x1, m2x2, m3x3, m4x4, mFib};
+        for (Matrix detMatrix : detMatrices) {
             try {
-                m2.makeIdentity();
-                m2.printMatrix();
+                if (Matrix.determinantBareiss(detMatrix) != Matrix.determinant(detMatrix)) {
+                    System.out.println("Error: determinantBareiss() did not match determinant().");
+                    detMatrix.printMatrix();
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
             }
             catch (Exception e) {
-                System.out.println("Error: makeIdentity() threw an exception for a square matrix.");
+                System.out.println("Error: determinantBareiss() threw an exception for a square matrix.");
                 System.out.println("Unintentional Error: " + e.getMessage());
                 uErrors += 1;
             }
+        }
 
-            // test isIdentity()
-            if (m2.isIdentity()) {
-                // expected result
-            }
-            else {
-                System.out.println("Error: isIdentity() returned false for an identity matrix.");
-                uErrors += 1;
-            }
-
-            // test IsZero()
-            if (m2.isZero()) {
-                System.out.println("Error: isZero() returned true for non-zero matrix.");
-                uErrors += 1;
-            }
-            else {
-                // expected result
-            }
+        // the determinant is 2^31 - 1, but the second step multiplies two 2x2 minors near 2^62
+        System.out.println("Testing catching exception thrown by determinantBareiss().");
+        try {
+            Matrix mBareissOverflow = new Matrix(3, 3);
+            mBareissOverflow.setEntry(1, 1, Integer.MAX_VALUE);
+            mBareissOverflow.setEntry(1, 3, 1);
+            mBareissOverflow.setEntry(2, 2, Integer.MAX_VALUE);
+            mBareissOverflow.setEntry(2, 3, 1);
+            mBareissOverflow.setEntry(3, 1, Integer.MAX_VALUE);
+            mBareissOverflow.setEntry(3, 2, Integer.MAX_VALUE - 1);
+            mBareissOverflow.setEntry(3, 3, 2);
+            int bareissDet = Matrix.determinantBareiss(mBareissOverflow);
+            System.out.println("Error: determinantBareiss() did not throw an exception for an intermediate overflow, but returned " + bareissDet);
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
 
-            // test determinant()
+        // test adjugate()
+        Matrix mSingular = new Matrix(3, 3);
+        mSingular.setEntry(1, 1, 1);
+        mSingular.setEntry(1, 2, 2);
+        mSingular.setEntry(1, 3, 3);
+        mSingular.setEntry(2, 1, 4);
+        mSingular.setEntry(2, 2, 5);
+        mSingular.setEntry(2, 3, 6);
+        mSingular.setEntry(3, 1, 7);
+        mSingular.setEntry(3, 2, 8);
+        mSingular.setEntry(3, 3, 9);
+        Matrix[] adjMatrices = {m3x3, m4x4, mSingular};
+        for (Matrix adjMatrix : adjMatrices) {
             try {
-                int m2detIdentity = Matrix.determinant(m2);
-                System.out.println("The determinant of this matrix is " + m2detIdentity + ".");
+                Matrix adj = Matrix.adjugate(adjMatrix);
+                System.out.println("Here is a matrix and its adjugate.");
+                adjMatrix.printMatrix();
+                adj.printMatrix();
+                // m * adjugate(m) must be det(m) * I
+                Matrix mTimesAdj = Matrix.productOfMatrices(adjMatrix, adj);
+                Matrix detTimesIdentity = new Matrix(adjMatrix.getRows(), adjMatrix.getColumns());
+                detTimesIdentity.makeIdentity();
+                detTimesIdentity.scalarMultiply(Matrix.determinant(adjMatrix));
+                // each entry of the adjugate is a signed cofactor
+                Matrix cofactorCheck = new Matrix(1, 1);
+                cofactorCheck.setEntry(1, 1, Matrix.determinant(Matrix.minorMatrix(adjMatrix, 1, 2)) * -1);
+                if (!Matrix.sameMatrix(mTimesAdj, detTimesIdentity) || adj.getEntry(2, 1) != cofactorCheck.getEntry(1, 1)) {
+                    System.out.println("Error: adjugate() returned the wrong adjugate.");
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
             }
             catch (Exception e) {
-                System.out.println("Error: determinant() threw an exception for a square matrix.");
+                System.out.println("Error: adjugate() threw an exception for a square matrix.");
                 System.out.println("Unintentional Error: " + e.getMessage());
                 uErrors += 1;
             }
+        }
 
-            // test makeZero()
-            m2.makeZero();
-            System.out.println("Turn matrix back into a zero matrix.");
-            m2.printMatrix();
-
-            // test isIdentity()
-            if (m2.isIdentity()) {
-                System.out.println("Error: isIdentity() returned true for a zero matrix.");
+        // test inverse()
+        Matrix mUnimodular = new Matrix(3, 3);
+        mUnimodular.setEntry(1, 1, 2);
+        mUnimodular.setEntry(1, 2, 3);
+        mUnimodular.setEntry(1, 3, 1);
+        mUnimodular.setEntry(2, 1, 1);
+        mUnimodular.setEntry(2, 2, 2);
+        mUnimodular.setEntry(2, 3, 1);
+        mUnimodular.setEntry(3, 1, 1);
+        mUnimodular.setEntry(3, 2, 1);
+        mUnimodular.setEntry(3, 3, 1);
+        try {
+            Matrix mInverse = Matrix.inverse(mUnimodular);
+            System.out.println("Here is a matrix with determinant " + Matrix.determinant(mUnimodular) + " and its inverse.");
+            mUnimodular.printMatrix();
+            mInverse.printMatrix();
+            if (!Matrix.productOfMatrices(mUnimodular, mInverse).isIdentity()) {
+                System.out.println("Error: inverse() returned the wrong inverse.");
                 uErrors += 1;
             }
             else {
                 // expected result
             }
-
-            // test IsZero()
-            if (m2.isZero()) {
-                // expected result
-            }
-            else {
-                System.out.println("Error: isZero() returned false for zero matrix.");
-                uErrors += 1;
-            }
-
-            // test determinant()
-            try {
-                int m2detZero = Matrix.determinant(m2);
-                System.out.println("The determinant of this matrix is " + m2detZero + ".");
-            }
-            catch (Exception e) {
-                System.out.println("Error: determinant() threw an exception for a square matrix.");
-                System.out.println("Unintentional Error: " + e.getMessage());
-                uErrors += 1;
-            }
         }
         catch (Exception e) {
-            System.out.println("Error: Matrix() constructor threw an exception even though both parameters were positive.");
+            System.out.println("Error: inverse() threw an exception for a matrix with determinant 1 or -1.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
-
-        // test getRowMatrix() and getColumnMatrix
-        Matrix m3 = new Matrix(3,2);
-        m3.setEntry(1,1,2);
-        m3.setEntry(1,2,5);
-        m3.setEntry(2,1,6);
-        m3.setEntry(2,2,1);
-        m3.setEntry(3,1,2);
-        m3.setEntry(3,2,8);
-        System.out.println("Here is an example matrix.");
-        m3.printMatrix();
+        System.out.println("Testing catching exception thrown by inverse().");
         try {
-            Matrix m3row1 = m3.getRowMatrix(1);
-            Matrix m3row2 = m3.getRowMatrix(2);
-            Matrix m3row3 = m3.getRowMatrix(3);
-            System.out.println("The first row of the matrix is");
-            m3row1.printMatrix();
-            System.out.println("The second row of the matrix is");
-            m3row2.printMatrix();
-            System.out.println("The third row of the matrix is");
-            m3row3.printMatrix();
-        }
-        catch(Exception e) {
-            System.out.println("Error: getRowMatrix() threw an exception for a valid row.");
-            System.out.println("Unintentional Error: " + e.getMessage());
+            Matrix badInverse = Matrix.inverse(m4x4);
+            System.out.println("Error: inverse() did not throw an exception for a matrix without an integer inverse, but returned");
+            badInverse.printMatrix();
             uErrors += 1;
         }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test solve() and solveScaled()
+        Matrix mRhs = new Matrix(3, 1);
+        mRhs.setEntry(1, 1, 1);
+        mRhs.setEntry(2, 1, 2);
+        mRhs.setEntry(3, 1, 3);
         try {
-            Matrix m3col1 = m3.getColumnMatrix(1);
-            Matrix m3col2 = m3.getColumnMatrix(2);
-            System.out.println("The first column of the matrix is");
-            m3col1.printMatrix();
-            System.out.println("The second column of the matrix is");
-            m3col2.printMatrix();
+            Matrix mSolution = Matrix.solve(mUnimodular, mRhs);
+            if (!Matrix.sameMatrix(Matrix.productOfMatrices(mUnimodular, mSolution), mRhs)) {
+                System.out.println("Error: solve() returned the wrong solution.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            Matrix mScaled = Matrix.solveScaled(m3x3, mRhs);
+            Matrix mScaledExpected = Matrix.productOfMatrices(m3x3, mScaled);
+            mRhs.scalarMultiply(Matrix.determinant(m3x3));
+            if (!Matrix.sameMatrix(mScaledExpected, mRhs)) {
+                System.out.println("Error: solveScaled() returned the wrong solution.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
         }
         catch (Exception e) {
-            System.out.println("Error: getColumnMatrix() threw an exception for a valid column.");
+            System.out.println("Error: solve() threw an exception for a nonsingular system.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
-        System.out.println("Testing catching exception thrown by getRowMatrix().");
+        System.out.println("Testing catching exception thrown by solve().");
         try {
-            Matrix m3row0 = m3.getRowMatrix(0);
-            System.out.println("Error: getRowMatrix() did not throw an exception for an invalid row.");
+            Matrix badSolution = Matrix.solve(mSingular, mRhs);
+            System.out.println("Error: solve() did not throw an exception for a singular system, but returned");
+            badSolution.printMatrix();
             uErrors += 1;
         }
         catch (Exception e) {
             // expected result
             System.out.println("Caught error: " + e.getMessage());
         }
-        try {
-            Matrix m3row4 = m3.getRowMatrix(4);
-            System.out.println("Error: getRowMatrix() did not throw an exception for an invalid row.");
+
+        // test rank() and isSingular()
+        if (m4x4.rank() != 4 || mSingular.rank() != 2 || m6.rank() != 2 || new Matrix(3, 5).rank() != 0) {
+            System.out.println("Error: rank() returned the wrong rank.");
             uErrors += 1;
         }
-        catch (Exception e) {
+        else {
             // expected result
         }
-        System.out.println("Testing catching exception thrown by getColumnMatrix().");
-        try {
-            Matrix m3col0 = m3.getColumnMatrix(0);
-            System.out.println("Error: getColumnMatrix() did not throw an exception for an invalid column.");
+        if (m4x4.isSingular() || !mSingular.isSingular()) {
+            System.out.println("Error: isSingular() returned the wrong result.");
             uErrors += 1;
         }
-        catch (Exception e) {
+        else {
             // expected result
-            System.out.println("Caught error: " + e.getMessage());
         }
-        try {
-            Matrix m3col3 = m3.getColumnMatrix(3);
-            System.out.println("Error: getColumnMatrix() did not throw an exception for an invalid column.");
+        // a matrix whose determinant overflows an int still has the right rank
+        Matrix mLarge = new Matrix(4, 4);
+        for (int i = 1; i <= 4; i++) {
+            for (int j = 1; j <= 4; j++) {
+                mLarge.setEntry(i, j, i == j ? 1000000 : (i * j) % 7);
+            }
+        }
+        if (mLarge.rank() != 4) {
+            System.out.println("Error: rank() returned the wrong rank for a matrix with a large determinant.");
             uErrors += 1;
         }
-        catch (Exception e) {
+        else {
             // expected result
         }
 
-        // test deepCloneMatrix()
+        // test rowEchelonForm() and reducedRowEchelonForm()
         try {
-            Matrix m3Clone = m3.deepCloneMatrix();
-            System.out.println("Here is a deep clone of the matrix.");
-            m3Clone.printMatrix();
-
-            // test sameDimensions()
-            if (!Matrix.sameDimensions(m3, m3Clone)) {
-                System.out.println("Error: sameDimensions() returned false for a matrix and its clone.");
+            Matrix mEchelon = Matrix.rowEchelonForm(mSingular);
+            System.out.println("Here is a row echelon form of the singular matrix.");
+            mEchelon.printMatrix();
+            if (mEchelon.getEntry(2, 1) != 0 || mEchelon.getEntry(3, 1) != 0 || mEchelon.getEntry(3, 2) != 0 || mEchelon.getEntry(3, 3) != 0) {
+                System.out.println("Error: rowEchelonForm() did not return a row echelon form.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            Matrix mReduced = Matrix.reducedRowEchelonForm(m6);
+            System.out.println("Here is a fraction-free reduced row echelon form of a 2x3 matrix.");
+            mReduced.printMatrix();
+            if (mReduced.getEntry(1, 2) != 0 || mReduced.getEntry(2, 1) != 0 || mReduced.getEntry(1, 1) != mReduced.getEntry(2, 2)) {
+                System.out.println("Error: reducedRowEchelonForm() did not return a reduced row echelon form.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            Matrix mInPlace = m6.deepCloneMatrix();
+            mInPlace.reducedRowEchelonFormInPlace();
+            if (!Matrix.sameMatrix(mInPlace, mReduced)) {
+                System.out.println("Error: reducedRowEchelonFormInPlace() did not match reducedRowEchelonForm().");
                 uErrors += 1;
             }
+            else {
+                // expected result
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: rowEchelonForm() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
 
-            // test sameMatrix()
-            if (!Matrix.sameMatrix(m3, m3Clone)) {
-                System.out.println("Error: sameMatrix() returned false for a matrix and its clone.");
+        // test nullSpace()
+        try {
+            Matrix mNull = Matrix.nullSpace(mSingular);
+            System.out.println("Here is a basis of the null space of the singular matrix.");
+            mNull.printMatrix();
+            if (mNull.getColumns() != 1 || !Matrix.productOfMatrices(mSingular, mNull).isZero()) {
+                System.out.println("Error: nullSpace() returned the wrong null space.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            Matrix mNull6 = Matrix.nullSpace(m6);
+            if (mNull6.getColumns() != 1 || !Matrix.productOfMatrices(m6, mNull6).isZero()) {
+                System.out.println("Error: nullSpace() returned the wrong null space.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            if (Matrix.nullSpace(m4x4) != null) {
+                System.out.println("Error: nullSpace() did not return null for a nonsingular matrix.");
                 uErrors += 1;
             }
+            else {
+                // expected result
+            }
         }
         catch (Exception e) {
-            System.out.println("Error: deepCloneMatrix() threw an exception.");
+            System.out.println("Error: nullSpace() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        // test getTranspose()
+        // test hermiteNormalForm()
+        Matrix mLattice = new Matrix(3, 3);
+        mLattice.setEntry(1, 1, 2);
+        mLattice.setEntry(1, 2, 3);
+        mLattice.setEntry(1, 3, 6);
+        mLattice.setEntry(2, 1, 2);
+        mLattice.setEntry(2, 2, 4);
+        mLattice.setEntry(2, 3, 5);
+        mLattice.setEntry(3, 1, 0);
+        mLattice.setEntry(3, 2, 2);
+        mLattice.setEntry(3, 3, 8);
+        Matrix mHermiteExpected = new Matrix(3, 3);
+        mHermiteExpected.setEntry(1, 1, 2);
+        mHermiteExpected.setEntry(1, 3, 9);
+        mHermiteExpected.setEntry(2, 2, 1);
+        mHermiteExpected.setEntry(2, 3, 9);
+        mHermiteExpected.setEntry(3, 3, 10);
         try {
-            Matrix m3Transpose = m3.getTranspose();
-            System.out.println("The matrix has this transpose.");
-            m3Transpose.printMatrix();
-
-            // test sameDimensions()
-            if (Matrix.sameDimensions(m3, m3Transpose)) {
-                System.out.println("Error: sameDimensions() returned true for transposes with different dimensions.");
+            Matrix mHermite = Matrix.hermiteNormalForm(mLattice);
+            System.out.println("Here is a matrix and its Hermite normal form.");
+            mLattice.printMatrix();
+            mHermite.printMatrix();
+            Matrix[] mHermiteTransform = Matrix.hermiteNormalFormWithTransform(mLattice);
+            if (!Matrix.sameMatrix(mHermite, mHermiteExpected) || !Matrix.sameMatrix(mHermiteTransform[0], mHermiteExpected)) {
+                System.out.println("Error: hermiteNormalForm() returned the wrong Hermite normal form.");
+                System.out.println("Correct Hermite normal form:");
+                mHermiteExpected.printMatrix();
                 uErrors += 1;
             }
-        else {
+            else if (!Matrix.sameMatrix(Matrix.productOfMatrices(mHermiteTransform[1], mLattice), mHermiteExpected)) {
+                System.out.println("Error: hermiteNormalFormWithTransform() returned the wrong transformation.");
+                uErrors += 1;
+            }
+            else {
                 // expected result
             }
-
-            // test sameMatrix()
-            if (Matrix.sameMatrix(m3, m3Transpose)) {
-                System.out.println("Error: sameMatrix() returned true for transposes that are different.");
+            // a singular non-square matrix uses the non-modular algorithm
+            if (!Matrix.sameMatrix(Matrix.hermiteNormalForm(m6), Matrix.hermiteNormalFormWithTransform(m6)[0])) {
+                System.out.println("Error: hermiteNormalForm() returned the wrong Hermite normal form for a non-square matrix.");
                 uErrors += 1;
             }
-        else {
+            else {
                 // expected result
             }
+        }
+        catch (Exception e) {
+            System.out.println("Error: hermiteNormalForm() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
 
-            // test oppositeDimensions()
-            if (!Matrix.oppositeDimensions(m3, m3Transpose)) {
-                System.out.println("Error: oppositeDiimensions() returned false for transposes.");
+        // test smithNormalForm()
+        try {
+            Matrix mSmith = Matrix.smithNormalForm(mLattice);
+            System.out.println("Here is the Smith normal form of the matrix.");
+            mSmith.printMatrix();
+            Matrix mSmithExpected = new Matrix(3, 3);
+            mSmithExpected.setEntry(1, 1, 1);
+            mSmithExpected.setEntry(2, 2, 1);
+            mSmithExpected.setEntry(3, 3, 20);
+            Matrix[] mSmithTransform = Matrix.smithNormalFormWithTransform(mLattice);
+            Matrix uTimesMTimesV = Matrix.productOfMatrices(Matrix.productOfMatrices(mSmithTransform[1], mLattice), mSmithTransform[2]);
+            if (!Matrix.sameMatrix(mSmith, mSmithExpected) || !Matrix.sameMatrix(mSmithTransform[0], mSmithExpected)) {
+                System.out.println("Error: smithNormalForm() returned the wrong Smith normal form.");
                 uErrors += 1;
             }
-        else {
+            else if (!Matrix.sameMatrix(uTimesMTimesV, mSmithExpected)) {
+                System.out.println("Error: smithNormalFormWithTransform() returned the wrong transformations.");
+                uErrors += 1;
+            }
+            else {
                 // expected result
             }
-
-            // test transposes()
-            if (!Matrix.transposes(m3, m3Transpose)) {
-                System.out.println("Error: transposes() returned false for transposes.");
+            Matrix mSmith6 = Matrix.smithNormalForm(m6);
+            if (mSmith6.getEntry(1, 1) != 1 || mSmith6.getEntry(2, 2) != 1 || mSmith6.getEntry(1, 2) != 0) {
+                System.out.println("Error: smithNormalForm() returned the wrong Smith normal form for a non-square matrix.");
+                mSmith6.printMatrix();
                 uErrors += 1;
             }
-        else {
+            else {
                 // expected result
             }
         }
         catch (Exception e) {
-            System.out.println("Error: getTranspose() threw an exception.");
+            System.out.println("Error: smithNormalForm() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        // test determinant()
-        Matrix m1x1 = new Matrix(1, 1);
-        Matrix m2x2 = new Matrix(2, 2);
-        Matrix m3x3 = new Matrix(3, 3);
-        Matrix m4x4 = new Matrix(4, 4);
-
-        m1x1.setEntry(1, 1, 5);
-
-        m2x2.setEntry(1, 1, 3);
-        m2x2.setEntry(1, 2, 5);
-        m2x2.setEntry(2, 1, 2);
-        m2x2.setEntry(2, 2, 4);
-
-        m3x3.setEntry(1, 1, 7);
-        m3x3.setEntry(1, 2, 5);
-        m3x3.setEntry(1, 3, 3);
-        m3x3.setEntry(2, 1, 4);
-        m3x3.setEntry(2, 2, 3);
-        m3x3.setEntry(2, 3, 2);
-        m3x3.setEntry(3, 1, 6);
-        m3x3.setEntry(3, 2, 9);
-        m3x3.setEntry(3, 3, 9);
-
-        m4x4.setEntry(1, 1, 1);
-        m4x4.setEntry(1, 2, 2);
-        m4x4.setEntry(1, 3, 4);
-        m4x4.setEntry(1, 4, 8);
-        m4x4.setEntry(2, 1, 9);
-        m4x4.setEntry(2, 2, 7);
-        m4x4.setEntry(2, 3, 5);
-        m4x4.setEntry(2, 4, 3);
-        m4x4.setEntry(3, 1, 6);
-        m4x4.setEntry(3, 2, 4);
-        m4x4.setEntry(3, 3, 3);
-        m4x4.setEntry(3, 4, 2);
-        m4x4.setEntry(4, 1, 1);
-        m4x4.setEntry(4, 2, 6);
-        m4x4.setEntry(4, 3, 9);
-        m4x4.setEntry(4, 4, 9);
-
-        System.out.println("Here are four matrices and their determinants.");
-        int expectedDet;
-        int returnedDet;
+        // the determinant is p1 * p2 * p3 + 1 for three primes near 2^31, so it is 1 modulo each of them,
+        // both normal forms have a diagonal entry that does not fit in an int and must not come out as the identity
+        Matrix mLargeDet = new Matrix(3, 3);
+        mLargeDet.setEntry(1, 1, 2147483647);
+        mLargeDet.setEntry(1, 2, 1);
+        mLargeDet.setEntry(2, 2, 2147483629);
+        mLargeDet.setEntry(2, 3, 1);
+        mLargeDet.setEntry(3, 1, 1);
+        mLargeDet.setEntry(3, 3, 2147483587);
+        System.out.println("Testing catching exception thrown by hermiteNormalForm().");
+        try {
+            Matrix mLargeHermite = Matrix.hermiteNormalForm(mLargeDet);
+            System.out.println("Error: hermiteNormalForm() did not throw an exception for a determinant that does not fit in a long, but returned:");
+            mLargeHermite.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+        System.out.println("Testing catching exception thrown by smithNormalForm().");
+        try {
+            Matrix mLargeSmith = Matrix.smithNormalForm(mLargeDet);
+            System.out.println("Error: smithNormalForm() did not throw an exception for a determinant that does not fit in a long, but returned:");
+            mLargeSmith.printMatrix();
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
 
-        m1x1.printMatrix();
-        expectedDet = 5;
+        // exact elimination on the entries of this matrix overflows a long, but its invariant factors are all 1
+        int[][] tallEntries = {{52, 1, 49, -38}, {46, 31, 21, -35}, {53, -40, 47, 5}, {-21, -21, -35, -12}, {36, -25, -21, -48}, {34, -45, -25, 48}};
+        Matrix mSmithTall = new Matrix(6, 4);
+        for (int i = 1; i <= 6; i++) {
+            for (int j = 1; j <= 4; j++) {
+                mSmithTall.setEntry(i, j, tallEntries[i - 1][j - 1]);
+            }
+        }
         try {
-            returnedDet = Matrix.determinant(m1x1);
-            System.out.println("Determinant: " + returnedDet + ".");
-            if (returnedDet != expectedDet) {
-                System.out.println("Error: determinant() returned the wrong determinant.");
-                System.out.println("Correct determinant: " + expectedDet + ".");
+            Matrix mSmithTallForm = Matrix.smithNormalForm(mSmithTall);
+            Matrix mSmithWideForm = Matrix.smithNormalForm(mSmithTall.getTranspose());
+            Matrix mSmithTallExpected = new Matrix(6, 4);
+            for (int i = 1; i <= 4; i++) {
+                mSmithTallExpected.setEntry(i, i, 1);
+            }
+            if (!Matrix.sameMatrix(mSmithTallForm, mSmithTallExpected) || !Matrix.transposes(mSmithWideForm, mSmithTallExpected)) {
+                System.out.println("Error: smithNormalForm() returned the wrong Smith normal form for a 6x4 matrix.");
+                mSmithTallForm.printMatrix();
                 uErrors += 1;
             }
             else {
@@ -1384,19 +6011,46 @@ public class Matrix {
             }
         }
         catch (Exception e) {
-            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Error: smithNormalForm() threw an exception for a 6x4 matrix.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        m2x2.printMatrix();
-        expectedDet = 2;
+        // test hermiteNormalFormWithTransform() and smithNormalFormWithTransform() on random 8x8 and 8x11 matrices,
+        // whose transformations overflow unless the coefficient growth is kept down
         try {
-            returnedDet = Matrix.determinant(m2x2);
-            System.out.println("Determinant: " + returnedDet + ".");
-            if (returnedDet != expectedDet) {
-                System.out.println("Error: determinant() returned the wrong determinant.");
-                System.out.println("Correct determinant: " + expectedDet + ".");
+            java.util.Random random = new java.util.Random(29);
+            int failures = 0;
+            for (int t = 0; t < 90; t++) {
+                Matrix mRandom = new Matrix(8, t % 3 == 2 ? 11 : 8);
+                for (int i = 1; i <= mRandom.getRows(); i++) {
+                    for (int j = 1; j <= mRandom.getColumns(); j++) {
+                        mRandom.setEntry(i, j, random.nextInt(19) - 9);
+                    }
+                }
+                if (t % 3 == 1) {
+                    for (int j = 1; j <= 8; j++) {
+                        mRandom.setEntry(8, j, mRandom.getEntry(1, j) - 2 * mRandom.getEntry(2, j));
+                    }
+                }
+                else {
+                    // pass
+                }
+                Matrix[] hermite = Matrix.hermiteNormalFormWithTransform(mRandom);
+                Matrix[] smith = Matrix.smithNormalFormWithTransform(mRandom);
+                if (!Matrix.sameMatrix(hermite[0], Matrix.hermiteNormalForm(mRandom))
+                        || !Matrix.sameMatrix(Matrix.productOfMatrices(hermite[1], mRandom), hermite[0])) {
+                    failures += 1;
+                }
+                else if (!Matrix.sameMatrix(Matrix.productOfMatrices(Matrix.productOfMatrices(smith[1], mRandom), smith[2]), smith[0])) {
+                    failures += 1;
+                }
+                else {
+                    // expected result
+                }
+            }
+            if (failures > 0) {
+                System.out.println("Error: the normal forms with transformations were wrong for " + failures + " random matrices.");
                 uErrors += 1;
             }
             else {
@@ -1404,19 +6058,34 @@ public class Matrix {
             }
         }
         catch (Exception e) {
-            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Error: a normal form with transformations threw an exception for a random matrix.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        m3x3.printMatrix();
-        expectedDet = -3;
+        // test sumAll()
         try {
-            returnedDet = Matrix.determinant(m3x3);
-            System.out.println("Determinant: " + returnedDet + ".");
-            if (returnedDet != expectedDet) {
-                System.out.println("Error: determinant() returned the wrong determinant.");
-                System.out.println("Correct determinant: " + expectedDet + ".");
+            java.util.Random random = new java.util.Random(35);
+            java.util.List<Matrix> summands = new java.util.ArrayList<>();
+            Matrix mSumFold = new Matrix(12, 9);
+            for (int k = 0; k < 2000; k++) {
+                Matrix summand = new Matrix(12, 9);
+                for (int i = 1; i <= 12; i++) {
+                    for (int j = 1; j <= 9; j++) {
+                        summand.setEntry(i, j, random.nextInt(2001) - 1000);
+                    }
+                }
+                summands.add(summand);
+                mSumFold = Matrix.sumOfMatrices(mSumFold, summand);
+            }
+            Matrix mSumAll = Matrix.sumAll(summands);
+            Matrix mSumOne = Matrix.sumAll(java.util.List.of(m3x3));
+            if (!Matrix.sameMatrix(mSumAll, mSumFold)) {
+                System.out.println("Error: sumAll() returned the wrong sum.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(mSumOne, m3x3) || mSumOne == m3x3) {
+                System.out.println("Error: sumAll() did not return a copy of a single matrix.");
                 uErrors += 1;
             }
             else {
@@ -1424,19 +6093,47 @@ public class Matrix {
             }
         }
         catch (Exception e) {
-            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Error: sumAll() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        m4x4.printMatrix();
-        expectedDet = 121;
+        System.out.println("Testing catching exception thrown by sumAll().");
         try {
-            returnedDet = Matrix.determinant(m4x4);
-            System.out.println("Determinant: " + returnedDet + ".");
-            if (returnedDet != expectedDet) {
-                System.out.println("Error: determinant() returned the wrong determinant.");
-                System.out.println("Correct determinant: " + expectedDet + ".");
+            Matrix.sumAll(java.util.List.of(m3x3, m6));
+            System.out.println("Error: sumAll() did not throw an exception for matrices with different dimensions.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test productAll()
+        try {
+            java.util.Random random = new java.util.Random(36);
+            java.util.List<Matrix> factors = new java.util.ArrayList<>();
+            int previousColumns = 7;
+            Matrix mProductFold = null;
+            for (int k = 0; k < 60; k++) {
+                int factorColumns = 3 + random.nextInt(30);
+                Matrix factor = new Matrix(previousColumns, factorColumns);
+                for (int i = 1; i <= previousColumns; i++) {
+                    for (int j = 1; j <= factorColumns; j++) {
+                        factor.setEntry(i, j, random.nextInt(7) - 3);
+                    }
+                }
+                factors.add(factor);
+                mProductFold = mProductFold == null ? factor : Matrix.productOfMatrices(mProductFold, factor);
+                previousColumns = factorColumns;
+            }
+            Matrix mProductAll = Matrix.productAll(factors);
+            if (!Matrix.sameMatrix(mProductAll, mProductFold)) {
+                System.out.println("Error: productAll() returned the wrong product.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(Matrix.productAll(java.util.List.of(m6, m7)), Matrix.productOfMatrices(m6, m7))) {
+                System.out.println("Error: productAll() returned the wrong product for two matrices.");
                 uErrors += 1;
             }
             else {
@@ -1444,107 +6141,242 @@ public class Matrix {
             }
         }
         catch (Exception e) {
-            System.out.println("Error: determinant() threw an error for a square matrix.");
+            System.out.println("Error: productAll() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        // test canDot()
-        if (Matrix.canDot(m4x4, m4x4)) {
-            System.out.println("Error: canDot() returned true for two matrices that are not 1xn and nx1.");
+        System.out.println("Testing catching exception thrown by productAll().");
+        try {
+            Matrix.productAll(java.util.List.of(m6, m6));
+            System.out.println("Error: productAll() did not throw an exception for matrices that cannot be multiplied.");
             uErrors += 1;
         }
-    else {
+        catch (Exception e) {
             // expected result
+            System.out.println("Caught error: " + e.getMessage());
         }
 
-        // test sumOfMatrices()
-        Matrix m4 = new Matrix(2, 3);
-        Matrix m5 = new Matrix(2, 3);
-        Matrix mSumExpected = new Matrix(2, 3);
-
-        m4.setEntry(1, 1, 1);
-        m4.setEntry(1, 2, 2);
-        m4.setEntry(1, 3, 3);
-        m4.setEntry(2, 1, 4);
-        m4.setEntry(2, 2, 5);
-        m4.setEntry(2, 3, 6);
-
-        m5.setEntry(1, 1, 7);
-        m5.setEntry(1, 2, 8);
-        m5.setEntry(1, 3, 9);
-        m5.setEntry(2, 1, 1);
-        m5.setEntry(2, 2, 0);
-        m5.setEntry(2, 3, 1);
-
-        mSumExpected.setEntry(1, 1, 8);
-        mSumExpected.setEntry(1, 2, 10);
-        mSumExpected.setEntry(1, 3, 12);
-        mSumExpected.setEntry(2, 1, 5);
-        mSumExpected.setEntry(2, 2, 5);
-        mSumExpected.setEntry(2, 3, 7);
-
-        System.out.println("Here are two matrices.");
-        System.out.println("First matrix.");
-        m4.printMatrix();
-        System.out.println("Second matrix.");
-        m5.printMatrix();
-        System.out.println("Here is their sum.");
+        // test chainProduct() and chainOrder()
         try {
-            Matrix mSum = Matrix.sumOfMatrices(m4, m5);
-            mSum.printMatrix();
-            if (!Matrix.sameMatrix(mSum, mSumExpected)) {
-                System.out.println("Error: sumOfMatrices() returned the wrong sum.");
-                System.out.println("Correct Sum:");
-                mSumExpected.printMatrix();
+            java.util.Random random = new java.util.Random(37);
+            int[] chainDimensions = {30, 35, 15, 5, 10, 20, 25};
+            java.util.List<Matrix> chain = new java.util.ArrayList<>();
+            for (int k = 0; k + 1 < chainDimensions.length; k++) {
+                Matrix factor = new Matrix(chainDimensions[k], chainDimensions[k + 1]);
+                for (int i = 1; i <= factor.getRows(); i++) {
+                    for (int j = 1; j <= factor.getColumns(); j++) {
+                        factor.setEntry(i, j, random.nextInt(11) - 5);
+                    }
+                }
+                chain.add(factor);
+            }
+            Matrix mChainFold = chain.get(0);
+            for (int k = 1; k < chain.size(); k++) {
+                mChainFold = Matrix.productOfMatrices(mChainFold, chain.get(k));
+            }
+            String order = Matrix.chainOrder(chain);
+            System.out.println("The best order to multiply the chain is " + order);
+            if (!order.equals("((A1(A2A3))((A4A5)A6))")) {
+                System.out.println("Error: chainOrder() returned the wrong order.");
                 uErrors += 1;
             }
-        else {
+            else if (!Matrix.sameMatrix(Matrix.chainProduct(chain), mChainFold)) {
+                System.out.println("Error: chainProduct() returned the wrong product.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(Matrix.chainProduct(java.util.List.of(m6, m7, m6)), Matrix.productOfMatrices(Matrix.productOfMatrices(m6, m7), m6))) {
+                System.out.println("Error: chainProduct() returned the wrong product for three matrices.");
+                uErrors += 1;
+            }
+            else if (!Matrix.chainOrder(java.util.List.of(m3x3)).equals("A1") || !Matrix.sameMatrix(Matrix.chainProduct(java.util.List.of(m3x3)), m3x3)) {
+                System.out.println("Error: chainProduct() returned the wrong product for a single matrix.");
+                uErrors += 1;
+            }
+            else {
                 // expected result
             }
         }
         catch (Exception e) {
-            System.out.println("Error: sumOfMatrices() threw an exception for matrices with the same dimensions.");
+            System.out.println("Error: chainProduct() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing catching exception thrown by chainProduct().");
+        try {
+            Matrix.chainProduct(java.util.List.of(m6, m7, m7));
+            System.out.println("Error: chainProduct() did not throw an exception for matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test productWithTranspose() and transposeProduct()
+        try {
+            java.util.Random random = new java.util.Random(38);
+            Matrix mTall = new Matrix(120, 70);
+            for (int i = 1; i <= 120; i++) {
+                for (int j = 1; j <= 70; j++) {
+                    mTall.setEntry(i, j, random.nextInt(201) - 100);
+                }
+            }
+            Matrix[] gramInputs = {m1x1, m3x3, m6, m7, mTall};
+            for (Matrix gramInput : gramInputs) {
+                Matrix gramRows = Matrix.productWithTranspose(gramInput);
+                Matrix gramColumns = Matrix.transposeProduct(gramInput);
+                if (!Matrix.sameMatrix(gramRows, Matrix.productOfMatrices(gramInput, gramInput.getTranspose()))) {
+                    System.out.println("Error: productWithTranspose() returned the wrong product.");
+                    uErrors += 1;
+                }
+                else if (!Matrix.sameMatrix(gramColumns, Matrix.productOfMatrices(gramInput.getTranspose(), gramInput))) {
+                    System.out.println("Error: transposeProduct() returned the wrong product.");
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
+            }
+            System.out.println("Here is the product of a matrix and its transpose.");
+            Matrix.productWithTranspose(m6).printMatrix();
+        }
+        catch (Exception e) {
+            System.out.println("Error: productWithTranspose() or transposeProduct() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
-
-        // test canDot()
-        if (Matrix.canDot(m4, m5)) {
-            System.out.println("Error: canDot() returned true for two matrices that are not 1xn and nx1.");
+
+        // test multiply() and multiplyTransposed() on vectors
+        try {
+            java.util.Random random = new java.util.Random(39);
+            Matrix mTallVector = new Matrix(3000, 40);
+            for (int i = 1; i <= 3000; i++) {
+                for (int j = 1; j <= 40; j++) {
+                    mTallVector.setEntry(i, j, random.nextInt(201) - 100);
+                }
+            }
+            Matrix[] vectorInputs = {m1x1, m3x3, m6, m7, mTallVector};
+            for (Matrix vectorInput : vectorInputs) {
+                int[][] xs = new int[3][vectorInput.getColumns()];
+                int[][] xsTransposed = new int[3][vectorInput.getRows()];
+                Matrix xMatrix = new Matrix(vectorInput.getColumns(), 3);
+                Matrix xMatrixTransposed = new Matrix(vectorInput.getRows(), 3);
+                for (int v = 0; v < 3; v++) {
+                    for (int j = 0; j < vectorInput.getColumns(); j++) {
+                        xs[v][j] = random.nextInt(21) - 10;
+                        xMatrix.setEntry(j + 1, v + 1, xs[v][j]);
+                    }
+                    for (int i = 0; i < vectorInput.getRows(); i++) {
+                        xsTransposed[v][i] = random.nextInt(21) - 10;
+                        xMatrixTransposed.setEntry(i + 1, v + 1, xsTransposed[v][i]);
+                    }
+                }
+                Matrix expectedProducts = Matrix.productOfMatrices(vectorInput, xMatrix);
+                Matrix expectedTransposedProducts = Matrix.productOfMatrices(vectorInput.getTranspose(), xMatrixTransposed);
+                // the output vectors start with garbage in them to check that they are overwritten
+                int[][] ys = new int[3][vectorInput.getRows()];
+                int[][] ysTransposed = new int[3][vectorInput.getColumns()];
+                for (int v = 0; v < 3; v++) {
+                    java.util.Arrays.fill(ys[v], 7);
+                    java.util.Arrays.fill(ysTransposed[v], 7);
+                }
+                vectorInput.multiply(xs, ys);
+                vectorInput.multiplyTransposed(xsTransposed, ysTransposed);
+                int[] y = vectorInput.multiply(xs[1]);
+                int[] yTransposed = vectorInput.multiplyTransposed(xsTransposed[1]);
+                boolean correct = true;
+                for (int v = 0; v < 3; v++) {
+                    for (int i = 0; i < vectorInput.getRows(); i++) {
+                        correct &= ys[v][i] == expectedProducts.getEntry(i + 1, v + 1);
+                    }
+                    for (int j = 0; j < vectorInput.getColumns(); j++) {
+                        correct &= ysTransposed[v][j] == expectedTransposedProducts.getEntry(j + 1, v + 1);
+                    }
+                }
+                if (!correct) {
+                    System.out.println("Error: multiply() or multiplyTransposed() returned the wrong products for several vectors.");
+                    uErrors += 1;
+                }
+                else if (!java.util.Arrays.equals(y, ys[1]) || !java.util.Arrays.equals(yTransposed, ysTransposed[1])) {
+                    System.out.println("Error: multiply() or multiplyTransposed() returned the wrong product for a vector.");
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
+            }
+        }
+        catch (Exception e) {
+            System.out.println("Error: multiply() or multiplyTransposed() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
-    else {
-            // expected result
-        }
 
-        // test canMultiply()
-        if (Matrix.canMultiply(m4, m5)) {
-            System.out.println("Error: canMultiply() returned true for two matrices that cannot be multiplied.");
+        System.out.println("Testing catching exception thrown by multiply().");
+        try {
+            m6.multiply(new int[2]);
+            System.out.println("Error: multiply() did not throw an exception for a vector of the wrong length.");
             uErrors += 1;
         }
-    else {
+        catch (Exception e) {
             // expected result
+            System.out.println("Caught error: " + e.getMessage());
         }
 
-        // test dotProduct()
-        System.out.println("Testing catching exception thrown by dotProduct().");
+        // test getTranspose() and transposeInPlace()
         try {
-            int badDotProduct = Matrix.dotProduct(m4, m5);
-            System.out.println("Error: dotProduct() did not throw an exception for matrices that cannot have their dot product calculated, but returned " + badDotProduct + ".");
-            uErrors += 1;
+            java.util.Random random = new java.util.Random(40);
+            int[][] transposeShapes = {{1, 1}, {1, 7}, {7, 1}, {3, 5}, {40, 40}, {70, 130}, {129, 33}};
+            for (int[] shape : transposeShapes) {
+                Matrix mShape = new Matrix(shape[0], shape[1]);
+                int[] flat = new int[shape[0] * shape[1]];
+                for (int i = 1; i <= shape[0]; i++) {
+                    for (int j = 1; j <= shape[1]; j++) {
+                        mShape.setEntry(i, j, random.nextInt(1000));
+                        flat[(i - 1) * shape[1] + (j - 1)] = mShape.getEntry(i, j);
+                    }
+                }
+                Matrix mShapeTranspose = mShape.getTranspose();
+                Matrix.transposeInPlace(flat, shape[0], shape[1]);
+                boolean correct = mShapeTranspose.getRows() == shape[1] && mShapeTranspose.getColumns() == shape[0];
+                for (int i = 1; i <= shape[0] && correct; i++) {
+                    for (int j = 1; j <= shape[1]; j++) {
+                        correct &= mShapeTranspose.getEntry(j, i) == mShape.getEntry(i, j);
+                        correct &= flat[(j - 1) * shape[0] + (i - 1)] == mShape.getEntry(i, j);
+                    }
+                }
+                if (!correct) {
+                    System.out.println("Error: getTranspose() or transposeInPlace() returned the wrong transpose for a " + shape[0] + "x" + shape[1] + " matrix.");
+                    uErrors += 1;
+                }
+                else if (mShape.isSquare()) {
+                    ImmutableMatrix mShapeFrozen = mShape.freeze();
+                    mShape.transposeInPlace();
+                    if (!Matrix.sameMatrix(mShape, mShapeTranspose) || !Matrix.transposes(mShapeFrozen.toMutable(), mShape)) {
+                        System.out.println("Error: transposeInPlace() returned the wrong transpose for a square matrix.");
+                        uErrors += 1;
+                    }
+                    else {
+                        // expected result
+                    }
+                }
+                else {
+                    // expected result
+                }
+            }
         }
         catch (Exception e) {
-            // expected result
-            System.out.println("Caught error: " + e.getMessage());
+            System.out.println("Error: getTranspose() or transposeInPlace() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
         }
 
-        // test productOfMatrices()
-        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        System.out.println("Testing catching exception thrown by transposeInPlace().");
         try {
-            Matrix badProduct = Matrix.productOfMatrices(m4, m5);
-            System.out.println("Error: productOfMatrices() did not throw an exception for matrices that cannot be multiplied, but returned");
-            badProduct.printMatrix();
+            m6.deepCloneMatrix().transposeInPlace();
+            System.out.println("Error: transposeInPlace() did not throw an exception for a matrix that is not square.");
             uErrors += 1;
         }
         catch (Exception e) {
@@ -1552,107 +6384,138 @@ public class Matrix {
             System.out.println("Caught error: " + e.getMessage());
         }
 
-        // test canDot()
-        Matrix mRow1 = new Matrix(1, 3);
-        Matrix mCol1 = new Matrix(3, 1);
-        Matrix mRow2 = new Matrix(1, 2);
-        Matrix mCol2 = new Matrix(2, 1);
-
-        mRow1.setEntry(1, 1, 6);
-        mRow1.setEntry(1, 2, 4);
-        mRow1.setEntry(1, 3, 2);
-
-        mCol1.setEntry(1, 1, 2);
-        mCol1.setEntry(2, 1, 5);
-        mCol1.setEntry(3, 1, 0);
-
-        mRow2.setEntry(1, 1, 7);
-        mRow2.setEntry(1, 2, 3);
-
-        mCol2.setEntry(1, 1, 8);
-        mCol2.setEntry(2, 1, 1);
-
-        if (Matrix.canDot(mRow1, mCol2)) {
-            System.out.println("Error: canDot() returned true for two matrices that do not have opposite dimensions.");
-            uErrors += 1;
-        }
-    else {
-            // expected result
-        }
-        if (!Matrix.canDot(mRow1, mCol1)) {
-            System.out.println("Error: canDot() returned false for two matrices that can have their dot product calculated.");
-            uErrors += 1;
-        }
-    else {
-            // expected result
+        // test verifyProduct() and faultyRows()
+        try {
+            java.util.Random random = new java.util.Random(49);
+            Matrix mVerifyA = new Matrix(60, 45);
+            Matrix mVerifyB = new Matrix(45, 50);
+            for (int i = 1; i <= 60; i++) {
+                for (int j = 1; j <= 45; j++) {
+                    mVerifyA.setEntry(i, j, random.nextInt());
+                }
+            }
+            for (int i = 1; i <= 45; i++) {
+                for (int j = 1; j <= 50; j++) {
+                    mVerifyB.setEntry(i, j, random.nextInt());
+                }
+            }
+            // the entries are large enough that the product wraps around
+            Matrix mVerifyC = Matrix.productOfMatrices(mVerifyA, mVerifyB);
+            if (!Matrix.verifyProduct(mVerifyA, mVerifyB, mVerifyC, 10) || Matrix.faultyRows(mVerifyA, mVerifyB, mVerifyC, 10).length != 0) {
+                System.out.println("Error: verifyProduct() or faultyRows() rejected a correct product.");
+                uErrors += 1;
+            }
+            else if (!Matrix.verifyProduct(m6, m7, Matrix.productOfMatrices(m6, m7), 5)) {
+                System.out.println("Error: verifyProduct() rejected a correct small product.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+            mVerifyC.setEntry(7, 3, mVerifyC.getEntry(7, 3) + 1);
+            mVerifyC.setEntry(42, 50, mVerifyC.getEntry(42, 50) - 5);
+            int[] mFaultyRows = Matrix.faultyRows(mVerifyA, mVerifyB, mVerifyC, 20);
+            if (Matrix.verifyProduct(mVerifyA, mVerifyB, mVerifyC, 20)) {
+                System.out.println("Error: verifyProduct() accepted a wrong product.");
+                uErrors += 1;
+            }
+            else if (!java.util.Arrays.equals(mFaultyRows, new int[] {7, 42})) {
+                System.out.println("Error: faultyRows() returned the wrong rows: " + java.util.Arrays.toString(mFaultyRows));
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
         }
-        if (!Matrix.canDot(mRow2, mCol2)) {
-            System.out.println("Error: canDot() returned false for two matrices that can have their dot product calculated.");
+        catch (Exception e) {
+            System.out.println("Error: verifyProduct() or faultyRows() threw an exception.");
+            System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
-    else {
-            // expected result
-        }
 
-        // test dotProduct()
+        System.out.println("Testing catching exception thrown by verifyProduct().");
         try {
-            int badDotProduct = Matrix.dotProduct(mRow1, mCol2);
-            System.out.println("Error: dotProduct() did not throw an exception for two matrices that do not have opposite dimensions, but returned " + badDotProduct + ".");
+            Matrix.verifyProduct(m6, m7, m6, 5);
+            System.out.println("Error: verifyProduct() did not throw an exception for a product with the wrong dimensions.");
             uErrors += 1;
         }
         catch (Exception e) {
             // expected result
+            System.out.println("Caught error: " + e.getMessage());
         }
 
-        int expectedDotProduct;
-        System.out.println("Here are two matrices.");
-        System.out.println("First matrix.");
-        mRow1.printMatrix();
-        System.out.println("Second matrix.");
-        mCol1.printMatrix();
+        // test kronecker() and kroneckerMultiply()
         try {
-            int dotProduct1 = Matrix.dotProduct(mRow1, mCol1);
-            expectedDotProduct = 32;
-            System.out.println("Their dot product is " + dotProduct1 + ".");
-            if (dotProduct1 != expectedDotProduct) {
-                System.out.println("Error: dotProduct() returned the wrong dot product.");
-                System.out.println("Correct dot product: " + expectedDotProduct + ".");
+            Matrix mKronecker = Matrix.kronecker(m6, m7);
+            boolean correct = mKronecker.getRows() == 6 && mKronecker.getColumns() == 6;
+            for (int i = 1; i <= 2 && correct; i++) {
+                for (int j = 1; j <= 3; j++) {
+                    for (int k = 1; k <= 3; k++) {
+                        for (int l = 1; l <= 2; l++) {
+                            correct &= mKronecker.getEntry((i - 1) * 3 + k, (j - 1) * 2 + l) == m6.getEntry(i, j) * m7.getEntry(k, l);
+                        }
+                    }
+                }
+            }
+            int[] x = {3, -1, 4, 1, -5, 9};
+            int[] y = Matrix.kroneckerMultiply(m6, m7, x);
+            Matrix mScaled = m3x3.deepCloneMatrix();
+            mScaled.scalarMultiply(m1x1.getEntry(1, 1));
+            if (!correct) {
+                System.out.println("Error: kronecker() returned the wrong product.");
+                uErrors += 1;
+            }
+            else if (!java.util.Arrays.equals(y, mKronecker.multiply(x))) {
+                System.out.println("Error: kroneckerMultiply() returned the wrong product.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(Matrix.kronecker(m1x1, m3x3), mScaled)) {
+                System.out.println("Error: kronecker() with a 1x1 matrix did not scale the other matrix.");
                 uErrors += 1;
             }
+            else {
+                // expected result
+            }
         }
         catch (Exception e) {
-            System.out.println("Error: dotProduct() threw an exception for two matrices that can have their dot product calculated.");
+            System.out.println("Error: kronecker() or kroneckerMultiply() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        System.out.println("Here are two matrices.");
-        System.out.println("First matrix.");
-        mRow2.printMatrix();
-        System.out.println("Second matrix.");
-        mCol2.printMatrix();
+        // test hstack(), vstack() and block()
         try {
-            int dotProduct2 = Matrix.dotProduct(mRow2, mCol2);
-            expectedDotProduct = 59;
-            System.out.println("Their dot product is " + dotProduct2 + ".");
-            if (dotProduct2 != expectedDotProduct) {
-                System.out.println("Error: dotProduct() returned the wrong dot product.");
-                System.out.println("Correct dot product: " + expectedDotProduct + ".");
+            Matrix mHstack = Matrix.hstack(m6, m6.getTranspose().getTranspose(), Matrix.productOfMatrices(m6, m7));
+            Matrix mVstack = Matrix.vstack(m6, m6, m3x3);
+            Matrix mBlock = Matrix.block(new Matrix[][] {{m3x3, m7}, {m6, Matrix.productOfMatrices(m6, m7)}});
+            System.out.println("Here is a matrix assembled from blocks.");
+            mBlock.printMatrix();
+            if (mHstack.getRows() != 2 || mHstack.getColumns() != 8 || mHstack.getEntry(2, 6) != m6.getEntry(2, 3) || mHstack.getEntry(1, 7) != Matrix.productOfMatrices(m6, m7).getEntry(1, 1)) {
+                System.out.println("Error: hstack() returned the wrong matrix.");
+                uErrors += 1;
+            }
+            else if (mVstack.getRows() != 7 || mVstack.getColumns() != 3 || mVstack.getEntry(3, 2) != m6.getEntry(1, 2) || mVstack.getEntry(7, 3) != m3x3.getEntry(3, 3)) {
+                System.out.println("Error: vstack() returned the wrong matrix.");
+                uErrors += 1;
+            }
+            else if (mBlock.getRows() != 5 || mBlock.getColumns() != 5 || mBlock.getEntry(2, 5) != m7.getEntry(2, 2) || mBlock.getEntry(5, 3) != m6.getEntry(2, 3)) {
+                System.out.println("Error: block() returned the wrong matrix.");
                 uErrors += 1;
             }
+            else {
+                // expected result
+            }
         }
         catch (Exception e) {
-            System.out.println("Error: dotProduct() threw an exception for two matrices that can have their dot product calculated.");
+            System.out.println("Error: hstack(), vstack() or block() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
 
-        // test sumOfMatrices()
-        System.out.println("Testing catching exception thrown by sumOfMatrices().");
+        System.out.println("Testing catching exception thrown by block().");
         try {
-            Matrix badSum = Matrix.sumOfMatrices(mRow1, mCol1);
-            System.out.println("Error: sumOfMatrices() did not throw an exception for matrices of different dimensions, but returned");
-            badSum.printMatrix();
+            Matrix.block(new Matrix[][] {{m3x3, m6}});
+            System.out.println("Error: block() did not throw an exception for blocks with different numbers of rows.");
             uErrors += 1;
         }
         catch (Exception e) {
@@ -1660,108 +6523,78 @@ public class Matrix {
             System.out.println("Caught error: " + e.getMessage());
         }
 
-        // test canMultiply()
-        if (!Matrix.canMultiply(mRow1, mCol1)) {
-            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
-            uErrors += 1;
-        }
-    else {
-            // expected result
-        }
-
-        // test canMultiply()
-        Matrix m6 = new Matrix(2, 3);
-        Matrix m7 = new Matrix(3, 2);
-        Matrix mProductExpected1 = new Matrix(2, 2);
-        Matrix mProductExpected2 = new Matrix(3, 3);
-
-        m6.setEntry(1, 1, 2);
-        m6.setEntry(1, 2, 1);
-        m6.setEntry(1, 3, 7);
-        m6.setEntry(2, 1, 6);
-        m6.setEntry(2, 2, 4);
-        m6.setEntry(2, 3, 5);
-
-        m7.setEntry(1, 1, 3);
-        m7.setEntry(1, 2, 2);
-        m7.setEntry(2, 1, 1);
-        m7.setEntry(2, 2, 5);
-        m7.setEntry(3, 1, 8);
-        m7.setEntry(3, 2, 1);
-
-        mProductExpected1.setEntry(1, 1, 63);
-        mProductExpected1.setEntry(1, 2, 16);
-        mProductExpected1.setEntry(2, 1, 62);
-        mProductExpected1.setEntry(2, 2, 37);
-
-        mProductExpected2.setEntry(1, 1, 18);
-        mProductExpected2.setEntry(1, 2, 11);
-        mProductExpected2.setEntry(1, 3, 31);
-        mProductExpected2.setEntry(2, 1, 32);
-        mProductExpected2.setEntry(2, 2, 21);
-        mProductExpected2.setEntry(2, 3, 32);
-        mProductExpected2.setEntry(3, 1, 22);
-        mProductExpected2.setEntry(3, 2, 12);
-        mProductExpected2.setEntry(3, 3, 61);
-
-        if (!Matrix.canMultiply(m6, m7)) {
-            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
-            uErrors += 1;
-        }
-    else {
-            // expected result
-        }
-        if (!Matrix.canMultiply(m7, m6)) {
-            System.out.println("Error: canMultiply() returned false for two matrices that can be multiplied.");
-            uErrors += 1;
-        }
-    else {
-            // expected result
-        }
-
-        // test productOfMatrices()
-        System.out.println("Here are two matrices.");
-        System.out.println("First matrix.");
-        m6.printMatrix();
-        System.out.println("Second matrix.");
-        m7.printMatrix();
+        // test reduce() and parallelReduce()
         try {
-            Matrix mProduct1 = Matrix.productOfMatrices(m6, m7);
-            System.out.println("The first matrix multiplied by the second matrix is");
-            mProduct1.printMatrix();
-            if (!Matrix.sameMatrix(mProduct1, mProductExpected1)) {
-                System.out.println("Error: productOfMatrices() returned the wrong product.");
-                System.out.println("Correct product: ");
-                mProductExpected1.printMatrix();
+            Matrix mReduce = new Matrix(300, 400);
+            java.util.Random random = new java.util.Random(50);
+            for (int i = 1; i <= 300; i++) {
+                for (int j = 1; j <= 400; j++) {
+                    mReduce.setEntry(i, j, random.nextInt(5) == 0 ? 0 : random.nextInt());
+                }
+            }
+            mReduce.setEntry(7, 9, Integer.MIN_VALUE);
+            long trace = 0;
+            long[] rowSums = new long[300];
+            long[] columnSums = new long[400];
+            long nonzeroCount = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 1; i <= 300; i++) {
+                trace += mReduce.getEntry(i, i);
+                for (int j = 1; j <= 400; j++) {
+                    int entry = mReduce.getEntry(i, j);
+                    rowSums[i - 1] += entry;
+                    columnSums[j - 1] += entry;
+                    nonzeroCount += entry != 0 ? 1 : 0;
+                    min = Math.min(min, entry);
+                    max = Math.max(max, entry);
+                }
+            }
+            boolean correct = true;
+            for (Matrix.Reduction r : new Matrix.Reduction[] {mReduce.reduce(Matrix.Statistic.values()), mReduce.parallelReduce(Matrix.Statistic.values())}) {
+                correct &= r.getTrace() == trace && java.util.Arrays.equals(r.getRowSums(), rowSums) && java.util.Arrays.equals(r.getColumnSums(), columnSums);
+                correct &= r.getMaxAbs() == 1L << 31 && r.getNonzeroCount() == nonzeroCount && r.getMin() == min && r.getMax() == max;
+            }
+            // rows too long for one task are split by columns
+            Matrix mWide = new Matrix(3, 100000);
+            for (int i = 1; i <= 3; i++) {
+                for (int j = 1; j <= 100000; j++) {
+                    mWide.setEntry(i, j, random.nextInt());
+                }
+            }
+            Matrix.Reduction wide = mWide.reduce(Matrix.Statistic.values());
+            Matrix.Reduction wideParallel = mWide.parallelReduce(Matrix.Statistic.values());
+            correct &= wide.getTrace() == wideParallel.getTrace() && java.util.Arrays.equals(wide.getRowSums(), wideParallel.getRowSums());
+            correct &= java.util.Arrays.equals(wide.getColumnSums(), wideParallel.getColumnSums()) && wide.getMaxAbs() == wideParallel.getMaxAbs();
+            correct &= wide.getNonzeroCount() == wideParallel.getNonzeroCount() && wide.getMin() == wideParallel.getMin() && wide.getMax() == wideParallel.getMax();
+            Matrix.Reduction small = m6.reduce(Matrix.Statistic.TRACE, Matrix.Statistic.MIN_MAX);
+            if (!correct) {
+                System.out.println("Error: reduce() or parallelReduce() computed the wrong statistics.");
                 uErrors += 1;
             }
-        else {
+            else if (small.getTrace() != m6.getEntry(1, 1) + m6.getEntry(2, 2)) {
+                System.out.println("Error: reduce() computed the wrong trace of a non-square matrix.");
+                uErrors += 1;
+            }
+            else {
                 // expected result
             }
         }
         catch (Exception e) {
-            System.out.println("Error: productOfMatrices() threw an exception for two matrices that can be multiplied.");
+            System.out.println("Error: reduce() or parallelReduce() threw an exception.");
             System.out.println("Unintentional Error: " + e.getMessage());
             uErrors += 1;
         }
+
+        System.out.println("Testing catching exception thrown by getRowSums().");
         try {
-            Matrix mProduct2 = Matrix.productOfMatrices(m7, m6);
-            System.out.println("The second matrix multiplied by the first matrix is");
-            mProduct2.printMatrix();
-            if (!Matrix.sameMatrix(mProduct2, mProductExpected2)) {
-                System.out.println("Error: productOfMatrices() returned the wrong product.");
-                System.out.println("Correct product: ");
-                mProductExpected2.printMatrix();
-                uErrors += 1;
-            }
-        else {
-                // expected result
-            }
+            m6.reduce(Matrix.Statistic.TRACE).getRowSums();
+            System.out.println("Error: getRowSums() did not throw an exception when ROW_SUMS was not requested.");
+            uErrors += 1;
         }
         catch (Exception e) {
-            System.out.println("Error: productOfMatrices() threw an exception for two matrices that can be multiplied.");
-            System.out.println("Unintentional Error: " + e.getMessage());
-            uErrors += 1;
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
         }
 
         System.out.println("Testing complete with " + uErrors + " unintentional errors.");
@@ -0,0 +1,178 @@
+/*
+Code Written by Jackson L. Davis
+
+Benchmarks for the Matrix class,
+run with: java MatrixBenchmark
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MatrixBenchmark {
+
+    /**
+     * Create a square matrix with a small determinant but mixed up entries,
+     * by applying random row and column additions to a diagonal matrix
+     *
+     * @param n: the number of rows and columns
+     * @param random: the source of randomness
+     * @return: an nxn matrix whose determinant is at most 2^20 in absolute value
+     */
+    public static Matrix smallDeterminantMatrix(int n, Random random) {
+        Matrix m = new Matrix(n, n);
+        m.makeIdentity();
+        // a handful of small diagonal entries give the lattice a nontrivial Hermite normal form
+        for (int i = 0; i < 20; i++) {
+            int d = 1 + random.nextInt(n);
+            m.setEntry(d, d, m.getEntry(d, d) * 2);
+        }
+        for (int k = 0; k < 2 * n; k++) {
+            int i = 1 + random.nextInt(n);
+            int j = 1 + random.nextInt(n);
+            int s = random.nextBoolean() ? 1 : -1;
+            if (i == j) {
+                continue;
+            }
+            // add s times row j to row i, then s times column j to column i
+            for (int c = 1; c <= n; c++) {
+                m.setEntry(i, c, m.getEntry(i, c) + s * m.getEntry(j, c));
+            }
+            for (int r = 1; r <= n; r++) {
+                m.setEntry(r, i, m.getEntry(r, i) + s * m.getEntry(r, j));
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Time the modular Hermite normal form against the non-modular elimination baseline
+     */
+    public static void benchmarkHermite() {
+        System.out.println("Hermite normal form: modular vs non-modular elimination");
+        Random random = new Random(29);
+        int[] sizes = {10, 25, 50, 100, 200};
+        for (int n : sizes) {
+            Matrix m = smallDeterminantMatrix(n, random);
+            long start = System.nanoTime();
+            Matrix modular = Matrix.hermiteNormalForm(m);
+            long modularTime = System.nanoTime() - start;
+            String baseline;
+            start = System.nanoTime();
+            try {
+                Matrix naive = Matrix.hermiteNormalFormWithTransform(m)[0];
+                long naiveTime = System.nanoTime() - start;
+                baseline = (naiveTime / 1000) + " us" + (Matrix.sameMatrix(naive, modular) ? "" : " (results differ)");
+            }
+            catch (ArithmeticException e) {
+                baseline = "overflowed after " + ((System.nanoTime() - start) / 1000) + " us";
+            }
+            System.out.println("n = " + n + ": modular " + (modularTime / 1000) + " us, baseline " + baseline);
+        }
+    }
+
+    /**
+     * Time the modular Smith normal form against the non-modular elimination baseline
+     */
+    public static void benchmarkSmith() {
+        System.out.println("Smith normal form: modular vs non-modular elimination");
+        Random random = new Random(29);
+        int[] sizes = {10, 25, 50, 100, 200};
+        for (int n : sizes) {
+            Matrix m = smallDeterminantMatrix(n, random);
+            long start = System.nanoTime();
+            Matrix modular = Matrix.smithNormalForm(m);
+            long modularTime = System.nanoTime() - start;
+            String baseline;
+            start = System.nanoTime();
+            try {
+                Matrix naive = Matrix.smithNormalFormWithTransform(m)[0];
+                long naiveTime = System.nanoTime() - start;
+                baseline = (naiveTime / 1000) + " us" + (Matrix.sameMatrix(naive, modular) ? "" : " (results differ)");
+            }
+            catch (ArithmeticException e) {
+                baseline = "overflowed after " + ((System.nanoTime() - start) / 1000) + " us";
+            }
+            System.out.println("n = " + n + ": modular " + (modularTime / 1000) + " us, baseline " + baseline);
+        }
+    }
+
+    /**
+     * Time multiplying a chain of rectangular matrices left to right against chainProduct()
+     */
+    public static void benchmarkChain() {
+        System.out.println("Matrix chain: left to right vs chainProduct()");
+        Random random = new Random(36);
+        int[] sizes = {10, 50, 100, 200};
+        for (int n : sizes) {
+            // alternating tall and wide matrices, where left to right is the worst order
+            List<Matrix> chain = new ArrayList<>();
+            for (int k = 0; k < 8; k++) {
+                Matrix m = k % 2 == 0 ? new Matrix(n, 4) : new Matrix(4, n);
+                for (int i = 1; i <= m.getRows(); i++) {
+                    for (int j = 1; j <= m.getColumns(); j++) {
+                        m.setEntry(i, j, random.nextInt(5) - 2);
+                    }
+                }
+                chain.add(m);
+            }
+            Matrix tall = new Matrix(n, 1);
+            chain.add(tall);
+            long start = System.nanoTime();
+            Matrix leftToRight = chain.get(0);
+            for (int k = 1; k < chain.size(); k++) {
+                leftToRight = Matrix.productOfMatrices(leftToRight, chain.get(k));
+            }
+            long leftToRightTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            Matrix optimal = Matrix.chainProduct(chain);
+            long optimalTime = System.nanoTime() - start;
+            System.out.println("n = " + n + ": left to right " + (leftToRightTime / 1000) + " us, chainProduct " + (optimalTime / 1000) + " us"
+                    + (Matrix.sameMatrix(leftToRight, optimal) ? "" : " (results differ)"));
+        }
+    }
+
+    /**
+     * Time the Four Russians Boolean product against multiplying the same 0/1 matrices as ints
+     */
+    public static void benchmarkBitMatrix() {
+        System.out.println("Boolean product: int matrices vs BitMatrix.orProduct()");
+        Random random = new Random(41);
+        int[] sizes = {128, 256, 512};
+        for (int n : sizes) {
+            Matrix m = new Matrix(n, n);
+            for (int i = 1; i <= n; i++) {
+                for (int j = 1; j <= n; j++) {
+                    m.setEntry(i, j, random.nextInt(16) == 0 ? 1 : 0);
+                }
+            }
+            BitMatrix b = new BitMatrix(m);
+            long start = System.nanoTime();
+            Matrix intProduct = Matrix.chainProduct(List.of(m, m));
+            long intTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            BitMatrix bitProduct = BitMatrix.orProduct(b, b);
+            long bitTime = System.nanoTime() - start;
+            boolean same = true;
+            for (int i = 1; i <= n; i++) {
+                for (int j = 1; j <= n; j++) {
+                    same &= (intProduct.getEntry(i, j) != 0) == bitProduct.getEntry(i, j);
+                }
+            }
+            System.out.println("n = " + n + ": int " + (intTime / 1000) + " us, BitMatrix " + (bitTime / 1000) + " us"
+                    + (same ? "" : " (results differ)"));
+        }
+    }
+
+    public static void main(String[] args) {
+        // run once to warm up the JIT compiler, then again for the real numbers
+        benchmarkHermite();
+        benchmarkHermite();
+        benchmarkSmith();
+        benchmarkSmith();
+        benchmarkChain();
+        benchmarkChain();
+        benchmarkBitMatrix();
+        benchmarkBitMatrix();
+    }
+}
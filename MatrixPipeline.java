@@ -0,0 +1,978 @@
+/*
+Code Written by Jackson L. Davis
+
+A reactive pipeline stage for matrix jobs,
+it consumes job requests from a Flow.Publisher and publishes their results
+without ever holding more jobs than its capacity.
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+public class MatrixPipeline implements Flow.Processor<MatrixPipeline.Job, MatrixPipeline.Result> {
+
+    /**
+     * The operations a job can request
+     */
+    public enum Operation {
+        MULTIPLY,
+        DETERMINANT,
+        TRANSPOSE
+    }
+
+    /**
+     * A request to run one matrix operation
+     */
+    public static final class Job {
+        private final long id;
+        private final Operation operation;
+        private final Matrix left;
+        private final Matrix right;
+
+        private Job(long id, Operation operation, Matrix left, Matrix right) {
+            this.id = id;
+            this.operation = operation;
+            // copy-on-write snapshots, so the producer can keep changing its matrices
+            this.left = left.freeze().toMutable();
+            this.right = right == null ? null : right.freeze().toMutable();
+        }
+
+        /**
+         * Create a job that multiplies two matrices
+         *
+         * @param id: a number the caller uses to match the result to the job
+         * @param m1, m2: the matrices to multiply
+         * @return: the job
+         */
+        public static Job multiply(long id, Matrix m1, Matrix m2) {
+            return new Job(id, Operation.MULTIPLY, m1, m2);
+        }
+
+        /**
+         * Create a job that computes the determinant of a matrix
+         *
+         * @param id: a number the caller uses to match the result to the job
+         * @param m: the matrix to compute the determinant of
+         * @return: the job
+         */
+        public static Job determinant(long id, Matrix m) {
+            return new Job(id, Operation.DETERMINANT, m, null);
+        }
+
+        /**
+         * Create a job that transposes a matrix
+         *
+         * @param id: a number the caller uses to match the result to the job
+         * @param m: the matrix to transpose
+         * @return: the job
+         */
+        public static Job transpose(long id, Matrix m) {
+            return new Job(id, Operation.TRANSPOSE, m, null);
+        }
+
+        /**
+         * Getter method for id
+         */
+        public long getId() {
+            return this.id;
+        }
+
+        /**
+         * Getter method for operation
+         */
+        public Operation getOperation() {
+            return this.operation;
+        }
+
+        /**
+         * Estimate the number of arithmetic operations the job needs
+         */
+        long estimatedFlops() {
+            long r = this.left.getRows();
+            long c = this.left.getColumns();
+            if (this.operation == Operation.MULTIPLY) {
+                return 2 * r * c * this.right.getColumns();
+            }
+            else if (this.operation == Operation.DETERMINANT) {
+                return r * r * r;
+            }
+            else {
+                return r * c;
+            }
+        }
+
+        /**
+         * Check if two jobs run the same operation on operands of the same dimensions
+         */
+        boolean sameShape(Job other) {
+            return this.operation == other.operation
+                && Matrix.sameDimensions(this.left, other.left)
+                && (this.right == null || Matrix.sameDimensions(this.right, other.right));
+        }
+    }
+
+    /**
+     * The result of one job,
+     * exactly one of getMatrix(), getDeterminant() and getError() is meaningful
+     */
+    public static final class Result {
+        private final Job job;
+        private final Matrix matrix;
+        private final int determinant;
+        private final RuntimeException error;
+
+        private Result(Job job, Matrix matrix, int determinant, RuntimeException error) {
+            this.job = job;
+            this.matrix = matrix;
+            this.determinant = determinant;
+            this.error = error;
+        }
+
+        /**
+         * Getter method for job
+         */
+        public Job getJob() {
+            return this.job;
+        }
+
+        /**
+         * Getter method for the result of a MULTIPLY or TRANSPOSE job
+         */
+        public Matrix getMatrix() {
+            return this.matrix;
+        }
+
+        /**
+         * Getter method for the result of a DETERMINANT job
+         */
+        public int getDeterminant() {
+            return this.determinant;
+        }
+
+        /**
+         * Getter method for the exception the job threw, null if it succeeded
+         */
+        public RuntimeException getError() {
+            return this.error;
+        }
+    }
+
+    /**
+     * Jobs that run together as one task on the executor, results is null until they have run
+     */
+    private static final class Batch {
+        private final List<Job> jobs;
+        private List<Result> results;
+
+        private Batch(List<Job> jobs) {
+            this.jobs = jobs;
+        }
+    }
+
+    private final int capacity;
+    private final int batchSize;
+    private final long smallJobFlops;
+    private final Executor executor;
+
+    // jobs waiting to run and results waiting for demand, guarded by this
+    private final ArrayDeque<Job> input = new ArrayDeque<>();
+    private final ArrayDeque<Result> output = new ArrayDeque<>();
+    // batches handed to the executor in the order their jobs arrived, so results leave in that order, guarded by this
+    private final ArrayDeque<Batch> running = new ArrayDeque<>();
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super Result> downstream;
+    private long demand;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private boolean cancelled;
+    private boolean terminated;
+    // true while a drain task is scheduled or running, so signals to downstream are never concurrent
+    private boolean draining;
+
+    // metrics, guarded by this
+    private int maxInputDepth;
+    private int maxOutputDepth;
+    private long jobsProcessed;
+    private long batchesProcessed;
+    private int batchesRunning;
+    private int maxBatchesRunning;
+
+    /**
+     * Constructor for the MatrixPipeline class,
+     * holds at most 64 jobs, batches up to 16 small jobs and runs on the common pool
+     */
+    public MatrixPipeline() {
+        this(64, 16, 1L << 16, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for the MatrixPipeline class
+     *
+     * @param capacity: the most jobs that are requested from upstream but not yet delivered downstream
+     * @param batchSize: the most small jobs that are run together as one batch
+     * @param smallJobFlops: jobs estimated to need fewer operations than this can be batched
+     * @param executor: runs the jobs and delivers the results
+     * @precond: capacity > 0 && batchSize > 0
+     */
+    public MatrixPipeline(int capacity, int batchSize, long smallJobFlops, Executor executor) {
+        if (capacity <= 0) {
+            throw new ArithmeticException("Error in MatrixPipeline() constructor: capacity must be positive");
+        }
+        else if (batchSize <= 0) {
+            throw new ArithmeticException("Error in MatrixPipeline() constructor: batchSize must be positive");
+        }
+        else {
+            this.capacity = capacity;
+            this.batchSize = batchSize;
+            this.smallJobFlops = smallJobFlops;
+            this.executor = executor;
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (this.upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            else {
+                this.upstream = subscription;
+            }
+        }
+        // the bounded demand: never more jobs in the stage than its capacity
+        subscription.request(this.capacity);
+    }
+
+    @Override
+    public void onNext(Job job) {
+        synchronized (this) {
+            if (this.upstreamDone || this.cancelled || this.terminated) {
+                // a job that arrives after upstream was cancelled is dropped
+                return;
+            }
+            else {
+                this.input.add(job);
+                this.maxInputDepth = Math.max(this.maxInputDepth, this.input.size());
+            }
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (this) {
+            this.upstreamError = throwable;
+            this.upstreamDone = true;
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            this.upstreamDone = true;
+        }
+        scheduleDrain();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Result> subscriber) {
+        boolean accepted;
+        synchronized (this) {
+            accepted = this.downstream == null;
+            if (accepted) {
+                this.downstream = subscriber;
+            }
+            else {
+                // pass
+            }
+        }
+        if (accepted) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requestResults(n);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelResults();
+                }
+            });
+            scheduleDrain();
+        }
+        else {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // pass
+                }
+
+                @Override
+                public void cancel() {
+                    // pass
+                }
+            });
+            subscriber.onError(new IllegalStateException("MatrixPipeline only supports one subscriber"));
+        }
+    }
+
+    /**
+     * Get the number of jobs waiting to run
+     */
+    public synchronized int getInputQueueDepth() {
+        return this.input.size();
+    }
+
+    /**
+     * Get the number of results waiting for downstream demand
+     */
+    public synchronized int getOutputQueueDepth() {
+        return this.output.size();
+    }
+
+    /**
+     * Get the largest number of jobs that have been waiting to run at once
+     */
+    public synchronized int getMaxInputQueueDepth() {
+        return this.maxInputDepth;
+    }
+
+    /**
+     * Get the largest number of results that have been waiting for demand at once
+     */
+    public synchronized int getMaxOutputQueueDepth() {
+        return this.maxOutputDepth;
+    }
+
+    /**
+     * Get the largest number of batches that have been running on the executor at once
+     */
+    public synchronized int getMaxBatchesRunning() {
+        return this.maxBatchesRunning;
+    }
+
+    /**
+     * Get the number of jobs that have been run
+     */
+    public synchronized long getJobsProcessed() {
+        return this.jobsProcessed;
+    }
+
+    /**
+     * Get the number of batches the jobs were run in
+     */
+    public synchronized long getBatchesProcessed() {
+        return this.batchesProcessed;
+    }
+
+    private void requestResults(long n) {
+        Flow.Subscription toCancel = null;
+        synchronized (this) {
+            if (n <= 0) {
+                // the Flow specification requires an error for non-positive requests, and upstream is no longer needed
+                this.upstreamError = new IllegalArgumentException("request() must be called with a positive number");
+                this.upstreamDone = true;
+                this.input.clear();
+                this.output.clear();
+                this.running.clear();
+                toCancel = this.upstream;
+            }
+            else {
+                this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+            }
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+        else {
+            // pass
+        }
+        scheduleDrain();
+    }
+
+    private void cancelResults() {
+        Flow.Subscription toCancel;
+        synchronized (this) {
+            this.cancelled = true;
+            toCancel = this.upstream;
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+        else {
+            // pass
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (this.draining) {
+                return;
+            }
+            else {
+                this.draining = true;
+            }
+        }
+        try {
+            this.executor.execute(this::drain);
+        }
+        catch (RejectedExecutionException e) {
+            // no drain is running, so the next signal can try again
+            synchronized (this) {
+                this.draining = false;
+            }
+        }
+    }
+
+    /**
+     * Deliver results while there is demand, otherwise hand the next batch of jobs to the executor,
+     * until there is nothing left to do
+     */
+    private void drain() {
+        while (true) {
+            Result toDeliver = null;
+            Batch batch = null;
+            boolean finish = false;
+            Throwable error = null;
+            synchronized (this) {
+                if (this.cancelled || this.terminated) {
+                    this.input.clear();
+                    this.output.clear();
+                    this.running.clear();
+                    this.draining = false;
+                    return;
+                }
+                else if (this.downstream != null && this.demand > 0 && !this.output.isEmpty()) {
+                    toDeliver = this.output.poll();
+                    this.demand--;
+                }
+                else if (!this.input.isEmpty()) {
+                    batch = new Batch(takeBatch());
+                    this.running.add(batch);
+                }
+                else if (this.downstream != null && this.upstreamDone && this.output.isEmpty() && this.running.isEmpty()) {
+                    this.terminated = true;
+                    finish = true;
+                    error = this.upstreamError;
+                }
+                else {
+                    this.draining = false;
+                    return;
+                }
+            }
+            if (toDeliver != null) {
+                try {
+                    this.downstream.onNext(toDeliver);
+                }
+                catch (RuntimeException e) {
+                    // a subscriber that throws is treated as cancelled
+                    abandon();
+                    return;
+                }
+                // a delivered result frees a place in the stage for one more job
+                this.upstream.request(1);
+            }
+            else if (batch != null) {
+                Batch toRun = batch;
+                try {
+                    this.executor.execute(() -> runBatch(toRun));
+                }
+                catch (RejectedExecutionException e) {
+                    // the executor is full or shut down, so the batch runs on this thread instead
+                    runBatch(toRun);
+                }
+            }
+            else if (finish) {
+                try {
+                    if (error != null) {
+                        this.downstream.onError(error);
+                    }
+                    else {
+                        this.downstream.onComplete();
+                    }
+                }
+                finally {
+                    synchronized (this) {
+                        this.draining = false;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop the stage after downstream threw from onNext(),
+     * drops every queued job and result, cancels upstream and leaves no drain running
+     */
+    private void abandon() {
+        Flow.Subscription toCancel;
+        synchronized (this) {
+            this.cancelled = true;
+            this.terminated = true;
+            this.input.clear();
+            this.output.clear();
+            this.running.clear();
+            this.draining = false;
+            toCancel = this.upstream;
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+        else {
+            // pass
+        }
+    }
+
+    /**
+     * Take the next job, and if it is small, every following small job of the same shape
+     * up to batchSize jobs, so the batch can run as one task with a shared kernel
+     */
+    private List<Job> takeBatch() {
+        List<Job> batch = new ArrayList<>();
+        Job first = this.input.poll();
+        batch.add(first);
+        if (first.estimatedFlops() < this.smallJobFlops) {
+            while (batch.size() < this.batchSize && !this.input.isEmpty()
+                && this.input.peek().sameShape(first) && this.input.peek().estimatedFlops() < this.smallJobFlops) {
+                batch.add(this.input.poll());
+            }
+        }
+        else {
+            // pass
+        }
+        return batch;
+    }
+
+    /**
+     * Run a batch, then move the results of every finished batch at the front of the running queue to the output,
+     * so results leave in the order their jobs arrived even though batches run at the same time
+     */
+    private void runBatch(Batch batch) {
+        synchronized (this) {
+            this.batchesRunning++;
+            this.maxBatchesRunning = Math.max(this.maxBatchesRunning, this.batchesRunning);
+        }
+        List<Result> results = runSameShape(batch.jobs);
+        synchronized (this) {
+            this.batchesRunning--;
+            batch.results = results;
+            while (!this.running.isEmpty() && this.running.peek().results != null) {
+                Batch done = this.running.poll();
+                this.output.addAll(done.results);
+                this.maxOutputDepth = Math.max(this.maxOutputDepth, this.output.size());
+                this.jobsProcessed += done.jobs.size();
+                this.batchesProcessed++;
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Run jobs that all have the same shape,
+     * products share one dimension check and one buffer for the transposed right operand,
+     * which every product of the batch reuses so each row of the result is a run of contiguous dot products,
+     * other operations run one job at a time
+     */
+    private static List<Result> runSameShape(List<Job> jobs) {
+        List<Result> results = new ArrayList<>(jobs.size());
+        Job first = jobs.get(0);
+        if (first.operation != Operation.MULTIPLY || !Matrix.canMultiply(first.left, first.right)) {
+            for (Job job : jobs) {
+                results.add(run(job));
+            }
+            return results;
+        }
+        else {
+            int rows = first.left.getRows();
+            int inner = first.left.getColumns();
+            int columns = first.right.getColumns();
+            int[][] rightTranspose = new int[columns][inner];
+            for (Job job : jobs) {
+                int[][] a = job.left.entries();
+                int[][] b = job.right.entries();
+                for (int k = 0; k < inner; k++) {
+                    for (int j = 0; j < columns; j++) {
+                        rightTranspose[j][k] = b[k][j];
+                    }
+                }
+                Matrix product = new Matrix(rows, columns);
+                int[][] c = product.writableEntries();
+                for (int i = 0; i < rows; i++) {
+                    int[] aRow = a[i];
+                    for (int j = 0; j < columns; j++) {
+                        int[] bColumn = rightTranspose[j];
+                        int dp = 0;
+                        for (int k = 0; k < inner; k++) {
+                            dp += aRow[k] * bColumn[k];
+                        }
+                        c[i][j] = dp;
+                    }
+                }
+                results.add(new Result(job, product, 0, null));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Run one job, an exception thrown by the operation becomes part of its result
+     */
+    private static Result run(Job job) {
+        try {
+            if (job.operation == Operation.MULTIPLY) {
+                return new Result(job, Matrix.productOfMatrices(job.left, job.right), 0, null);
+            }
+            else if (job.operation == Operation.DETERMINANT) {
+                return new Result(job, null, Matrix.determinantBareiss(job.left), null);
+            }
+            else {
+                return new Result(job, job.left.getTranspose(), 0, null);
+            }
+        }
+        catch (RuntimeException e) {
+            return new Result(job, null, 0, e);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for MatrixPipeline.java");
+        int uErrors = 0; // number of unintentional errors
+
+        Matrix m2x2 = new Matrix(2, 2);
+        m2x2.setEntry(1, 1, 3);
+        m2x2.setEntry(1, 2, 5);
+        m2x2.setEntry(2, 1, 2);
+        m2x2.setEntry(2, 2, 4);
+        Matrix m2x3 = new Matrix(2, 3);
+        m2x3.setEntry(1, 1, 1);
+        m2x3.setEntry(2, 3, 2);
+
+        int jobCount = 200;
+        int capacity = 8;
+        MatrixPipeline pipeline = new MatrixPipeline(capacity, 4, 1L << 16, ForkJoinPool.commonPool());
+        List<Result> received = java.util.Collections.synchronizedList(new ArrayList<>());
+        java.util.concurrent.CountDownLatch done = new java.util.concurrent.CountDownLatch(1);
+        int[] depthErrors = new int[1];
+
+        // a slow subscriber that requests one result at a time
+        pipeline.subscribe(new Flow.Subscriber<Result>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Result result) {
+                received.add(result);
+                if (pipeline.getInputQueueDepth() + pipeline.getOutputQueueDepth() > capacity) {
+                    depthErrors[0] += 1;
+                }
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        try (java.util.concurrent.SubmissionPublisher<Job> publisher = new java.util.concurrent.SubmissionPublisher<>()) {
+            publisher.subscribe(pipeline);
+            // runs of ten jobs with the same shape, so small jobs can be batched
+            for (int i = 0; i < jobCount; i++) {
+                int kind = (i / 10) % 4;
+                if (kind == 0) {
+                    publisher.submit(Job.multiply(i, m2x2, m2x3));
+                }
+                else if (kind == 1) {
+                    publisher.submit(Job.determinant(i, m2x2));
+                }
+                else if (kind == 2) {
+                    publisher.submit(Job.transpose(i, m2x3));
+                }
+                else {
+                    publisher.submit(Job.multiply(i, m2x3, m2x3));
+                }
+            }
+        }
+
+        try {
+            if (!done.await(30, java.util.concurrent.TimeUnit.SECONDS)) {
+                System.out.println("Error: the pipeline did not complete.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (InterruptedException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // every job must produce a result, in order
+        if (received.size() != jobCount) {
+            System.out.println("Error: the pipeline produced " + received.size() + " results instead of " + jobCount + ".");
+            uErrors += 1;
+        }
+        else {
+            for (int i = 0; i < jobCount; i++) {
+                Result result = received.get(i);
+                boolean correct;
+                int kind = (i / 10) % 4;
+                if (result.getJob().getId() != i) {
+                    correct = false;
+                }
+                else if (kind == 0) {
+                    correct = result.getError() == null && result.getMatrix().getEntry(1, 1) == 3 && result.getMatrix().getEntry(1, 3) == 10;
+                }
+                else if (kind == 1) {
+                    correct = result.getError() == null && result.getDeterminant() == 2;
+                }
+                else if (kind == 2) {
+                    correct = result.getError() == null && Matrix.transposes(result.getMatrix(), m2x3);
+                }
+                else {
+                    // a 2x3 matrix cannot be multiplied by a 2x3 matrix
+                    correct = result.getError() != null;
+                }
+                if (!correct) {
+                    System.out.println("Error: the pipeline returned the wrong result for job " + i + ".");
+                    uErrors += 1;
+                    break;
+                }
+            }
+        }
+
+        // the stage never holds more than its capacity
+        if (depthErrors[0] != 0 || pipeline.getMaxInputQueueDepth() > capacity || pipeline.getMaxOutputQueueDepth() > capacity) {
+            System.out.println("Error: the pipeline held more jobs than its capacity.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+        System.out.println("Processed " + pipeline.getJobsProcessed() + " jobs in " + pipeline.getBatchesProcessed() + " batches, "
+            + "max input queue depth " + pipeline.getMaxInputQueueDepth() + ", max output queue depth " + pipeline.getMaxOutputQueueDepth() + ".");
+        if (pipeline.getJobsProcessed() != jobCount || pipeline.getBatchesProcessed() >= jobCount) {
+            System.out.println("Error: the pipeline metrics are wrong.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // request(0) must signal an error downstream and cancel upstream, runs inline so the order is fixed
+        boolean[] upstreamCancelled = new boolean[1];
+        Flow.Subscription recordingUpstream = new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // pass
+            }
+
+            @Override
+            public void cancel() {
+                upstreamCancelled[0] = true;
+            }
+        };
+        Throwable[] signalled = new Throwable[1];
+        MatrixPipeline badRequest = new MatrixPipeline(capacity, 4, 1L << 16, Runnable::run);
+        badRequest.onSubscribe(recordingUpstream);
+        badRequest.subscribe(new Flow.Subscriber<Result>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(0);
+            }
+
+            @Override
+            public void onNext(Result result) {
+                // pass
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signalled[0] = throwable;
+            }
+
+            @Override
+            public void onComplete() {
+                // pass
+            }
+        });
+        if (!upstreamCancelled[0] || !(signalled[0] instanceof IllegalArgumentException)) {
+            System.out.println("Error: request(0) did not cancel upstream and signal an IllegalArgumentException.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // a subscriber that throws from onNext() is treated as cancelled, and later jobs are dropped
+        upstreamCancelled[0] = false;
+        MatrixPipeline throwing = new MatrixPipeline(capacity, 4, 1L << 16, Runnable::run);
+        throwing.onSubscribe(recordingUpstream);
+        throwing.subscribe(new Flow.Subscriber<Result>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(5);
+            }
+
+            @Override
+            public void onNext(Result result) {
+                throw new IllegalStateException("subscriber failure");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // pass
+            }
+
+            @Override
+            public void onComplete() {
+                // pass
+            }
+        });
+        try {
+            throwing.onNext(Job.determinant(0, m2x2));
+            throwing.onNext(Job.determinant(1, m2x2));
+            if (!upstreamCancelled[0] || throwing.getInputQueueDepth() != 0 || throwing.getOutputQueueDepth() != 0) {
+                System.out.println("Error: a throwing subscriber did not stop the pipeline.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (RuntimeException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        // batches run on the executor at the same time, and their results still leave in arrival order
+        Matrix mLarge = new Matrix(160, 160);
+        for (int i = 1; i <= 160; i++) {
+            mLarge.setEntry(i, i, 1);
+        }
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(4);
+        MatrixPipeline parallel = new MatrixPipeline(capacity, 1, 1L << 16, pool);
+        List<Result> parallelReceived = java.util.Collections.synchronizedList(new ArrayList<>());
+        java.util.concurrent.CountDownLatch parallelDone = new java.util.concurrent.CountDownLatch(1);
+        parallel.subscribe(new Flow.Subscriber<Result>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Result result) {
+                parallelReceived.add(result);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                parallelDone.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                parallelDone.countDown();
+            }
+        });
+        try (java.util.concurrent.SubmissionPublisher<Job> publisher = new java.util.concurrent.SubmissionPublisher<>()) {
+            publisher.subscribe(parallel);
+            for (int i = 0; i < 32; i++) {
+                publisher.submit(Job.determinant(i, mLarge));
+            }
+        }
+        try {
+            if (!parallelDone.await(60, java.util.concurrent.TimeUnit.SECONDS)) {
+                System.out.println("Error: the parallel pipeline did not complete.");
+                uErrors += 1;
+            }
+            else {
+                boolean inOrder = parallelReceived.size() == 32;
+                for (int i = 0; inOrder && i < 32; i++) {
+                    inOrder = parallelReceived.get(i).getJob().getId() == i && parallelReceived.get(i).getDeterminant() == 1;
+                }
+                if (!inOrder || parallel.getMaxBatchesRunning() < 2) {
+                    System.out.println("Error: batches did not run in parallel with their results in order.");
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        // an executor that rejects the drain must not leave the stage marked as draining
+        MatrixPipeline rejecting = new MatrixPipeline(capacity, 4, 1L << 16, task -> {
+            throw new RejectedExecutionException("rejected");
+        });
+        rejecting.onSubscribe(recordingUpstream);
+        rejecting.subscribe(new Flow.Subscriber<Result>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                // pass
+            }
+
+            @Override
+            public void onNext(Result result) {
+                // pass
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // pass
+            }
+
+            @Override
+            public void onComplete() {
+                // pass
+            }
+        });
+        try {
+            rejecting.onNext(Job.determinant(0, m2x2));
+            if (rejecting.draining || rejecting.getInputQueueDepth() != 1) {
+                System.out.println("Error: a rejected drain left the pipeline marked as draining.");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+        catch (RuntimeException e) {
+            System.out.println("Unintentional Error: " + e.getMessage());
+            uErrors += 1;
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
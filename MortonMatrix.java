@@ -0,0 +1,401 @@
+/*
+Code Written by Jackson L. Davis
+
+A matrix of integers stored in Z-order (Morton order) tiles,
+for recursive algorithms that split matrices into quadrants.
+ */
+
+public class MortonMatrix {
+    // the side length of a tile, each tile is stored row by row in TILE * TILE consecutive ints
+    static final int TILE = 16;
+    private static final int TILE_AREA = TILE * TILE;
+
+    // the tiles in square blocks of blockSide x blockSide tiles, one after another along the longer side,
+    // with the tiles of each block in Z-order, so every aligned quadrant of a block is one contiguous range
+    private final int[] data;
+    private final int rows;
+    private final int columns;
+    // the number of tiles along each side of a block, the smaller of the two sides rounded up to a power of two,
+    // so a very tall or very wide matrix is not padded out to a square, tiles past rows and columns hold zeros
+    private final int blockSide;
+
+    /**
+     * Constructor for the MortonMatrix class,
+     * creates a zero matrix
+     *
+     * @param r: number of rows for the matrix
+     * @param c: number of columns for the matrix
+     * @precond: r > 0 && c > 0 and the padded tiles fit in an int array
+     */
+    public MortonMatrix(int r, int c) {
+        if (r <= 0) {
+            throw new ArithmeticException("Error in MortonMatrix() constructor: r must be positive");
+        }
+        else if (c <= 0) {
+            throw new ArithmeticException("Error in MortonMatrix() constructor: c must be positive");
+        }
+        else {
+            this.rows = r;
+            this.columns = c;
+            int shorter = (Math.min(r, c) + TILE - 1) / TILE;
+            int longer = (Math.max(r, c) + TILE - 1) / TILE;
+            int side = 1;
+            while (side < shorter) {
+                side *= 2;
+            }
+            this.blockSide = side;
+            long blocks = (longer + side - 1) / side;
+            long length = blocks * side * side * TILE_AREA;
+            if (length > Integer.MAX_VALUE) {
+                throw new ArithmeticException("Error in MortonMatrix() constructor: the padded tiles must fit in an int array");
+            }
+            else {
+                this.data = new int[(int) length];
+            }
+        }
+    }
+
+    /**
+     * Constructor that converts a row-major Matrix to Z-order tiles
+     *
+     * @param m: the matrix to copy
+     */
+    public MortonMatrix(Matrix m) {
+        this(m.getRows(), m.getColumns());
+        int[][] a = m.entries();
+        for (int i = 0; i < this.rows; i++) {
+            int[] aRow = a[i];
+            // copy the row one tile-width run at a time
+            for (int j = 0; j < this.columns; j += TILE) {
+                System.arraycopy(aRow, j, this.data, index(i, j), Math.min(TILE, this.columns - j));
+            }
+        }
+    }
+
+    /**
+     * Convert the matrix back to a row-major Matrix
+     *
+     * @return: a Matrix with the same entries
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.rows, this.columns);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.rows; i++) {
+            int[] aRow = a[i];
+            for (int j = 0; j < this.columns; j += TILE) {
+                System.arraycopy(this.data, index(i, j), aRow, j, Math.min(TILE, this.columns - j));
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Getter method for rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method for columns
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            return this.data[index(r - 1, c - 1)];
+        }
+    }
+
+    /**
+     * Change the number at a specific entry of the matrix
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= rows && 1 <= c <= columns
+     * @postcond: the entry is changed to changeTo
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        if (r < 1 || c < 1 || r > this.rows || c > this.columns) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= rows and 1 <= c <= columns must be true");
+        }
+        else {
+            this.data[index(r - 1, c - 1)] = changeTo;
+        }
+    }
+
+    /**
+     * Get the transpose of the matrix,
+     * each tile is transposed and moved to the mirrored position in the Z-order
+     *
+     * @return: the transpose of the matrix
+     */
+    public MortonMatrix getTranspose() {
+        MortonMatrix transp = new MortonMatrix(this.columns, this.rows);
+        int tileRows = (this.rows + TILE - 1) / TILE;
+        int tileColumns = (this.columns + TILE - 1) / TILE;
+        for (int ti = 0; ti < tileRows; ti++) {
+            for (int tj = 0; tj < tileColumns; tj++) {
+                int from = tileIndex(ti, tj) * TILE_AREA;
+                int to = transp.tileIndex(tj, ti) * TILE_AREA;
+                for (int i = 0; i < TILE; i++) {
+                    for (int j = 0; j < TILE; j++) {
+                        transp.data[to + j * TILE + i] = this.data[from + i * TILE + j];
+                    }
+                }
+            }
+        }
+        return transp;
+    }
+
+    /**
+     * Compute the product of two matrices by recursing on quadrants,
+     * every quadrant is one contiguous range of the tile array of its matrix,
+     * quadrants that only hold padding are skipped,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getColumns() == m2.getRows()
+     * @return: the product of the two matrices
+     */
+    public static MortonMatrix productOfMatrices(MortonMatrix m1, MortonMatrix m2) {
+        if (m1.columns != m2.rows) {
+            throw new ArithmeticException("Error in productOfMatrices(): m1.getColumns() == m2.getRows() must be true");
+        }
+        else {
+            MortonMatrix product = new MortonMatrix(m1.rows, m2.columns);
+            int tileRows = (m1.rows + TILE - 1) / TILE;
+            int tileInner = (m1.columns + TILE - 1) / TILE;
+            int tileColumns = (m2.columns + TILE - 1) / TILE;
+            // block sides are powers of two, so an aligned square of the smallest one
+            // is a quadrant of a block in each of the three matrices
+            int side = Math.min(product.blockSide, Math.min(m1.blockSide, m2.blockSide));
+            for (int ti = 0; ti < tileRows; ti += side) {
+                for (int tj = 0; tj < tileColumns; tj += side) {
+                    for (int tk = 0; tk < tileInner; tk += side) {
+                        multiplyQuadrants(m1.data, m2.data, product.data,
+                                m1.tileIndex(ti, tk) * TILE_AREA, m2.tileIndex(tk, tj) * TILE_AREA,
+                                product.tileIndex(ti, tj) * TILE_AREA, side, ti, tk, tj, tileRows, tileInner, tileColumns);
+                    }
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * C += A * B for three side x side quadrants starting at the given offsets of a, b and c,
+     * (ti, tk, tj) is the tile position of the top left tile of the quadrants of A, B and C,
+     * tile rows and columns at or past tileRows, tileInner and tileColumns are all zero
+     */
+    private static void multiplyQuadrants(int[] a, int[] b, int[] c, int aOffset, int bOffset, int cOffset, int side,
+                                          int ti, int tk, int tj, int tileRows, int tileInner, int tileColumns) {
+        if (ti >= tileRows || tk >= tileInner || tj >= tileColumns) {
+            return;
+        }
+        else if (side == 1) {
+            multiplyTiles(a, b, c, aOffset, bOffset, cOffset);
+        }
+        else {
+            int half = side / 2;
+            int quadrant = half * half * TILE_AREA;
+            // quadrants are stored in the order top left, top right, bottom left, bottom right
+            for (int qi = 0; qi < 2; qi++) {
+                for (int qj = 0; qj < 2; qj++) {
+                    for (int qk = 0; qk < 2; qk++) {
+                        multiplyQuadrants(a, b, c,
+                                aOffset + (2 * qi + qk) * quadrant,
+                                bOffset + (2 * qk + qj) * quadrant,
+                                cOffset + (2 * qi + qj) * quadrant,
+                                half, ti + qi * half, tk + qk * half, tj + qj * half, tileRows, tileInner, tileColumns);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * C += A * B for single tiles, in i-k-j order along the rows of the tiles
+     */
+    private static void multiplyTiles(int[] a, int[] b, int[] c, int aOffset, int bOffset, int cOffset) {
+        for (int i = 0; i < TILE; i++) {
+            int cRow = cOffset + i * TILE;
+            for (int k = 0; k < TILE; k++) {
+                int aik = a[aOffset + i * TILE + k];
+                if (aik == 0) {
+                    continue;
+                }
+                int bRow = bOffset + k * TILE;
+                for (int j = 0; j < TILE; j++) {
+                    c[cRow + j] += aik * b[bRow + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * The position of entry (i, j) (0-based) in the tile array
+     */
+    private int index(int i, int j) {
+        return tileIndex(i / TILE, j / TILE) * TILE_AREA + (i % TILE) * TILE + (j % TILE);
+    }
+
+    /**
+     * The position of the tile in tile row ti and tile column tj among the tiles,
+     * one of ti / blockSide and tj / blockSide is always 0
+     */
+    private int tileIndex(int ti, int tj) {
+        int block = ti / this.blockSide + tj / this.blockSide;
+        return block * this.blockSide * this.blockSide + mortonIndex(ti % this.blockSide, tj % this.blockSide);
+    }
+
+    /**
+     * Interleave the bits of a tile row and a tile column, the row bit of each pair is the higher one
+     */
+    static int mortonIndex(int ti, int tj) {
+        return (spreadBits(ti) << 1) | spreadBits(tj);
+    }
+
+    /**
+     * Move bit k of x to bit 2k, for x < 2^16
+     */
+    private static int spreadBits(int x) {
+        x = (x | (x << 8)) & 0x00FF00FF;
+        x = (x | (x << 4)) & 0x0F0F0F0F;
+        x = (x | (x << 2)) & 0x33333333;
+        x = (x | (x << 1)) & 0x55555555;
+        return x;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for MortonMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        // test mortonIndex()
+        if (mortonIndex(0, 1) != 1 || mortonIndex(1, 0) != 2 || mortonIndex(1, 1) != 3 || mortonIndex(2, 3) != 13) {
+            System.out.println("Error: mortonIndex() returned the wrong index.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test conversion, getTranspose() and productOfMatrices() for shapes that do and do not fill their tiles
+        java.util.Random random = new java.util.Random(41);
+        int[][] shapes = {{1, 1, 1}, {3, 5, 2}, {16, 16, 16}, {17, 40, 9}, {70, 33, 129}, {64, 64, 64},
+                {300, 2, 40}, {1, 300, 70}, {20, 1, 500}};
+        for (int[] shape : shapes) {
+            Matrix m1 = new Matrix(shape[0], shape[1]);
+            Matrix m2 = new Matrix(shape[1], shape[2]);
+            for (int i = 1; i <= shape[0]; i++) {
+                for (int j = 1; j <= shape[1]; j++) {
+                    m1.setEntry(i, j, random.nextInt(201) - 100);
+                }
+            }
+            for (int i = 1; i <= shape[1]; i++) {
+                for (int j = 1; j <= shape[2]; j++) {
+                    m2.setEntry(i, j, random.nextInt(201) - 100);
+                }
+            }
+            String size = shape[0] + "x" + shape[1] + " by " + shape[1] + "x" + shape[2];
+            MortonMatrix z1 = new MortonMatrix(m1);
+            MortonMatrix z2 = new MortonMatrix(m2);
+            if (!Matrix.sameMatrix(z1.toMatrix(), m1) || z1.getEntry(shape[0], shape[1]) != m1.getEntry(shape[0], shape[1])) {
+                System.out.println("Error: converting a " + shape[0] + "x" + shape[1] + " matrix to Z-order and back changed it.");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(z1.getTranspose().toMatrix(), m1.getTranspose())) {
+                System.out.println("Error: getTranspose() returned the wrong transpose for " + size + ".");
+                uErrors += 1;
+            }
+            else if (!Matrix.sameMatrix(MortonMatrix.productOfMatrices(z1, z2).toMatrix(), Matrix.productOfMatrices(m1, m2))) {
+                System.out.println("Error: productOfMatrices() returned the wrong product for " + size + ".");
+                uErrors += 1;
+            }
+            else {
+                // expected result
+            }
+        }
+
+        // test setEntry()
+        MortonMatrix z = new MortonMatrix(20, 20);
+        z.setEntry(17, 3, 5);
+        if (z.getEntry(17, 3) != 5 || z.toMatrix().getEntry(17, 3) != 5 || z.getEntry(3, 17) != 0) {
+            System.out.println("Error: setEntry() changed the wrong entry.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test a tall matrix, which is stored in a column of tiles rather than a padded square
+        MortonMatrix zTall = new MortonMatrix(70000, 1);
+        zTall.setEntry(70000, 1, 7);
+        if (zTall.data.length != 4375 * TILE_AREA || zTall.getEntry(70000, 1) != 7 || zTall.getTranspose().getEntry(1, 70000) != 7) {
+            System.out.println("Error: a 70000x1 matrix was not stored in one column of tiles.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test MortonMatrix()
+        System.out.println("Testing catching exception thrown by MortonMatrix().");
+        try {
+            new MortonMatrix(100000, 100000);
+            System.out.println("Error: MortonMatrix() did not throw an exception for a matrix whose tiles do not fit in an array.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test productOfMatrices()
+        System.out.println("Testing catching exception thrown by productOfMatrices().");
+        try {
+            MortonMatrix.productOfMatrices(new MortonMatrix(2, 3), new MortonMatrix(2, 3));
+            System.out.println("Error: productOfMatrices() did not throw an exception for matrices that cannot be multiplied.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test getEntry()
+        System.out.println("Testing catching exception thrown by getEntry().");
+        try {
+            z.getEntry(21, 1);
+            System.out.println("Error: getEntry() did not throw an exception for an entry that was out of bounds.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}
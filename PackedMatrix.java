@@ -0,0 +1,588 @@
+/*
+Code Written by Jackson L. Davis
+
+A square symmetric, upper triangular or lower triangular matrix of integers
+that only stores the n(n+1)/2 entries on and on one side of the diagonal.
+ */
+
+public class PackedMatrix {
+    /**
+     * The shape of a packed matrix, which decides which entries are stored
+     */
+    public enum Shape {
+        // entry (i, j) equals entry (j, i), the entries on and above the diagonal are stored
+        SYMMETRIC,
+        // the entries below the diagonal are 0
+        UPPER_TRIANGULAR,
+        // the entries above the diagonal are 0
+        LOWER_TRIANGULAR
+    }
+
+    // SYMMETRIC and UPPER_TRIANGULAR store rows of the upper triangle one after another,
+    // row i holding columns i to n - 1, LOWER_TRIANGULAR stores rows of the lower triangle,
+    // row i holding columns 0 to i
+    private final int[] packed;
+    private final int n;
+    private final Shape shape;
+
+    /**
+     * Constructor for the PackedMatrix class,
+     * creates an nxn zero matrix
+     *
+     * @param n: number of rows and columns for the matrix
+     * @param shape: the shape of the matrix
+     * @precond: n > 0 && n * (n + 1) / 2 <= Integer.MAX_VALUE
+     */
+    public PackedMatrix(int n, Shape shape) {
+        if (n <= 0) {
+            throw new ArithmeticException("Error in PackedMatrix() constructor: n must be positive");
+        }
+        else if ((long) n * (n + 1) / 2 > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Error in PackedMatrix() constructor: the n * (n + 1) / 2 packed entries must fit in an int array");
+        }
+        else {
+            this.n = n;
+            this.shape = shape;
+            this.packed = new int[(int) ((long) n * (n + 1) / 2)];
+        }
+    }
+
+    /**
+     * Constructor that packs a square Matrix of the given shape
+     *
+     * @param m: the matrix to copy
+     * @param shape: the shape of the matrix
+     * @precond: m.isSquare() && m has the given shape
+     */
+    public PackedMatrix(Matrix m, Shape shape) {
+        this(m.getRows(), shape);
+        if (!m.isSquare()) {
+            throw new ArithmeticException("Error in PackedMatrix() constructor: m.isSquare() must return true");
+        }
+        else if (!hasShape(m, shape)) {
+            throw new ArithmeticException("Error in PackedMatrix() constructor: m must have the shape " + shape);
+        }
+        else {
+            int[][] a = m.entries();
+            for (int i = 0; i < this.n; i++) {
+                if (shape == Shape.LOWER_TRIANGULAR) {
+                    System.arraycopy(a[i], 0, this.packed, lowerIndex(i, 0), i + 1);
+                }
+                else {
+                    System.arraycopy(a[i], i, this.packed, upperIndex(i, i), this.n - i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether or not a square matrix has a shape
+     *
+     * @param m: the matrix to check
+     * @param shape: the shape to check for
+     * @return: true if m is square and has the shape, false otherwise
+     */
+    public static boolean hasShape(Matrix m, Shape shape) {
+        if (!m.isSquare()) {
+            return false;
+        }
+        int[][] a = m.entries();
+        for (int i = 0; i < a.length; i++) {
+            for (int j = i + 1; j < a.length; j++) {
+                if (shape == Shape.SYMMETRIC && a[i][j] != a[j][i]) {
+                    return false;
+                }
+                else if (shape == Shape.UPPER_TRIANGULAR && a[j][i] != 0) {
+                    return false;
+                }
+                else if (shape == Shape.LOWER_TRIANGULAR && a[i][j] != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unpack the matrix into a Matrix
+     *
+     * @return: a Matrix with the same entries
+     */
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(this.n, this.n);
+        int[][] a = m.writableEntries();
+        for (int i = 0; i < this.n; i++) {
+            if (this.shape == Shape.LOWER_TRIANGULAR) {
+                System.arraycopy(this.packed, lowerIndex(i, 0), a[i], 0, i + 1);
+            }
+            else {
+                System.arraycopy(this.packed, upperIndex(i, i), a[i], i, this.n - i);
+                if (this.shape == Shape.SYMMETRIC) {
+                    for (int j = i + 1; j < this.n; j++) {
+                        a[j][i] = a[i][j];
+                    }
+                }
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Getter method for the number of rows, which is also the number of columns
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * Getter method for shape
+     */
+    public Shape getShape() {
+        return this.shape;
+    }
+
+    /**
+     * Get the number at a specific entry of the matrix
+     * To stay consistent with how matrix entries are notated in mathematics,
+     * the top row has an index of 1,
+     * and the left-most column has an index of 1
+     *
+     * @param r: the row of the entry to get
+     * @param c: the column of the entry to get
+     * @precond: 1 <= r <= n && 1 <= c <= n
+     * @return: the number at the specified entry
+     */
+    public int getEntry(int r, int c) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in getEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        else {
+            int index = index(r - 1, c - 1);
+            return index < 0 ? 0 : this.packed[index];
+        }
+    }
+
+    /**
+     * Change the number at a specific entry of the matrix,
+     * for a symmetric matrix the mirrored entry changes too
+     *
+     * @param r: the row of the entry to change
+     * @param c: the column of the entry to change
+     * @param changeTo: the new number
+     * @precond: 1 <= r <= n && 1 <= c <= n && (changeTo == 0 or the entry is not one of the zeros of a triangular matrix)
+     * @postcond: the entry is changed to changeTo
+     */
+    public void setEntry(int r, int c, int changeTo) {
+        if (r < 1 || c < 1 || r > this.n || c > this.n) {
+            throw new ArithmeticException("Error in setEntry(): 1 <= r <= n and 1 <= c <= n must be true");
+        }
+        int index = index(r - 1, c - 1);
+        if (index >= 0) {
+            this.packed[index] = changeTo;
+        }
+        else if (changeTo != 0) {
+            throw new ArithmeticException("Error in setEntry(): entries on the zero side of a " + this.shape + " matrix must stay 0");
+        }
+        else {
+            // pass
+        }
+    }
+
+    /**
+     * Get the transpose of the matrix,
+     * a symmetric matrix is its own transpose so the packed entries are copied as they are,
+     * the transpose of an upper triangular matrix is lower triangular and the other way around
+     *
+     * @return: the transpose of the matrix, which never shares entries with this matrix
+     */
+    public PackedMatrix getTranspose() {
+        if (this.shape == Shape.SYMMETRIC) {
+            PackedMatrix transp = new PackedMatrix(this.n, Shape.SYMMETRIC);
+            System.arraycopy(this.packed, 0, transp.packed, 0, this.packed.length);
+            return transp;
+        }
+        else {
+            PackedMatrix transp = new PackedMatrix(this.n,
+                    this.shape == Shape.UPPER_TRIANGULAR ? Shape.LOWER_TRIANGULAR : Shape.UPPER_TRIANGULAR);
+            for (int i = 0; i < this.n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    // entry (i, j) of the lower triangle is entry (j, i) of the upper triangle
+                    if (this.shape == Shape.UPPER_TRIANGULAR) {
+                        transp.packed[lowerIndex(i, j)] = this.packed[upperIndex(j, i)];
+                    }
+                    else {
+                        transp.packed[upperIndex(j, i)] = this.packed[lowerIndex(i, j)];
+                    }
+                }
+            }
+            return transp;
+        }
+    }
+
+    /**
+     * Compute the determinant of the matrix,
+     * for a triangular matrix this is the product of the diagonal in O(n) time,
+     * a symmetric matrix is unpacked and uses Matrix.determinantBareiss()
+     *
+     * @return: the determinant of the matrix,
+     * an ArithmeticException is thrown if it does not fit in an int
+     */
+    public int determinant() {
+        if (this.shape == Shape.SYMMETRIC) {
+            return Matrix.determinantBareiss(toMatrix());
+        }
+        else {
+            int det = 1;
+            for (int i = 0; i < this.n && det != 0; i++) {
+                det = Math.multiplyExact(det, this.packed[index(i, i)]);
+            }
+            return det;
+        }
+    }
+
+    /**
+     * Compute the product of two triangular matrices of the same shape,
+     * which has that shape too, only the products of stored entries are computed,
+     * about a sixth of the multiplications of a full product,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getSize() == m2.getSize() && m1 and m2 are both upper triangular or both lower triangular
+     * @return: the product of the two matrices
+     */
+    public static PackedMatrix productOfTriangular(PackedMatrix m1, PackedMatrix m2) {
+        if (m1.n != m2.n) {
+            throw new ArithmeticException("Error in productOfTriangular(): m1.getSize() == m2.getSize() must be true");
+        }
+        else if (m1.shape != m2.shape || m1.shape == Shape.SYMMETRIC) {
+            throw new ArithmeticException("Error in productOfTriangular(): m1 and m2 must both be upper triangular or both be lower triangular");
+        }
+        else {
+            int n = m1.n;
+            PackedMatrix product = new PackedMatrix(n, m1.shape);
+            for (int i = 0; i < n; i++) {
+                if (m1.shape == Shape.UPPER_TRIANGULAR) {
+                    // row i of the product is the sum over k >= i of m1(i, k) times row k of m2,
+                    // and row k of m2 is stored from column k
+                    int out = upperIndex(n, i, i);
+                    for (int k = i; k < n; k++) {
+                        int aik = m1.packed[upperIndex(n, i, k)];
+                        if (aik == 0) {
+                            continue;
+                        }
+                        int bRow = upperIndex(n, k, k);
+                        for (int j = k; j < n; j++) {
+                            product.packed[out + (j - i)] += aik * m2.packed[bRow + (j - k)];
+                        }
+                    }
+                }
+                else {
+                    // row i of the product is the sum over k <= i of m1(i, k) times row k of m2,
+                    // and row k of m2 is stored up to column k
+                    int out = lowerIndex(i, 0);
+                    for (int k = 0; k <= i; k++) {
+                        int aik = m1.packed[lowerIndex(i, k)];
+                        if (aik == 0) {
+                            continue;
+                        }
+                        int bRow = lowerIndex(k, 0);
+                        for (int j = 0; j <= k; j++) {
+                            product.packed[out + j] += aik * m2.packed[bRow + j];
+                        }
+                    }
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Compute the product of two packed matrices of any shapes,
+     * products with the known zeros of triangular matrices are skipped,
+     * entries wrap around on overflow just like Matrix.productOfMatrices()
+     *
+     * @param m1, m2: two matrices to compute the product of
+     * @precond: m1.getSize() == m2.getSize()
+     * @return: the product of the two matrices
+     */
+    public static Matrix productOfMatrices(PackedMatrix m1, PackedMatrix m2) {
+        if (m1.n != m2.n) {
+            throw new ArithmeticException("Error in productOfMatrices(): m1.getSize() == m2.getSize() must be true");
+        }
+        else {
+            int n = m1.n;
+            Matrix product = new Matrix(n, n);
+            int[][] c = product.writableEntries();
+            int[] bRow = new int[n];
+            for (int k = 0; k < n; k++) {
+                // row k of m2 and column k of m1 are each unpacked once
+                m2.unpackRow(k, bRow);
+                int jFrom = m2.shape == Shape.UPPER_TRIANGULAR ? k : 0;
+                int jTo = m2.shape == Shape.LOWER_TRIANGULAR ? k + 1 : n;
+                int iFrom = m1.shape == Shape.LOWER_TRIANGULAR ? k : 0;
+                int iTo = m1.shape == Shape.UPPER_TRIANGULAR ? k + 1 : n;
+                for (int i = iFrom; i < iTo; i++) {
+                    int aik = m1.packed[m1.index(i, k)];
+                    if (aik == 0) {
+                        continue;
+                    }
+                    int[] cRow = c[i];
+                    for (int j = jFrom; j < jTo; j++) {
+                        cRow[j] += aik * bRow[j];
+                    }
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Multiply the matrix by a vector, y = m * x
+     *
+     * @param x: a vector with n entries
+     * @precond: x.length == n
+     * @return: a new vector with n entries
+     */
+    public int[] multiply(int[] x) {
+        if (x.length != this.n) {
+            throw new ArithmeticException("Error in multiply(): x.length == n must be true");
+        }
+        else {
+            int[] y = new int[this.n];
+            for (int i = 0; i < this.n; i++) {
+                if (this.shape == Shape.LOWER_TRIANGULAR) {
+                    int offset = lowerIndex(i, 0);
+                    for (int j = 0; j <= i; j++) {
+                        y[i] += this.packed[offset + j] * x[j];
+                    }
+                }
+                else {
+                    int offset = upperIndex(i, i);
+                    y[i] += this.packed[offset] * x[i];
+                    for (int j = i + 1; j < this.n; j++) {
+                        int aij = this.packed[offset + (j - i)];
+                        y[i] += aij * x[j];
+                        // each stored entry above the diagonal of a symmetric matrix is used twice
+                        if (this.shape == Shape.SYMMETRIC) {
+                            y[j] += aij * x[i];
+                        }
+                    }
+                }
+            }
+            return y;
+        }
+    }
+
+    /**
+     * Print the matrix to the console
+     *
+     * @postcond: the matrix is printed to the console
+     */
+    public void printMatrix() {
+        toMatrix().printMatrix();
+    }
+
+    /**
+     * Write row i (0-based) of the matrix into a full row, including the zeros and mirrored entries
+     */
+    private void unpackRow(int i, int[] row) {
+        for (int j = 0; j < this.n; j++) {
+            int index = index(i, j);
+            row[j] = index < 0 ? 0 : this.packed[index];
+        }
+    }
+
+    /**
+     * The position of entry (i, j) (0-based) in the packed array, or -1 for a zero of a triangular matrix
+     */
+    private int index(int i, int j) {
+        switch (this.shape) {
+            case SYMMETRIC:
+                return i <= j ? upperIndex(i, j) : upperIndex(j, i);
+            case UPPER_TRIANGULAR:
+                return i <= j ? upperIndex(i, j) : -1;
+            default:
+                return j <= i ? lowerIndex(i, j) : -1;
+        }
+    }
+
+    private int upperIndex(int i, int j) {
+        return upperIndex(this.n, i, j);
+    }
+
+    /**
+     * Rows 0 to i - 1 of the upper triangle hold n + (n - 1) + ... + (n - i + 1) entries,
+     * i * n overflows an int from n = 46341 on, so the sum is taken in long and fits in an int once the constructor has checked n
+     */
+    private static int upperIndex(int n, int i, int j) {
+        return (int) ((long) i * n - (long) i * (i - 1) / 2 + (j - i));
+    }
+
+    /**
+     * Rows 0 to i - 1 of the lower triangle hold 1 + 2 + ... + i entries
+     */
+    private static int lowerIndex(int i, int j) {
+        return (int) ((long) i * (i + 1) / 2 + j);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////// TEST SUITE //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static void main(String[] args) {
+        System.out.println("Test suite for PackedMatrix.java");
+        int uErrors = 0; // number of unintentional errors
+
+        java.util.Random random = new java.util.Random(44);
+        int[] sizes = {1, 2, 5, 33};
+        Shape[] shapes = Shape.values();
+        for (int n : sizes) {
+            Matrix[] full = new Matrix[shapes.length];
+            PackedMatrix[] packedMatrices = new PackedMatrix[shapes.length];
+            for (int s = 0; s < shapes.length; s++) {
+                full[s] = new Matrix(n, n);
+                for (int i = 1; i <= n; i++) {
+                    for (int j = i; j <= n; j++) {
+                        int value = random.nextInt(21) - 10;
+                        if (shapes[s] == Shape.SYMMETRIC) {
+                            full[s].setEntry(i, j, value);
+                            full[s].setEntry(j, i, value);
+                        }
+                        else if (shapes[s] == Shape.UPPER_TRIANGULAR) {
+                            full[s].setEntry(i, j, value);
+                        }
+                        else {
+                            full[s].setEntry(j, i, value);
+                        }
+                    }
+                }
+                packedMatrices[s] = new PackedMatrix(full[s], shapes[s]);
+
+                // test the constructor, getTranspose(), determinant() and multiply()
+                int[] x = new int[n];
+                Matrix xMatrix = new Matrix(n, 1);
+                for (int i = 0; i < n; i++) {
+                    x[i] = random.nextInt(21) - 10;
+                    xMatrix.setEntry(i + 1, 1, x[i]);
+                }
+                int[] y = packedMatrices[s].multiply(x);
+                Matrix yMatrix = Matrix.productOfMatrices(full[s], xMatrix);
+                boolean sameVector = true;
+                for (int i = 0; i < n; i++) {
+                    sameVector &= y[i] == yMatrix.getEntry(i + 1, 1);
+                }
+                String name = "a " + n + "x" + n + " " + shapes[s] + " matrix";
+                if (!Matrix.sameMatrix(packedMatrices[s].toMatrix(), full[s]) || packedMatrices[s].getEntry(n, 1) != full[s].getEntry(n, 1)) {
+                    System.out.println("Error: packing and unpacking " + name + " changed it.");
+                    uErrors += 1;
+                }
+                else if (!Matrix.sameMatrix(packedMatrices[s].getTranspose().toMatrix(), full[s].getTranspose())) {
+                    System.out.println("Error: getTranspose() returned the wrong transpose for " + name + ".");
+                    uErrors += 1;
+                }
+                else if (n <= 5 && packedMatrices[s].determinant() != Matrix.determinantBareiss(full[s])) {
+                    System.out.println("Error: determinant() returned the wrong determinant for " + name + ".");
+                    uErrors += 1;
+                }
+                else if (!sameVector) {
+                    System.out.println("Error: multiply() returned the wrong product for " + name + ".");
+                    uErrors += 1;
+                }
+                else {
+                    // expected result
+                }
+            }
+
+            // test productOfMatrices() for every pair of shapes and productOfTriangular() for matching shapes
+            for (int s1 = 0; s1 < shapes.length; s1++) {
+                for (int s2 = 0; s2 < shapes.length; s2++) {
+                    Matrix expected = Matrix.productOfMatrices(full[s1], full[s2]);
+                    if (!Matrix.sameMatrix(PackedMatrix.productOfMatrices(packedMatrices[s1], packedMatrices[s2]), expected)) {
+                        System.out.println("Error: productOfMatrices() returned the wrong product for " + shapes[s1] + " by " + shapes[s2] + ".");
+                        uErrors += 1;
+                    }
+                    else if (s1 == s2 && shapes[s1] != Shape.SYMMETRIC) {
+                        PackedMatrix triangularProduct = PackedMatrix.productOfTriangular(packedMatrices[s1], packedMatrices[s2]);
+                        if (triangularProduct.getShape() != shapes[s1] || !Matrix.sameMatrix(triangularProduct.toMatrix(), expected)) {
+                            System.out.println("Error: productOfTriangular() returned the wrong product for " + shapes[s1] + " matrices.");
+                            uErrors += 1;
+                        }
+                        else {
+                            // expected result
+                        }
+                    }
+                    else {
+                        // expected result
+                    }
+                }
+            }
+        }
+
+        // the transpose of a symmetric matrix is an independent copy
+        PackedMatrix symmetric = new PackedMatrix(3, Shape.SYMMETRIC);
+        symmetric.setEntry(3, 1, 4);
+        PackedMatrix symmetricTransp = symmetric.getTranspose();
+        symmetricTransp.setEntry(2, 1, 7);
+        if (symmetricTransp == symmetric || symmetric.getEntry(1, 3) != 4 || symmetricTransp.getEntry(3, 1) != 4) {
+            System.out.println("Error: setEntry() or getTranspose() was wrong for a symmetric matrix.");
+            uErrors += 1;
+        }
+        else if (symmetric.getEntry(2, 1) != 0) {
+            System.out.println("Error: changing the transpose of a symmetric matrix changed the matrix.");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        // test setEntry()
+        System.out.println("Testing catching exception thrown by setEntry().");
+        try {
+            new PackedMatrix(3, Shape.UPPER_TRIANGULAR).setEntry(3, 1, 1);
+            System.out.println("Error: setEntry() did not throw an exception for an entry below the diagonal of an upper triangular matrix.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // test the constructor
+        System.out.println("Testing catching exception thrown by PackedMatrix() constructor.");
+        try {
+            Matrix notSymmetric = new Matrix(2, 2);
+            notSymmetric.setEntry(1, 2, 1);
+            new PackedMatrix(notSymmetric, Shape.SYMMETRIC);
+            System.out.println("Error: PackedMatrix() constructor did not throw an exception for a matrix that is not symmetric.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+        System.out.println("Testing catching exception thrown by PackedMatrix() constructor.");
+        try {
+            new PackedMatrix(70000, Shape.SYMMETRIC);
+            System.out.println("Error: PackedMatrix() constructor did not throw an exception for a size whose packed array does not fit in an int array.");
+            uErrors += 1;
+        }
+        catch (Exception e) {
+            // expected result
+            System.out.println("Caught error: " + e.getMessage());
+        }
+
+        // the largest size that fits, where i * n overflows an int, without allocating the array
+        int largest = 65535;
+        long lastUpper = (long) largest * (largest + 1) / 2 - 1;
+        if (upperIndex(largest, largest - 1, largest - 1) != lastUpper || upperIndex(largest, 50000, 50001) != upperIndex(largest, 50000, 50000) + 1
+            || lowerIndex(largest - 1, largest - 1) != lastUpper || lowerIndex(50000, 0) != 1250025000) {
+            System.out.println("Error: upperIndex() or lowerIndex() overflowed for n = " + largest + ".");
+            uErrors += 1;
+        }
+        else {
+            // expected result
+        }
+
+        System.out.println("Testing complete with " + uErrors + " unintentional errors.");
+    }
+}